@@ -0,0 +1,161 @@
+package com.cirquetask.audit;
+
+import com.cirquetask.model.entity.BoardColumn;
+import com.cirquetask.model.entity.Project;
+import com.cirquetask.model.entity.Sprint;
+import com.cirquetask.model.entity.Task;
+import com.cirquetask.repository.AuditLogRepositoryCustom.NewAuditLog;
+import com.cirquetask.security.SecurityUtils;
+import com.cirquetask.service.AuditService;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Captures the audit trail of {@link Task}, {@link Project}, {@link Sprint} and {@link BoardColumn} without
+ * any calls in services: Hibernate's post-insert/update/delete events are diffed at flush time (one row per
+ * changed field, associations recorded by id), and the rows are handed to {@link AuditService} only once the
+ * transaction has committed, so rolled-back changes are never audited. Bookkeeping fields (timestamps,
+ * positions, denormalized counters) are ignored. Bulk JPQL updates bypass these events.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityAuditListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private static final Map<Class<?>, String> AUDITED_TYPES = Map.of(
+            Task.class, "Task",
+            Project.class, "Project",
+            Sprint.class, "Sprint",
+            BoardColumn.class, "BoardColumn"
+    );
+
+    private static final Set<String> IGNORED_PROPERTIES = Set.of(
+            "createdAt", "updatedAt", "position", "commentCount", "attachmentCount", "taskCount",
+            "loggedHours", "completedPoints", "totalPoints"
+    );
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final AuditService auditService;
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        String entityType = AUDITED_TYPES.get(event.getPersister().getMappedClass());
+        if (entityType != null) {
+            afterCommit(event.getSession(), List.of(row(entityType, event.getId(), "CREATE", null, null, null)));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        EntityPersister persister = event.getPersister();
+        String entityType = AUDITED_TYPES.get(persister.getMappedClass());
+        if (entityType == null) {
+            return;
+        }
+        Object[] oldState = event.getOldState();
+        if (oldState == null) {
+            afterCommit(event.getSession(), List.of(row(entityType, event.getId(), "UPDATE", null, null, null)));
+            return;
+        }
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        int[] dirty = event.getDirtyProperties();
+        List<NewAuditLog> rows = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            if ((dirty != null && !contains(dirty, i)) || IGNORED_PROPERTIES.contains(names[i])
+                    || types[i].isCollectionType()) {
+                continue;
+            }
+            String oldValue = format(types[i], oldState[i], event.getSession());
+            String newValue = format(types[i], event.getState()[i], event.getSession());
+            if (!Objects.equals(oldValue, newValue)) {
+                rows.add(row(entityType, event.getId(), "UPDATE", names[i], oldValue, newValue));
+            }
+        }
+        if (!rows.isEmpty()) {
+            afterCommit(event.getSession(), rows);
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        String entityType = AUDITED_TYPES.get(event.getPersister().getMappedClass());
+        if (entityType != null) {
+            afterCommit(event.getSession(), List.of(row(entityType, event.getId(), "DELETE", null, null, null)));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void afterCommit(EventSource session, List<NewAuditLog> rows) {
+        session.getActionQueue().registerProcess((success, s) -> {
+            if (success) {
+                auditService.record(rows);
+            }
+        });
+    }
+
+    private static NewAuditLog row(String entityType, Object id, String action, String fieldName,
+                                   String oldValue, String newValue) {
+        return new NewAuditLog(entityType, ((Number) id).longValue(), action, fieldName, oldValue, newValue,
+                SecurityUtils.findCurrentUserId().orElse(null), LocalDateTime.now());
+    }
+
+    private static String format(Type type, Object value, SharedSessionContractImplementor session) {
+        if (value == null) {
+            return null;
+        }
+        if (type instanceof EntityType entityType) {
+            Object id = value instanceof HibernateProxy proxy
+                    ? proxy.getHibernateLazyInitializer().getIdentifier()
+                    : session.getFactory().getMappingMetamodel()
+                            .getEntityDescriptor(entityType.getAssociatedEntityName()).getIdentifier(value, session);
+            return id != null ? id.toString() : null;
+        }
+        return value.toString();
+    }
+
+    private static boolean contains(int[] indexes, int index) {
+        for (int i : indexes) {
+            if (i == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
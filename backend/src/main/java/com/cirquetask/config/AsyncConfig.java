@@ -0,0 +1,165 @@
+package com.cirquetask.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.AsyncConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionHandler;
+
+/**
+ * One bounded executor per async workload, so a burst of slow SMTP or webhook calls cannot starve activity
+ * logging or domain event delivery. Pool sizes and queue capacities are configured under
+ * {@code app.async.<workload>}. When a queue is full, work that must not be lost (activity, audit, domain events,
+ * webhook responses, security mail such as password resets, everything else) runs on the submitting thread,
+ * which slows the producer down; best-effort notification mail is dropped with a warning. Every rejection increments {@code executor.rejected}.
+ * <p>
+ * Queue depth, active threads and completed tasks are published as {@code executor.*} metrics (tagged with the
+ * bean name) by the actuator. On shutdown each executor stops accepting work and drains its queue for up to
+ * {@code app.async.await-termination-seconds}.
+ */
+@Configuration
+@Slf4j
+public class AsyncConfig implements AsyncConfigurer {
+
+    public static final String ACTIVITY_EXECUTOR = "activityExecutor";
+    public static final String AUDIT_EXECUTOR = "auditExecutor";
+    public static final String MAIL_EXECUTOR = "mailExecutor";
+    public static final String SECURITY_MAIL_EXECUTOR = "securityMailExecutor";
+    public static final String WEBHOOK_EXECUTOR = "webhookExecutor";
+    public static final String EVENT_EXECUTOR = "eventExecutor";
+    public static final String OUTBOX_POLLER = "outboxPoller";
+
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    public AsyncConfig(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Default for {@code @Async} methods without a qualifier and for Spring MVC async requests.
+     */
+    @Bean(name = {"taskExecutor", "applicationTaskExecutor"})
+    public ThreadPoolTaskExecutor taskExecutor() {
+        return executor("default", 4, 500, callerRuns("taskExecutor"));
+    }
+
+    @Bean(name = ACTIVITY_EXECUTOR)
+    public ThreadPoolTaskExecutor activityExecutor() {
+        return executor("activity", 2, 5000, callerRuns(ACTIVITY_EXECUTOR));
+    }
+
+    @Bean(name = AUDIT_EXECUTOR)
+    public ThreadPoolTaskExecutor auditExecutor() {
+        return executor("audit", 2, 5000, callerRuns(AUDIT_EXECUTOR));
+    }
+
+    @Bean(name = MAIL_EXECUTOR)
+    public ThreadPoolTaskExecutor mailExecutor() {
+        return executor("mail", 2, 1000, discard(MAIL_EXECUTOR));
+    }
+
+    /**
+     * Password reset and other mail the user is actively waiting for; never dropped, unlike {@link #mailExecutor}.
+     */
+    @Bean(name = SECURITY_MAIL_EXECUTOR)
+    public ThreadPoolTaskExecutor securityMailExecutor() {
+        return executor("security-mail", 1, 500, callerRuns(SECURITY_MAIL_EXECUTOR));
+    }
+
+    /**
+     * Runs the webhook HTTP client's response handling; the requests themselves are non-blocking.
+     */
+    @Bean(name = WEBHOOK_EXECUTOR)
+    public ThreadPoolTaskExecutor webhookExecutor() {
+        return executor("webhook", 4, 1000, callerRuns(WEBHOOK_EXECUTOR));
+    }
+
+    /**
+     * Delivers outbox events to consumers (workflows, webhooks, notifications, websocket, caches), one
+     * project per task so each project's events stay in order.
+     */
+    @Bean(name = EVENT_EXECUTOR)
+    public ThreadPoolTaskExecutor eventExecutor() {
+        return executor("events", 4, 1000, callerRuns(EVENT_EXECUTOR));
+    }
+
+    /**
+     * Single outbox polling thread. One poll may wait in the queue; further wake-ups are redundant and dropped.
+     */
+    @Bean(name = OUTBOX_POLLER)
+    public ThreadPoolTaskExecutor outboxPoller() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("outbox-");
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler((task, pool) -> { });
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(
+                environment.getProperty("app.async.await-termination-seconds", Integer.class, 30));
+        return executor;
+    }
+
+    @Override
+    public Executor getAsyncExecutor() {
+        return taskExecutor();
+    }
+
+    @Override
+    public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
+        return (ex, method, params) ->
+                log.error("Async {}.{} failed: {}", method.getDeclaringClass().getSimpleName(), method.getName(),
+                        ex.getMessage(), ex);
+    }
+
+    private ThreadPoolTaskExecutor executor(String workload, int defaultPoolSize, int defaultQueueCapacity,
+                                            RejectedExecutionHandler rejectionHandler) {
+        String prefix = "app.async." + workload + ".";
+        int coreSize = environment.getProperty(prefix + "core-size", Integer.class, defaultPoolSize);
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(workload + "-");
+        executor.setCorePoolSize(coreSize);
+        executor.setMaxPoolSize(Math.max(coreSize, environment.getProperty(prefix + "max-size", Integer.class, coreSize)));
+        executor.setQueueCapacity(environment.getProperty(prefix + "queue-capacity", Integer.class, defaultQueueCapacity));
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(rejectionHandler);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(
+                environment.getProperty("app.async.await-termination-seconds", Integer.class, 30));
+        return executor;
+    }
+
+    private RejectedExecutionHandler callerRuns(String name) {
+        Counter rejected = rejectedCounter(name);
+        return (task, pool) -> {
+            rejected.increment();
+            if (!pool.isShutdown()) {
+                task.run();
+            }
+        };
+    }
+
+    private RejectedExecutionHandler discard(String name) {
+        Counter rejected = rejectedCounter(name);
+        return (task, pool) -> {
+            rejected.increment();
+            log.warn("{} saturated (queue {}), dropping task", name, pool.getQueue().size());
+        };
+    }
+
+    private Counter rejectedCounter(String name) {
+        return Counter.builder("executor.rejected")
+                .description("Tasks rejected because the executor queue was full or shut down")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,48 @@
+package com.cirquetask.controller;
+
+import com.cirquetask.model.dto.ApiResponse;
+import com.cirquetask.model.dto.ApiTokenDto;
+import com.cirquetask.model.dto.ApiTokenRequest;
+import com.cirquetask.security.SecurityUtils;
+import com.cirquetask.service.ApiTokenService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/tokens")
+@RequiredArgsConstructor
+@Tag(name = "API Tokens", description = "Personal API tokens for integrations and CI")
+public class ApiTokenController {
+
+    private final ApiTokenService apiTokenService;
+
+    @GetMapping
+    @Operation(summary = "List active API tokens of the current user")
+    public ResponseEntity<ApiResponse<List<ApiTokenDto>>> listTokens() {
+        Long userId = SecurityUtils.getCurrentUserId();
+        return ResponseEntity.ok(ApiResponse.success(apiTokenService.listTokens(userId)));
+    }
+
+    @PostMapping
+    @Operation(summary = "Create an API token; the token value is only returned once")
+    public ResponseEntity<ApiResponse<ApiTokenDto>> createToken(@Valid @RequestBody ApiTokenRequest request) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        ApiTokenDto dto = apiTokenService.createToken(request, userId);
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("API token created", dto));
+    }
+
+    @DeleteMapping("/{tokenId}")
+    @Operation(summary = "Revoke an API token")
+    public ResponseEntity<ApiResponse<Void>> revokeToken(@PathVariable Long tokenId) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        apiTokenService.revokeToken(tokenId, userId);
+        return ResponseEntity.ok(ApiResponse.success("API token revoked", null));
+    }
+}
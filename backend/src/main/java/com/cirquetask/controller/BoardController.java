@@ -2,6 +2,7 @@ package com.cirquetask.controller;
 
 import com.cirquetask.model.dto.ApiResponse;
 import com.cirquetask.model.dto.BoardDto;
+import com.cirquetask.model.dto.BoardSnapshotDto;
 import com.cirquetask.security.SecurityUtils;
 import com.cirquetask.service.BoardService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -36,6 +37,13 @@ public class BoardController {
         return ResponseEntity.ok(ApiResponse.success(boardService.getBoard(boardId, userId)));
     }
 
+    @GetMapping("/boards/{boardId}/snapshot")
+    @Operation(summary = "Get board with columns and lean task cards")
+    public ResponseEntity<ApiResponse<BoardSnapshotDto>> getBoardSnapshot(@PathVariable Long boardId) {
+        Long userId = SecurityUtils.getCurrentUserId();
+        return ResponseEntity.ok(ApiResponse.success(boardService.getBoardSnapshot(boardId, userId)));
+    }
+
     @PostMapping("/projects/{projectId}/boards")
     @Operation(summary = "Create a new board")
     public ResponseEntity<ApiResponse<BoardDto>> createBoard(@PathVariable Long projectId, @RequestBody Map<String, String> body) {
@@ -2,6 +2,7 @@ package com.cirquetask.controller;
 
 import com.cirquetask.model.dto.ActivityLogDto;
 import com.cirquetask.model.dto.ApiResponse;
+import com.cirquetask.model.dto.CursorPage;
 import com.cirquetask.model.dto.DashboardDto;
 import com.cirquetask.security.SecurityUtils;
 import com.cirquetask.service.ActivityLogService;
@@ -12,8 +13,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 @RestController
 @RequestMapping("/api/dashboard")
 @RequiredArgsConstructor
@@ -39,15 +38,20 @@ public class DashboardController {
 
     @GetMapping("/projects/{projectId}/activities")
     @Operation(summary = "Get project activities")
-    public ResponseEntity<ApiResponse<List<ActivityLogDto>>> getProjectActivities(@PathVariable Long projectId) {
+    public ResponseEntity<ApiResponse<CursorPage<ActivityLogDto>>> getProjectActivities(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         Long userId = SecurityUtils.getCurrentUserId();
-        return ResponseEntity.ok(ApiResponse.success(activityLogService.getProjectActivities(projectId, userId)));
+        return ResponseEntity.ok(ApiResponse.success(activityLogService.getProjectActivities(projectId, userId, cursor, size)));
     }
 
     @GetMapping("/activities")
     @Operation(summary = "Get user's recent activities")
-    public ResponseEntity<ApiResponse<List<ActivityLogDto>>> getUserActivities() {
+    public ResponseEntity<ApiResponse<CursorPage<ActivityLogDto>>> getUserActivities(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         Long userId = SecurityUtils.getCurrentUserId();
-        return ResponseEntity.ok(ApiResponse.success(activityLogService.getUserActivities(userId)));
+        return ResponseEntity.ok(ApiResponse.success(activityLogService.getUserActivities(userId, cursor, size)));
     }
 }
@@ -1,6 +1,7 @@
 package com.cirquetask.controller;
 
 import com.cirquetask.model.dto.ApiResponse;
+import com.cirquetask.model.dto.CursorPage;
 import com.cirquetask.model.dto.NotificationDto;
 import com.cirquetask.security.SecurityUtils;
 import com.cirquetask.service.NotificationService;
@@ -10,7 +11,6 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -23,11 +23,11 @@ public class NotificationController {
 
     @GetMapping
     @Operation(summary = "Get user notifications")
-    public ResponseEntity<ApiResponse<List<NotificationDto>>> getNotifications(
-            @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "size", defaultValue = "20") int size) {
+    public ResponseEntity<ApiResponse<CursorPage<NotificationDto>>> getNotifications(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", required = false) Integer size) {
         Long userId = SecurityUtils.getCurrentUserId();
-        return ResponseEntity.ok(ApiResponse.success(notificationService.getUserNotifications(userId, page, size)));
+        return ResponseEntity.ok(ApiResponse.success(notificationService.getUserNotifications(userId, cursor, size)));
     }
 
     @GetMapping("/unread-count")
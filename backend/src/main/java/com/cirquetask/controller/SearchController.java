@@ -1,14 +1,15 @@
 package com.cirquetask.controller;
 
 import com.cirquetask.model.dto.ApiResponse;
+import com.cirquetask.model.dto.SearchPage;
 import com.cirquetask.model.dto.SearchRequest;
-import com.cirquetask.model.dto.TaskDto;
+import com.cirquetask.model.dto.TaskSearchHitDto;
+import com.cirquetask.model.enums.SearchPageMode;
 import com.cirquetask.security.SecurityUtils;
 import com.cirquetask.service.SearchService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,13 +23,15 @@ public class SearchController {
     private final SearchService searchService;
 
     @PostMapping("/tasks")
-    @Operation(summary = "Search tasks with filters")
-    public ResponseEntity<ApiResponse<Page<TaskDto>>> searchTasks(
+    @Operation(summary = "Search tasks with filters",
+            description = "mode=SLICE skips counting (infinite scroll), ESTIMATED counts up to a threshold, EXACT always counts")
+    public ResponseEntity<ApiResponse<SearchPage<TaskSearchHitDto>>> searchTasks(
             @RequestBody SearchRequest request,
             @RequestParam(name = "page", defaultValue = "0") int page,
-            @RequestParam(name = "size", defaultValue = "20") int size) {
+            @RequestParam(name = "size", defaultValue = "20") int size,
+            @RequestParam(name = "mode", defaultValue = "ESTIMATED") SearchPageMode mode) {
         Long userId = SecurityUtils.getCurrentUserId();
-        Page<TaskDto> results = searchService.searchTasks(request, userId, PageRequest.of(page, size));
+        SearchPage<TaskSearchHitDto> results = searchService.searchTasks(request, userId, PageRequest.of(page, size), mode);
         return ResponseEntity.ok(ApiResponse.success(results));
     }
 }
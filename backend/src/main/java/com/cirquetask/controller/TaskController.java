@@ -11,7 +11,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -39,20 +38,24 @@ public class TaskController {
 
     @GetMapping("/projects/{projectId}/tasks")
     @Operation(summary = "Get all tasks for a project")
-    public ResponseEntity<ApiResponse<List<TaskDto>>> getProjectTasks(
+    public ResponseEntity<ApiResponse<CursorPage<TaskDto>>> getProjectTasks(
             @PathVariable Long projectId,
             @RequestParam(required = false) com.cirquetask.model.enums.TaskStatus status,
             @RequestParam(required = false) com.cirquetask.model.enums.TaskPriority priority,
-            @RequestParam(required = false) Long assigneeId) {
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         Long userId = SecurityUtils.getCurrentUserId();
-        return ResponseEntity.ok(ApiResponse.success(taskService.getProjectTasks(projectId, userId, status, priority, assigneeId)));
+        return ResponseEntity.ok(ApiResponse.success(taskService.getProjectTasks(projectId, userId, status, priority, assigneeId, cursor, size)));
     }
 
     @GetMapping("/tasks/my")
     @Operation(summary = "Get tasks assigned to current user")
-    public ResponseEntity<ApiResponse<List<TaskDto>>> getMyTasks() {
+    public ResponseEntity<ApiResponse<CursorPage<TaskDto>>> getMyTasks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         Long userId = SecurityUtils.getCurrentUserId();
-        return ResponseEntity.ok(ApiResponse.success(taskService.getMyTasks(userId)));
+        return ResponseEntity.ok(ApiResponse.success(taskService.getMyTasks(userId, cursor, size)));
     }
 
     @PutMapping("/tasks/{taskId}")
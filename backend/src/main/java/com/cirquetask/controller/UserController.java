@@ -1,5 +1,6 @@
 package com.cirquetask.controller;
 
+import com.cirquetask.event.UserStateChangedEvent;
 import com.cirquetask.exception.ResourceNotFoundException;
 import com.cirquetask.model.dto.ApiResponse;
 import com.cirquetask.model.dto.UserDto;
@@ -10,6 +11,7 @@ import com.cirquetask.security.SecurityUtils;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -24,6 +26,7 @@ public class UserController {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @GetMapping("/me")
     @Operation(summary = "Get current user profile")
@@ -47,6 +50,7 @@ public class UserController {
         if (body.containsKey("avatarUrl")) user.setAvatarUrl(body.get("avatarUrl"));
 
         user = userRepository.save(user);
+        eventPublisher.publishEvent(new UserStateChangedEvent(userId));
         return ResponseEntity.ok(ApiResponse.success("Profile updated", userMapper.toDto(user)));
     }
 
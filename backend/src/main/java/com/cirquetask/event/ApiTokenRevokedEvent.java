@@ -0,0 +1,8 @@
+package com.cirquetask.event;
+
+/**
+ * Published when an API token is revoked, so its verified entry is dropped from the token cache.
+ * Handled after the publishing transaction commits.
+ */
+public record ApiTokenRevokedEvent(String tokenHash) {
+}
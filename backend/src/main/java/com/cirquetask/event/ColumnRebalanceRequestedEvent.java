@@ -0,0 +1,8 @@
+package com.cirquetask.event;
+
+/**
+ * Published when the ordering keys of a board column are running out of room.
+ * Handled after the publishing transaction commits.
+ */
+public record ColumnRebalanceRequestedEvent(Long columnId) {
+}
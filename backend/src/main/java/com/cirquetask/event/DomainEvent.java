@@ -0,0 +1,24 @@
+package com.cirquetask.event;
+
+import com.cirquetask.model.enums.DomainEventType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * A committed outbox event as seen by {@link DomainEventConsumer}s. Delivery is at least once, so the same
+ * {@code id} may be handled more than once.
+ */
+public record DomainEvent(Long id, Long projectId, DomainEventType type, Long aggregateId, Long actorId,
+                          Map<String, Object> payload, LocalDateTime createdAt) {
+
+    public Long longValue(String key) {
+        Object value = payload.get(key);
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    public String stringValue(String key) {
+        Object value = payload.get(key);
+        return value != null ? value.toString() : null;
+    }
+}
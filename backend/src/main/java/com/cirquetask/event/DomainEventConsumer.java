@@ -0,0 +1,12 @@
+package com.cirquetask.event;
+
+/**
+ * Receives committed domain events from the outbox dispatcher, in order per project, off the request thread.
+ * Consumers run in {@code @Order}; when one throws, the event is retried from that consumer on, so consumers
+ * before it are not run again. Delivery is still at least once (a crash between a consumer returning and its
+ * progress being recorded repeats it), so handlers must tolerate duplicates.
+ */
+public interface DomainEventConsumer {
+
+    void onEvent(DomainEvent event);
+}
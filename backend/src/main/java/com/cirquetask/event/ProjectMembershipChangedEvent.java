@@ -0,0 +1,9 @@
+package com.cirquetask.event;
+
+/**
+ * Published when a user's membership or role in a project changes (added, removed, role updated, project
+ * created or deleted), so the user's cached membership set is dropped. Handled after the publishing
+ * transaction commits.
+ */
+public record ProjectMembershipChangedEvent(Long projectId, Long userId) {
+}
@@ -0,0 +1,13 @@
+package com.cirquetask.event;
+
+/**
+ * Published when tasks, sprints or activity of a project change, so cached dashboard and project
+ * statistics can be dropped. {@code userId} optionally names a user whose view changed without them
+ * being a member any more (e.g. after removal from the project). Handled after the publishing transaction commits.
+ */
+public record ProjectStatsChangedEvent(Long projectId, Long userId) {
+
+    public ProjectStatsChangedEvent(Long projectId) {
+        this(projectId, null);
+    }
+}
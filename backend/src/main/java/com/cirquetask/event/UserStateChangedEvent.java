@@ -0,0 +1,8 @@
+package com.cirquetask.event;
+
+/**
+ * Published when a user's authentication-relevant state (active flag, plan, token epoch or profile) changes,
+ * so the cached user state behind token authentication is dropped. Handled after the publishing transaction commits.
+ */
+public record UserStateChangedEvent(Long userId) {
+}
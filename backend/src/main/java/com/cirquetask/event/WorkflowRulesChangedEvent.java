@@ -0,0 +1,8 @@
+package com.cirquetask.event;
+
+/**
+ * Published when a project's workflow rules are created, updated, toggled or deleted, so the compiled rules
+ * cached for the project are dropped. Handled after the publishing transaction commits.
+ */
+public record WorkflowRulesChangedEvent(Long projectId) {
+}
@@ -0,0 +1,35 @@
+package com.cirquetask.event.consumer;
+
+import com.cirquetask.event.DomainEvent;
+import com.cirquetask.event.DomainEventConsumer;
+import com.cirquetask.websocket.BoardWebSocketController;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pushes task changes to {@code /topic/board/{boardId}} from the server, so board subscribers no longer
+ * depend on the acting client echoing its own changes.
+ */
+@Component
+@Order(4)
+@RequiredArgsConstructor
+public class BoardBroadcastConsumer implements DomainEventConsumer {
+
+    private final BoardWebSocketController boardWebSocketController;
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        Long boardId = event.longValue("boardId");
+        if (!event.type().isTaskEvent() || boardId == null) {
+            return;
+        }
+        String type = switch (event.type()) {
+            case TASK_CREATED -> "TASK_CREATED";
+            case TASK_MOVED -> "TASK_MOVED";
+            case TASK_DELETED -> "TASK_DELETED";
+            default -> "TASK_UPDATED";
+        };
+        boardWebSocketController.broadcastBoardUpdate(boardId, type, event.payload());
+    }
+}
@@ -0,0 +1,67 @@
+package com.cirquetask.event.consumer;
+
+import com.cirquetask.event.DomainEvent;
+import com.cirquetask.event.DomainEventConsumer;
+import com.cirquetask.model.entity.Task;
+import com.cirquetask.model.entity.User;
+import com.cirquetask.repository.TaskRepository;
+import com.cirquetask.repository.UserRepository;
+import com.cirquetask.service.MentionService;
+import com.cirquetask.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * In-app notifications for assignments, comments and mentions, created after the change has committed.
+ */
+@Component
+@Order(3)
+@RequiredArgsConstructor
+public class NotificationEventConsumer implements DomainEventConsumer {
+
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final MentionService mentionService;
+
+    @Override
+    @Transactional
+    public void onEvent(DomainEvent event) {
+        switch (event.type()) {
+            case TASK_CREATED -> {
+                if (event.payload().get("assigneeIds") instanceof List<?> assigneeIds) {
+                    for (Object assigneeId : assigneeIds) {
+                        notifyAssigned(event.aggregateId(), ((Number) assigneeId).longValue(), event.actorId());
+                    }
+                }
+            }
+            case TASK_ASSIGNED -> notifyAssigned(event.aggregateId(), event.longValue("assigneeId"), event.actorId());
+            case COMMENT_ADDED -> {
+                Task task = taskRepository.findById(event.longValue("taskId")).orElse(null);
+                User author = event.actorId() != null ? userRepository.findById(event.actorId()).orElse(null) : null;
+                if (task != null && author != null) {
+                    notificationService.sendCommentAdded(task, author);
+                    mentionService.processMentions(event.stringValue("content"), event.projectId(), task.getId(),
+                            author.getId());
+                }
+            }
+            default -> { }
+        }
+    }
+
+    private void notifyAssigned(Long taskId, Long assigneeId, Long actorId) {
+        if (assigneeId == null || actorId == null || assigneeId.equals(actorId)) {
+            return;
+        }
+        Task task = taskRepository.findById(taskId).orElse(null);
+        User assignee = userRepository.findById(assigneeId).orElse(null);
+        User sender = userRepository.findById(actorId).orElse(null);
+        if (task != null && assignee != null && sender != null) {
+            notificationService.sendTaskAssigned(task, assignee, sender);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.cirquetask.event.consumer;
+
+import com.cirquetask.event.DomainEvent;
+import com.cirquetask.event.DomainEventConsumer;
+import com.cirquetask.service.WebhookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class WebhookEventConsumer implements DomainEventConsumer {
+
+    private final WebhookService webhookService;
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        webhookService.triggerWebhooks(event.projectId(), event.type().getWebhookEvent(),
+                event.type().getAggregateType() + ":" + event.aggregateId(), event.payload());
+    }
+}
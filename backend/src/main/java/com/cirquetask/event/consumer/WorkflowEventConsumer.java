@@ -0,0 +1,58 @@
+package com.cirquetask.event.consumer;
+
+import com.cirquetask.event.DomainEvent;
+import com.cirquetask.event.DomainEventConsumer;
+import com.cirquetask.model.enums.WorkflowTrigger;
+import com.cirquetask.service.WorkflowService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps task and comment events to workflow triggers. Changes are detected from the {@code previous*} fields
+ * the task service adds to the payload when a value actually changed. Events published by the rules themselves
+ * are skipped: their cascade already ran inside {@link WorkflowService#executeWorkflows}.
+ */
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class WorkflowEventConsumer implements DomainEventConsumer {
+
+    private final WorkflowService workflowService;
+
+    @Override
+    public void onEvent(DomainEvent event) {
+        if (event.payload().containsKey(WorkflowService.WORKFLOW_MARKER)) {
+            return;
+        }
+        switch (event.type()) {
+            case TASK_CREATED -> run(event.aggregateId(), WorkflowTrigger.TASK_CREATED, null);
+            case TASK_ASSIGNED -> run(event.aggregateId(), WorkflowTrigger.TASK_ASSIGNED, event.stringValue("assigneeId"));
+            case TASK_MOVED -> {
+                run(event.aggregateId(), WorkflowTrigger.TASK_MOVED_TO_COLUMN, event.stringValue("columnId"));
+                runFieldTriggers(event);
+            }
+            case TASK_UPDATED -> runFieldTriggers(event);
+            case COMMENT_ADDED -> run(event.longValue("taskId"), WorkflowTrigger.COMMENT_ADDED, null);
+            default -> { }
+        }
+    }
+
+    private void runFieldTriggers(DomainEvent event) {
+        if (event.payload().containsKey("previousStatus")) {
+            run(event.aggregateId(), WorkflowTrigger.TASK_STATUS_CHANGED, event.stringValue("status"));
+        }
+        if (event.payload().containsKey("previousPriority")) {
+            run(event.aggregateId(), WorkflowTrigger.TASK_PRIORITY_CHANGED, event.stringValue("priority"));
+        }
+        if (event.payload().containsKey("previousDueDate") && event.stringValue("dueDate") != null) {
+            run(event.aggregateId(), WorkflowTrigger.DUE_DATE_SET, event.stringValue("dueDate"));
+        }
+    }
+
+    private void run(Long taskId, WorkflowTrigger trigger, String value) {
+        if (taskId != null) {
+            workflowService.executeWorkflows(taskId, trigger, value);
+        }
+    }
+}
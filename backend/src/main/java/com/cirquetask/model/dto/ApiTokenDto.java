@@ -0,0 +1,22 @@
+package com.cirquetask.model.dto;
+
+import com.cirquetask.model.enums.ApiTokenScope;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class ApiTokenDto {
+    private Long id;
+    private String name;
+    private String tokenPrefix;
+    private Set<ApiTokenScope> scopes;
+    private LocalDateTime expiresAt;
+    private LocalDateTime lastUsedAt;
+    private LocalDateTime createdAt;
+    /** The full token; only returned once, when the token is created. */
+    private String token;
+}
@@ -0,0 +1,27 @@
+package com.cirquetask.model.dto;
+
+import com.cirquetask.model.enums.ApiTokenScope;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ApiTokenRequest {
+
+    @NotBlank(message = "Token name is required")
+    @Size(max = 255)
+    private String name;
+
+    private Set<ApiTokenScope> scopes;
+
+    @Future(message = "Expiry must be in the future")
+    private LocalDateTime expiresAt;
+}
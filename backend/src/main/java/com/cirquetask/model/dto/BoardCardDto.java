@@ -0,0 +1,35 @@
+package com.cirquetask.model.dto;
+
+import com.cirquetask.model.enums.TaskPriority;
+import com.cirquetask.model.enums.TaskStatus;
+import com.cirquetask.model.enums.TaskType;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lean task card for board snapshots: only what a Kanban card renders.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class BoardCardDto {
+    private Long id;
+    private String taskKey;
+    private String title;
+    private TaskType type;
+    private TaskPriority priority;
+    private TaskStatus status;
+    private Integer storyPoints;
+    private Long columnId;
+    private Long position;
+    private LocalDate dueDate;
+    private Integer commentCount;
+    private Integer attachmentCount;
+    @Builder.Default
+    private List<UserDto> assignees = new ArrayList<>();
+    @Builder.Default
+    private List<LabelDto> labels = new ArrayList<>();
+}
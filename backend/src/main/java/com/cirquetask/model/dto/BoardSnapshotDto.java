@@ -0,0 +1,20 @@
+package com.cirquetask.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Read model for opening a board: columns with lean cards, assignee summaries and label chips.
+ */
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class BoardSnapshotDto {
+    private Long id;
+    private String name;
+    private String description;
+    private Long projectId;
+    private Boolean isDefault;
+    private List<ColumnSnapshotDto> columns;
+}
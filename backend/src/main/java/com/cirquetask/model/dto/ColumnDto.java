@@ -11,7 +11,7 @@ public class ColumnDto {
     private Long id;
     private String name;
     private String color;
-    private Integer position;
+    private Long position;
     private Integer wipLimit;
     private Boolean isDoneColumn;
     private Integer taskCount;
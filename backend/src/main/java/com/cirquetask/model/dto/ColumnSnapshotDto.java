@@ -0,0 +1,22 @@
+package com.cirquetask.model.dto;
+
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class ColumnSnapshotDto {
+    private Long id;
+    private String name;
+    private String color;
+    private Long position;
+    private Integer wipLimit;
+    private Boolean isDoneColumn;
+    private Integer taskCount;
+    private Boolean isWipLimitExceeded;
+    @Builder.Default
+    private List<BoardCardDto> tasks = new ArrayList<>();
+}
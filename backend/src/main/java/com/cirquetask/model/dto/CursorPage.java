@@ -0,0 +1,15 @@
+package com.cirquetask.model.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+    private List<T> items;
+    /** Opaque token for the next page; null on the last page. */
+    private String nextCursor;
+    private boolean hasMore;
+}
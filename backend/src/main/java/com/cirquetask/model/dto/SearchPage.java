@@ -0,0 +1,20 @@
+package com.cirquetask.model.dto;
+
+import com.cirquetask.model.enums.SearchPageMode;
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class SearchPage<T> {
+    private List<T> content;
+    private int page;
+    private int size;
+    private boolean hasNext;
+    private SearchPageMode mode;
+    /** Total matches; a lower bound when {@code totalCapped} is set, absent in SLICE mode. */
+    private Long totalElements;
+    private boolean totalCapped;
+}
@@ -23,7 +23,7 @@ public class TaskDto {
     private TaskType type;
     private Integer storyPoints;
     private Long columnId;
-    private Integer position;
+    private Long position;
     private Long projectId;
     private UserDto reporter;
     private Set<UserDto> assignees;
@@ -1,5 +1,6 @@
 package com.cirquetask.model.dto;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 
@@ -11,6 +12,8 @@ public class TaskMoveRequest {
     @NotNull(message = "Target column ID is required")
     private Long columnId;
 
+    /** Target index of the task inside the column; converted to a sparse ordering key server-side. */
     @NotNull(message = "Position is required")
+    @Min(value = 0, message = "Position must not be negative")
     private Integer position;
 }
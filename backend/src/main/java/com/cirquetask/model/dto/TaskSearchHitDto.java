@@ -0,0 +1,16 @@
+package com.cirquetask.model.dto;
+
+import lombok.*;
+
+@Getter @Setter
+@NoArgsConstructor @AllArgsConstructor
+@Builder
+public class TaskSearchHitDto {
+    private TaskDto task;
+    /** Relevance of the hit; null when the search had no text query. */
+    private Double rank;
+    /** HTML-escaped title with matched terms wrapped in {@code <mark>}. */
+    private String titleHighlight;
+    /** HTML-escaped description fragments with matched terms wrapped in {@code <mark>}. */
+    private String descriptionHighlight;
+}
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class ApiToken {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "api_tokens_id_seq")
+    @SequenceGenerator(name = "api_tokens_id_seq", sequenceName = "api_tokens_id_seq", allocationSize = 10)
     private Long id;
 
     @Column(nullable = false)
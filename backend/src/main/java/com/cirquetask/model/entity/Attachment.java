@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class Attachment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "attachments_id_seq")
+    @SequenceGenerator(name = "attachments_id_seq", sequenceName = "attachments_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "file_name", nullable = false)
@@ -19,7 +19,8 @@ import java.util.List;
 public class Board {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "boards_id_seq")
+    @SequenceGenerator(name = "boards_id_seq", sequenceName = "boards_id_seq", allocationSize = 10)
     private Long id;
 
     @Column(nullable = false)
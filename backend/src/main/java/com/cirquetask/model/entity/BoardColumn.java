@@ -18,7 +18,8 @@ import java.util.List;
 public class BoardColumn {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "board_columns_id_seq")
+    @SequenceGenerator(name = "board_columns_id_seq", sequenceName = "board_columns_id_seq", allocationSize = 10)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -33,7 +34,7 @@ public class BoardColumn {
     private Board board;
 
     @Builder.Default
-    private Integer position = 0;
+    private Long position = 0L;
 
     @Column(name = "wip_limit")
     @Builder.Default
@@ -43,8 +44,13 @@ public class BoardColumn {
     @Builder.Default
     private Boolean isDoneColumn = false;
 
+    /** Maintained by atomic UPDATEs in ColumnTaskCountService; never written through the entity. */
+    @Column(name = "task_count", insertable = false, updatable = false)
+    @Builder.Default
+    private Integer taskCount = 0;
+
     @OneToMany(mappedBy = "column", cascade = CascadeType.ALL)
-    @OrderBy("position ASC")
+    @OrderBy("position ASC, id ASC")
     @Builder.Default
     private List<Task> tasks = new ArrayList<>();
 
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class CustomFieldDefinition {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "custom_field_definitions_id_seq")
+    @SequenceGenerator(name = "custom_field_definitions_id_seq", sequenceName = "custom_field_definitions_id_seq", allocationSize = 10)
     private Long id;
 
     @Column(nullable = false)
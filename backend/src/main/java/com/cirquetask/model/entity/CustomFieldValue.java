@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 public class CustomFieldValue {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "custom_field_values_id_seq")
+    @SequenceGenerator(name = "custom_field_values_id_seq", sequenceName = "custom_field_values_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -11,7 +11,8 @@ import lombok.*;
 public class Label {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "labels_id_seq")
+    @SequenceGenerator(name = "labels_id_seq", sequenceName = "labels_id_seq", allocationSize = 10)
     private Long id;
 
     @Column(nullable = false, length = 50)
@@ -0,0 +1,76 @@
+package com.cirquetask.model.entity;
+
+import com.cirquetask.model.enums.DomainEventType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_events")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+public class OutboxEvent {
+
+    /**
+     * Not pooled, so the id is drawn when the event is written. Sequence values are not in commit order in
+     * general; the outbox service locks the project's counter row before drawing one, so within a project the
+     * ids of committed events follow commit order, which is the order the dispatcher delivers in.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_id_seq")
+    @SequenceGenerator(name = "outbox_events_id_seq", sequenceName = "outbox_events_id_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 50)
+    private DomainEventType eventType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * Number of consumers, in dispatch order, that have handled this event; a retry resumes at the next one.
+     */
+    @Column(name = "delivered_to", nullable = false)
+    @Builder.Default
+    private Integer deliveredTo = 0;
+
+    /**
+     * Set while a dispatcher delivers this event; other rounds leave its project alone until then.
+     */
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+}
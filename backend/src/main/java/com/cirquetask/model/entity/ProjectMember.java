@@ -16,7 +16,8 @@ import java.time.LocalDateTime;
 public class ProjectMember {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "project_members_id_seq")
+    @SequenceGenerator(name = "project_members_id_seq", sequenceName = "project_members_id_seq", allocationSize = 10)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -22,7 +22,8 @@ import java.time.LocalDateTime;
 public class RecurringTask {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recurring_tasks_id_seq")
+    @SequenceGenerator(name = "recurring_tasks_id_seq", sequenceName = "recurring_tasks_id_seq", allocationSize = 10)
     private Long id;
 
     @Column(nullable = false)
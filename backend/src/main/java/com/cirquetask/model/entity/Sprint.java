@@ -23,7 +23,8 @@ import java.util.List;
 public class Sprint {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sprints_id_seq")
+    @SequenceGenerator(name = "sprints_id_seq", sequenceName = "sprints_id_seq", allocationSize = 10)
     private Long id;
 
     @Column(nullable = false)
@@ -25,7 +25,8 @@ import java.util.Set;
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_id_seq")
+    @SequenceGenerator(name = "tasks_id_seq", sequenceName = "tasks_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 500)
@@ -65,7 +66,7 @@ public class Task {
     private BoardColumn column;
 
     @Builder.Default
-    private Integer position = 0;
+    private Long position = 0L;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
@@ -114,6 +115,16 @@ public class Task {
     @Builder.Default
     private Set<Label> labels = new HashSet<>();
 
+    /** Maintained by CommentServiceImpl; never written through the entity. */
+    @Column(name = "comment_count", insertable = false, updatable = false)
+    @Builder.Default
+    private Integer commentCount = 0;
+
+    /** Maintained by AttachmentServiceImpl; never written through the entity. */
+    @Column(name = "attachment_count", insertable = false, updatable = false)
+    @Builder.Default
+    private Integer attachmentCount = 0;
+
     @OneToMany(mappedBy = "task", cascade = CascadeType.ALL, orphanRemoval = true)
     @OrderBy("createdAt DESC")
     @Builder.Default
@@ -21,7 +21,8 @@ import java.time.LocalDateTime;
 public class TaskDependency {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_dependencies_id_seq")
+    @SequenceGenerator(name = "task_dependencies_id_seq", sequenceName = "task_dependencies_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -20,7 +20,8 @@ import java.time.LocalDateTime;
 public class TaskTemplate {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_templates_id_seq")
+    @SequenceGenerator(name = "task_templates_id_seq", sequenceName = "task_templates_id_seq", allocationSize = 10)
     private Long id;
 
     @Column(nullable = false)
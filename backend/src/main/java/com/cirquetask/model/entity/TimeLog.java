@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class TimeLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "time_logs_id_seq")
+    @SequenceGenerator(name = "time_logs_id_seq", sequenceName = "time_logs_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -20,7 +20,8 @@ import java.util.Set;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 10)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -45,6 +46,10 @@ public class User {
     @Builder.Default
     private Boolean isActive = true;
 
+    @Column(name = "token_epoch", nullable = false)
+    @Builder.Default
+    private Integer tokenEpoch = 0;
+
     @Column(name = "last_login_at")
     private LocalDateTime lastLoginAt;
 
@@ -18,7 +18,8 @@ import java.time.LocalDateTime;
 public class Webhook {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "webhooks_id_seq")
+    @SequenceGenerator(name = "webhooks_id_seq", sequenceName = "webhooks_id_seq", allocationSize = 10)
     private Long id;
 
     @Column(nullable = false)
@@ -37,6 +38,22 @@ public class Webhook {
     @Builder.Default
     private Boolean isActive = true;
 
+    /**
+     * Seconds a delivery waits for newer events about the same entity to replace it; null uses
+     * {@code app.webhooks.coalesce-seconds} (0, off, unless configured), 0 sends every event. Not exposed
+     * through the API: a subscriber opts in by an operator setting the column.
+     */
+    @Column(name = "coalesce_seconds")
+    private Integer coalesceSeconds;
+
+    /**
+     * Deliveries per request; above 1 the subscriber receives a JSON array of events. Like
+     * {@link #coalesceSeconds}, only set in the database.
+     */
+    @Column(name = "batch_size", nullable = false)
+    @Builder.Default
+    private Integer batchSize = 1;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
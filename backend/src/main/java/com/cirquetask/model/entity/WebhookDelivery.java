@@ -0,0 +1,73 @@
+package com.cirquetask.model.entity;
+
+import com.cirquetask.model.enums.WebhookDeliveryStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "webhook_deliveries")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+public class WebhookDelivery {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "webhook_deliveries_id_seq")
+    @SequenceGenerator(name = "webhook_deliveries_id_seq", sequenceName = "webhook_deliveries_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "webhook_id", nullable = false)
+    private Long webhookId;
+
+    @Column(nullable = false, length = 100)
+    private String event;
+
+    @Column(name = "entity_key", length = 100)
+    private String entityKey;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    /**
+     * Until then, newer events for the same webhook, event and entity replace the payload instead of
+     * adding a delivery.
+     */
+    @Column(name = "coalesce_until")
+    private LocalDateTime coalesceUntil;
+
+    @Column(name = "coalesced_count", nullable = false)
+    @Builder.Default
+    private Integer coalescedCount = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    @Builder.Default
+    private WebhookDeliveryStatus status = WebhookDeliveryStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+}
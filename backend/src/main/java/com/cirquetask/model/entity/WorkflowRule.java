@@ -21,7 +21,8 @@ import java.time.LocalDateTime;
 public class WorkflowRule {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "workflow_rules_id_seq")
+    @SequenceGenerator(name = "workflow_rules_id_seq", sequenceName = "workflow_rules_id_seq", allocationSize = 10)
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,63 @@
+package com.cirquetask.model.enums;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Permissions an API token can be granted. Stored as a comma-separated list on the token and
+ * turned into a bit mask once when the token is verified, so per-request checks are a single AND.
+ */
+public enum ApiTokenScope {
+    READ,
+    WRITE;
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    public static int toBits(Collection<ApiTokenScope> scopes) {
+        int bits = 0;
+        for (ApiTokenScope scope : scopes) {
+            bits |= scope.bit();
+        }
+        return bits;
+    }
+
+    public static Set<ApiTokenScope> fromBits(int bits) {
+        Set<ApiTokenScope> scopes = EnumSet.noneOf(ApiTokenScope.class);
+        for (ApiTokenScope scope : values()) {
+            if ((bits & scope.bit()) != 0) {
+                scopes.add(scope);
+            }
+        }
+        return scopes;
+    }
+
+    /**
+     * Parses the stored scope list; unknown names are ignored and an empty list grants {@link #READ}.
+     */
+    public static int toBits(String scopes) {
+        int bits = 0;
+        if (scopes != null) {
+            for (String name : scopes.split(",")) {
+                for (ApiTokenScope scope : values()) {
+                    if (scope.name().equalsIgnoreCase(name.trim())) {
+                        bits |= scope.bit();
+                    }
+                }
+            }
+        }
+        return bits != 0 ? bits : READ.bit();
+    }
+
+    /**
+     * Scope a request with the given HTTP method needs: safe methods read, everything else writes.
+     */
+    public static ApiTokenScope forMethod(String method) {
+        return switch (method) {
+            case "GET", "HEAD", "OPTIONS" -> READ;
+            default -> WRITE;
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.cirquetask.model.enums;
+
+/**
+ * Domain events written to the outbox. {@link #webhookEvent} is the name external webhooks subscribe to.
+ */
+public enum DomainEventType {
+    TASK_CREATED("task.created"),
+    TASK_UPDATED("task.updated"),
+    TASK_MOVED("task.moved"),
+    TASK_COMPLETED("task.completed"),
+    TASK_ASSIGNED("task.assigned"),
+    TASK_DELETED("task.deleted"),
+    COMMENT_ADDED("comment.added"),
+    COMMENT_UPDATED("comment.updated"),
+    COMMENT_DELETED("comment.deleted"),
+    SPRINT_CREATED("sprint.created"),
+    SPRINT_UPDATED("sprint.updated"),
+    SPRINT_STARTED("sprint.started"),
+    SPRINT_COMPLETED("sprint.completed"),
+    SPRINT_DELETED("sprint.deleted");
+
+    private final String webhookEvent;
+
+    DomainEventType(String webhookEvent) {
+        this.webhookEvent = webhookEvent;
+    }
+
+    public String getWebhookEvent() {
+        return webhookEvent;
+    }
+
+    /**
+     * The kind of entity the event is about ({@code task}, {@code comment}, {@code sprint}).
+     */
+    public String getAggregateType() {
+        return webhookEvent.substring(0, webhookEvent.indexOf('.'));
+    }
+
+    public boolean isTaskEvent() {
+        return name().startsWith("TASK_");
+    }
+}
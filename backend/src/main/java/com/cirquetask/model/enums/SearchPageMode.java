@@ -0,0 +1,13 @@
+package com.cirquetask.model.enums;
+
+/**
+ * How a search page reports the size of the full result set.
+ */
+public enum SearchPageMode {
+    /** Exact total from a full COUNT. */
+    EXACT,
+    /** Total counted up to a threshold; larger results are reported as capped (e.g. "1000+"). */
+    ESTIMATED,
+    /** No count at all; only whether a next page exists. */
+    SLICE
+}
@@ -0,0 +1,7 @@
+package com.cirquetask.model.enums;
+
+public enum WebhookDeliveryStatus {
+    PENDING,
+    DELIVERED,
+    FAILED
+}
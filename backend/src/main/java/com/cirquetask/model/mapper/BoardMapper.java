@@ -2,6 +2,7 @@ package com.cirquetask.model.mapper;
 
 import com.cirquetask.model.dto.BoardDto;
 import com.cirquetask.model.dto.ColumnDto;
+import com.cirquetask.model.dto.ColumnSnapshotDto;
 import com.cirquetask.model.entity.Board;
 import com.cirquetask.model.entity.BoardColumn;
 import org.mapstruct.*;
@@ -16,15 +17,20 @@ public interface BoardMapper {
 
     List<BoardDto> toDtoList(List<Board> boards);
 
-    @Mapping(target = "taskCount", expression = "java(column.getTasks() != null ? column.getTasks().size() : 0)")
+    @Mapping(target = "taskCount", expression = "java(column.getTaskCount() != null ? column.getTaskCount() : 0)")
     @Mapping(target = "isWipLimitExceeded", expression = "java(isWipLimitExceeded(column))")
     ColumnDto toColumnDto(BoardColumn column);
 
+    @Mapping(target = "taskCount", expression = "java(column.getTaskCount() != null ? column.getTaskCount() : 0)")
+    @Mapping(target = "isWipLimitExceeded", expression = "java(isWipLimitExceeded(column))")
+    @Mapping(target = "tasks", ignore = true)
+    ColumnSnapshotDto toColumnSnapshotDto(BoardColumn column);
+
     default Boolean isWipLimitExceeded(BoardColumn column) {
         if (column.getWipLimit() == null || column.getWipLimit() <= 0) {
             return false;
         }
-        int taskCount = column.getTasks() != null ? column.getTasks().size() : 0;
+        int taskCount = column.getTaskCount() != null ? column.getTaskCount() : 0;
         return taskCount > column.getWipLimit();
     }
 }
@@ -22,8 +22,6 @@ public interface TaskMapper {
     @Mapping(target = "parentTaskId", source = "parentTask.id")
     @Mapping(target = "sprintId", source = "sprint.id")
     @Mapping(target = "sprintName", source = "sprint.name")
-    @Mapping(target = "commentCount", expression = "java(task.getComments() != null ? task.getComments().size() : 0)")
-    @Mapping(target = "attachmentCount", expression = "java(task.getAttachments() != null ? task.getAttachments().size() : 0)")
     @Mapping(target = "subtasks", ignore = true)
     TaskDto toDto(Task task);
 
@@ -33,8 +31,6 @@ public interface TaskMapper {
     @Mapping(target = "parentTaskId", source = "parentTask.id")
     @Mapping(target = "sprintId", source = "sprint.id")
     @Mapping(target = "sprintName", source = "sprint.name")
-    @Mapping(target = "commentCount", expression = "java(task.getComments() != null ? task.getComments().size() : 0)")
-    @Mapping(target = "attachmentCount", expression = "java(task.getAttachments() != null ? task.getAttachments().size() : 0)")
     @Mapping(target = "subtasks", ignore = true)
     TaskDto toDtoNoSubtasks(Task task);
 
@@ -1,19 +1,30 @@
 package com.cirquetask.repository;
 
 import com.cirquetask.model.entity.ActivityLog;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
-public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long> {
+public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long>, ActivityLogRepositoryCustom {
 
-    Page<ActivityLog> findByProjectIdOrderByCreatedAtDesc(Long projectId, Pageable pageable);
+    @Query(value = "SELECT l.* FROM activity_logs l WHERE l.project_id = :projectId " +
+            "AND (l.created_at, l.id) < (:cursorCreatedAt, :cursorId) " +
+            "ORDER BY l.created_at DESC, l.id DESC LIMIT :limit", nativeQuery = true)
+    List<ActivityLog> findByProjectIdPage(@Param("projectId") Long projectId,
+                                          @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                          @Param("cursorId") Long cursorId,
+                                          @Param("limit") int limit);
 
-    List<ActivityLog> findTop20ByUserIdOrderByCreatedAtDesc(Long userId);
-
-    List<ActivityLog> findTop20ByProjectIdOrderByCreatedAtDesc(Long projectId);
+    @Query(value = "SELECT l.* FROM activity_logs l WHERE l.user_id = :userId " +
+            "AND (l.created_at, l.id) < (:cursorCreatedAt, :cursorId) " +
+            "ORDER BY l.created_at DESC, l.id DESC LIMIT :limit", nativeQuery = true)
+    List<ActivityLog> findByUserIdPage(@Param("userId") Long userId,
+                                       @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                       @Param("cursorId") Long cursorId,
+                                       @Param("limit") int limit);
 }
@@ -0,0 +1,18 @@
+package com.cirquetask.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ActivityLogRepositoryCustom {
+
+    /**
+     * Inserts the rows as one JDBC batch (rewritten into multi-row INSERTs by the PostgreSQL driver).
+     * Users and projects are referenced by id only; nothing is loaded.
+     */
+    void insertAll(List<NewActivityLog> rows);
+
+    record NewActivityLog(String action, String entityType, Long entityId, String description,
+                          String oldValue, String newValue, Long userId, Long projectId,
+                          LocalDateTime createdAt) {
+    }
+}
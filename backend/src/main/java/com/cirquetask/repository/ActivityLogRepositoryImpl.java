@@ -0,0 +1,33 @@
+package com.cirquetask.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+@RequiredArgsConstructor
+class ActivityLogRepositoryImpl implements ActivityLogRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO activity_logs " +
+            "(action, entity_type, entity_id, description, old_value, new_value, user_id, project_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<NewActivityLog> rows) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.action());
+            ps.setString(2, row.entityType());
+            ps.setObject(3, row.entityId(), Types.BIGINT);
+            ps.setString(4, row.description());
+            ps.setString(5, row.oldValue());
+            ps.setString(6, row.newValue());
+            ps.setObject(7, row.userId(), Types.BIGINT);
+            ps.setObject(8, row.projectId(), Types.BIGINT);
+            ps.setTimestamp(9, Timestamp.valueOf(row.createdAt()));
+        });
+    }
+}
@@ -2,15 +2,31 @@ package com.cirquetask.repository;
 
 import com.cirquetask.model.entity.ApiToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 @Repository
 public interface ApiTokenRepository extends JpaRepository<ApiToken, Long> {
 
     List<ApiToken> findByUserIdOrderByCreatedAtDesc(Long userId);
 
-    Optional<ApiToken> findByTokenPrefixAndIsActiveTrue(String tokenPrefix);
+    /**
+     * Active tokens with this lookup prefix; the prefix is only 32 bits, so more than one may share it.
+     */
+    List<ApiToken> findByTokenPrefixAndIsActiveTrue(String tokenPrefix);
+
+    boolean existsByTokenPrefixAndIsActiveTrue(String tokenPrefix);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ApiToken t SET t.lastUsedAt = :usedAt WHERE t.id IN :ids " +
+           "AND (t.lastUsedAt IS NULL OR t.lastUsedAt < :usedAt)")
+    int updateLastUsedAt(@Param("ids") Collection<Long> ids, @Param("usedAt") LocalDateTime usedAt);
 }
@@ -9,7 +9,7 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, AuditLogRepositoryCustom {
 
     Page<AuditLog> findByEntityTypeAndEntityIdOrderByCreatedAtDesc(
             String entityType, Long entityId, Pageable pageable);
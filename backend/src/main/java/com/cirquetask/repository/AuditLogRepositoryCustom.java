@@ -0,0 +1,16 @@
+package com.cirquetask.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface AuditLogRepositoryCustom {
+
+    /**
+     * Inserts the rows as one JDBC batch (rewritten into multi-row INSERTs by the PostgreSQL driver).
+     */
+    void insertAll(List<NewAuditLog> rows);
+
+    record NewAuditLog(String entityType, Long entityId, String action, String fieldName,
+                       String oldValue, String newValue, Long userId, LocalDateTime createdAt) {
+    }
+}
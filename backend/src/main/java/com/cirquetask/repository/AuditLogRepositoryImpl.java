@@ -0,0 +1,32 @@
+package com.cirquetask.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+@RequiredArgsConstructor
+class AuditLogRepositoryImpl implements AuditLogRepositoryCustom {
+
+    private static final String INSERT_SQL = "INSERT INTO audit_logs " +
+            "(entity_type, entity_id, action, field_name, old_value, new_value, user_id, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<NewAuditLog> rows) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.entityType());
+            ps.setObject(2, row.entityId(), Types.BIGINT);
+            ps.setString(3, row.action());
+            ps.setString(4, row.fieldName());
+            ps.setString(5, row.oldValue());
+            ps.setString(6, row.newValue());
+            ps.setObject(7, row.userId(), Types.BIGINT);
+            ps.setTimestamp(8, Timestamp.valueOf(row.createdAt()));
+        });
+    }
+}
@@ -2,6 +2,9 @@ package com.cirquetask.repository;
 
 import com.cirquetask.model.entity.BoardColumn;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +13,23 @@ import java.util.List;
 public interface BoardColumnRepository extends JpaRepository<BoardColumn, Long> {
 
     List<BoardColumn> findByBoardIdOrderByPositionAsc(Long boardId);
+
+    @Query("SELECT MAX(c.position) FROM BoardColumn c WHERE c.board.id = :boardId")
+    Long findMaxPositionByBoardId(@Param("boardId") Long boardId);
+
+    @Query("SELECT c.taskCount FROM BoardColumn c WHERE c.id = :columnId")
+    Integer findTaskCountById(@Param("columnId") Long columnId);
+
+    @Modifying
+    @Query("UPDATE BoardColumn c SET c.taskCount = c.taskCount + :delta WHERE c.id = :columnId")
+    int adjustTaskCount(@Param("columnId") Long columnId, @Param("delta") int delta);
+
+    /**
+     * Adds to the task count only if the column's WIP limit still allows it; returns 0 otherwise.
+     * The row lock taken by the UPDATE makes the check and the increment a single atomic step.
+     */
+    @Modifying
+    @Query("UPDATE BoardColumn c SET c.taskCount = c.taskCount + :delta WHERE c.id = :columnId " +
+           "AND (c.wipLimit IS NULL OR c.wipLimit <= 0 OR c.taskCount + :delta <= c.wipLimit)")
+    int incrementTaskCountWithinWipLimit(@Param("columnId") Long columnId, @Param("delta") int delta);
 }
@@ -2,12 +2,18 @@ package com.cirquetask.repository;
 
 import com.cirquetask.model.entity.CustomFieldDefinition;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CustomFieldDefinitionRepository extends JpaRepository<CustomFieldDefinition, Long> {
 
     List<CustomFieldDefinition> findByProjectIdOrderByDisplayOrderAsc(Long projectId);
+
+    @Query("SELECT d.project.id FROM CustomFieldDefinition d WHERE d.id = :definitionId")
+    Optional<Long> findProjectIdById(@Param("definitionId") Long definitionId);
 }
@@ -1,18 +1,25 @@
 package com.cirquetask.repository;
 
 import com.cirquetask.model.entity.Notification;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
-    Page<Notification> findByRecipientIdOrderByCreatedAtDesc(Long recipientId, Pageable pageable);
+    @Query(value = "SELECT n.* FROM notifications n WHERE n.recipient_id = :recipientId " +
+            "AND (n.created_at, n.id) < (:cursorCreatedAt, :cursorId) " +
+            "ORDER BY n.created_at DESC, n.id DESC LIMIT :limit", nativeQuery = true)
+    List<Notification> findByRecipientIdPage(@Param("recipientId") Long recipientId,
+                                             @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                             @Param("cursorId") Long cursorId,
+                                             @Param("limit") int limit);
 
     Long countByRecipientIdAndIsReadFalse(Long recipientId);
 
@@ -0,0 +1,40 @@
+package com.cirquetask.repository;
+
+import com.cirquetask.model.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest pending events of projects that are neither waiting on a failed event nor being delivered by
+     * another round, so a project with a long backlog behind a backing-off event cannot fill every batch and
+     * starve the others, and each project's events stay in order.
+     */
+    @Query(value = """
+            SELECT * FROM outbox_events e
+            WHERE e.processed_at IS NULL
+              AND NOT EXISTS (SELECT 1 FROM outbox_events b
+                              WHERE b.project_id = e.project_id AND b.processed_at IS NULL
+                                AND (b.next_attempt_at > :now OR b.claimed_until > :now))
+            ORDER BY e.id LIMIT :limit
+            """, nativeQuery = true)
+    List<OutboxEvent> findPending(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Transaction-scoped advisory lock so only one instance dispatches at a time, which keeps per-project order.
+     */
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryLockDispatcher(@Param("key") long key);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -3,8 +3,11 @@ package com.cirquetask.repository;
 import com.cirquetask.model.entity.ProjectMember;
 import com.cirquetask.model.enums.ProjectRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,9 +22,24 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Lo
 
     long countByProjectId(Long projectId);
 
+    @Query("SELECT m.user.id FROM ProjectMember m WHERE m.project.id = :projectId")
+    List<Long> findUserIdsByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT m.user.id FROM ProjectMember m WHERE m.project.id = :projectId AND LOWER(m.user.email) IN :emails")
+    List<Long> findUserIdsByProjectIdAndEmails(@Param("projectId") Long projectId,
+                                               @Param("emails") Collection<String> lowercaseEmails);
+
     boolean existsByProjectIdAndUserId(Long projectId, Long userId);
 
+    @Query("SELECT m.project.id AS projectId, m.role AS role FROM ProjectMember m WHERE m.user.id = :userId")
+    List<MembershipView> findMembershipsByUserId(@Param("userId") Long userId);
+
     boolean existsByProjectIdAndUserIdAndRole(Long projectId, Long userId, ProjectRole role);
 
     void deleteByProjectIdAndUserId(Long projectId, Long userId);
+
+    interface MembershipView {
+        Long getProjectId();
+        ProjectRole getRole();
+    }
 }
@@ -1,12 +1,16 @@
 package com.cirquetask.repository;
 
 import com.cirquetask.model.entity.Project;
+import com.cirquetask.model.enums.Plan;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
@@ -14,6 +18,9 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
     @Query("SELECT p FROM Project p JOIN p.members m WHERE m.user.id = :userId AND p.isArchived = false ORDER BY p.updatedAt DESC")
     List<Project> findByMemberUserId(@Param("userId") Long userId);
 
+    @Query("SELECT p.id FROM Project p JOIN p.members m WHERE m.user.id = :userId AND p.isArchived = false")
+    List<Long> findMemberProjectIds(@Param("userId") Long userId);
+
     @Query("SELECT p FROM Project p WHERE p.owner.id = :ownerId AND p.isArchived = false ORDER BY p.updatedAt DESC")
     List<Project> findByOwnerId(@Param("ownerId") Long ownerId);
 
@@ -21,4 +28,42 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
 
     @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId")
     Long countTasksByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT t.project.id AS projectId, COUNT(t) AS taskCount FROM Task t WHERE t.project.id IN :projectIds GROUP BY t.project.id")
+    List<ProjectTaskCountView> countTasksByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * Atomically reserves {@code count} task numbers for the project and returns the last reserved number.
+     * Runs in the caller's transaction, on its connection: the counter row stays locked until that commits,
+     * and a rollback returns the numbers.
+     */
+    @Query(value = "INSERT INTO project_task_counters (project_id, last_number) VALUES (:projectId, :count) " +
+            "ON CONFLICT (project_id) DO UPDATE SET last_number = project_task_counters.last_number + :count " +
+            "RETURNING last_number", nativeQuery = true)
+    long reserveTaskNumbers(@Param("projectId") Long projectId, @Param("count") int count);
+
+    /**
+     * Locks the project's counter row until the current transaction ends, creating it if missing. The update's
+     * {@code WHERE false} leaves an existing row unchanged, but ON CONFLICT still locks it.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO project_task_counters (project_id) VALUES (:projectId) " +
+            "ON CONFLICT (project_id) DO UPDATE SET last_number = project_task_counters.last_number WHERE false",
+            nativeQuery = true)
+    void lockTaskCounter(@Param("projectId") Long projectId);
+
+    @Query("SELECT p.owner.id AS ownerId, p.owner.plan AS plan, p.owner.subscriptionStatus AS subscriptionStatus " +
+           "FROM Project p WHERE p.id = :projectId")
+    Optional<OwnerPlanView> findOwnerPlan(@Param("projectId") Long projectId);
+
+    interface OwnerPlanView {
+        Long getOwnerId();
+        Plan getPlan();
+        String getSubscriptionStatus();
+    }
+
+    interface ProjectTaskCountView {
+        Long getProjectId();
+        Long getTaskCount();
+    }
 }
@@ -3,56 +3,89 @@ package com.cirquetask.repository;
 import com.cirquetask.model.entity.Task;
 import com.cirquetask.model.enums.TaskPriority;
 import com.cirquetask.model.enums.TaskStatus;
+import com.cirquetask.model.enums.TaskType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
     List<Task> findByColumnIdOrderByPositionAsc(Long columnId);
 
+    boolean existsByColumnId(Long columnId);
+
+    @Query("SELECT t.project.id FROM Task t WHERE t.id = :taskId")
+    Optional<Long> findProjectIdById(@Param("taskId") Long taskId);
+
+    @Query("SELECT MAX(t.position) FROM Task t WHERE t.column.id = :columnId")
+    Long findMaxPositionByColumnId(@Param("columnId") Long columnId);
+
+    @Query(value = "SELECT position FROM tasks WHERE column_id = :columnId AND id <> :taskId " +
+            "ORDER BY position, id LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Long> findNeighbourPositions(@Param("columnId") Long columnId,
+                                      @Param("taskId") Long taskId,
+                                      @Param("offset") int offset,
+                                      @Param("limit") int limit);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE tasks t SET position = r.rn * :gap FROM (" +
+            "SELECT id, ROW_NUMBER() OVER (ORDER BY position, id) AS rn FROM tasks WHERE column_id = :columnId) r " +
+            "WHERE t.id = r.id AND t.position <> r.rn * :gap", nativeQuery = true)
+    int rebalanceColumnPositions(@Param("columnId") Long columnId, @Param("gap") long gap);
+
     List<Task> findByProjectIdOrderByCreatedAtDesc(Long projectId);
 
-    @Query(value = "SELECT DISTINCT t.* FROM tasks t LEFT JOIN task_assignments a ON t.id = a.task_id " +
+    @Query(value = "SELECT t.* FROM tasks t " +
             "WHERE t.project_id = :projectId " +
             "AND (CAST(:status AS VARCHAR) IS NULL OR t.status = CAST(:status AS task_status)) " +
             "AND (CAST(:priority AS VARCHAR) IS NULL OR t.priority = CAST(:priority AS task_priority)) " +
-            "AND (CAST(:assigneeId AS BIGINT) IS NULL OR a.user_id = CAST(:assigneeId AS BIGINT)) " +
-            "ORDER BY t.created_at DESC", nativeQuery = true)
-    List<Task> findByProjectIdWithFilters(@Param("projectId") Long projectId,
-                                           @Param("status") String status,
-                                           @Param("priority") String priority,
-                                           @Param("assigneeId") Long assigneeId);
+            "AND (CAST(:assigneeId AS BIGINT) IS NULL OR EXISTS (SELECT 1 FROM task_assignments a " +
+            "     WHERE a.task_id = t.id AND a.user_id = CAST(:assigneeId AS BIGINT))) " +
+            "AND (t.created_at, t.id) < (:cursorCreatedAt, :cursorId) " +
+            "ORDER BY t.created_at DESC, t.id DESC LIMIT :limit", nativeQuery = true)
+    List<Task> findProjectTasksPage(@Param("projectId") Long projectId,
+                                    @Param("status") String status,
+                                    @Param("priority") String priority,
+                                    @Param("assigneeId") Long assigneeId,
+                                    @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                    @Param("cursorId") Long cursorId,
+                                    @Param("limit") int limit);
 
     Page<Task> findByProjectId(Long projectId, Pageable pageable);
 
     @Query("SELECT t FROM Task t JOIN t.assignees a WHERE a.id = :userId ORDER BY t.updatedAt DESC")
     List<Task> findByAssigneeId(@Param("userId") Long userId);
 
-    @Query("SELECT t FROM Task t JOIN t.assignees a WHERE a.id = :userId AND t.status != 'DONE' AND t.status != 'CANCELLED' ORDER BY t.priority ASC, t.dueDate ASC")
-    List<Task> findActiveTasksByAssigneeId(@Param("userId") Long userId);
-
-    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId AND t.dueDate <= :date AND t.status != 'DONE' AND t.status != 'CANCELLED' ORDER BY t.dueDate ASC")
-    List<Task> findUpcomingDeadlines(@Param("projectId") Long projectId, @Param("date") LocalDate date);
-
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId AND t.status = :status")
-    Long countByProjectIdAndStatus(@Param("projectId") Long projectId, @Param("status") TaskStatus status);
-
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId AND t.priority = :priority")
-    Long countByProjectIdAndPriority(@Param("projectId") Long projectId, @Param("priority") TaskPriority priority);
-
-    @Query("SELECT COUNT(t) FROM Task t WHERE t.project.id = :projectId AND t.dueDate < CURRENT_DATE AND t.status != 'DONE' AND t.status != 'CANCELLED'")
-    Long countOverdueByProjectId(@Param("projectId") Long projectId);
-
-    @Query("SELECT MAX(CAST(SUBSTRING(t.taskKey, LENGTH(t.project.prefix) + 2) AS int)) FROM Task t WHERE t.project.id = :projectId")
-    Integer findMaxTaskNumberByProjectId(@Param("projectId") Long projectId);
+    @Query(value = "SELECT t.* FROM tasks t JOIN task_assignments a ON a.task_id = t.id " +
+            "WHERE a.user_id = :userId AND t.status NOT IN ('DONE', 'CANCELLED') " +
+            "AND (t.updated_at, t.id) < (:cursorUpdatedAt, :cursorId) " +
+            "ORDER BY t.updated_at DESC, t.id DESC LIMIT :limit", nativeQuery = true)
+    List<Task> findActiveTasksByAssigneePage(@Param("userId") Long userId,
+                                             @Param("cursorUpdatedAt") LocalDateTime cursorUpdatedAt,
+                                             @Param("cursorId") Long cursorId,
+                                             @Param("limit") int limit);
+
+    @Query("SELECT t FROM Task t WHERE t.project.id = :projectId AND t.dueDate <= :date AND t.status != 'DONE' AND t.status != 'CANCELLED' ORDER BY t.dueDate ASC, t.id ASC")
+    List<Task> findUpcomingDeadlines(@Param("projectId") Long projectId, @Param("date") LocalDate date, Pageable pageable);
+
+    /**
+     * Task histogram for the given projects, one row per (project, status, priority) combination present.
+     */
+    @Query("SELECT t.project.id AS projectId, t.status AS status, t.priority AS priority, COUNT(t) AS taskCount, " +
+           "SUM(CASE WHEN t.dueDate < CURRENT_DATE AND t.status != 'DONE' AND t.status != 'CANCELLED' THEN 1 ELSE 0 END) AS overdueCount " +
+           "FROM Task t WHERE t.project.id IN :projectIds GROUP BY t.project.id, t.status, t.priority")
+    List<TaskStatsView> aggregateTaskStats(@Param("projectIds") Collection<Long> projectIds);
 
     List<Task> findByParentTaskId(Long parentTaskId);
 
@@ -88,4 +121,71 @@ public interface TaskRepository extends JpaRepository<Task, Long> {
             @Param("projectId") Long projectId,
             @Param("startDate") LocalDate startDate,
             @Param("endDate") LocalDate endDate);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.commentCount = t.commentCount + :delta WHERE t.id = :taskId")
+    int adjustCommentCount(@Param("taskId") Long taskId, @Param("delta") int delta);
+
+    /** Recounts after deletes, which may cascade to nested replies. */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Task t SET t.commentCount = (SELECT COUNT(c) FROM Comment c WHERE c.task.id = :taskId) WHERE t.id = :taskId")
+    int refreshCommentCount(@Param("taskId") Long taskId);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.attachmentCount = t.attachmentCount + :delta WHERE t.id = :taskId")
+    int adjustAttachmentCount(@Param("taskId") Long taskId, @Param("delta") int delta);
+
+    // Board snapshot read model: one query each for cards, assignees and labels of a whole board
+
+    @Query("SELECT t.id AS id, t.taskKey AS taskKey, t.title AS title, t.type AS type, t.priority AS priority, " +
+           "t.status AS status, t.storyPoints AS storyPoints, c.id AS columnId, t.position AS position, " +
+           "t.dueDate AS dueDate, t.commentCount AS commentCount, t.attachmentCount AS attachmentCount " +
+           "FROM Task t JOIN t.column c WHERE c.board.id = :boardId ORDER BY t.position ASC, t.id ASC")
+    List<BoardCardView> findBoardCards(@Param("boardId") Long boardId);
+
+    @Query("SELECT t.id AS taskId, u.id AS id, u.firstName AS firstName, u.lastName AS lastName, u.avatarUrl AS avatarUrl " +
+           "FROM Task t JOIN t.column c JOIN t.assignees u WHERE c.board.id = :boardId ORDER BY u.firstName, u.lastName")
+    List<CardAssigneeView> findBoardCardAssignees(@Param("boardId") Long boardId);
+
+    @Query("SELECT t.id AS taskId, l.id AS id, l.name AS name, l.color AS color " +
+           "FROM Task t JOIN t.column c JOIN t.labels l WHERE c.board.id = :boardId ORDER BY l.name")
+    List<CardLabelView> findBoardCardLabels(@Param("boardId") Long boardId);
+
+    interface TaskStatsView {
+        Long getProjectId();
+        TaskStatus getStatus();
+        TaskPriority getPriority();
+        Long getTaskCount();
+        Long getOverdueCount();
+    }
+
+    interface BoardCardView {
+        Long getId();
+        String getTaskKey();
+        String getTitle();
+        TaskType getType();
+        TaskPriority getPriority();
+        TaskStatus getStatus();
+        Integer getStoryPoints();
+        Long getColumnId();
+        Long getPosition();
+        LocalDate getDueDate();
+        Integer getCommentCount();
+        Integer getAttachmentCount();
+    }
+
+    interface CardAssigneeView {
+        Long getTaskId();
+        Long getId();
+        String getFirstName();
+        String getLastName();
+        String getAvatarUrl();
+    }
+
+    interface CardLabelView {
+        Long getTaskId();
+        Long getId();
+        String getName();
+        String getColor();
+    }
 }
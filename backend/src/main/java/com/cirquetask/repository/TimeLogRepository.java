@@ -8,12 +8,16 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TimeLogRepository extends JpaRepository<TimeLog, Long> {
 
     List<TimeLog> findByTaskIdOrderByCreatedAtDesc(Long taskId);
 
+    @Query("SELECT t.task.project.id FROM TimeLog t WHERE t.id = :timeLogId")
+    Optional<Long> findProjectIdById(@Param("timeLogId") Long timeLogId);
+
     List<TimeLog> findByUserIdOrderByCreatedAtDesc(Long userId);
 
     @Query("SELECT t FROM TimeLog t WHERE t.user.id = :userId AND t.loggedDate BETWEEN :startDate AND :endDate ORDER BY t.loggedDate DESC, t.createdAt DESC")
@@ -1,7 +1,10 @@
 package com.cirquetask.repository;
 
 import com.cirquetask.model.entity.User;
+import com.cirquetask.model.enums.Plan;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -16,4 +19,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmailIgnoreCase(String email);
 
     Optional<User> findBySubscriptionId(String subscriptionId);
+
+    @Query("SELECT u.id AS id, u.email AS email, u.isActive AS active, u.plan AS plan, " +
+           "u.subscriptionStatus AS subscriptionStatus, u.tokenEpoch AS tokenEpoch " +
+           "FROM User u WHERE u.id = :id")
+    Optional<UserStateView> findStateById(@Param("id") Long id);
+
+    interface UserStateView {
+        Long getId();
+        String getEmail();
+        Boolean getActive();
+        Plan getPlan();
+        String getSubscriptionStatus();
+        Integer getTokenEpoch();
+    }
 }
@@ -0,0 +1,38 @@
+package com.cirquetask.repository;
+
+import com.cirquetask.model.entity.WebhookDelivery;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WebhookDeliveryRepository extends JpaRepository<WebhookDelivery, Long> {
+
+    /**
+     * Due pending deliveries, locked for the calling transaction; rows locked by another instance are skipped.
+     */
+    @Query(value = "SELECT * FROM webhook_deliveries WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY next_attempt_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<WebhookDelivery> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Replaces the payload of a delivery still inside its coalescing window; returns 0 if there is none.
+     * Windows are judged by the database clock, and the dispatcher clears {@code coalesce_until} when it claims
+     * a delivery, so an update that waited on the claim's row lock re-checks and misses it.
+     */
+    @Modifying
+    @Query(value = "UPDATE webhook_deliveries SET payload = :payload, coalesced_count = coalesced_count + 1 " +
+            "WHERE webhook_id = :webhookId AND event = :event AND entity_key = :entityKey " +
+            "AND status = 'PENDING' AND coalesce_until > LOCALTIMESTAMP", nativeQuery = true)
+    int coalesce(@Param("webhookId") Long webhookId, @Param("event") String event,
+                 @Param("entityKey") String entityKey, @Param("payload") String payload);
+
+    @Modifying
+    @Query("DELETE FROM WebhookDelivery d WHERE d.completedAt < :cutoff")
+    int deleteCompletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
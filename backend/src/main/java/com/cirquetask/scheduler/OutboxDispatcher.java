@@ -0,0 +1,235 @@
+package com.cirquetask.scheduler;
+
+import com.cirquetask.config.AsyncConfig;
+import com.cirquetask.event.DomainEvent;
+import com.cirquetask.event.DomainEventConsumer;
+import com.cirquetask.model.entity.OutboxEvent;
+import com.cirquetask.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers committed outbox events to every {@link DomainEventConsumer}. Each round claims the oldest pending
+ * events under a cluster-wide advisory lock and commits the claim, then delivers each project's events in id
+ * order on the event executor (projects in parallel) without holding the lock or a connection. Progress is
+ * recorded per event and per consumer: a consumer that throws leaves the event pending with the consumers
+ * before it marked done, so the retry (with exponential backoff) resumes at the failed consumer. A failing
+ * event holds back the later events of its project until it succeeds or reaches {@code app.outbox.max-attempts},
+ * after which it is marked processed with its last error. A claim expires after {@code app.outbox.claim-seconds}
+ * so events of an instance that died mid-round are picked up again.
+ * <p>
+ * Rounds run when a publishing transaction commits ({@link #wakeUp}) and every {@code app.outbox.poll-ms}
+ * as a fallback for other instances' events and retries.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    private static final long DISPATCHER_LOCK_KEY = 0x0C1B_0E7AL;
+    private static final long MAX_BACKOFF_SECONDS = 300;
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() { };
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<DomainEventConsumer> consumers;
+    private final ObjectMapper objectMapper;
+    private final Executor eventExecutor;
+    private final Executor poller;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final int retentionDays;
+    private final int claimSeconds;
+
+    private final AtomicBoolean wakeRequested = new AtomicBoolean();
+    private final Counter delivered;
+    private final Counter failed;
+    private final Timer lag;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            List<DomainEventConsumer> consumers,
+                            ObjectMapper objectMapper,
+                            @Qualifier(AsyncConfig.EVENT_EXECUTOR) Executor eventExecutor,
+                            @Qualifier(AsyncConfig.OUTBOX_POLLER) Executor poller,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.outbox.batch-size:200}") int batchSize,
+                            @Value("${app.outbox.max-attempts:10}") int maxAttempts,
+                            @Value("${app.outbox.retention-days:7}") int retentionDays,
+                            @Value("${app.outbox.claim-seconds:300}") int claimSeconds) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.consumers = consumers;
+        this.objectMapper = objectMapper;
+        this.eventExecutor = eventExecutor;
+        this.poller = poller;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retentionDays = retentionDays;
+        this.claimSeconds = claimSeconds;
+        this.delivered = Counter.builder("outbox.delivered").register(meterRegistry);
+        this.failed = Counter.builder("outbox.failed").register(meterRegistry);
+        this.lag = Timer.builder("outbox.lag")
+                .description("Time from commit of an event to its delivery")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Requests a dispatch round on the poller thread; calls while a round is queued are coalesced.
+     */
+    public void wakeUp() {
+        wakeRequested.set(true);
+        poller.execute(this::dispatchPending);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-ms:1000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    @Scheduled(cron = "0 30 3 * * *")
+    public void purgeProcessed() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxEventRepository.deleteProcessedBefore(LocalDateTime.now().minusDays(retentionDays)));
+        log.info("Purged {} processed outbox events", deleted);
+    }
+
+    void dispatchPending() {
+        while (wakeRequested.getAndSet(false)) {
+            try {
+                while (dispatchRound() > 0) {
+                    // keep going until a round finds nothing deliverable
+                }
+            } catch (Exception e) {
+                log.error("Outbox dispatch round failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Runs one round and returns how many events it delivered or failed (0 if nothing was deliverable or
+     * another instance holds the lock).
+     */
+    int dispatchRound() {
+        List<OutboxEvent> claimed = transactionTemplate.execute(status -> claim());
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+        Map<Long, List<OutboxEvent>> byProject = new LinkedHashMap<>();
+        for (OutboxEvent event : claimed) {
+            byProject.computeIfAbsent(event.getProjectId(), id -> new ArrayList<>()).add(event);
+        }
+        List<CompletableFuture<Integer>> rounds = byProject.values().stream()
+                .map(events -> CompletableFuture.supplyAsync(() -> deliverInOrder(events), eventExecutor))
+                .toList();
+        int outcomes = 0;
+        for (CompletableFuture<Integer> round : rounds) {
+            outcomes += round.join();
+        }
+        return outcomes;
+    }
+
+    private List<OutboxEvent> claim() {
+        if (!outboxEventRepository.tryLockDispatcher(DISPATCHER_LOCK_KEY)) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // Projects whose oldest event is backing off or already claimed are left out by the query.
+        List<OutboxEvent> pending = outboxEventRepository.findPending(now, batchSize);
+        LocalDateTime claimedUntil = now.plusSeconds(claimSeconds);
+        for (OutboxEvent event : pending) {
+            event.setClaimedUntil(claimedUntil);
+        }
+        return pending;
+    }
+
+    /**
+     * Delivers one project's claimed events and releases each as it completes; returns how many were handled.
+     */
+    private int deliverInOrder(List<OutboxEvent> events) {
+        int handled = 0;
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            Exception error = deliver(event);
+            LocalDateTime now = LocalDateTime.now();
+            if (error == null) {
+                event.setProcessedAt(now);
+                delivered.increment();
+                lag.record(Duration.between(event.getCreatedAt(), now));
+            } else {
+                recordFailure(event, error, now);
+            }
+            event.setClaimedUntil(null);
+            outboxEventRepository.save(event);
+            handled++;
+            if (error != null) {
+                // Later events of this project wait for this one to preserve order.
+                release(events.subList(i + 1, events.size()));
+                break;
+            }
+        }
+        return handled;
+    }
+
+    /**
+     * Runs the consumers that have not yet handled the event, advancing its offset past each one that succeeds.
+     */
+    private Exception deliver(OutboxEvent event) {
+        try {
+            DomainEvent domainEvent = toDomainEvent(event);
+            while (event.getDeliveredTo() < consumers.size()) {
+                consumers.get(event.getDeliveredTo()).onEvent(domainEvent);
+                event.setDeliveredTo(event.getDeliveredTo() + 1);
+            }
+            return null;
+        } catch (Exception e) {
+            return e;
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, Exception error, LocalDateTime now) {
+        failed.increment();
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(String.valueOf(error.getMessage()));
+        if (event.getAttempts() >= maxAttempts) {
+            event.setProcessedAt(now);
+            log.error("Giving up on outbox event {} ({}) after {} attempts: {}", event.getId(), event.getEventType(),
+                    event.getAttempts(), error.getMessage());
+        } else {
+            event.setNextAttemptAt(now.plusSeconds(Math.min(1L << Math.min(event.getAttempts(), 20), MAX_BACKOFF_SECONDS)));
+            log.warn("Outbox event {} ({}) failed, attempt {}: {}", event.getId(), event.getEventType(),
+                    event.getAttempts(), error.getMessage());
+        }
+    }
+
+    private void release(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            event.setClaimedUntil(null);
+            outboxEventRepository.save(event);
+        }
+    }
+
+    private DomainEvent toDomainEvent(OutboxEvent event) throws Exception {
+        return new DomainEvent(event.getId(), event.getProjectId(), event.getEventType(), event.getAggregateId(),
+                event.getActorId(), objectMapper.readValue(event.getPayload(), PAYLOAD_TYPE), event.getCreatedAt());
+    }
+}
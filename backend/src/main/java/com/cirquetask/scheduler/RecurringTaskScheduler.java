@@ -2,9 +2,14 @@ package com.cirquetask.scheduler;
 
 import com.cirquetask.model.entity.RecurringTask;
 import com.cirquetask.model.entity.Task;
+import com.cirquetask.model.enums.DomainEventType;
 import com.cirquetask.model.enums.RecurrencePattern;
 import com.cirquetask.repository.RecurringTaskRepository;
 import com.cirquetask.repository.TaskRepository;
+import com.cirquetask.service.ColumnTaskCountService;
+import com.cirquetask.service.OutboxService;
+import com.cirquetask.service.TaskKeyService;
+import com.cirquetask.service.TaskRankService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -21,6 +26,10 @@ public class RecurringTaskScheduler {
 
     private final RecurringTaskRepository recurringTaskRepository;
     private final TaskRepository taskRepository;
+    private final TaskRankService taskRankService;
+    private final TaskKeyService taskKeyService;
+    private final ColumnTaskCountService columnTaskCountService;
+    private final OutboxService outboxService;
 
     @Scheduled(cron = "0 0 0 * * *")
     @Transactional
@@ -44,9 +53,7 @@ public class RecurringTaskScheduler {
     }
 
     private void createTaskFromRecurring(RecurringTask recurring) {
-        Integer maxNumber = taskRepository.findMaxTaskNumberByProjectId(recurring.getProject().getId());
-        int nextNumber = (maxNumber != null ? maxNumber : 0) + 1;
-        String taskKey = recurring.getProject().getPrefix() + "-" + nextNumber;
+        String taskKey = taskKeyService.nextTaskKey(recurring.getProject());
 
         Task task = Task.builder()
                 .title(recurring.getTitle())
@@ -60,8 +67,14 @@ public class RecurringTaskScheduler {
                 .reporter(recurring.getCreatedBy())
                 .dueDate(recurring.getNextOccurrence().plusDays(getDueDays(recurring.getRecurrencePattern())))
                 .build();
+        if (recurring.getColumn() != null) {
+            task.setPosition(taskRankService.rankAtEnd(recurring.getColumn().getId()));
+        }
 
-        taskRepository.save(task);
+        task = taskRepository.save(task);
+        columnTaskCountService.transfer(null, task.getColumn(), 1, false);
+        outboxService.publishTaskEvent(DomainEventType.TASK_CREATED, task,
+                recurring.getCreatedBy() != null ? recurring.getCreatedBy().getId() : null);
         log.info("Created recurring task: {}", taskKey);
     }
 
@@ -0,0 +1,221 @@
+package com.cirquetask.scheduler;
+
+import com.cirquetask.model.entity.Webhook;
+import com.cirquetask.model.entity.WebhookDelivery;
+import com.cirquetask.model.enums.WebhookDeliveryStatus;
+import com.cirquetask.repository.WebhookDeliveryRepository;
+import com.cirquetask.repository.WebhookRepository;
+import com.cirquetask.webhook.WebhookSender;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drives the {@code webhook_deliveries} log. Each poll claims due pending rows ({@code FOR UPDATE SKIP LOCKED},
+ * so instances never claim the same row) by pushing their {@code next_attempt_at} out by a lease, hands them to
+ * {@link WebhookSender} and returns without waiting; each response is recorded in its own transaction when it
+ * arrives. Failed attempts are retried with jittered exponential backoff until {@code app.webhooks.max-attempts},
+ * after which the delivery is marked {@code FAILED}. Deliveries held back by an endpoint's concurrency limit or
+ * open circuit are rescheduled without using up an attempt. A crashed instance's claims become due again once
+ * their lease expires, so delivery is at least once; receivers can deduplicate on {@code X-Webhook-Delivery}.
+ * <p>
+ * Webhooks with a {@code batch_size} above 1 receive up to that many due deliveries per request as a JSON
+ * array of {@code {deliveryId, event, payload}} objects (event header {@code batch}); the batch succeeds or
+ * fails as a whole.
+ */
+@Component
+@Slf4j
+public class WebhookDispatcher {
+
+    private static final long BASE_BACKOFF_SECONDS = 10;
+    private static final long MAX_BACKOFF_SECONDS = 3600;
+
+    private final WebhookDeliveryRepository deliveryRepository;
+    private final WebhookRepository webhookRepository;
+    private final WebhookSender sender;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int claimSize;
+    private final int maxInFlight;
+    private final int maxAttempts;
+    private final long leaseSeconds;
+    private final int retentionDays;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public WebhookDispatcher(WebhookDeliveryRepository deliveryRepository,
+                             WebhookRepository webhookRepository,
+                             WebhookSender sender,
+                             ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.webhooks.claim-size:100}") int claimSize,
+                             @Value("${app.webhooks.max-in-flight:200}") int maxInFlight,
+                             @Value("${app.webhooks.max-attempts:8}") int maxAttempts,
+                             @Value("${app.webhooks.request-timeout-ms:10000}") long requestTimeoutMs,
+                             @Value("${app.webhooks.retention-days:30}") int retentionDays) {
+        this.deliveryRepository = deliveryRepository;
+        this.webhookRepository = webhookRepository;
+        this.sender = sender;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.claimSize = claimSize;
+        this.maxInFlight = maxInFlight;
+        this.maxAttempts = maxAttempts;
+        // Long enough that a claimed request has timed out before anyone else may claim it again.
+        this.leaseSeconds = requestTimeoutMs / 1000 * 2 + 30;
+        this.retentionDays = retentionDays;
+    }
+
+    @Scheduled(fixedDelayString = "${app.webhooks.poll-ms:500}")
+    public void poll() {
+        try {
+            dispatchDue();
+        } catch (Exception e) {
+            log.error("Webhook dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(cron = "0 45 3 * * *")
+    public void purgeCompleted() {
+        Integer deleted = transactionTemplate.execute(status ->
+                deliveryRepository.deleteCompletedBefore(LocalDateTime.now().minusDays(retentionDays)));
+        log.info("Purged {} completed webhook deliveries", deleted);
+    }
+
+    /**
+     * Claims and sends due deliveries, up to the free in-flight capacity; returns how many requests were sent.
+     */
+    int dispatchDue() {
+        int capacity = Math.min(claimSize, maxInFlight - inFlight.get());
+        if (capacity <= 0) {
+            return 0;
+        }
+        List<WebhookSender.Request> claimed = transactionTemplate.execute(status -> claim(capacity));
+        if (claimed == null) {
+            return 0;
+        }
+        for (WebhookSender.Request request : claimed) {
+            inFlight.incrementAndGet();
+            sender.send(request)
+                    .exceptionally(e -> new WebhookSender.Result(WebhookSender.Outcome.FAILED, null, e.getMessage(), null))
+                    .thenAccept(result -> {
+                        try {
+                            complete(request, result);
+                        } finally {
+                            inFlight.decrementAndGet();
+                        }
+                    });
+        }
+        return claimed.size();
+    }
+
+    private List<WebhookSender.Request> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<WebhookDelivery> due = deliveryRepository.lockDue(now, limit);
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Webhook> webhooks = webhookRepository.findAllById(
+                        due.stream().map(WebhookDelivery::getWebhookId).distinct().toList()).stream()
+                .collect(Collectors.toMap(Webhook::getId, Function.identity()));
+        Map<Webhook, List<WebhookDelivery>> byWebhook = new LinkedHashMap<>();
+        for (WebhookDelivery delivery : due) {
+            // Closes the coalescing window: later events for the entity get a delivery of their own.
+            delivery.setCoalesceUntil(null);
+            Webhook webhook = webhooks.get(delivery.getWebhookId());
+            if (webhook == null || !Boolean.TRUE.equals(webhook.getIsActive())) {
+                delivery.setStatus(WebhookDeliveryStatus.FAILED);
+                delivery.setLastError("Webhook is inactive");
+                delivery.setCompletedAt(now);
+                continue;
+            }
+            delivery.setNextAttemptAt(now.plusSeconds(leaseSeconds));
+            byWebhook.computeIfAbsent(webhook, w -> new ArrayList<>()).add(delivery);
+        }
+        List<WebhookSender.Request> requests = new ArrayList<>(due.size());
+        byWebhook.forEach((webhook, deliveries) -> {
+            int size = Math.max(1, webhook.getBatchSize() != null ? webhook.getBatchSize() : 1);
+            for (int from = 0; from < deliveries.size(); from += size) {
+                requests.add(toRequest(webhook, deliveries.subList(from, Math.min(from + size, deliveries.size()))));
+            }
+        });
+        return requests;
+    }
+
+    private WebhookSender.Request toRequest(Webhook webhook, List<WebhookDelivery> deliveries) {
+        List<Long> ids = deliveries.stream().map(WebhookDelivery::getId).toList();
+        if (webhook.getBatchSize() == null || webhook.getBatchSize() <= 1) {
+            WebhookDelivery delivery = deliveries.get(0);
+            return new WebhookSender.Request(ids, webhook.getId(), webhook.getUrl(), delivery.getEvent(),
+                    delivery.getPayload(), webhook.getSecretToken());
+        }
+        List<Map<String, Object>> events = deliveries.stream()
+                .map(d -> Map.<String, Object>of("deliveryId", d.getId(), "event", d.getEvent(),
+                        "payload", new RawValue(d.getPayload())))
+                .toList();
+        try {
+            return new WebhookSender.Request(ids, webhook.getId(), webhook.getUrl(), "batch",
+                    objectMapper.writeValueAsString(events), webhook.getSecretToken());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize webhook batch", e);
+        }
+    }
+
+    private void complete(WebhookSender.Request request, WebhookSender.Result result) {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            transactionTemplate.executeWithoutResult(status -> deliveryRepository.findAllById(request.deliveryIds())
+                    .forEach(delivery -> apply(delivery, result, now)));
+        } catch (Exception e) {
+            // The lease expires and the deliveries are sent again.
+            log.error("Could not record result of webhook deliveries {}: {}", request.deliveryIds(), e.getMessage());
+        }
+    }
+
+    void apply(WebhookDelivery delivery, WebhookSender.Result result, LocalDateTime now) {
+        switch (result.outcome()) {
+            case DELIVERED -> {
+                delivery.setAttempts(delivery.getAttempts() + 1);
+                delivery.setStatus(WebhookDeliveryStatus.DELIVERED);
+                delivery.setResponseStatus(result.statusCode());
+                delivery.setLastError(null);
+                delivery.setCompletedAt(now);
+            }
+            case THROTTLED, CIRCUIT_OPEN -> delivery.setNextAttemptAt(now.plus(result.retryAfter()));
+            case FAILED -> {
+                delivery.setAttempts(delivery.getAttempts() + 1);
+                delivery.setResponseStatus(result.statusCode());
+                delivery.setLastError(result.error());
+                if (delivery.getAttempts() >= maxAttempts) {
+                    delivery.setStatus(WebhookDeliveryStatus.FAILED);
+                    delivery.setCompletedAt(now);
+                    log.warn("Webhook delivery {} to webhook {} failed after {} attempts: {}", delivery.getId(),
+                            delivery.getWebhookId(), delivery.getAttempts(), result.error());
+                } else {
+                    delivery.setNextAttemptAt(now.plusSeconds(backoffSeconds(delivery.getAttempts())));
+                }
+            }
+        }
+    }
+
+    private static long backoffSeconds(int attempts) {
+        long backoff = Math.min(BASE_BACKOFF_SECONDS << Math.min(attempts - 1, 20), MAX_BACKOFF_SECONDS);
+        // +-20% jitter so deliveries that failed together do not retry together
+        return Math.max(1, backoff + ThreadLocalRandom.current().nextLong(-backoff / 5, backoff / 5 + 1));
+    }
+}
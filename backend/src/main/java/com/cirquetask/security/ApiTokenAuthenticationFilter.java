@@ -0,0 +1,96 @@
+package com.cirquetask.security;
+
+import com.cirquetask.model.enums.ApiTokenScope;
+import com.cirquetask.util.ApiTokenCodec;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Authenticates {@code Authorization: Bearer ctk_...} requests with an API token. The token's scopes must
+ * cover the request method ({@link ApiTokenScope#forMethod}); JWT bearer values are left to
+ * {@link JwtAuthenticationFilter}.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApiTokenAuthenticationFilter extends OncePerRequestFilter implements Ordered {
+
+    private static final int ORDER = 3;
+
+    /** Request attribute holding the id of the authenticating API token, used for per-token quotas. */
+    public static final String TOKEN_ID_ATTRIBUTE = ApiTokenAuthenticationFilter.class.getName() + ".tokenId";
+
+    /** Token management stays behind an interactive login, so a leaked token cannot mint new ones. */
+    private static final String TOKEN_MANAGEMENT_PATH = "/api/tokens";
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private final ApiTokenVerifier apiTokenVerifier;
+    private final ApiTokenUsageRecorder usageRecorder;
+    private final UserStateCache userStateCache;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !ApiTokenCodec.isApiToken(extractBearer(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Optional<VerifiedApiToken> token = apiTokenVerifier.verify(extractBearer(request));
+        if (token.isPresent()) {
+            if (request.getRequestURI().startsWith(TOKEN_MANAGEMENT_PATH)) {
+                forbid(response, "API tokens cannot manage API tokens");
+                return;
+            }
+            ApiTokenScope required = ApiTokenScope.forMethod(request.getMethod());
+            if (!token.get().allows(required)) {
+                forbid(response, "API token lacks the " + required + " scope");
+                return;
+            }
+            Optional<UserState> state = userStateCache.get(token.get().userId()).filter(UserState::active);
+            if (state.isPresent()) {
+                CustomUserDetails userDetails = new CustomUserDetails(state.get());
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                request.setAttribute(TOKEN_ID_ATTRIBUTE, token.get().tokenId());
+                usageRecorder.record(token.get().tokenId());
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static void forbid(HttpServletResponse response, String message) throws IOException {
+        response.setStatus(HttpStatus.FORBIDDEN.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"success\":false,\"message\":\"" + message + "\"}");
+    }
+
+    private static String extractBearer(HttpServletRequest request) {
+        String bearerToken = request.getHeader("Authorization");
+        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+}
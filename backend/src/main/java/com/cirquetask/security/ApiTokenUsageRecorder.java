@@ -0,0 +1,56 @@
+package com.cirquetask.security;
+
+import com.cirquetask.repository.ApiTokenRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind for {@code api_tokens.last_used_at}. Requests only record the token id in memory; a periodic
+ * flush writes the latest use of every touched token, grouped by minute, so a busy integration causes
+ * at most one UPDATE per flush instead of one per request.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ApiTokenUsageRecorder {
+
+    private final ApiTokenRepository apiTokenRepository;
+
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+
+    public void record(Long tokenId) {
+        pending.put(tokenId, LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES));
+    }
+
+    @Scheduled(fixedDelayString = "${app.api-tokens.last-used-flush-ms:60000}")
+    @PreDestroy
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<LocalDateTime, List<Long>> byMinute = new TreeMap<>();
+        for (Long tokenId : List.copyOf(pending.keySet())) {
+            LocalDateTime usedAt = pending.remove(tokenId);
+            if (usedAt != null) {
+                byMinute.computeIfAbsent(usedAt, t -> new ArrayList<>()).add(tokenId);
+            }
+        }
+        try {
+            byMinute.forEach((usedAt, tokenIds) -> apiTokenRepository.updateLastUsedAt(tokenIds, usedAt));
+        } catch (Exception e) {
+            log.warn("Failed to flush API token usage for {} tokens: {}", byMinute.values().stream().mapToInt(List::size).sum(),
+                    e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.cirquetask.security;
+
+import com.cirquetask.event.ApiTokenRevokedEvent;
+import com.cirquetask.model.entity.ApiToken;
+import com.cirquetask.model.enums.ApiTokenScope;
+import com.cirquetask.repository.ApiTokenRepository;
+import com.cirquetask.util.ApiTokenCodec;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Verifies presented API tokens: the row is looked up by its clear-text prefix and the stored hash compared
+ * in constant time. Verified tokens are cached by hash, so repeated calls from the same integration cost a
+ * SHA-256 and a map lookup. Revocation evicts the entry after commit; the TTL bounds staleness elsewhere.
+ */
+@Component
+public class ApiTokenVerifier {
+
+    private final ApiTokenRepository apiTokenRepository;
+    private final Cache<String, VerifiedApiToken> verified;
+
+    public ApiTokenVerifier(ApiTokenRepository apiTokenRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.api-tokens.cache.max-size:10000}") long maxSize,
+                            @Value("${app.api-tokens.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.apiTokenRepository = apiTokenRepository;
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verified, "apiTokens");
+    }
+
+    /**
+     * The verified token, or empty when it is malformed, unknown, revoked or expired.
+     */
+    public Optional<VerifiedApiToken> verify(String token) {
+        if (!ApiTokenCodec.isWellFormed(token)) {
+            return Optional.empty();
+        }
+        String hash = ApiTokenCodec.hash(token);
+        VerifiedApiToken result = verified.get(hash, h -> load(ApiTokenCodec.lookupPrefix(token), h));
+        return Optional.ofNullable(result).filter(t -> !t.isExpired(LocalDateTime.now()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApiTokenRevoked(ApiTokenRevokedEvent event) {
+        verified.invalidate(event.tokenHash());
+    }
+
+    private VerifiedApiToken load(String prefix, String hash) {
+        // Every candidate is compared, so the time taken does not reveal which one matched
+        ApiToken match = null;
+        for (ApiToken token : apiTokenRepository.findByTokenPrefixAndIsActiveTrue(prefix)) {
+            if (ApiTokenCodec.hashesMatch(token.getTokenHash(), hash)) {
+                match = token;
+            }
+        }
+        if (match == null) {
+            return null;
+        }
+        return new VerifiedApiToken(match.getId(), match.getUser().getId(), ApiTokenScope.toBits(match.getScopes()),
+                match.getExpiresAt());
+    }
+}
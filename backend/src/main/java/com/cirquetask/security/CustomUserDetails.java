@@ -1,6 +1,7 @@
 package com.cirquetask.security;
 
 import com.cirquetask.model.entity.User;
+import com.cirquetask.model.enums.Plan;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -18,6 +19,8 @@ public class CustomUserDetails implements UserDetails {
     private final String firstName;
     private final String lastName;
     private final Boolean isActive;
+    private final Plan plan;
+    private final int tokenEpoch;
     private final Collection<? extends GrantedAuthority> authorities;
 
     public CustomUserDetails(User user) {
@@ -27,9 +30,29 @@ public class CustomUserDetails implements UserDetails {
         this.firstName = user.getFirstName();
         this.lastName = user.getLastName();
         this.isActive = user.getIsActive();
+        this.plan = user.getPlan();
+        this.tokenEpoch = user.getTokenEpoch() != null ? user.getTokenEpoch() : 0;
         this.authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
     }
 
+    /**
+     * Principal of a token-authenticated request. Carries no password or names; those are only
+     * needed during login, which goes through {@link CustomUserDetailsService}.
+     */
+    public CustomUserDetails(UserState state) {
+        this.id = state.id();
+        this.email = state.email();
+        this.password = null;
+        this.firstName = null;
+        this.lastName = null;
+        this.isActive = state.active();
+        this.plan = state.plan();
+        this.tokenEpoch = state.tokenEpoch();
+        this.authorities = state.admin()
+                ? List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))
+                : List.of(new SimpleGrantedAuthority("ROLE_USER"));
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -1,5 +1,7 @@
 package com.cirquetask.security;
 
+import com.cirquetask.util.ApiTokenCodec;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,6 +18,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
@@ -30,7 +33,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter implements Ord
     }
 
     private final JwtTokenProvider jwtTokenProvider;
-    private final CustomUserDetailsService customUserDetailsService;
+    private final UserStateCache userStateCache;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -39,9 +42,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter implements Ord
         try {
             String jwt = extractJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-                String email = jwtTokenProvider.getEmailFromToken(jwt);
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+            Optional<UserState> state = StringUtils.hasText(jwt) && !ApiTokenCodec.isApiToken(jwt)
+                    ? jwtTokenProvider.parseAccessClaims(jwt).flatMap(this::currentState)
+                    : Optional.empty();
+            if (state.isPresent()) {
+                UserDetails userDetails = new CustomUserDetails(state.get());
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
@@ -56,6 +61,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter implements Ord
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * State of the token's user, provided the user is still active and the token was issued under
+     * the current token epoch (bumped on password changes).
+     */
+    private Optional<UserState> currentState(Claims claims) {
+        return userStateCache.get(jwtTokenProvider.getUserId(claims))
+                .filter(UserState::active)
+                .filter(state -> state.tokenEpoch() == jwtTokenProvider.getTokenEpoch(claims));
+    }
+
     private String extractJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
@@ -3,6 +3,7 @@ package com.cirquetask.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
@@ -10,79 +11,70 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.Optional;
 
 @Component
 @Slf4j
 public class JwtTokenProvider {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
-
-    @Value("${app.jwt.expiration-ms}")
-    private long jwtExpirationMs;
-
-    @Value("${app.jwt.refresh-expiration-ms}")
-    private long refreshExpirationMs;
-
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static final String REFRESH_TYPE = "refresh";
+    private static final String EPOCH_CLAIM = "epoch";
+
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+    private final long jwtExpirationMs;
+    private final long refreshExpirationMs;
+
+    public JwtTokenProvider(@Value("${app.jwt.secret}") String jwtSecret,
+                            @Value("${app.jwt.expiration-ms}") long jwtExpirationMs,
+                            @Value("${app.jwt.refresh-expiration-ms}") long refreshExpirationMs) {
+        // Decoding the secret and building the parser are not free; both are immutable and thread-safe.
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.jwtParser = Jwts.parser().verifyWith(signingKey).build();
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.refreshExpirationMs = refreshExpirationMs;
     }
 
     public String generateAccessToken(Authentication authentication) {
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
-        return generateAccessToken(userDetails.getId(), userDetails.getUsername());
+        return generateAccessToken(userDetails.getId(), userDetails.getUsername(), userDetails.getTokenEpoch());
     }
 
-    public String generateAccessToken(Long userId, String email) {
+    public String generateAccessToken(Long userId, String email, int tokenEpoch) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
                 .subject(email)
                 .claim("userId", userId)
+                .claim(EPOCH_CLAIM, tokenEpoch)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String generateRefreshToken(Long userId, String email) {
+    public String generateRefreshToken(Long userId, String email, int tokenEpoch) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + refreshExpirationMs);
 
         return Jwts.builder()
                 .subject(email)
                 .claim("userId", userId)
-                .claim("type", "refresh")
+                .claim(EPOCH_CLAIM, tokenEpoch)
+                .claim("type", REFRESH_TYPE)
                 .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
-    public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
-    }
-
-    public Long getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.get("userId", Long.class);
-    }
-
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the token once and returns its claims, or empty when the token is invalid or expired.
+     */
+    public Optional<Claims> parseClaims(String token) {
         try {
-            Jwts.parser().verifyWith(getSigningKey()).build().parseSignedClaims(token);
-            return true;
+            return Optional.of(jwtParser.parseSignedClaims(token).getPayload());
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature: {}", ex.getMessage());
         } catch (MalformedJwtException ex) {
@@ -93,8 +85,44 @@ public class JwtTokenProvider {
             log.error("Unsupported JWT token: {}", ex.getMessage());
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty: {}", ex.getMessage());
+        } catch (JwtException ex) {
+            log.error("Invalid JWT token: {}", ex.getMessage());
         }
-        return false;
+        return Optional.empty();
+    }
+
+    /**
+     * Verified claims of an access token; refresh tokens are rejected.
+     */
+    public Optional<Claims> parseAccessClaims(String token) {
+        return parseClaims(token).filter(claims -> !isRefreshToken(claims));
+    }
+
+    /**
+     * Verified claims of a refresh token; access tokens are rejected.
+     */
+    public Optional<Claims> parseRefreshClaims(String token) {
+        return parseClaims(token).filter(JwtTokenProvider::isRefreshToken);
+    }
+
+    public Long getUserId(Claims claims) {
+        return claims.get("userId", Long.class);
+    }
+
+    /**
+     * Token epoch the claims were issued under; tokens from before the claim existed count as epoch 0.
+     */
+    public int getTokenEpoch(Claims claims) {
+        Integer epoch = claims.get(EPOCH_CLAIM, Integer.class);
+        return epoch != null ? epoch : 0;
+    }
+
+    public boolean validateToken(String token) {
+        return parseClaims(token).isPresent();
+    }
+
+    private static boolean isRefreshToken(Claims claims) {
+        return REFRESH_TYPE.equals(claims.get("type", String.class));
     }
 
     public long getJwtExpirationMs() {
@@ -0,0 +1,153 @@
+package com.cirquetask.security;
+
+import com.cirquetask.service.PlanLimitService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Token-bucket rate limiting for the API. Login, registration and the password reset endpoints are limited
+ * per client IP to mitigate brute force and mail flooding. The client IP is the connection's address unless
+ * that is one of {@code app.rate-limit.trusted-proxies}, in which case {@code X-Forwarded-For} is walked from
+ * the right up to the first untrusted hop, so a client cannot pick its own key by sending the header. Authenticated requests are limited per API token, or per user for session tokens, with the
+ * quota of the user's plan. Runs after the authentication filters and reports the quota in
+ * {@code RateLimit-Limit}, {@code RateLimit-Remaining} and {@code RateLimit-Reset} headers
+ * ({@code Retry-After} on 429).
+ */
+@Component
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter implements Ordered {
+
+    private static final int ORDER = 1;
+
+    /** Loopback and private networks, where load balancers and ingress proxies usually live. */
+    static final String DEFAULT_TRUSTED_PROXIES =
+            "127.0.0.0/8,::1/128,10.0.0.0/8,172.16.0.0/12,192.168.0.0/16,fc00::/7";
+
+    private static final Set<String> AUTH_PATHS = Set.of(
+            "/api/auth/login", "/api/auth/register", "/api/auth/forgot-password", "/api/auth/reset-password");
+    private static final Pattern IPV4 = Pattern.compile(
+            "((25[0-5]|2[0-4]\\d|1\\d\\d|[1-9]?\\d)\\.){3}(25[0-5]|2[0-4]\\d|1\\d\\d|[1-9]?\\d)");
+    private static final Pattern IPV6 = Pattern.compile("[0-9a-fA-F:.]*:[0-9a-fA-F:.]*");
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private final RateLimiter rateLimiter;
+    private final PlanLimitService planLimitService;
+    private final int authAttemptsPerMinute;
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public RateLimitFilter(RateLimiter rateLimiter,
+                           PlanLimitService planLimitService,
+                           @Value("${app.rate-limit.auth-attempts-per-minute:5}") int authAttemptsPerMinute,
+                           @Value("${app.rate-limit.trusted-proxies:" + DEFAULT_TRUSTED_PROXIES + "}")
+                           List<String> trustedProxies) {
+        this.rateLimiter = rateLimiter;
+        this.planLimitService = planLimitService;
+        this.authAttemptsPerMinute = authAttemptsPerMinute;
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(cidr -> !cidr.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimitResult result;
+        if (isAuthAttempt(request)) {
+            String key = clientKey(request);
+            result = rateLimiter.tryConsume("ip:" + key, authAttemptsPerMinute);
+            if (!result.allowed()) {
+                log.warn("Rate limit exceeded for auth endpoint, key={}", key);
+            }
+        } else {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails user)) {
+                filterChain.doFilter(request, response);
+                return;
+            }
+            Object tokenId = request.getAttribute(ApiTokenAuthenticationFilter.TOKEN_ID_ATTRIBUTE);
+            String key = tokenId != null ? "token:" + tokenId : "user:" + user.getId();
+            result = rateLimiter.tryConsume(key, planLimitService.getApiRequestsPerMinute(user.getPlan()));
+        }
+
+        response.setHeader("RateLimit-Limit", String.valueOf(result.limit()));
+        response.setHeader("RateLimit-Remaining", String.valueOf(result.remaining()));
+        response.setHeader("RateLimit-Reset", String.valueOf(result.resetSeconds()));
+        if (!result.allowed()) {
+            response.setHeader("Retry-After", String.valueOf(result.retryAfterSeconds()));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"success\":false,\"message\":\"Too many requests. Please try again later.\"}");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private static boolean isAuthAttempt(HttpServletRequest request) {
+        return AUTH_PATHS.contains(request.getRequestURI());
+    }
+
+    String clientKey(HttpServletRequest request) {
+        String address = request.getRemoteAddr();
+        String xff = request.getHeader("X-Forwarded-For");
+        if (xff == null || xff.isBlank() || !isTrustedProxy(address)) {
+            return address;
+        }
+        String[] hops = xff.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!isIpLiteral(hop)) {
+                break;
+            }
+            address = hop;
+            if (!isTrustedProxy(hop)) {
+                break;
+            }
+        }
+        return address;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        if (!isIpLiteral(address)) {
+            return false;
+        }
+        try {
+            for (IpAddressMatcher proxy : trustedProxies) {
+                if (proxy.matches(address)) {
+                    return true;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // malformed IPv6 literal
+        }
+        return false;
+    }
+
+    /** Only literals are matched, so a crafted header can never trigger a DNS lookup. */
+    private static boolean isIpLiteral(String value) {
+        return value != null && (IPV4.matcher(value).matches() || IPV6.matcher(value).matches());
+    }
+}
@@ -0,0 +1,23 @@
+package com.cirquetask.security;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of one rate-limit check, with the values reported in the {@code RateLimit-*} response headers.
+ * {@code resetSeconds} is the time until the bucket is full again; {@code retryAfterSeconds} is only
+ * meaningful for rejected requests.
+ */
+public record RateLimitResult(boolean allowed, int limit, long remaining, long resetSeconds, long retryAfterSeconds) {
+
+    static RateLimitResult allowed(int limit, long remaining, long untilFullNanos) {
+        return new RateLimitResult(true, limit, remaining, toSeconds(untilFullNanos), 0);
+    }
+
+    static RateLimitResult rejected(int limit, long untilFullNanos, long retryAfterNanos) {
+        return new RateLimitResult(false, limit, 0, toSeconds(untilFullNanos), Math.max(1, toSeconds(retryAfterNanos)));
+    }
+
+    private static long toSeconds(long nanos) {
+        return nanos <= 0 ? 0 : (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,47 @@
+package com.cirquetask.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-key request quotas. Buckets live in a bounded store and expire once idle, so distinct client keys
+ * (IPs, users, API tokens) cannot grow memory without limit. The quota is part of the bucket key, so a
+ * plan change starts a fresh bucket with the new limit.
+ */
+@Component
+public class RateLimiter {
+
+    private static final long PERIOD_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final Cache<BucketKey, TokenBucket> buckets;
+
+    public RateLimiter(MeterRegistry meterRegistry,
+                       @Value("${app.rate-limit.max-keys:100000}") long maxKeys,
+                       @Value("${app.rate-limit.idle-expiry-seconds:300}") long idleExpirySeconds) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofSeconds(idleExpirySeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rateLimitBuckets");
+    }
+
+    /**
+     * Takes one permit from the key's bucket of {@code permitsPerMinute} tokens.
+     */
+    public RateLimitResult tryConsume(String key, int permitsPerMinute) {
+        long now = System.nanoTime();
+        return buckets.get(new BucketKey(key, permitsPerMinute), k -> new TokenBucket(permitsPerMinute, PERIOD_NANOS, now))
+                .tryConsume(now);
+    }
+
+    private record BucketKey(String key, int permitsPerMinute) {
+    }
+}
@@ -3,6 +3,8 @@ package com.cirquetask.security;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.Optional;
+
 public final class SecurityUtils {
 
     private SecurityUtils() {}
@@ -19,6 +21,17 @@ public final class SecurityUtils {
         return getCurrentUser().getId();
     }
 
+    /**
+     * Id of the authenticated user, or empty outside an authenticated request (schedulers, webhooks).
+     */
+    public static Optional<Long> findCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof CustomUserDetails user) {
+            return Optional.of(user.getId());
+        }
+        return Optional.empty();
+    }
+
     public static String getCurrentUserEmail() {
         return getCurrentUser().getUsername();
     }
@@ -0,0 +1,38 @@
+package com.cirquetask.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its "theoretical arrival time" form (GCRA): the whole bucket state is one
+ * timestamp, the instant at which the bucket would be full again, advanced with compare-and-set.
+ * Equivalent to a bucket of {@code capacity} tokens refilled evenly over {@code periodNanos}.
+ */
+public final class TokenBucket {
+
+    private final int capacity;
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(int capacity, long periodNanos, long nowNanos) {
+        this.capacity = capacity;
+        this.emissionIntervalNanos = Math.max(1, periodNanos / capacity);
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    public RateLimitResult tryConsume(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+            long backlog = next - nowNanos;
+            if (backlog > burstToleranceNanos) {
+                long untilFull = current - nowNanos;
+                return RateLimitResult.rejected(capacity, untilFull, backlog - burstToleranceNanos);
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return RateLimitResult.allowed(capacity, (burstToleranceNanos - backlog) / emissionIntervalNanos, backlog);
+            }
+        }
+    }
+}
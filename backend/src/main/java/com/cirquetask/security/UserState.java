@@ -0,0 +1,12 @@
+package com.cirquetask.security;
+
+import com.cirquetask.model.enums.Plan;
+
+/**
+ * The part of a user that token authentication needs: enough to rebuild the principal and to reject
+ * tokens of deactivated users or tokens issued before the last credential change. {@code plan} is the
+ * effective plan (FREE unless the subscription is active); {@code admin} marks operators listed in
+ * {@code app.security.admin-emails}, who may read operational endpoints such as {@code /actuator/metrics}.
+ */
+public record UserState(Long id, String email, boolean active, Plan plan, int tokenEpoch, boolean admin) {
+}
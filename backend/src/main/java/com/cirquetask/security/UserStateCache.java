@@ -0,0 +1,78 @@
+package com.cirquetask.security;
+
+import com.cirquetask.event.UserStateChangedEvent;
+import com.cirquetask.repository.UserRepository;
+import com.cirquetask.service.PlanLimitService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user authentication state keyed by user id, so token authentication does not hit the {@code users}
+ * table on every request. Entries are dropped by {@link UserStateChangedEvent}s once the changing
+ * transaction has committed; the short TTL bounds staleness when several instances share the database.
+ */
+@Component
+public class UserStateCache {
+
+    private final UserRepository userRepository;
+    private final PlanLimitService planLimitService;
+    private final Set<String> adminEmails;
+    private final Cache<Long, UserState> states;
+
+    public UserStateCache(UserRepository userRepository,
+                          PlanLimitService planLimitService,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.cache.user-state.max-size:50000}") long maxSize,
+                          @Value("${app.cache.user-state.ttl-seconds:60}") long ttlSeconds,
+                          @Value("${app.security.admin-emails:}") List<String> adminEmails) {
+        this.userRepository = userRepository;
+        this.planLimitService = planLimitService;
+        this.adminEmails = adminEmails.stream()
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, states, "userStates");
+    }
+
+    /**
+     * Current state of the user, or empty when the user no longer exists (unknown ids are not cached).
+     */
+    public Optional<UserState> get(Long userId) {
+        return Optional.ofNullable(states.get(userId, this::load));
+    }
+
+    public void evict(Long userId) {
+        states.invalidate(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserStateChanged(UserStateChangedEvent event) {
+        evict(event.userId());
+    }
+
+    private UserState load(Long userId) {
+        return userRepository.findStateById(userId)
+                .map(view -> new UserState(view.getId(), view.getEmail(), Boolean.TRUE.equals(view.getActive()),
+                        planLimitService.getEffectivePlan(view.getPlan(), view.getSubscriptionStatus()),
+                        view.getTokenEpoch() != null ? view.getTokenEpoch() : 0,
+                        view.getEmail() != null && adminEmails.contains(view.getEmail().toLowerCase(Locale.ROOT))))
+                .orElse(null);
+    }
+}
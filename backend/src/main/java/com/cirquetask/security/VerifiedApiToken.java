@@ -0,0 +1,19 @@
+package com.cirquetask.security;
+
+import com.cirquetask.model.enums.ApiTokenScope;
+
+import java.time.LocalDateTime;
+
+/**
+ * An API token whose hash has been checked against the database, with its scopes precomputed as a bit mask.
+ */
+public record VerifiedApiToken(Long tokenId, Long userId, int scopeBits, LocalDateTime expiresAt) {
+
+    public boolean allows(ApiTokenScope scope) {
+        return (scopeBits & scope.bit()) != 0;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
@@ -1,15 +1,14 @@
 package com.cirquetask.service;
 
 import com.cirquetask.model.dto.ActivityLogDto;
-
-import java.util.List;
+import com.cirquetask.model.dto.CursorPage;
 
 public interface ActivityLogService {
 
     void log(String action, String entityType, Long entityId, String description,
              String oldValue, String newValue, Long userId, Long projectId);
 
-    List<ActivityLogDto> getProjectActivities(Long projectId, Long userId);
+    CursorPage<ActivityLogDto> getProjectActivities(Long projectId, Long userId, String cursor, Integer size);
 
-    List<ActivityLogDto> getUserActivities(Long userId);
+    CursorPage<ActivityLogDto> getUserActivities(Long userId, String cursor, Integer size);
 }
@@ -0,0 +1,15 @@
+package com.cirquetask.service;
+
+import com.cirquetask.model.dto.ApiTokenDto;
+import com.cirquetask.model.dto.ApiTokenRequest;
+
+import java.util.List;
+
+public interface ApiTokenService {
+
+    List<ApiTokenDto> listTokens(Long userId);
+
+    ApiTokenDto createToken(ApiTokenRequest request, Long userId);
+
+    void revokeToken(Long tokenId, Long userId);
+}
@@ -1,11 +1,23 @@
 package com.cirquetask.service;
 
 import com.cirquetask.model.dto.AuditLogDto;
+import com.cirquetask.repository.AuditLogRepositoryCustom.NewAuditLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.List;
+
+/**
+ * Audit trail. Field changes of audited entities are captured automatically at flush time by
+ * {@link com.cirquetask.audit.EntityAuditListener}; all writes are buffered and persisted in batches.
+ */
 public interface AuditService {
 
+    /**
+     * Buffers rows captured for a committed transaction.
+     */
+    void record(List<NewAuditLog> rows);
+
     void logCreate(String entityType, Long entityId, Long userId);
 
     void logUpdate(String entityType, Long entityId, String fieldName, String oldValue, String newValue, Long userId);
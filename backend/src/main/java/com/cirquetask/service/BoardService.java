@@ -1,6 +1,7 @@
 package com.cirquetask.service;
 
 import com.cirquetask.model.dto.BoardDto;
+import com.cirquetask.model.dto.BoardSnapshotDto;
 
 import java.util.List;
 
@@ -10,6 +11,11 @@ public interface BoardService {
 
     BoardDto getBoard(Long boardId, Long userId);
 
+    /**
+     * Lean board read model built from a fixed number of queries, independent of the number of cards.
+     */
+    BoardSnapshotDto getBoardSnapshot(Long boardId, Long userId);
+
     BoardDto createBoard(Long projectId, String name, String description, Long userId);
 
     BoardDto updateBoard(Long boardId, String name, String description, Long userId);
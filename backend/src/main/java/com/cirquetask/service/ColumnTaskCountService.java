@@ -0,0 +1,17 @@
+package com.cirquetask.service;
+
+import com.cirquetask.model.entity.BoardColumn;
+
+/**
+ * Maintains the denormalized task count of board columns and enforces WIP limits against it.
+ * Updates run as single-row atomic UPDATEs inside the caller's transaction.
+ */
+public interface ColumnTaskCountService {
+
+    /**
+     * Records that {@code count} tasks left {@code fromColumnId} and entered {@code to}; either side may be null
+     * for creates and deletes. Throws {@link com.cirquetask.exception.BadRequestException} if
+     * {@code enforceWipLimit} is set and the target column would exceed its WIP limit.
+     */
+    void transfer(Long fromColumnId, BoardColumn to, int count, boolean enforceWipLimit);
+}
@@ -1,10 +1,13 @@
 package com.cirquetask.service;
 
+import com.cirquetask.model.dto.CursorPage;
 import com.cirquetask.model.dto.NotificationDto;
+import com.cirquetask.model.entity.Project;
 import com.cirquetask.model.entity.Task;
 import com.cirquetask.model.entity.User;
+import com.cirquetask.model.enums.NotificationType;
 
-import java.util.List;
+import java.util.Collection;
 
 public interface NotificationService {
 
@@ -14,17 +17,30 @@ public interface NotificationService {
 
     void sendMemberAdded(Long projectId, User newMember, User sender);
 
-    void sendMention(Task task, User mentionedUser, User sender, String context);
+    void sendMentions(Task task, Collection<Long> mentionedUserIds, User sender, String context);
 
     void sendDeadlineReminder(Task task, User user, int daysUntilDue);
 
-    void sendTaskUpdated(Task task, User recipient, String updateDescription);
+    void sendTaskUpdated(Task task, Collection<Long> recipientIds, String updateDescription);
 
-    List<NotificationDto> getUserNotifications(Long userId, int page, int size);
+    /**
+     * Sends the same notification to every recipient except its sender: all rows are inserted in one batch,
+     * the DTO is mapped once, and the websocket pushes go out after the surrounding transaction commits.
+     * Returns the number of notifications written.
+     */
+    int fanOut(Draft draft, Collection<Long> recipientIds);
+
+    CursorPage<NotificationDto> getUserNotifications(Long userId, String cursor, Integer size);
 
     Long getUnreadCount(Long userId);
 
     void markAsRead(Long notificationId, Long userId);
 
     void markAllAsRead(Long userId);
+
+    /**
+     * Recipient-independent part of a notification; {@code sender}, {@code project} and {@code task} may be null.
+     */
+    record Draft(String title, String message, NotificationType type, User sender, Project project, Task task) {
+    }
 }
@@ -0,0 +1,24 @@
+package com.cirquetask.service;
+
+import com.cirquetask.model.entity.Task;
+import com.cirquetask.model.enums.DomainEventType;
+
+import java.util.Map;
+
+/**
+ * Writes domain events to the transactional outbox. Must be called inside the transaction that makes the
+ * change; the event becomes visible to consumers only if that transaction commits.
+ */
+public interface OutboxService {
+
+    void publish(DomainEventType type, Long projectId, Long aggregateId, Long actorId, Map<String, Object> payload);
+
+    /**
+     * Publishes a task event whose payload is a snapshot of the task plus the given extra fields.
+     */
+    void publishTaskEvent(DomainEventType type, Task task, Long actorId, Map<String, Object> extra);
+
+    default void publishTaskEvent(DomainEventType type, Task task, Long actorId) {
+        publishTaskEvent(type, task, actorId, Map.of());
+    }
+}
@@ -16,6 +16,16 @@ public interface PlanLimitService {
      */
     Plan getEffectivePlan(User user);
 
+    /**
+     * Effective plan for a stored plan and subscription status (as cached for authentication).
+     */
+    Plan getEffectivePlan(Plan plan, String subscriptionStatus);
+
+    /**
+     * API requests per minute allowed for each user, and separately for each of their API tokens.
+     */
+    int getApiRequestsPerMinute(Plan plan);
+
     /**
      * Max projects the user can own (as owner) on their current plan.
      */
@@ -42,7 +52,7 @@ public interface PlanLimitService {
     boolean hasFeature(User user, Feature feature);
 
     /**
-     * Loads user by id and throws if their plan does not include the feature.
+     * Throws if the user's plan does not include the feature. The user's effective plan is cached.
      */
     void requireUserFeature(Long userId, Feature feature);
 
@@ -52,22 +62,22 @@ public interface PlanLimitService {
     void requireProjectFeature(Project project, Feature feature);
 
     /**
-     * Loads project by id and checks that the project owner's plan includes the feature. Throws if not.
+     * Checks that the project owner's plan includes the feature. Throws if not. The owner's plan is cached per project.
      */
     void requireProjectFeature(Long projectId, Feature feature);
 
     /**
-     * Loads task by id, gets its project, and checks the feature. Throws if not.
+     * Resolves the task's project (cached) and checks the feature. Throws if not.
      */
     void requireTaskProjectFeature(Long taskId, Feature feature);
 
     /**
-     * Loads time log by id, gets task's project, and checks the feature. Throws if not.
+     * Resolves the time log's project (cached) and checks the feature. Throws if not.
      */
     void requireTimeLogProjectFeature(Long timeLogId, Feature feature);
 
     /**
-     * Loads custom field definition by id, gets its project, and checks the feature. Throws if not.
+     * Resolves the custom field definition's project (cached) and checks the feature. Throws if not.
      */
     void requireCustomFieldDefinitionProjectFeature(Long definitionId, Feature feature);
 }
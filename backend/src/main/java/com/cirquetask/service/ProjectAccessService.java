@@ -0,0 +1,34 @@
+package com.cirquetask.service;
+
+import com.cirquetask.model.enums.ProjectRole;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Central project authorization. Answers membership and role questions from a per-user membership set
+ * that is loaded once and cached, instead of one {@code project_members} lookup per check.
+ */
+public interface ProjectAccessService {
+
+    /**
+     * All projects the user is a member of, with the user's role in each.
+     */
+    Map<Long, ProjectRole> getMemberships(Long userId);
+
+    Optional<ProjectRole> findRole(Long projectId, Long userId);
+
+    boolean isMember(Long projectId, Long userId);
+
+    /**
+     * Returns the user's role in the project, or throws {@code AccessDeniedException} when not a member.
+     */
+    ProjectRole requireMember(Long projectId, Long userId);
+
+    /**
+     * Returns the user's role, or throws {@code AccessDeniedException} unless the user is an owner or admin.
+     */
+    ProjectRole requireAdmin(Long projectId, Long userId);
+
+    void evictUser(Long userId);
+}
@@ -0,0 +1,24 @@
+package com.cirquetask.service;
+
+import com.cirquetask.model.dto.DashboardDto;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, event-invalidated cache for dashboard and project summary statistics.
+ */
+public interface ProjectStatsCacheService {
+
+    DashboardDto getUserDashboard(Long userId, Supplier<DashboardDto> loader);
+
+    DashboardDto getProjectDashboard(Long projectId, Supplier<DashboardDto> loader);
+
+    /**
+     * Task counts of the given projects; misses are loaded together with a single grouped query.
+     */
+    Map<Long, Long> getTaskCounts(Collection<Long> projectIds);
+
+    void evictProject(Long projectId);
+}
@@ -1,11 +1,12 @@
 package com.cirquetask.service;
 
+import com.cirquetask.model.dto.SearchPage;
 import com.cirquetask.model.dto.SearchRequest;
-import com.cirquetask.model.dto.TaskDto;
-import org.springframework.data.domain.Page;
+import com.cirquetask.model.dto.TaskSearchHitDto;
+import com.cirquetask.model.enums.SearchPageMode;
 import org.springframework.data.domain.Pageable;
 
 public interface SearchService {
 
-    Page<TaskDto> searchTasks(SearchRequest request, Long userId, Pageable pageable);
+    SearchPage<TaskSearchHitDto> searchTasks(SearchRequest request, Long userId, Pageable pageable, SearchPageMode mode);
 }
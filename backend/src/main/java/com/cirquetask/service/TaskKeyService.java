@@ -0,0 +1,14 @@
+package com.cirquetask.service;
+
+import com.cirquetask.model.entity.Project;
+
+/**
+ * Issues unique, human-readable task keys (e.g. {@code WEB-42}) per project.
+ */
+public interface TaskKeyService {
+
+    /**
+     * Returns the next unused task key of the project. Safe to call concurrently from any node.
+     */
+    String nextTaskKey(Project project);
+}
@@ -0,0 +1,24 @@
+package com.cirquetask.service;
+
+/**
+ * Maintains the sparse ordering keys of tasks inside board columns
+ * (see {@link com.cirquetask.util.SparseRank}).
+ */
+public interface TaskRankService {
+
+    /**
+     * Returns the key that places the task at the given index of the column, ignoring the task's own slot.
+     * Reads at most two neighbouring keys; no other task is rewritten unless the gap is exhausted.
+     */
+    long rankForIndex(Long columnId, Long taskId, int index);
+
+    /**
+     * Returns a key after the last task of the column.
+     */
+    long rankAtEnd(Long columnId);
+
+    /**
+     * Renumbers all tasks of the column with full gaps in a single statement.
+     */
+    void rebalanceColumn(Long columnId);
+}
@@ -1,20 +1,19 @@
 package com.cirquetask.service;
 
+import com.cirquetask.model.dto.CursorPage;
 import com.cirquetask.model.dto.TaskDto;
 import com.cirquetask.model.dto.TaskMoveRequest;
 import com.cirquetask.model.dto.TaskRequest;
 
-import java.util.List;
-
 public interface TaskService {
 
     TaskDto createTask(Long projectId, TaskRequest request, Long userId);
 
     TaskDto getTask(Long taskId, Long userId);
 
-    List<TaskDto> getProjectTasks(Long projectId, Long userId, com.cirquetask.model.enums.TaskStatus status, com.cirquetask.model.enums.TaskPriority priority, Long assigneeId);
+    CursorPage<TaskDto> getProjectTasks(Long projectId, Long userId, com.cirquetask.model.enums.TaskStatus status, com.cirquetask.model.enums.TaskPriority priority, Long assigneeId, String cursor, Integer size);
 
-    List<TaskDto> getMyTasks(Long userId);
+    CursorPage<TaskDto> getMyTasks(Long userId, String cursor, Integer size);
 
     TaskDto updateTask(Long taskId, TaskRequest request, Long userId);
 
@@ -1,14 +1,13 @@
 package com.cirquetask.service;
 
-import com.cirquetask.model.entity.Task;
-
 public interface WebhookService {
 
     void triggerWebhooks(Long projectId, String event, Object payload);
 
-    void triggerTaskCreated(Task task);
-
-    void triggerTaskUpdated(Task task);
-
-    void triggerTaskCompleted(Task task);
+    /**
+     * Like {@link #triggerWebhooks(Long, String, Object)}, but a pending delivery of the same event for the same
+     * {@code entityKey} (e.g. {@code task:42}) still inside its webhook's coalescing window is replaced by this
+     * payload instead of a new delivery being queued.
+     */
+    void triggerWebhooks(Long projectId, String event, String entityKey, Object payload);
 }
@@ -2,13 +2,17 @@ package com.cirquetask.service;
 
 import com.cirquetask.model.dto.WorkflowRuleDto;
 import com.cirquetask.model.dto.WorkflowRuleRequest;
-import com.cirquetask.model.entity.Task;
 import com.cirquetask.model.enums.WorkflowTrigger;
 
 import java.util.List;
 
 public interface WorkflowService {
 
+    /**
+     * Payload key set on the task events that rule actions publish; those events do not trigger rules again.
+     */
+    String WORKFLOW_MARKER = "workflow";
+
     WorkflowRuleDto createRule(Long projectId, WorkflowRuleRequest request, Long userId);
 
     List<WorkflowRuleDto> getProjectRules(Long projectId);
@@ -19,5 +23,9 @@ public interface WorkflowService {
 
     WorkflowRuleDto toggleRule(Long ruleId, Long userId);
 
-    void executeWorkflows(Task task, WorkflowTrigger trigger, String triggerValue);
+    /**
+     * Runs the project's active rules for the trigger against the task. Called by the domain event consumer.
+     * If the rules change the task, publishes the change to the outbox marked with {@link #WORKFLOW_MARKER}.
+     */
+    void executeWorkflows(Long taskId, WorkflowTrigger trigger, String triggerValue);
 }
@@ -1,69 +1,135 @@
 package com.cirquetask.service.impl;
 
+import com.cirquetask.config.AsyncConfig;
+import com.cirquetask.event.ProjectStatsChangedEvent;
 import com.cirquetask.model.dto.ActivityLogDto;
+import com.cirquetask.model.dto.CursorPage;
 import com.cirquetask.model.entity.ActivityLog;
-import com.cirquetask.model.entity.Project;
-import com.cirquetask.model.entity.User;
 import com.cirquetask.model.mapper.ActivityLogMapper;
 import com.cirquetask.repository.ActivityLogRepository;
-import com.cirquetask.repository.ProjectRepository;
-import com.cirquetask.repository.UserRepository;
+import com.cirquetask.repository.ActivityLogRepositoryCustom.NewActivityLog;
 import com.cirquetask.service.ActivityLogService;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import com.cirquetask.util.PageCursor;
+import com.cirquetask.util.WriteBehindBuffer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
+/**
+ * Activity logging is write-behind: {@link #log} only appends an id-only row to a bounded
+ * {@link WriteBehindBuffer} ({@code activity.log.*} metrics), which is written as batched INSERTs when a
+ * batch fills up, every {@code app.activity-log.flush-ms}, and once more on shutdown.
+ * <p>
+ * Inside a transaction, rows are only handed to the buffer once it has committed: they reference the
+ * project and user by foreign key, which may have been created by that same transaction, and a rolled-back
+ * change should leave no activity behind.
+ */
 @Service
-@RequiredArgsConstructor
-@Slf4j
 public class ActivityLogServiceImpl implements ActivityLogService {
 
     private final ActivityLogRepository activityLogRepository;
-    private final UserRepository userRepository;
-    private final ProjectRepository projectRepository;
     private final ActivityLogMapper activityLogMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final WriteBehindBuffer<NewActivityLog> buffer;
+
+    public ActivityLogServiceImpl(ActivityLogRepository activityLogRepository,
+                                  ActivityLogMapper activityLogMapper,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Qualifier(AsyncConfig.ACTIVITY_EXECUTOR) Executor flushExecutor,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.activity-log.buffer-capacity:20000}") int bufferCapacity,
+                                  @Value("${app.activity-log.batch-size:200}") int batchSize) {
+        this.activityLogRepository = activityLogRepository;
+        this.activityLogMapper = activityLogMapper;
+        this.eventPublisher = eventPublisher;
+        this.buffer = new WriteBehindBuffer<>("activity.log", bufferCapacity, batchSize, flushExecutor,
+                transactionManager, meterRegistry, activityLogRepository::insertAll, this::onWritten);
+    }
 
     @Override
-    @Async
-    @Transactional
     public void log(String action, String entityType, Long entityId, String description,
                     String oldValue, String newValue, Long userId, Long projectId) {
-        try {
-            User user = userRepository.findById(userId).orElse(null);
-            Project project = projectId != null ? projectRepository.findById(projectId).orElse(null) : null;
+        NewActivityLog row = new NewActivityLog(action, entityType, entityId, description, oldValue, newValue,
+                userId, projectId, LocalDateTime.now());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            buffer.add(row);
+            return;
+        }
+        pendingInTransaction().add(row);
+    }
+
+    /**
+     * Rows logged by the current transaction, handed to the buffer in one go after commit.
+     */
+    @SuppressWarnings("unchecked")
+    private List<NewActivityLog> pendingInTransaction() {
+        List<NewActivityLog> pending = (List<NewActivityLog>) TransactionSynchronizationManager.getResource(buffer);
+        if (pending == null) {
+            List<NewActivityLog> rows = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(buffer, rows);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    buffer.addAll(rows);
+                }
 
-            ActivityLog activityLog = ActivityLog.builder()
-                    .action(action)
-                    .entityType(entityType)
-                    .entityId(entityId)
-                    .description(description)
-                    .oldValue(oldValue)
-                    .newValue(newValue)
-                    .user(user)
-                    .project(project)
-                    .build();
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(buffer);
+                }
+            });
+            pending = rows;
+        }
+        return pending;
+    }
+
+    @Scheduled(fixedDelayString = "${app.activity-log.flush-ms:1000}")
+    @PreDestroy
+    public void flush() {
+        buffer.flush();
+    }
 
-            activityLogRepository.save(activityLog);
-        } catch (Exception e) {
-            log.error("Failed to log activity: {}", e.getMessage());
+    private void onWritten(List<NewActivityLog> rows) {
+        Set<Long> projectIds = new LinkedHashSet<>();
+        for (NewActivityLog row : rows) {
+            if (row.projectId() != null) {
+                projectIds.add(row.projectId());
+            }
         }
+        projectIds.forEach(projectId -> eventPublisher.publishEvent(new ProjectStatsChangedEvent(projectId)));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ActivityLogDto> getProjectActivities(Long projectId, Long userId) {
-        List<ActivityLog> logs = activityLogRepository.findTop20ByProjectIdOrderByCreatedAtDesc(projectId);
-        return activityLogMapper.toDtoList(logs);
+    public CursorPage<ActivityLogDto> getProjectActivities(Long projectId, Long userId, String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int limit = PageCursor.clampLimit(size);
+        List<ActivityLog> logs = activityLogRepository.findByProjectIdPage(projectId, after.timestamp(), after.id(), limit + 1);
+        return PageCursor.page(logs, limit, ActivityLog::getCreatedAt, ActivityLog::getId, activityLogMapper::toDtoList);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ActivityLogDto> getUserActivities(Long userId) {
-        List<ActivityLog> logs = activityLogRepository.findTop20ByUserIdOrderByCreatedAtDesc(userId);
-        return activityLogMapper.toDtoList(logs);
+    public CursorPage<ActivityLogDto> getUserActivities(Long userId, String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int limit = PageCursor.clampLimit(size);
+        List<ActivityLog> logs = activityLogRepository.findByUserIdPage(userId, after.timestamp(), after.id(), limit + 1);
+        return PageCursor.page(logs, limit, ActivityLog::getCreatedAt, ActivityLog::getId, activityLogMapper::toDtoList);
     }
 }
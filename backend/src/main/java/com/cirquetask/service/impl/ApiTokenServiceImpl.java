@@ -0,0 +1,98 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.event.ApiTokenRevokedEvent;
+import com.cirquetask.exception.AccessDeniedException;
+import com.cirquetask.exception.ResourceNotFoundException;
+import com.cirquetask.model.dto.ApiTokenDto;
+import com.cirquetask.model.dto.ApiTokenRequest;
+import com.cirquetask.model.entity.ApiToken;
+import com.cirquetask.model.entity.User;
+import com.cirquetask.model.enums.ApiTokenScope;
+import com.cirquetask.repository.ApiTokenRepository;
+import com.cirquetask.repository.UserRepository;
+import com.cirquetask.service.ApiTokenService;
+import com.cirquetask.util.ApiTokenCodec;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ApiTokenServiceImpl implements ApiTokenService {
+
+    private final ApiTokenRepository apiTokenRepository;
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ApiTokenDto> listTokens(Long userId) {
+        return apiTokenRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .filter(token -> Boolean.TRUE.equals(token.getIsActive()))
+                .map(this::toDto)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public ApiTokenDto createToken(ApiTokenRequest request, Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+        Set<ApiTokenScope> scopes = request.getScopes() == null || request.getScopes().isEmpty()
+                ? EnumSet.of(ApiTokenScope.READ) : EnumSet.copyOf(request.getScopes());
+        ApiTokenCodec.GeneratedToken generated = ApiTokenCodec.generate();
+        // Keep lookup prefixes of active tokens distinct so each one identifies a single token in the UI
+        while (apiTokenRepository.existsByTokenPrefixAndIsActiveTrue(generated.prefix())) {
+            generated = ApiTokenCodec.generate();
+        }
+
+        ApiToken token = ApiToken.builder()
+                .name(request.getName())
+                .tokenHash(generated.hash())
+                .tokenPrefix(generated.prefix())
+                .user(user)
+                .scopes(scopes.stream().map(Enum::name).collect(Collectors.joining(",")))
+                .expiresAt(request.getExpiresAt())
+                .build();
+        token = apiTokenRepository.save(token);
+        log.info("API token {} created for user {}", token.getTokenPrefix(), userId);
+
+        ApiTokenDto dto = toDto(token);
+        dto.setToken(generated.token());
+        return dto;
+    }
+
+    @Override
+    @Transactional
+    public void revokeToken(Long tokenId, Long userId) {
+        ApiToken token = apiTokenRepository.findById(tokenId)
+                .orElseThrow(() -> new ResourceNotFoundException("ApiToken", "id", tokenId));
+        if (!token.getUser().getId().equals(userId)) {
+            throw new AccessDeniedException("You can only revoke your own API tokens");
+        }
+        token.setIsActive(false);
+        apiTokenRepository.save(token);
+        eventPublisher.publishEvent(new ApiTokenRevokedEvent(token.getTokenHash()));
+        log.info("API token {} revoked by user {}", token.getTokenPrefix(), userId);
+    }
+
+    private ApiTokenDto toDto(ApiToken token) {
+        return ApiTokenDto.builder()
+                .id(token.getId())
+                .name(token.getName())
+                .tokenPrefix(ApiTokenCodec.PREFIX + token.getTokenPrefix())
+                .scopes(ApiTokenScope.fromBits(ApiTokenScope.toBits(token.getScopes())))
+                .expiresAt(token.getExpiresAt())
+                .lastUsedAt(token.getLastUsedAt())
+                .createdAt(token.getCreatedAt())
+                .build();
+    }
+}
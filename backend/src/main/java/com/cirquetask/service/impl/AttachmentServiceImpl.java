@@ -1,6 +1,5 @@
 package com.cirquetask.service.impl;
 
-import com.cirquetask.exception.AccessDeniedException;
 import com.cirquetask.exception.BadRequestException;
 import com.cirquetask.exception.ResourceNotFoundException;
 import com.cirquetask.model.dto.AttachmentDto;
@@ -9,10 +8,10 @@ import com.cirquetask.model.entity.Task;
 import com.cirquetask.model.entity.User;
 import com.cirquetask.model.mapper.AttachmentMapper;
 import com.cirquetask.repository.AttachmentRepository;
-import com.cirquetask.repository.ProjectMemberRepository;
 import com.cirquetask.repository.TaskRepository;
 import com.cirquetask.repository.UserRepository;
 import com.cirquetask.service.AttachmentService;
+import com.cirquetask.service.ProjectAccessService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -38,7 +37,7 @@ public class AttachmentServiceImpl implements AttachmentService {
     private final AttachmentRepository attachmentRepository;
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
-    private final ProjectMemberRepository memberRepository;
+    private final ProjectAccessService projectAccess;
     private final AttachmentMapper attachmentMapper;
 
     @Value("${app.upload-dir:./uploads}")
@@ -49,7 +48,7 @@ public class AttachmentServiceImpl implements AttachmentService {
     public AttachmentDto upload(Long taskId, MultipartFile file, Long userId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
-        validateTaskAccess(task.getProject().getId(), userId);
+        projectAccess.requireMember(task.getProject().getId(), userId);
         if (file.isEmpty()) {
             throw new BadRequestException("File is empty");
         }
@@ -80,6 +79,7 @@ public class AttachmentServiceImpl implements AttachmentService {
                 .uploadedBy(user)
                 .build();
         attachment = attachmentRepository.save(attachment);
+        taskRepository.adjustAttachmentCount(taskId, 1);
         log.info("Attachment uploaded: {} for task {}", attachment.getId(), taskId);
         return attachmentMapper.toDto(attachment);
     }
@@ -89,7 +89,7 @@ public class AttachmentServiceImpl implements AttachmentService {
     public List<AttachmentDto> listByTaskId(Long taskId, Long userId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
-        validateTaskAccess(task.getProject().getId(), userId);
+        projectAccess.requireMember(task.getProject().getId(), userId);
         return attachmentRepository.findByTaskIdOrderByCreatedAtDesc(taskId).stream()
                 .map(attachmentMapper::toDto)
                 .collect(Collectors.toList());
@@ -100,7 +100,7 @@ public class AttachmentServiceImpl implements AttachmentService {
     public Resource download(Long attachmentId, Long userId) {
         Attachment attachment = attachmentRepository.findById(attachmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Attachment", "id", attachmentId));
-        validateTaskAccess(attachment.getTask().getProject().getId(), userId);
+        projectAccess.requireMember(attachment.getTask().getProject().getId(), userId);
         Path path = Paths.get(attachment.getFilePath());
         if (!Files.exists(path)) {
             throw new ResourceNotFoundException("File", "path", attachment.getFilePath());
@@ -117,7 +117,7 @@ public class AttachmentServiceImpl implements AttachmentService {
     public void delete(Long attachmentId, Long userId) {
         Attachment attachment = attachmentRepository.findById(attachmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Attachment", "id", attachmentId));
-        validateTaskAccess(attachment.getTask().getProject().getId(), userId);
+        projectAccess.requireMember(attachment.getTask().getProject().getId(), userId);
         try {
             Path path = Paths.get(attachment.getFilePath());
             if (Files.exists(path)) {
@@ -127,21 +127,16 @@ public class AttachmentServiceImpl implements AttachmentService {
             log.warn("Could not delete file from disk: {}", attachment.getFilePath());
         }
         attachmentRepository.delete(attachment);
+        taskRepository.adjustAttachmentCount(attachment.getTask().getId(), -1);
         log.info("Attachment deleted: {}", attachmentId);
     }
 
-    private void validateTaskAccess(Long projectId, Long userId) {
-        if (!memberRepository.existsByProjectIdAndUserId(projectId, userId)) {
-            throw new AccessDeniedException("No access to this project");
-        }
-    }
-
     @Override
     @Transactional(readOnly = true)
     public AttachmentDto getAttachmentInfo(Long attachmentId, Long userId) {
         Attachment attachment = attachmentRepository.findById(attachmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("Attachment", "id", attachmentId));
-        validateTaskAccess(attachment.getTask().getProject().getId(), userId);
+        projectAccess.requireMember(attachment.getTask().getProject().getId(), userId);
         return attachmentMapper.toDto(attachment);
     }
 
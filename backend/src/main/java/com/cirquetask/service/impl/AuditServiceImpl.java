@@ -1,49 +1,77 @@
 package com.cirquetask.service.impl;
 
+import com.cirquetask.config.AsyncConfig;
 import com.cirquetask.model.dto.AuditLogDto;
 import com.cirquetask.model.entity.AuditLog;
-import com.cirquetask.model.entity.User;
 import com.cirquetask.model.mapper.UserMapper;
 import com.cirquetask.repository.AuditLogRepository;
-import com.cirquetask.repository.UserRepository;
+import com.cirquetask.repository.AuditLogRepositoryCustom.NewAuditLog;
 import com.cirquetask.service.AuditService;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import com.cirquetask.util.WriteBehindBuffer;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Audit rows are written behind through a bounded {@link WriteBehindBuffer} ({@code audit.log.*} metrics),
+ * flushed as batched INSERTs when a batch fills up, every {@code app.audit-log.flush-ms}, and on shutdown.
+ */
 @Service
-@RequiredArgsConstructor
-@Slf4j
 public class AuditServiceImpl implements AuditService {
 
     private final AuditLogRepository auditLogRepository;
-    private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final WriteBehindBuffer<NewAuditLog> buffer;
+
+    public AuditServiceImpl(AuditLogRepository auditLogRepository,
+                            UserMapper userMapper,
+                            @Qualifier(AsyncConfig.AUDIT_EXECUTOR) Executor flushExecutor,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.audit-log.buffer-capacity:50000}") int bufferCapacity,
+                            @Value("${app.audit-log.batch-size:500}") int batchSize) {
+        this.auditLogRepository = auditLogRepository;
+        this.userMapper = userMapper;
+        this.buffer = new WriteBehindBuffer<>("audit.log", bufferCapacity, batchSize, flushExecutor,
+                transactionManager, meterRegistry, auditLogRepository::insertAll, rows -> { });
+    }
+
+    @Override
+    public void record(List<NewAuditLog> rows) {
+        buffer.addAll(rows);
+    }
 
     @Override
-    @Async
-    @Transactional
     public void logCreate(String entityType, Long entityId, Long userId) {
-        saveAuditLog(entityType, entityId, "CREATE", null, null, null, userId);
+        buffer.add(row(entityType, entityId, "CREATE", null, null, null, userId));
     }
 
     @Override
-    @Async
-    @Transactional
-    public void logUpdate(String entityType, Long entityId, String fieldName, 
+    public void logUpdate(String entityType, Long entityId, String fieldName,
             String oldValue, String newValue, Long userId) {
-        saveAuditLog(entityType, entityId, "UPDATE", fieldName, oldValue, newValue, userId);
+        buffer.add(row(entityType, entityId, "UPDATE", fieldName, oldValue, newValue, userId));
     }
 
     @Override
-    @Async
-    @Transactional
     public void logDelete(String entityType, Long entityId, Long userId) {
-        saveAuditLog(entityType, entityId, "DELETE", null, null, null, userId);
+        buffer.add(row(entityType, entityId, "DELETE", null, null, null, userId));
+    }
+
+    @Scheduled(fixedDelayString = "${app.audit-log.flush-ms:1000}")
+    @PreDestroy
+    public void flush() {
+        buffer.flush();
     }
 
     @Override
@@ -61,22 +89,9 @@ public class AuditServiceImpl implements AuditService {
         return logs.map(this::toDto);
     }
 
-    private void saveAuditLog(String entityType, Long entityId, String action,
+    private static NewAuditLog row(String entityType, Long entityId, String action,
             String fieldName, String oldValue, String newValue, Long userId) {
-        User user = userId != null ? userRepository.findById(userId).orElse(null) : null;
-
-        AuditLog auditLog = AuditLog.builder()
-                .entityType(entityType)
-                .entityId(entityId)
-                .action(action)
-                .fieldName(fieldName)
-                .oldValue(oldValue)
-                .newValue(newValue)
-                .user(user)
-                .build();
-
-        auditLogRepository.save(auditLog);
-        log.debug("Audit log saved: {} {} {}", action, entityType, entityId);
+        return new NewAuditLog(entityType, entityId, action, fieldName, oldValue, newValue, userId, LocalDateTime.now());
     }
 
     private AuditLogDto toDto(AuditLog auditLog) {
@@ -1,5 +1,6 @@
 package com.cirquetask.service.impl;
 
+import com.cirquetask.event.UserStateChangedEvent;
 import com.cirquetask.exception.BadRequestException;
 import com.cirquetask.exception.ResourceNotFoundException;
 import com.cirquetask.model.dto.*;
@@ -11,9 +12,11 @@ import com.cirquetask.repository.UserRepository;
 import com.cirquetask.security.CustomUserDetails;
 import com.cirquetask.security.JwtTokenProvider;
 import com.cirquetask.service.AuthService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -36,6 +39,7 @@ public class AuthServiceImpl implements AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final AuthenticationManager authenticationManager;
     private final UserMapper userMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     private static final int TOKEN_VALIDITY_HOURS = 1;
 
@@ -62,8 +66,8 @@ public class AuthServiceImpl implements AuthService {
 
             user = userRepository.save(user);
 
-            String accessToken = jwtTokenProvider.generateAccessToken(user.getId(), user.getEmail());
-            String refreshToken = jwtTokenProvider.generateRefreshToken(user.getId(), user.getEmail());
+            String accessToken = jwtTokenProvider.generateAccessToken(user.getId(), user.getEmail(), user.getTokenEpoch());
+            String refreshToken = jwtTokenProvider.generateRefreshToken(user.getId(), user.getEmail(), user.getTokenEpoch());
 
             log.info("Register success: email={}", user.getEmail());
             return AuthResponse.of(accessToken, refreshToken, jwtTokenProvider.getJwtExpirationMs(), userMapper.toDto(user));
@@ -90,7 +94,7 @@ public class AuthServiceImpl implements AuthService {
         userRepository.save(user);
 
         String accessToken = jwtTokenProvider.generateAccessToken(authentication);
-        String refreshToken = jwtTokenProvider.generateRefreshToken(user.getId(), user.getEmail());
+        String refreshToken = jwtTokenProvider.generateRefreshToken(user.getId(), user.getEmail(), user.getTokenEpoch());
 
         log.info("User logged in: {}", user.getEmail());
 
@@ -99,18 +103,20 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public AuthResponse refreshToken(String refreshToken) {
-        if (!jwtTokenProvider.validateToken(refreshToken)) {
-            throw new BadRequestException("Invalid refresh token");
-        }
+        Claims claims = jwtTokenProvider.parseRefreshClaims(refreshToken)
+                .orElseThrow(() -> new BadRequestException("Invalid refresh token"));
+
+        Long userId = jwtTokenProvider.getUserId(claims);
 
-        String email = jwtTokenProvider.getEmailFromToken(refreshToken);
-        Long userId = jwtTokenProvider.getUserIdFromToken(refreshToken);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
+        if (!Boolean.TRUE.equals(user.getIsActive()) || user.getTokenEpoch() != jwtTokenProvider.getTokenEpoch(claims)) {
+            throw new BadRequestException("Invalid refresh token");
+        }
 
-        String newAccessToken = jwtTokenProvider.generateAccessToken(userId, email);
-        String newRefreshToken = jwtTokenProvider.generateRefreshToken(userId, email);
+        String newAccessToken = jwtTokenProvider.generateAccessToken(userId, user.getEmail(), user.getTokenEpoch());
+        String newRefreshToken = jwtTokenProvider.generateRefreshToken(userId, user.getEmail(), user.getTokenEpoch());
 
         return AuthResponse.of(newAccessToken, newRefreshToken, jwtTokenProvider.getJwtExpirationMs(), userMapper.toDto(user));
     }
@@ -149,7 +155,10 @@ public class AuthServiceImpl implements AuthService {
         }
         User user = resetToken.getUser();
         user.setPassword(passwordEncoder.encode(newPassword));
+        // Revokes every access and refresh token issued before the reset
+        user.setTokenEpoch(user.getTokenEpoch() + 1);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserStateChangedEvent(user.getId()));
         resetToken.setUsedAt(LocalDateTime.now());
         passwordResetTokenRepository.save(resetToken);
         log.info("Password reset completed for user: {}", user.getEmail());
@@ -1,5 +1,6 @@
 package com.cirquetask.service.impl;
 
+import com.cirquetask.event.UserStateChangedEvent;
 import com.cirquetask.exception.BadRequestException;
 import com.cirquetask.exception.ResourceNotFoundException;
 import com.cirquetask.model.dto.PlanDto;
@@ -25,6 +26,7 @@ import com.stripe.param.checkout.SessionCreateParams.Mode;
 import com.stripe.net.Webhook;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
@@ -47,6 +49,7 @@ public class BillingServiceImpl implements BillingService {
     private final ProjectRepository projectRepository;
     private final ProjectMemberRepository projectMemberRepository;
     private final PlanLimitService planLimitService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${stripe.api-key}")
     private String stripeApiKey;
@@ -75,11 +78,13 @@ public class BillingServiceImpl implements BillingService {
     public BillingServiceImpl(UserRepository userRepository,
                               ProjectRepository projectRepository,
                               ProjectMemberRepository projectMemberRepository,
-                              PlanLimitService planLimitService) {
+                              PlanLimitService planLimitService,
+                              ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.projectRepository = projectRepository;
         this.projectMemberRepository = projectMemberRepository;
         this.planLimitService = planLimitService;
+        this.eventPublisher = eventPublisher;
     }
 
     @PostConstruct
@@ -248,6 +253,7 @@ public class BillingServiceImpl implements BillingService {
             user.setSubscriptionStatus("canceled");
             user.setCurrentPeriodEnd(null);
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserStateChangedEvent(userId));
             log.info("Subscription canceled for user {}", userId);
             return;
         }
@@ -268,6 +274,7 @@ public class BillingServiceImpl implements BillingService {
         }
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserStateChangedEvent(userId));
         log.info("Subscription updated for user {}: status={}, plan={}", userId, status, user.getPlan());
     }
 
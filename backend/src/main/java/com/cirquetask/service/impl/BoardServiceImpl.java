@@ -1,23 +1,34 @@
 package com.cirquetask.service.impl;
 
-import com.cirquetask.exception.AccessDeniedException;
 import com.cirquetask.exception.BadRequestException;
 import com.cirquetask.exception.ResourceNotFoundException;
+import com.cirquetask.model.dto.BoardCardDto;
 import com.cirquetask.model.dto.BoardDto;
+import com.cirquetask.model.dto.BoardSnapshotDto;
+import com.cirquetask.model.dto.ColumnSnapshotDto;
+import com.cirquetask.model.dto.LabelDto;
+import com.cirquetask.model.dto.UserDto;
 import com.cirquetask.model.entity.Board;
 import com.cirquetask.model.entity.BoardColumn;
 import com.cirquetask.model.entity.Project;
 import com.cirquetask.model.mapper.BoardMapper;
 import com.cirquetask.repository.BoardColumnRepository;
 import com.cirquetask.repository.BoardRepository;
-import com.cirquetask.repository.ProjectMemberRepository;
 import com.cirquetask.repository.ProjectRepository;
+import com.cirquetask.repository.TaskRepository;
 import com.cirquetask.service.BoardService;
+import com.cirquetask.service.ProjectAccessService;
+import com.cirquetask.util.SparseRank;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -26,13 +37,14 @@ public class BoardServiceImpl implements BoardService {
     private final BoardRepository boardRepository;
     private final BoardColumnRepository columnRepository;
     private final ProjectRepository projectRepository;
-    private final ProjectMemberRepository memberRepository;
+    private final ProjectAccessService projectAccess;
+    private final TaskRepository taskRepository;
     private final BoardMapper boardMapper;
 
     @Override
     @Transactional(readOnly = true)
     public List<BoardDto> getProjectBoards(Long projectId, Long userId) {
-        validateMembership(projectId, userId);
+        projectAccess.requireMember(projectId, userId);
         List<Board> boards = boardRepository.findByProjectIdOrderByPositionAsc(projectId);
         return boardMapper.toDtoList(boards);
     }
@@ -42,14 +54,79 @@ public class BoardServiceImpl implements BoardService {
     public BoardDto getBoard(Long boardId, Long userId) {
         Board board = boardRepository.findById(boardId)
                 .orElseThrow(() -> new ResourceNotFoundException("Board", "id", boardId));
-        validateMembership(board.getProject().getId(), userId);
+        projectAccess.requireMember(board.getProject().getId(), userId);
         return boardMapper.toDto(board);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public BoardSnapshotDto getBoardSnapshot(Long boardId, Long userId) {
+        Board board = boardRepository.findById(boardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Board", "id", boardId));
+        Long projectId = board.getProject().getId();
+        projectAccess.requireMember(projectId, userId);
+
+        Map<Long, ColumnSnapshotDto> columns = new LinkedHashMap<>();
+        for (BoardColumn column : columnRepository.findByBoardIdOrderByPositionAsc(boardId)) {
+            columns.put(column.getId(), boardMapper.toColumnSnapshotDto(column));
+        }
+
+        Map<Long, BoardCardDto> cards = new LinkedHashMap<>();
+        for (TaskRepository.BoardCardView row : taskRepository.findBoardCards(boardId)) {
+            BoardCardDto card = BoardCardDto.builder()
+                    .id(row.getId())
+                    .taskKey(row.getTaskKey())
+                    .title(row.getTitle())
+                    .type(row.getType())
+                    .priority(row.getPriority())
+                    .status(row.getStatus())
+                    .storyPoints(row.getStoryPoints())
+                    .columnId(row.getColumnId())
+                    .position(row.getPosition())
+                    .dueDate(row.getDueDate())
+                    .commentCount(row.getCommentCount() != null ? row.getCommentCount() : 0)
+                    .attachmentCount(row.getAttachmentCount() != null ? row.getAttachmentCount() : 0)
+                    .build();
+            cards.put(card.getId(), card);
+            ColumnSnapshotDto column = columns.get(card.getColumnId());
+            if (column != null) {
+                column.getTasks().add(card);
+            }
+        }
+
+        for (TaskRepository.CardAssigneeView row : taskRepository.findBoardCardAssignees(boardId)) {
+            BoardCardDto card = cards.get(row.getTaskId());
+            if (card != null) {
+                card.getAssignees().add(UserDto.builder()
+                        .id(row.getId())
+                        .firstName(row.getFirstName())
+                        .lastName(row.getLastName())
+                        .avatarUrl(row.getAvatarUrl())
+                        .build());
+            }
+        }
+
+        for (TaskRepository.CardLabelView row : taskRepository.findBoardCardLabels(boardId)) {
+            BoardCardDto card = cards.get(row.getTaskId());
+            if (card != null) {
+                card.getLabels().add(new LabelDto(row.getId(), row.getName(), row.getColor()));
+            }
+        }
+
+        return BoardSnapshotDto.builder()
+                .id(board.getId())
+                .name(board.getName())
+                .description(board.getDescription())
+                .projectId(projectId)
+                .isDefault(board.getIsDefault())
+                .columns(new ArrayList<>(columns.values()))
+                .build();
+    }
+
     @Override
     @Transactional
     public BoardDto createBoard(Long projectId, String name, String description, Long userId) {
-        validateMembership(projectId, userId);
+        projectAccess.requireMember(projectId, userId);
 
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
@@ -75,7 +152,7 @@ public class BoardServiceImpl implements BoardService {
                     .name(defaultColumns[i][0])
                     .color(defaultColumns[i][1])
                     .board(board)
-                    .position(i)
+                    .position(SparseRank.initial(i))
                     .isDoneColumn(i == defaultColumns.length - 1)
                     .build();
             columnRepository.save(col);
@@ -89,7 +166,7 @@ public class BoardServiceImpl implements BoardService {
     public BoardDto updateBoard(Long boardId, String name, String description, Long userId) {
         Board board = boardRepository.findById(boardId)
                 .orElseThrow(() -> new ResourceNotFoundException("Board", "id", boardId));
-        validateMembership(board.getProject().getId(), userId);
+        projectAccess.requireMember(board.getProject().getId(), userId);
 
         board.setName(name);
         if (description != null) board.setDescription(description);
@@ -102,7 +179,7 @@ public class BoardServiceImpl implements BoardService {
     public void deleteBoard(Long boardId, Long userId) {
         Board board = boardRepository.findById(boardId)
                 .orElseThrow(() -> new ResourceNotFoundException("Board", "id", boardId));
-        validateMembership(board.getProject().getId(), userId);
+        projectAccess.requireMember(board.getProject().getId(), userId);
 
         if (board.getIsDefault()) {
             throw new BadRequestException("Cannot delete the default board");
@@ -115,15 +192,13 @@ public class BoardServiceImpl implements BoardService {
     public BoardDto addColumn(Long boardId, String name, String color, Long userId) {
         Board board = boardRepository.findById(boardId)
                 .orElseThrow(() -> new ResourceNotFoundException("Board", "id", boardId));
-        validateMembership(board.getProject().getId(), userId);
-
-        List<BoardColumn> existing = columnRepository.findByBoardIdOrderByPositionAsc(boardId);
+        projectAccess.requireMember(board.getProject().getId(), userId);
 
         BoardColumn column = BoardColumn.builder()
                 .name(name)
                 .color(color != null ? color : "#94a3b8")
                 .board(board)
-                .position(existing.size())
+                .position(SparseRank.after(columnRepository.findMaxPositionByBoardId(boardId)))
                 .isDoneColumn(false)
                 .build();
         columnRepository.save(column);
@@ -136,9 +211,9 @@ public class BoardServiceImpl implements BoardService {
     public void removeColumn(Long columnId, Long userId) {
         BoardColumn column = columnRepository.findById(columnId)
                 .orElseThrow(() -> new ResourceNotFoundException("BoardColumn", "id", columnId));
-        validateMembership(column.getBoard().getProject().getId(), userId);
+        projectAccess.requireMember(column.getBoard().getProject().getId(), userId);
 
-        if (!column.getTasks().isEmpty()) {
+        if (taskRepository.existsByColumnId(columnId)) {
             throw new BadRequestException("Cannot delete a column that contains tasks. Move tasks first.");
         }
         columnRepository.delete(column);
@@ -149,19 +224,35 @@ public class BoardServiceImpl implements BoardService {
     public void reorderColumns(Long boardId, List<Long> columnIds, Long userId) {
         Board board = boardRepository.findById(boardId)
                 .orElseThrow(() -> new ResourceNotFoundException("Board", "id", boardId));
-        validateMembership(board.getProject().getId(), userId);
+        projectAccess.requireMember(board.getProject().getId(), userId);
+
+        Map<Long, BoardColumn> current = columnRepository.findByBoardIdOrderByPositionAsc(boardId).stream()
+                .collect(Collectors.toMap(BoardColumn::getId, Function.identity(), (a, b) -> a, LinkedHashMap::new));
 
-        for (int i = 0; i < columnIds.size(); i++) {
-            BoardColumn column = columnRepository.findById(columnIds.get(i))
-                    .orElseThrow(() -> new ResourceNotFoundException("BoardColumn", "id", columnIds.get(0)));
-            column.setPosition(i);
-            columnRepository.save(column);
+        // Requested order first, columns missing from the request keep their relative order at the end
+        List<BoardColumn> ordered = new ArrayList<>();
+        for (Long columnId : columnIds) {
+            BoardColumn column = current.remove(columnId);
+            if (column == null) {
+                throw new ResourceNotFoundException("BoardColumn", "id", columnId);
+            }
+            ordered.add(column);
         }
-    }
+        ordered.addAll(current.values());
+
+        long[] ranks = new long[ordered.size()];
+        for (int i = 0; i < ranks.length; i++) {
+            ranks[i] = ordered.get(i).getPosition();
+        }
+        long[] reordered = SparseRank.reorder(ranks);
 
-    private void validateMembership(Long projectId, Long userId) {
-        if (!memberRepository.existsByProjectIdAndUserId(projectId, userId)) {
-            throw new AccessDeniedException("You are not a member of this project");
+        List<BoardColumn> changed = new ArrayList<>();
+        for (int i = 0; i < reordered.length; i++) {
+            if (reordered[i] != ranks[i]) {
+                ordered.get(i).setPosition(reordered[i]);
+                changed.add(ordered.get(i));
+            }
         }
+        columnRepository.saveAll(changed);
     }
 }
@@ -1,20 +1,33 @@
 package com.cirquetask.service.impl;
 
+import com.cirquetask.event.ProjectStatsChangedEvent;
 import com.cirquetask.exception.ResourceNotFoundException;
 import com.cirquetask.model.dto.BulkUpdateRequest;
 import com.cirquetask.model.dto.TaskDto;
 import com.cirquetask.model.entity.*;
+import com.cirquetask.model.enums.DomainEventType;
+import com.cirquetask.model.enums.TaskStatus;
 import com.cirquetask.model.mapper.TaskMapper;
 import com.cirquetask.repository.*;
 import com.cirquetask.service.BulkOperationService;
+import com.cirquetask.service.ColumnTaskCountService;
+import com.cirquetask.service.OutboxService;
+import com.cirquetask.service.TaskRankService;
+import com.cirquetask.util.SparseRank;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -27,13 +40,30 @@ public class BulkOperationServiceImpl implements BulkOperationService {
     private final SprintRepository sprintRepository;
     private final BoardColumnRepository columnRepository;
     private final TaskMapper taskMapper;
+    private final TaskRankService taskRankService;
+    private final ColumnTaskCountService columnTaskCountService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
 
     @Override
     @Transactional
     public List<TaskDto> bulkUpdateTasks(BulkUpdateRequest request, Long userId) {
         List<Task> tasks = taskRepository.findAllById(request.getTaskIds());
+        // Same previous* entries as a single update, so workflow triggers fire for each task
+        Map<Long, Map<String, Object>> changes = new HashMap<>();
 
         for (Task task : tasks) {
+            Map<String, Object> taskChanges = new HashMap<>();
+            if (request.getStatus() != null && request.getStatus() != task.getStatus()) {
+                taskChanges.put("previousStatus", task.getStatus());
+            }
+            if (request.getPriority() != null && request.getPriority() != task.getPriority()) {
+                taskChanges.put("previousPriority", task.getPriority());
+            }
+            if (request.getColumnId() != null) {
+                taskChanges.put("previousColumnId", task.getColumn() != null ? task.getColumn().getId() : null);
+            }
+            changes.put(task.getId(), taskChanges);
             if (request.getStatus() != null) {
                 task.setStatus(request.getStatus());
             }
@@ -52,14 +82,32 @@ public class BulkOperationServiceImpl implements BulkOperationService {
                 Sprint sprint = sprintRepository.findById(request.getSprintId()).orElse(null);
                 task.setSprint(sprint);
             }
-            if (request.getColumnId() != null) {
-                BoardColumn column = columnRepository.findById(request.getColumnId()).orElse(null);
+        }
+
+        if (request.getColumnId() != null) {
+            BoardColumn column = columnRepository.findById(request.getColumnId()).orElse(null);
+            transferColumnCounts(tasks, column);
+            Long position = column != null ? taskRankService.rankAtEnd(column.getId()) : null;
+            for (Task task : tasks) {
                 task.setColumn(column);
+                if (position != null) {
+                    task.setPosition(position);
+                    position = SparseRank.after(position);
+                }
             }
         }
 
         tasks = taskRepository.saveAll(tasks);
         log.info("Bulk updated {} tasks by user {}", tasks.size(), userId);
+        publishStatsChanged(tasks);
+        DomainEventType type = request.getColumnId() != null ? DomainEventType.TASK_MOVED : DomainEventType.TASK_UPDATED;
+        for (Task task : inProjectOrder(tasks)) {
+            Map<String, Object> taskChanges = changes.get(task.getId());
+            outboxService.publishTaskEvent(type, task, userId, taskChanges);
+            if (taskChanges.containsKey("previousStatus") && task.getStatus() == TaskStatus.DONE) {
+                outboxService.publishTaskEvent(DomainEventType.TASK_COMPLETED, task, userId);
+            }
+        }
 
         return tasks.stream().map(taskMapper::toDto).toList();
     }
@@ -67,8 +115,12 @@ public class BulkOperationServiceImpl implements BulkOperationService {
     @Override
     @Transactional
     public void bulkDeleteTasks(Set<Long> taskIds, Long userId) {
-        taskRepository.deleteAllById(taskIds);
-        log.info("Bulk deleted {} tasks by user {}", taskIds.size(), userId);
+        List<Task> tasks = taskRepository.findAllById(taskIds);
+        inProjectOrder(tasks).forEach(task -> outboxService.publishTaskEvent(DomainEventType.TASK_DELETED, task, userId));
+        transferColumnCounts(tasks, null);
+        taskRepository.deleteAll(tasks);
+        log.info("Bulk deleted {} tasks by user {}", tasks.size(), userId);
+        publishStatsChanged(tasks);
     }
 
     @Override
@@ -84,6 +136,8 @@ public class BulkOperationServiceImpl implements BulkOperationService {
 
         tasks = taskRepository.saveAll(tasks);
         log.info("Bulk moved {} tasks to sprint {} by user {}", tasks.size(), sprintId, userId);
+        publishStatsChanged(tasks);
+        inProjectOrder(tasks).forEach(task -> outboxService.publishTaskEvent(DomainEventType.TASK_UPDATED, task, userId));
 
         return tasks.stream().map(taskMapper::toDto).toList();
     }
@@ -95,16 +149,54 @@ public class BulkOperationServiceImpl implements BulkOperationService {
                 .orElseThrow(() -> new ResourceNotFoundException("BoardColumn", "id", columnId));
 
         List<Task> tasks = taskRepository.findAllById(taskIds);
-        int position = column.getTasks().size();
+        Map<Long, Long> previousColumnIds = new HashMap<>();
+        tasks.forEach(task -> previousColumnIds.put(task.getId(),
+                task.getColumn() != null ? task.getColumn().getId() : null));
+        transferColumnCounts(tasks, column);
+        long position = taskRankService.rankAtEnd(columnId);
 
         for (Task task : tasks) {
             task.setColumn(column);
-            task.setPosition(position++);
+            task.setPosition(position);
+            position = SparseRank.after(position);
         }
 
         tasks = taskRepository.saveAll(tasks);
         log.info("Bulk moved {} tasks to column {} by user {}", tasks.size(), columnId, userId);
+        publishStatsChanged(tasks);
+        for (Task task : inProjectOrder(tasks)) {
+            Map<String, Object> changes = new HashMap<>();
+            changes.put("previousColumnId", previousColumnIds.get(task.getId()));
+            outboxService.publishTaskEvent(DomainEventType.TASK_MOVED, task, userId, changes);
+        }
 
         return tasks.stream().map(taskMapper::toDto).toList();
     }
+
+    /**
+     * The outbox locks each project as it first writes for it; taking them in id order keeps two bulk
+     * operations over the same projects from deadlocking.
+     */
+    private List<Task> inProjectOrder(List<Task> tasks) {
+        return tasks.stream().sorted(Comparator.comparing((Task task) -> task.getProject().getId())).toList();
+    }
+
+    private void publishStatsChanged(List<Task> tasks) {
+        tasks.stream()
+                .map(task -> task.getProject().getId())
+                .distinct()
+                .forEach(projectId -> eventPublisher.publishEvent(new ProjectStatsChangedEvent(projectId)));
+    }
+
+    private void transferColumnCounts(List<Task> tasks, BoardColumn target) {
+        Map<Long, Long> countsBySource = tasks.stream()
+                .map(Task::getColumn)
+                .filter(Objects::nonNull)
+                .collect(Collectors.groupingBy(BoardColumn::getId, Collectors.counting()));
+        long withoutColumn = tasks.stream().filter(t -> t.getColumn() == null).count();
+
+        countsBySource.forEach((sourceId, count) ->
+                columnTaskCountService.transfer(sourceId, target, count.intValue(), false));
+        columnTaskCountService.transfer(null, target, (int) withoutColumn, false);
+    }
 }
@@ -0,0 +1,58 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.exception.BadRequestException;
+import com.cirquetask.model.entity.BoardColumn;
+import com.cirquetask.repository.BoardColumnRepository;
+import com.cirquetask.service.ColumnTaskCountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class ColumnTaskCountServiceImpl implements ColumnTaskCountService {
+
+    private final BoardColumnRepository columnRepository;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void transfer(Long fromColumnId, BoardColumn to, int count, boolean enforceWipLimit) {
+        Long toColumnId = to != null ? to.getId() : null;
+        if (count <= 0 || (fromColumnId != null && fromColumnId.equals(toColumnId))) {
+            return;
+        }
+
+        // Lock the two counter rows in id order so opposite concurrent moves cannot deadlock
+        boolean targetFirst = fromColumnId == null || (toColumnId != null && toColumnId < fromColumnId);
+        if (targetFirst) {
+            increment(to, count, enforceWipLimit);
+            decrement(fromColumnId, count);
+        } else {
+            decrement(fromColumnId, count);
+            increment(to, count, enforceWipLimit);
+        }
+    }
+
+    private void increment(BoardColumn column, int count, boolean enforceWipLimit) {
+        if (column == null) {
+            return;
+        }
+        if (!enforceWipLimit) {
+            columnRepository.adjustTaskCount(column.getId(), count);
+            return;
+        }
+        if (columnRepository.incrementTaskCountWithinWipLimit(column.getId(), count) == 0) {
+            Integer current = columnRepository.findTaskCountById(column.getId());
+            throw new BadRequestException(
+                    String.format("WIP limit exceeded for column '%s'. Maximum: %d, Current: %d",
+                            column.getName(), column.getWipLimit(), current != null ? current : 0));
+        }
+    }
+
+    private void decrement(Long columnId, int count) {
+        if (columnId != null) {
+            columnRepository.adjustTaskCount(columnId, -count);
+        }
+    }
+}
@@ -7,19 +7,21 @@ import com.cirquetask.model.dto.CommentRequest;
 import com.cirquetask.model.entity.Comment;
 import com.cirquetask.model.entity.Task;
 import com.cirquetask.model.entity.User;
+import com.cirquetask.model.enums.DomainEventType;
 import com.cirquetask.model.mapper.CommentMapper;
 import com.cirquetask.repository.CommentRepository;
-import com.cirquetask.repository.ProjectMemberRepository;
 import com.cirquetask.repository.TaskRepository;
 import com.cirquetask.repository.UserRepository;
 import com.cirquetask.service.CommentService;
-import com.cirquetask.service.MentionService;
-import com.cirquetask.service.NotificationService;
+import com.cirquetask.service.OutboxService;
+import com.cirquetask.service.ProjectAccessService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -28,17 +30,16 @@ public class CommentServiceImpl implements CommentService {
     private final CommentRepository commentRepository;
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
-    private final ProjectMemberRepository memberRepository;
+    private final ProjectAccessService projectAccess;
     private final CommentMapper commentMapper;
-    private final NotificationService notificationService;
-    private final MentionService mentionService;
+    private final OutboxService outboxService;
 
     @Override
     @Transactional
     public CommentDto addComment(Long taskId, CommentRequest request, Long userId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
-        validateMembership(task.getProject().getId(), userId);
+        projectAccess.requireMember(task.getProject().getId(), userId);
 
         User author = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
@@ -56,12 +57,10 @@ public class CommentServiceImpl implements CommentService {
         }
 
         comment = commentRepository.save(comment);
+        taskRepository.adjustCommentCount(taskId, 1);
 
-        // Send notification
-        notificationService.sendCommentAdded(task, author);
-
-        // Process @mentions
-        mentionService.processMentions(request.getContent(), task.getProject().getId(), taskId, userId);
+        // Notification and @mention processing happen in the consumers, after commit
+        publish(DomainEventType.COMMENT_ADDED, comment, task, userId);
 
         return commentMapper.toDto(comment);
     }
@@ -71,7 +70,7 @@ public class CommentServiceImpl implements CommentService {
     public List<CommentDto> getTaskComments(Long taskId, Long userId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
-        validateMembership(task.getProject().getId(), userId);
+        projectAccess.requireMember(task.getProject().getId(), userId);
 
         List<Comment> comments = commentRepository.findByTaskIdAndParentCommentIsNullOrderByCreatedAtDesc(taskId);
         return commentMapper.toDtoList(comments);
@@ -90,6 +89,7 @@ public class CommentServiceImpl implements CommentService {
         comment.setContent(content);
         comment.setIsEdited(true);
         comment = commentRepository.save(comment);
+        publish(DomainEventType.COMMENT_UPDATED, comment, comment.getTask(), userId);
         return commentMapper.toDto(comment);
     }
 
@@ -103,12 +103,20 @@ public class CommentServiceImpl implements CommentService {
             throw new AccessDeniedException("You can only delete your own comments");
         }
 
+        Long taskId = comment.getTask().getId();
+        publish(DomainEventType.COMMENT_DELETED, comment, comment.getTask(), userId);
         commentRepository.delete(comment);
+        taskRepository.refreshCommentCount(taskId);
     }
 
-    private void validateMembership(Long projectId, Long userId) {
-        if (!memberRepository.existsByProjectIdAndUserId(projectId, userId)) {
-            throw new AccessDeniedException("You are not a member of this project");
-        }
+    private void publish(DomainEventType type, Comment comment, Task task, Long userId) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("commentId", comment.getId());
+        payload.put("taskId", task.getId());
+        payload.put("taskKey", task.getTaskKey());
+        payload.put("parentCommentId", comment.getParentComment() != null ? comment.getParentComment().getId() : null);
+        payload.put("authorId", comment.getAuthor().getId());
+        payload.put("content", comment.getContent());
+        outboxService.publish(type, task.getProject().getId(), comment.getId(), userId, payload);
     }
 }
@@ -1,17 +1,19 @@
 package com.cirquetask.service.impl;
 
-import com.cirquetask.exception.AccessDeniedException;
 import com.cirquetask.model.dto.ActivityLogDto;
 import com.cirquetask.model.dto.DashboardDto;
 import com.cirquetask.model.dto.TaskDto;
-import com.cirquetask.model.entity.Project;
 import com.cirquetask.model.enums.TaskPriority;
 import com.cirquetask.model.enums.TaskStatus;
 import com.cirquetask.model.mapper.ActivityLogMapper;
 import com.cirquetask.model.mapper.TaskMapper;
 import com.cirquetask.repository.*;
 import com.cirquetask.service.DashboardService;
+import com.cirquetask.service.ProjectAccessService;
+import com.cirquetask.service.ProjectStatsCacheService;
+import com.cirquetask.util.PageCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,60 +26,33 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class DashboardServiceImpl implements DashboardService {
 
+    private static final int UPCOMING_DEADLINES_LIMIT = 20;
+
     private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
     private final ActivityLogRepository activityLogRepository;
-    private final ProjectMemberRepository memberRepository;
+    private final ProjectAccessService projectAccess;
     private final TaskMapper taskMapper;
     private final ActivityLogMapper activityLogMapper;
+    private final ProjectStatsCacheService statsCache;
 
     @Override
     @Transactional(readOnly = true)
     public DashboardDto getUserDashboard(Long userId) {
-        List<Project> userProjects = projectRepository.findByMemberUserId(userId);
-
-        long totalTasks = 0;
-        long completedTasks = 0;
-        long overdueTasks = 0;
-        long inProgressTasks = 0;
-
-        Map<String, Long> tasksByStatus = new LinkedHashMap<>();
-        Map<String, Long> tasksByPriority = new LinkedHashMap<>();
-
-        for (TaskStatus status : TaskStatus.values()) tasksByStatus.put(status.name(), 0L);
-        for (TaskPriority priority : TaskPriority.values()) tasksByPriority.put(priority.name(), 0L);
-
-        for (Project project : userProjects) {
-            Long projectId = project.getId();
-            totalTasks += projectRepository.countTasksByProjectId(projectId);
-
-            for (TaskStatus status : TaskStatus.values()) {
-                Long count = taskRepository.countByProjectIdAndStatus(projectId, status);
-                tasksByStatus.merge(status.name(), count, Long::sum);
-                if (status == TaskStatus.DONE) completedTasks += count;
-                if (status == TaskStatus.IN_PROGRESS) inProgressTasks += count;
-            }
-
-            for (TaskPriority priority : TaskPriority.values()) {
-                Long count = taskRepository.countByProjectIdAndPriority(projectId, priority);
-                tasksByPriority.merge(priority.name(), count, Long::sum);
-            }
+        return statsCache.getUserDashboard(userId, () -> loadUserDashboard(userId));
+    }
 
-            overdueTasks += taskRepository.countOverdueByProjectId(projectId);
-        }
+    private DashboardDto loadUserDashboard(Long userId) {
+        List<Long> projectIds = projectRepository.findMemberProjectIds(userId);
 
-        List<TaskDto> myTasks = taskMapper.toDtoList(taskRepository.findActiveTasksByAssigneeId(userId));
-        List<ActivityLogDto> recentActivities = activityLogMapper.toDtoList(
-                activityLogRepository.findTop20ByUserIdOrderByCreatedAtDesc(userId));
+        PageCursor first = PageCursor.FIRST;
+        List<TaskDto> myTasks = taskMapper.toDtoList(taskRepository.findActiveTasksByAssigneePage(
+                userId, first.timestamp(), first.id(), PageCursor.DEFAULT_LIMIT));
+        List<ActivityLogDto> recentActivities = activityLogMapper.toDtoList(activityLogRepository.findByUserIdPage(
+                userId, first.timestamp(), first.id(), PageCursor.DEFAULT_LIMIT));
 
-        return DashboardDto.builder()
-                .totalProjects((long) userProjects.size())
-                .totalTasks(totalTasks)
-                .completedTasks(completedTasks)
-                .overdueTasks(overdueTasks)
-                .inProgressTasks(inProgressTasks)
-                .tasksByStatus(tasksByStatus)
-                .tasksByPriority(tasksByPriority)
+        return aggregate(projectIds)
+                .totalProjects((long) projectIds.size())
                 .recentActivities(recentActivities)
                 .myTasks(myTasks)
                 .build();
@@ -86,47 +61,52 @@ public class DashboardServiceImpl implements DashboardService {
     @Override
     @Transactional(readOnly = true)
     public DashboardDto getProjectDashboard(Long projectId, Long userId) {
-        if (!memberRepository.existsByProjectIdAndUserId(projectId, userId)) {
-            throw new AccessDeniedException("You are not a member of this project");
-        }
-
-        Map<String, Long> tasksByStatus = new LinkedHashMap<>();
-        Map<String, Long> tasksByPriority = new LinkedHashMap<>();
-
-        long totalTasks = projectRepository.countTasksByProjectId(projectId);
-        long completedTasks = 0;
-        long inProgressTasks = 0;
+        projectAccess.requireMember(projectId, userId);
+        return statsCache.getProjectDashboard(projectId, () -> loadProjectDashboard(projectId));
+    }
 
-        for (TaskStatus status : TaskStatus.values()) {
-            Long count = taskRepository.countByProjectIdAndStatus(projectId, status);
-            tasksByStatus.put(status.name(), count);
-            if (status == TaskStatus.DONE) completedTasks = count;
-            if (status == TaskStatus.IN_PROGRESS) inProgressTasks = count;
-        }
+    private DashboardDto loadProjectDashboard(Long projectId) {
+        List<TaskDto> upcomingDeadlines = taskMapper.toDtoList(taskRepository.findUpcomingDeadlines(
+                projectId, LocalDate.now().plusDays(7), PageRequest.of(0, UPCOMING_DEADLINES_LIMIT)));
 
-        for (TaskPriority priority : TaskPriority.values()) {
-            Long count = taskRepository.countByProjectIdAndPriority(projectId, priority);
-            tasksByPriority.put(priority.name(), count);
-        }
+        PageCursor first = PageCursor.FIRST;
+        List<ActivityLogDto> recentActivities = activityLogMapper.toDtoList(activityLogRepository.findByProjectIdPage(
+                projectId, first.timestamp(), first.id(), PageCursor.DEFAULT_LIMIT));
 
-        Long overdueTasks = taskRepository.countOverdueByProjectId(projectId);
+        return aggregate(List.of(projectId))
+                .totalProjects(1L)
+                .recentActivities(recentActivities)
+                .upcomingDeadlines(upcomingDeadlines)
+                .build();
+    }
 
-        List<TaskDto> upcomingDeadlines = taskMapper.toDtoList(
-                taskRepository.findUpcomingDeadlines(projectId, LocalDate.now().plusDays(7)));
+    /**
+     * Folds the grouped task histogram of the given projects into the dashboard counters with a single query.
+     */
+    private DashboardDto.DashboardDtoBuilder aggregate(List<Long> projectIds) {
+        Map<String, Long> tasksByStatus = new LinkedHashMap<>();
+        Map<String, Long> tasksByPriority = new LinkedHashMap<>();
+        for (TaskStatus status : TaskStatus.values()) tasksByStatus.put(status.name(), 0L);
+        for (TaskPriority priority : TaskPriority.values()) tasksByPriority.put(priority.name(), 0L);
 
-        List<ActivityLogDto> recentActivities = activityLogMapper.toDtoList(
-                activityLogRepository.findTop20ByProjectIdOrderByCreatedAtDesc(projectId));
+        long totalTasks = 0;
+        long overdueTasks = 0;
+        if (!projectIds.isEmpty()) {
+            for (TaskRepository.TaskStatsView row : taskRepository.aggregateTaskStats(projectIds)) {
+                long count = row.getTaskCount();
+                totalTasks += count;
+                overdueTasks += row.getOverdueCount() != null ? row.getOverdueCount() : 0L;
+                tasksByStatus.merge(row.getStatus().name(), count, Long::sum);
+                tasksByPriority.merge(row.getPriority().name(), count, Long::sum);
+            }
+        }
 
         return DashboardDto.builder()
-                .totalProjects(1L)
                 .totalTasks(totalTasks)
-                .completedTasks(completedTasks)
+                .completedTasks(tasksByStatus.get(TaskStatus.DONE.name()))
+                .inProgressTasks(tasksByStatus.get(TaskStatus.IN_PROGRESS.name()))
                 .overdueTasks(overdueTasks)
-                .inProgressTasks(inProgressTasks)
                 .tasksByStatus(tasksByStatus)
-                .tasksByPriority(tasksByPriority)
-                .recentActivities(recentActivities)
-                .upcomingDeadlines(upcomingDeadlines)
-                .build();
+                .tasksByPriority(tasksByPriority);
     }
 }
@@ -1,5 +1,6 @@
 package com.cirquetask.service.impl;
 
+import com.cirquetask.config.AsyncConfig;
 import com.cirquetask.model.entity.Task;
 import com.cirquetask.model.entity.User;
 import com.cirquetask.service.EmailService;
@@ -31,7 +32,7 @@ public class EmailServiceImpl implements EmailService {
     private String frontendUrl;
 
     @Override
-    @Async
+    @Async(AsyncConfig.MAIL_EXECUTOR)
     public void sendTaskAssignedEmail(Task task, User assignee, User assigner) {
         Context context = new Context();
         context.setVariable("assigneeName", assignee.getFirstName());
@@ -46,7 +47,7 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
+    @Async(AsyncConfig.MAIL_EXECUTOR)
     public void sendCommentNotificationEmail(Task task, User recipient, User commenter, String commentPreview) {
         Context context = new Context();
         context.setVariable("recipientName", recipient.getFirstName());
@@ -61,7 +62,7 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
+    @Async(AsyncConfig.MAIL_EXECUTOR)
     public void sendMentionEmail(Task task, User mentionedUser, User sender, String context) {
         Context templateContext = new Context();
         templateContext.setVariable("recipientName", mentionedUser.getFirstName());
@@ -76,7 +77,7 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
+    @Async(AsyncConfig.MAIL_EXECUTOR)
     public void sendDeadlineReminderEmail(Task task, User assignee, int daysUntilDue) {
         Context context = new Context();
         context.setVariable("assigneeName", assignee.getFirstName());
@@ -95,7 +96,7 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
+    @Async(AsyncConfig.SECURITY_MAIL_EXECUTOR)
     public void sendPasswordResetEmail(User user, String resetToken) {
         Context context = new Context();
         context.setVariable("userName", user.getFirstName());
@@ -106,7 +107,7 @@ public class EmailServiceImpl implements EmailService {
     }
 
     @Override
-    @Async
+    @Async(AsyncConfig.MAIL_EXECUTOR)
     public void sendWelcomeEmail(User user) {
         Context context = new Context();
         context.setVariable("userName", user.getFirstName());
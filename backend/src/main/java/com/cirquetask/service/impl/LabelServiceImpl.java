@@ -1,6 +1,5 @@
 package com.cirquetask.service.impl;
 
-import com.cirquetask.exception.AccessDeniedException;
 import com.cirquetask.exception.ResourceNotFoundException;
 import com.cirquetask.model.dto.LabelDto;
 import com.cirquetask.model.dto.LabelRequest;
@@ -8,9 +7,9 @@ import com.cirquetask.model.entity.Label;
 import com.cirquetask.model.entity.Project;
 import com.cirquetask.model.mapper.LabelMapper;
 import com.cirquetask.repository.LabelRepository;
-import com.cirquetask.repository.ProjectMemberRepository;
 import com.cirquetask.repository.ProjectRepository;
 import com.cirquetask.service.LabelService;
+import com.cirquetask.service.ProjectAccessService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,13 +22,13 @@ public class LabelServiceImpl implements LabelService {
 
     private final LabelRepository labelRepository;
     private final ProjectRepository projectRepository;
-    private final ProjectMemberRepository memberRepository;
+    private final ProjectAccessService projectAccess;
     private final LabelMapper labelMapper;
 
     @Override
     @Transactional(readOnly = true)
     public List<LabelDto> listByProjectId(Long projectId, Long userId) {
-        validateMembership(projectId, userId);
+        projectAccess.requireMember(projectId, userId);
         return labelRepository.findByProjectId(projectId).stream()
                 .map(labelMapper::toDto)
                 .toList();
@@ -38,7 +37,7 @@ public class LabelServiceImpl implements LabelService {
     @Override
     @Transactional
     public LabelDto create(Long projectId, LabelRequest request, Long userId) {
-        validateMembership(projectId, userId);
+        projectAccess.requireMember(projectId, userId);
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
         Label label = Label.builder()
@@ -55,7 +54,7 @@ public class LabelServiceImpl implements LabelService {
     public LabelDto update(Long labelId, LabelRequest request, Long userId) {
         Label label = labelRepository.findById(labelId)
                 .orElseThrow(() -> new ResourceNotFoundException("Label", "id", labelId));
-        validateMembership(label.getProject().getId(), userId);
+        projectAccess.requireMember(label.getProject().getId(), userId);
         label.setName(request.getName());
         if (request.getColor() != null) {
             label.setColor(request.getColor());
@@ -69,13 +68,7 @@ public class LabelServiceImpl implements LabelService {
     public void delete(Long labelId, Long userId) {
         Label label = labelRepository.findById(labelId)
                 .orElseThrow(() -> new ResourceNotFoundException("Label", "id", labelId));
-        validateMembership(label.getProject().getId(), userId);
+        projectAccess.requireMember(label.getProject().getId(), userId);
         labelRepository.delete(label);
     }
-
-    private void validateMembership(Long projectId, Long userId) {
-        if (!memberRepository.existsByProjectIdAndUserId(projectId, userId)) {
-            throw new AccessDeniedException("You are not a member of this project");
-        }
-    }
 }
@@ -1,6 +1,5 @@
 package com.cirquetask.service.impl;
 
-import com.cirquetask.model.entity.ProjectMember;
 import com.cirquetask.model.entity.Task;
 import com.cirquetask.model.entity.User;
 import com.cirquetask.repository.ProjectMemberRepository;
@@ -14,7 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
-import java.util.Optional;
+import java.util.Locale;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -34,27 +33,21 @@ public class MentionServiceImpl implements MentionService {
     @Override
     @Transactional(readOnly = true)
     public Set<Long> extractMentionedUserIds(String content, Long projectId) {
-        Set<Long> userIds = new HashSet<>();
-
         if (content == null || content.isBlank()) {
-            return userIds;
+            return new HashSet<>();
         }
 
+        Set<String> emails = new HashSet<>();
         Matcher matcher = MENTION_PATTERN.matcher(content);
         while (matcher.find()) {
-            String email = matcher.group(1);
-            Optional<User> userOpt = userRepository.findByEmailIgnoreCase(email);
-
-            if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                boolean isMember = projectMemberRepository.existsByProjectIdAndUserId(projectId, user.getId());
-                if (isMember) {
-                    userIds.add(user.getId());
-                }
-            }
+            emails.add(matcher.group(1).toLowerCase(Locale.ROOT));
+        }
+        if (emails.isEmpty()) {
+            return new HashSet<>();
         }
 
-        return userIds;
+        // Resolves the addresses and checks membership in one query, however many users are mentioned
+        return new HashSet<>(projectMemberRepository.findUserIdsByProjectIdAndEmails(projectId, emails));
     }
 
     @Override
@@ -80,14 +73,7 @@ public class MentionServiceImpl implements MentionService {
 
         String contextPreview = content.length() > 100 ? content.substring(0, 100) + "..." : content;
 
-        for (Long userId : mentionedUserIds) {
-            if (!userId.equals(senderId)) {
-                User mentionedUser = userRepository.findById(userId).orElse(null);
-                if (mentionedUser != null) {
-                    notificationService.sendMention(task, mentionedUser, sender, contextPreview);
-                }
-            }
-        }
+        notificationService.sendMentions(task, mentionedUserIds, sender, contextPreview);
 
         log.info("Processed {} mentions in task {} by user {}", mentionedUserIds.size(), taskId, senderId);
     }
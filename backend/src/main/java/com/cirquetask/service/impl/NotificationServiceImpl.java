@@ -1,6 +1,7 @@
 package com.cirquetask.service.impl;
 
 import com.cirquetask.exception.ResourceNotFoundException;
+import com.cirquetask.model.dto.CursorPage;
 import com.cirquetask.model.dto.NotificationDto;
 import com.cirquetask.model.entity.Notification;
 import com.cirquetask.model.entity.Task;
@@ -8,15 +9,24 @@ import com.cirquetask.model.entity.User;
 import com.cirquetask.model.enums.NotificationType;
 import com.cirquetask.model.mapper.NotificationMapper;
 import com.cirquetask.repository.NotificationRepository;
+import com.cirquetask.repository.UserRepository;
 import com.cirquetask.service.NotificationService;
+import com.cirquetask.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -24,95 +34,49 @@ import java.util.List;
 public class NotificationServiceImpl implements NotificationService {
 
     private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
     private final NotificationMapper notificationMapper;
     private final SimpMessagingTemplate messagingTemplate;
 
     @Override
     @Transactional
     public void sendTaskAssigned(Task task, User assignee, User sender) {
-        Notification notification = Notification.builder()
-                .title("Task Assigned")
-                .message(sender.getFullName() + " assigned you to task: " + task.getTaskKey() + " - " + task.getTitle())
-                .type(NotificationType.TASK_ASSIGNED)
-                .recipient(assignee)
-                .sender(sender)
-                .project(task.getProject())
-                .task(task)
-                .build();
-
-        notification = notificationRepository.save(notification);
-        pushNotification(assignee.getId(), notificationMapper.toDto(notification));
+        // Self-assignment is still notified, so the task shows up in the assignee's feed
+        send(new Draft("Task Assigned",
+                sender.getFullName() + " assigned you to task: " + task.getTaskKey() + " - " + task.getTitle(),
+                NotificationType.TASK_ASSIGNED, sender, task.getProject(), task), List.of(assignee.getId()), false);
     }
 
     @Override
     @Transactional
     public void sendCommentAdded(Task task, User commenter) {
-        // Notify reporter and assignees (except commenter)
-        if (!task.getReporter().getId().equals(commenter.getId())) {
-            Notification notification = Notification.builder()
-                    .title("New Comment")
-                    .message(commenter.getFullName() + " commented on " + task.getTaskKey() + ": " + task.getTitle())
-                    .type(NotificationType.COMMENT_ADDED)
-                    .recipient(task.getReporter())
-                    .sender(commenter)
-                    .project(task.getProject())
-                    .task(task)
-                    .build();
-            notification = notificationRepository.save(notification);
-            pushNotification(task.getReporter().getId(), notificationMapper.toDto(notification));
+        // Reporter and assignees, once each; the commenter is dropped by fanOut
+        Set<Long> recipientIds = new LinkedHashSet<>();
+        if (task.getReporter() != null) {
+            recipientIds.add(task.getReporter().getId());
         }
-
-        task.getAssignees().stream()
-                .filter(a -> !a.getId().equals(commenter.getId()))
-                .forEach(assignee -> {
-                    Notification notif = Notification.builder()
-                            .title("New Comment")
-                            .message(commenter.getFullName() + " commented on " + task.getTaskKey() + ": " + task.getTitle())
-                            .type(NotificationType.COMMENT_ADDED)
-                            .recipient(assignee)
-                            .sender(commenter)
-                            .project(task.getProject())
-                            .task(task)
-                            .build();
-                    notif = notificationRepository.save(notif);
-                    pushNotification(assignee.getId(), notificationMapper.toDto(notif));
-                });
+        task.getAssignees().forEach(assignee -> recipientIds.add(assignee.getId()));
+        fanOut(new Draft("New Comment",
+                commenter.getFullName() + " commented on " + task.getTaskKey() + ": " + task.getTitle(),
+                NotificationType.COMMENT_ADDED, commenter, task.getProject(), task), recipientIds);
     }
 
     @Override
     @Transactional
     public void sendMemberAdded(Long projectId, User newMember, User sender) {
-        Notification notification = Notification.builder()
-                .title("Added to Project")
-                .message(sender.getFullName() + " added you to a project")
-                .type(NotificationType.MEMBER_ADDED)
-                .recipient(newMember)
-                .sender(sender)
-                .build();
-        notification = notificationRepository.save(notification);
-        pushNotification(newMember.getId(), notificationMapper.toDto(notification));
+        send(new Draft("Added to Project", sender.getFullName() + " added you to a project",
+                NotificationType.MEMBER_ADDED, sender, null, null), List.of(newMember.getId()), false);
     }
 
     @Override
     @Transactional
-    public void sendMention(Task task, User mentionedUser, User sender, String context) {
-        if (mentionedUser.getId().equals(sender.getId())) {
-            return;
+    public void sendMentions(Task task, Collection<Long> mentionedUserIds, User sender, String context) {
+        int sent = fanOut(new Draft("You were mentioned",
+                sender.getFullName() + " mentioned you in " + task.getTaskKey() + ": " + context,
+                NotificationType.MENTION, sender, task.getProject(), task), mentionedUserIds);
+        if (sent > 0) {
+            log.info("Mention notification sent to {} user(s) for task {}", sent, task.getTaskKey());
         }
-
-        Notification notification = Notification.builder()
-                .title("You were mentioned")
-                .message(sender.getFullName() + " mentioned you in " + task.getTaskKey() + ": " + context)
-                .type(NotificationType.MENTION)
-                .recipient(mentionedUser)
-                .sender(sender)
-                .project(task.getProject())
-                .task(task)
-                .build();
-
-        notification = notificationRepository.save(notification);
-        pushNotification(mentionedUser.getId(), notificationMapper.toDto(notification));
-        log.info("Mention notification sent to user {} for task {}", mentionedUser.getId(), task.getTaskKey());
     }
 
     @Override
@@ -122,42 +86,27 @@ public class NotificationServiceImpl implements NotificationService {
                 ? "Task " + task.getTaskKey() + " is due today!"
                 : "Task " + task.getTaskKey() + " is due in " + daysUntilDue + " day(s)";
 
-        Notification notification = Notification.builder()
-                .title("Deadline Approaching")
-                .message(message)
-                .type(NotificationType.DEADLINE_APPROACHING)
-                .recipient(user)
-                .project(task.getProject())
-                .task(task)
-                .build();
-
-        notification = notificationRepository.save(notification);
-        pushNotification(user.getId(), notificationMapper.toDto(notification));
+        fanOut(new Draft("Deadline Approaching", message, NotificationType.DEADLINE_APPROACHING,
+                null, task.getProject(), task), List.of(user.getId()));
         log.info("Deadline reminder sent to user {} for task {}", user.getId(), task.getTaskKey());
     }
 
     @Override
     @Transactional
-    public void sendTaskUpdated(Task task, User recipient, String updateDescription) {
-        Notification notification = Notification.builder()
-                .title("Task Updated")
-                .message(updateDescription + " - " + task.getTaskKey() + ": " + task.getTitle())
-                .type(NotificationType.TASK_UPDATED)
-                .recipient(recipient)
-                .project(task.getProject())
-                .task(task)
-                .build();
-
-        notification = notificationRepository.save(notification);
-        pushNotification(recipient.getId(), notificationMapper.toDto(notification));
+    public void sendTaskUpdated(Task task, Collection<Long> recipientIds, String updateDescription) {
+        fanOut(new Draft("Task Updated", updateDescription + " - " + task.getTaskKey() + ": " + task.getTitle(),
+                NotificationType.TASK_UPDATED, null, task.getProject(), task), recipientIds);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<NotificationDto> getUserNotifications(Long userId, int page, int size) {
-        return notificationMapper.toDtoList(
-                notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId, PageRequest.of(page, size)).getContent()
-        );
+    public CursorPage<NotificationDto> getUserNotifications(Long userId, String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int limit = PageCursor.clampLimit(size);
+        List<Notification> notifications = notificationRepository.findByRecipientIdPage(
+                userId, after.timestamp(), after.id(), limit + 1);
+        return PageCursor.page(notifications, limit, Notification::getCreatedAt, Notification::getId,
+                notificationMapper::toDtoList);
     }
 
     @Override
@@ -181,6 +130,77 @@ public class NotificationServiceImpl implements NotificationService {
         notificationRepository.markAllAsReadByUserId(userId);
     }
 
+    /**
+     * Recipients are referenced by id without loading them, so the whole fan-out is one sequence fetch per
+     * 50 rows plus one batched insert (see {@code hibernate.jdbc.batch_size}).
+     */
+    @Override
+    @Transactional
+    public int fanOut(Draft draft, Collection<Long> recipientIds) {
+        return send(draft, recipientIds, true);
+    }
+
+    private int send(Draft draft, Collection<Long> recipientIds, boolean skipSender) {
+        Set<Long> recipients = new LinkedHashSet<>(recipientIds);
+        recipients.remove(null);
+        if (skipSender && draft.sender() != null) {
+            recipients.remove(draft.sender().getId());
+        }
+        if (recipients.isEmpty()) {
+            return 0;
+        }
+
+        List<Notification> notifications = new ArrayList<>(recipients.size());
+        for (Long recipientId : recipients) {
+            notifications.add(Notification.builder()
+                    .title(draft.title())
+                    .message(draft.message())
+                    .type(draft.type())
+                    .recipient(userRepository.getReferenceById(recipientId))
+                    .sender(draft.sender())
+                    .project(draft.project())
+                    .task(draft.task())
+                    .build());
+        }
+        notificationRepository.saveAll(notifications);
+
+        // Every row shares the same content; only the id and timestamp differ per recipient.
+        NotificationDto shared = notificationMapper.toDto(notifications.get(0));
+        Map<Long, NotificationDto> pushes = new LinkedHashMap<>();
+        for (Notification notification : notifications) {
+            pushes.put(notification.getRecipient().getId(), NotificationDto.builder()
+                    .id(notification.getId())
+                    .title(shared.getTitle())
+                    .message(shared.getMessage())
+                    .type(shared.getType())
+                    .isRead(shared.getIsRead())
+                    .sender(shared.getSender())
+                    .projectId(shared.getProjectId())
+                    .taskId(shared.getTaskId())
+                    .createdAt(notification.getCreatedAt())
+                    .build());
+        }
+        pushAfterCommit(pushes);
+        return notifications.size();
+    }
+
+    /**
+     * Pushes only once the rows are visible, so a client reacting to the push can read them back, and a
+     * rolled-back change pushes nothing. Outside a transaction the pushes go out immediately.
+     */
+    private void pushAfterCommit(Map<Long, NotificationDto> pushes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pushes.forEach(this::pushNotification);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pushes.forEach(NotificationServiceImpl.this::pushNotification);
+            }
+        });
+    }
+
     private void pushNotification(Long userId, NotificationDto dto) {
         try {
             messagingTemplate.convertAndSend("/topic/notifications/" + userId, dto);
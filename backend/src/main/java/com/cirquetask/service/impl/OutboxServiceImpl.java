@@ -0,0 +1,107 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.model.entity.OutboxEvent;
+import com.cirquetask.model.entity.Task;
+import com.cirquetask.model.entity.User;
+import com.cirquetask.model.enums.DomainEventType;
+import com.cirquetask.repository.OutboxEventRepository;
+import com.cirquetask.repository.ProjectRepository;
+import com.cirquetask.scheduler.OutboxDispatcher;
+import com.cirquetask.service.OutboxService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ProjectRepository projectRepository;
+    private final ObjectMapper objectMapper;
+    private final OutboxDispatcher dispatcher;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(DomainEventType type, Long projectId, Long aggregateId, Long actorId,
+                        Map<String, Object> payload) {
+        // Held until commit: a second writer for the project waits here, so it draws a higher id and commits
+        // later, and the dispatcher can never see a project's event before an earlier-numbered one.
+        if (lockedInTransaction().add(projectId)) {
+            projectRepository.lockTaskCounter(projectId);
+        }
+        outboxEventRepository.save(OutboxEvent.builder()
+                .eventType(type)
+                .projectId(projectId)
+                .aggregateId(aggregateId)
+                .actorId(actorId)
+                .payload(toJson(payload))
+                .build());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishTaskEvent(DomainEventType type, Task task, Long actorId, Map<String, Object> extra) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", task.getId());
+        payload.put("taskKey", task.getTaskKey());
+        payload.put("title", task.getTitle());
+        payload.put("status", task.getStatus());
+        payload.put("priority", task.getPriority());
+        payload.put("type", task.getType());
+        payload.put("storyPoints", task.getStoryPoints());
+        payload.put("dueDate", task.getDueDate() != null ? task.getDueDate().toString() : null);
+        payload.put("projectId", task.getProject().getId());
+        payload.put("columnId", task.getColumn() != null ? task.getColumn().getId() : null);
+        payload.put("boardId", task.getColumn() != null ? task.getColumn().getBoard().getId() : null);
+        payload.put("sprintId", task.getSprint() != null ? task.getSprint().getId() : null);
+        payload.put("reporterId", task.getReporter() != null ? task.getReporter().getId() : null);
+        payload.put("assigneeIds", task.getAssignees().stream().map(User::getId).toList());
+        payload.putAll(extra);
+        publish(type, task.getProject().getId(), task.getId(), actorId, payload);
+    }
+
+    /**
+     * Projects whose counter row the current transaction already holds.
+     */
+    @SuppressWarnings("unchecked")
+    private Set<Long> lockedInTransaction() {
+        Set<Long> locked = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (locked == null) {
+            Set<Long> projectIds = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, projectIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    // Dispatch right after commit instead of waiting for the next poll.
+                    dispatcher.wakeUp();
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(OutboxServiceImpl.this);
+                }
+            });
+            locked = projectIds;
+        }
+        return locked;
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize domain event payload", e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.cirquetask.service.impl;
 
+import com.cirquetask.event.ProjectMembershipChangedEvent;
+import com.cirquetask.event.UserStateChangedEvent;
 import com.cirquetask.exception.PlanLimitExceededException;
 import com.cirquetask.exception.ResourceNotFoundException;
 import com.cirquetask.model.entity.Project;
@@ -7,29 +9,43 @@ import com.cirquetask.model.entity.User;
 import com.cirquetask.repository.UserRepository;
 import com.cirquetask.model.enums.Feature;
 import com.cirquetask.model.enums.Plan;
-import com.cirquetask.model.entity.CustomFieldDefinition;
-import com.cirquetask.model.entity.Task;
-import com.cirquetask.model.entity.TimeLog;
 import com.cirquetask.repository.CustomFieldDefinitionRepository;
 import com.cirquetask.repository.ProjectMemberRepository;
 import com.cirquetask.repository.ProjectRepository;
 import com.cirquetask.repository.TaskRepository;
 import com.cirquetask.repository.TimeLogRepository;
 import com.cirquetask.service.PlanLimitService;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.Duration;
 import java.util.EnumSet;
+import java.util.Optional;
 import java.util.Set;
-
+import java.util.function.Function;
+
+/**
+ * Plan limits and feature gates. Gate checks by project, task, time log or custom field resolve the owning
+ * project's owner plan from caches: the entity-to-project mapping never changes and is cached until evicted
+ * by size, the owner's effective plan is cached per project and per user and dropped when a subscription
+ * changes ({@link UserStateChangedEvent}) or the project's membership changes. In the steady state a gate
+ * check runs no queries.
+ */
 @Service
-@RequiredArgsConstructor
 public class PlanLimitServiceImpl implements PlanLimitService {
 
     private static final int FREE_MAX_PROJECTS = 2;
     private static final int FREE_MAX_MEMBERS_PER_PROJECT = 5;
     private static final int PRO_MAX_PROJECTS = 10;
     private static final int PRO_MAX_MEMBERS_PER_PROJECT = 15;
+    private static final int FREE_API_REQUESTS_PER_MINUTE = 120;
+    private static final int PRO_API_REQUESTS_PER_MINUTE = 600;
+    private static final int BUSINESS_API_REQUESTS_PER_MINUTE = 3000;
     private static final String SUBSCRIPTION_ACTIVE = "active";
 
     private static final Set<Feature> PRO_FEATURES = EnumSet.of(
@@ -44,17 +60,63 @@ public class PlanLimitServiceImpl implements PlanLimitService {
     private final UserRepository userRepository;
     private final CustomFieldDefinitionRepository customFieldDefinitionRepository;
 
+    private final Cache<ParentKey, Long> parentProjects;
+    private final Cache<Long, OwnerPlan> projectPlans;
+    private final Cache<Long, Plan> userPlans;
+
+    public PlanLimitServiceImpl(ProjectRepository projectRepository,
+                                ProjectMemberRepository projectMemberRepository,
+                                TaskRepository taskRepository,
+                                TimeLogRepository timeLogRepository,
+                                UserRepository userRepository,
+                                CustomFieldDefinitionRepository customFieldDefinitionRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.cache.plans.max-size:50000}") long maxSize,
+                                @Value("${app.cache.plans.ttl-seconds:600}") long ttlSeconds) {
+        this.projectRepository = projectRepository;
+        this.projectMemberRepository = projectMemberRepository;
+        this.taskRepository = taskRepository;
+        this.timeLogRepository = timeLogRepository;
+        this.userRepository = userRepository;
+        this.customFieldDefinitionRepository = customFieldDefinitionRepository;
+        this.parentProjects = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+        this.projectPlans = Caffeine.newBuilder().maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds)).recordStats().build();
+        this.userPlans = Caffeine.newBuilder().maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds)).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, parentProjects, "planGateParents");
+        CaffeineCacheMetrics.monitor(meterRegistry, projectPlans, "projectOwnerPlans");
+        CaffeineCacheMetrics.monitor(meterRegistry, userPlans, "userPlans");
+    }
+
     @Override
     public Plan getEffectivePlan(User user) {
-        if (user == null || user.getPlan() == null || user.getPlan() == Plan.FREE) {
+        if (user == null) {
             return Plan.FREE;
         }
-        if (SUBSCRIPTION_ACTIVE.equals(user.getSubscriptionStatus())) {
-            return user.getPlan();
+        return getEffectivePlan(user.getPlan(), user.getSubscriptionStatus());
+    }
+
+    @Override
+    public Plan getEffectivePlan(Plan plan, String subscriptionStatus) {
+        if (plan == null || plan == Plan.FREE) {
+            return Plan.FREE;
+        }
+        if (SUBSCRIPTION_ACTIVE.equals(subscriptionStatus)) {
+            return plan;
         }
         return Plan.FREE;
     }
 
+    @Override
+    public int getApiRequestsPerMinute(Plan plan) {
+        return switch (plan != null ? plan : Plan.FREE) {
+            case FREE -> FREE_API_REQUESTS_PER_MINUTE;
+            case PRO -> PRO_API_REQUESTS_PER_MINUTE;
+            case BUSINESS -> BUSINESS_API_REQUESTS_PER_MINUTE;
+        };
+    }
+
     @Override
     public int getMaxProjects(User user) {
         Plan plan = getEffectivePlan(user);
@@ -101,12 +163,7 @@ public class PlanLimitServiceImpl implements PlanLimitService {
 
     @Override
     public boolean hasFeature(User user, Feature feature) {
-        Plan plan = getEffectivePlan(user);
-        return switch (plan) {
-            case FREE -> false;
-            case PRO -> PRO_FEATURES.contains(feature);
-            case BUSINESS -> BUSINESS_FEATURES.contains(feature);
-        };
+        return planHasFeature(getEffectivePlan(user), feature);
     }
 
     @Override
@@ -122,39 +179,75 @@ public class PlanLimitServiceImpl implements PlanLimitService {
 
     @Override
     public void requireUserFeature(Long userId, Feature feature) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
-        if (!hasFeature(user, feature)) {
-            throw new PlanLimitExceededException(
-                    "This feature is available on Pro plan and above. Please upgrade your plan.");
-        }
+        Plan plan = userPlans.get(userId, id -> userRepository.findById(id)
+                .map(this::getEffectivePlan)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", id)));
+        requirePlanFeature(plan, feature);
     }
 
     @Override
     public void requireProjectFeature(Long projectId, Feature feature) {
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
-        requireProjectFeature(project, feature);
+        OwnerPlan ownerPlan = projectPlans.get(projectId, id -> projectRepository.findOwnerPlan(id)
+                .map(view -> new OwnerPlan(view.getOwnerId(), getEffectivePlan(view.getPlan(), view.getSubscriptionStatus())))
+                .orElseThrow(() -> new ResourceNotFoundException("Project", "id", id)));
+        requirePlanFeature(ownerPlan.plan(), feature);
     }
 
     @Override
     public void requireTaskProjectFeature(Long taskId, Feature feature) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
-        requireProjectFeature(task.getProject(), feature);
+        requireProjectFeature(parentProject("Task", taskId, taskRepository::findProjectIdById), feature);
     }
 
     @Override
     public void requireTimeLogProjectFeature(Long timeLogId, Feature feature) {
-        TimeLog timeLog = timeLogRepository.findById(timeLogId)
-                .orElseThrow(() -> new ResourceNotFoundException("TimeLog", "id", timeLogId));
-        requireProjectFeature(timeLog.getTask().getProject(), feature);
+        requireProjectFeature(parentProject("TimeLog", timeLogId, timeLogRepository::findProjectIdById), feature);
     }
 
     @Override
     public void requireCustomFieldDefinitionProjectFeature(Long definitionId, Feature feature) {
-        CustomFieldDefinition definition = customFieldDefinitionRepository.findById(definitionId)
-                .orElseThrow(() -> new ResourceNotFoundException("CustomFieldDefinition", "id", definitionId));
-        requireProjectFeature(definition.getProject(), feature);
+        requireProjectFeature(parentProject("CustomFieldDefinition", definitionId,
+                customFieldDefinitionRepository::findProjectIdById), feature);
+    }
+
+    /**
+     * A subscription change affects the user's own gates and those of every project they own.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserStateChanged(UserStateChangedEvent event) {
+        userPlans.invalidate(event.userId());
+        projectPlans.asMap().values().removeIf(ownerPlan -> ownerPlan.ownerId().equals(event.userId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(ProjectMembershipChangedEvent event) {
+        if (event.projectId() != null) {
+            projectPlans.invalidate(event.projectId());
+        }
+    }
+
+    private boolean planHasFeature(Plan plan, Feature feature) {
+        return switch (plan) {
+            case FREE -> false;
+            case PRO -> PRO_FEATURES.contains(feature);
+            case BUSINESS -> BUSINESS_FEATURES.contains(feature);
+        };
+    }
+
+    private void requirePlanFeature(Plan plan, Feature feature) {
+        if (!planHasFeature(plan, feature)) {
+            throw new PlanLimitExceededException(
+                    "This feature is available on Pro plan and above. Please upgrade your plan.");
+        }
+    }
+
+    private Long parentProject(String entity, Long id, Function<Long, Optional<Long>> lookup) {
+        return parentProjects.get(new ParentKey(entity, id), key -> lookup.apply(id)
+                .orElseThrow(() -> new ResourceNotFoundException(entity, "id", id)));
+    }
+
+    private record ParentKey(String entity, Long id) {
+    }
+
+    private record OwnerPlan(Long ownerId, Plan plan) {
     }
 }
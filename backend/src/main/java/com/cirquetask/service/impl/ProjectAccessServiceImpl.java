@@ -0,0 +1,91 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.event.ProjectMembershipChangedEvent;
+import com.cirquetask.exception.AccessDeniedException;
+import com.cirquetask.model.enums.ProjectRole;
+import com.cirquetask.repository.ProjectMemberRepository;
+import com.cirquetask.service.ProjectAccessService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Caches each user's membership set ({@code projectId -> role}) in Caffeine. A request that checks
+ * several projects, or the same project several times, costs at most one query for the user.
+ * Entries are dropped by {@link ProjectMembershipChangedEvent}s after commit; the TTL is a safety net.
+ */
+@Service
+public class ProjectAccessServiceImpl implements ProjectAccessService {
+
+    private final ProjectMemberRepository memberRepository;
+    private final Cache<Long, Map<Long, ProjectRole>> memberships;
+
+    public ProjectAccessServiceImpl(ProjectMemberRepository memberRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.cache.memberships.max-size:50000}") long maxSize,
+                                    @Value("${app.cache.memberships.ttl-seconds:300}") long ttlSeconds) {
+        this.memberRepository = memberRepository;
+        this.memberships = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memberships, "projectMemberships");
+    }
+
+    @Override
+    public Map<Long, ProjectRole> getMemberships(Long userId) {
+        return memberships.get(userId, this::load);
+    }
+
+    @Override
+    public Optional<ProjectRole> findRole(Long projectId, Long userId) {
+        return Optional.ofNullable(getMemberships(userId).get(projectId));
+    }
+
+    @Override
+    public boolean isMember(Long projectId, Long userId) {
+        return getMemberships(userId).containsKey(projectId);
+    }
+
+    @Override
+    public ProjectRole requireMember(Long projectId, Long userId) {
+        return findRole(projectId, userId)
+                .orElseThrow(() -> new AccessDeniedException("You are not a member of this project"));
+    }
+
+    @Override
+    public ProjectRole requireAdmin(Long projectId, Long userId) {
+        ProjectRole role = requireMember(projectId, userId);
+        if (role != ProjectRole.OWNER && role != ProjectRole.ADMIN) {
+            throw new AccessDeniedException("You don't have admin access to this project");
+        }
+        return role;
+    }
+
+    @Override
+    public void evictUser(Long userId) {
+        memberships.invalidate(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(ProjectMembershipChangedEvent event) {
+        evictUser(event.userId());
+    }
+
+    private Map<Long, ProjectRole> load(Long userId) {
+        Map<Long, ProjectRole> roles = new HashMap<>();
+        memberRepository.findMembershipsByUserId(userId)
+                .forEach(row -> roles.put(row.getProjectId(), row.getRole()));
+        return Map.copyOf(roles);
+    }
+}
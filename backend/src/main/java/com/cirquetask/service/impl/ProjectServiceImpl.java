@@ -1,5 +1,7 @@
 package com.cirquetask.service.impl;
 
+import com.cirquetask.event.ProjectMembershipChangedEvent;
+import com.cirquetask.event.ProjectStatsChangedEvent;
 import com.cirquetask.exception.AccessDeniedException;
 import com.cirquetask.exception.BadRequestException;
 import com.cirquetask.exception.ResourceNotFoundException;
@@ -12,13 +14,18 @@ import com.cirquetask.model.mapper.ProjectMapper;
 import com.cirquetask.repository.*;
 import com.cirquetask.service.ActivityLogService;
 import com.cirquetask.service.PlanLimitService;
+import com.cirquetask.service.ProjectAccessService;
 import com.cirquetask.service.ProjectService;
+import com.cirquetask.service.ProjectStatsCacheService;
+import com.cirquetask.util.SparseRank;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -33,6 +40,9 @@ public class ProjectServiceImpl implements ProjectService {
     private final ProjectMapper projectMapper;
     private final ActivityLogService activityLogService;
     private final PlanLimitService planLimitService;
+    private final ProjectStatsCacheService statsCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProjectAccessService projectAccess;
 
     @Override
     @Transactional
@@ -60,6 +70,7 @@ public class ProjectServiceImpl implements ProjectService {
                 .role(ProjectRole.OWNER)
                 .build();
         memberRepository.save(ownerMember);
+        eventPublisher.publishEvent(new ProjectMembershipChangedEvent(project.getId(), userId));
 
         // Create default board with columns
         Board defaultBoard = Board.builder()
@@ -79,7 +90,7 @@ public class ProjectServiceImpl implements ProjectService {
                     .name(defaultColumns[i][0])
                     .color(defaultColumns[i][1])
                     .board(defaultBoard)
-                    .position(i)
+                    .position(SparseRank.initial(i))
                     .isDoneColumn(i == defaultColumns.length - 1)
                     .build();
             columnRepository.save(col);
@@ -101,10 +112,10 @@ public class ProjectServiceImpl implements ProjectService {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
 
-        validateMembership(projectId, userId);
+        projectAccess.requireMember(projectId, userId);
 
         ProjectDto dto = projectMapper.toDto(project);
-        dto.setTaskCount(projectRepository.countTasksByProjectId(projectId).intValue());
+        dto.setTaskCount(statsCache.getTaskCounts(List.of(projectId)).getOrDefault(projectId, 0L).intValue());
         List<ProjectMember> members = memberRepository.findByProjectId(projectId);
         dto.setMembers(projectMapper.toMemberDtoList(members));
         return dto;
@@ -114,9 +125,10 @@ public class ProjectServiceImpl implements ProjectService {
     @Transactional(readOnly = true)
     public List<ProjectDto> getUserProjects(Long userId) {
         List<Project> projects = projectRepository.findByMemberUserId(userId);
+        Map<Long, Long> taskCounts = statsCache.getTaskCounts(projects.stream().map(Project::getId).toList());
         return projects.stream().map(p -> {
             ProjectDto dto = projectMapper.toDto(p);
-            dto.setTaskCount(projectRepository.countTasksByProjectId(p.getId()).intValue());
+            dto.setTaskCount(taskCounts.getOrDefault(p.getId(), 0L).intValue());
             return dto;
         }).toList();
     }
@@ -127,7 +139,7 @@ public class ProjectServiceImpl implements ProjectService {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
 
-        validateAdminAccess(projectId, userId);
+        projectAccess.requireAdmin(projectId, userId);
 
         project.setName(request.getName());
         project.setDescription(request.getDescription());
@@ -152,6 +164,10 @@ public class ProjectServiceImpl implements ProjectService {
             throw new AccessDeniedException("Only the project owner can delete the project");
         }
 
+        memberRepository.findUserIdsByProjectId(projectId).forEach(memberId -> {
+            eventPublisher.publishEvent(new ProjectStatsChangedEvent(null, memberId));
+            eventPublisher.publishEvent(new ProjectMembershipChangedEvent(projectId, memberId));
+        });
         projectRepository.delete(project);
         log.info("Project deleted: {} by user {}", project.getName(), userId);
     }
@@ -159,7 +175,7 @@ public class ProjectServiceImpl implements ProjectService {
     @Override
     @Transactional
     public MemberDto addMember(Long projectId, Long memberUserId, ProjectRole role, Long currentUserId) {
-        validateAdminAccess(projectId, currentUserId);
+        projectAccess.requireAdmin(projectId, currentUserId);
 
         if (memberRepository.existsByProjectIdAndUserId(projectId, memberUserId)) {
             throw new BadRequestException("User is already a member of this project");
@@ -179,6 +195,7 @@ public class ProjectServiceImpl implements ProjectService {
                 .build();
 
         member = memberRepository.save(member);
+        eventPublisher.publishEvent(new ProjectMembershipChangedEvent(projectId, memberUserId));
 
         activityLogService.log("ADD_MEMBER", "PROJECT", projectId,
                 "Added member: " + user.getFullName(), null, null, currentUserId, projectId);
@@ -189,7 +206,7 @@ public class ProjectServiceImpl implements ProjectService {
     @Override
     @Transactional
     public void removeMember(Long projectId, Long memberUserId, Long currentUserId) {
-        validateAdminAccess(projectId, currentUserId);
+        projectAccess.requireAdmin(projectId, currentUserId);
 
         ProjectMember member = memberRepository.findByProjectIdAndUserId(projectId, memberUserId)
                 .orElseThrow(() -> new ResourceNotFoundException("ProjectMember", "userId", memberUserId));
@@ -199,12 +216,14 @@ public class ProjectServiceImpl implements ProjectService {
         }
 
         memberRepository.delete(member);
+        eventPublisher.publishEvent(new ProjectStatsChangedEvent(projectId, memberUserId));
+        eventPublisher.publishEvent(new ProjectMembershipChangedEvent(projectId, memberUserId));
     }
 
     @Override
     @Transactional
     public MemberDto updateMemberRole(Long projectId, Long memberUserId, ProjectRole role, Long currentUserId) {
-        validateAdminAccess(projectId, currentUserId);
+        projectAccess.requireAdmin(projectId, currentUserId);
 
         ProjectMember member = memberRepository.findByProjectIdAndUserId(projectId, memberUserId)
                 .orElseThrow(() -> new ResourceNotFoundException("ProjectMember", "userId", memberUserId));
@@ -215,29 +234,15 @@ public class ProjectServiceImpl implements ProjectService {
 
         member.setRole(role);
         member = memberRepository.save(member);
+        eventPublisher.publishEvent(new ProjectMembershipChangedEvent(projectId, memberUserId));
         return projectMapper.toMemberDto(member);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<MemberDto> getMembers(Long projectId, Long userId) {
-        validateMembership(projectId, userId);
+        projectAccess.requireMember(projectId, userId);
         List<ProjectMember> members = memberRepository.findByProjectId(projectId);
         return projectMapper.toMemberDtoList(members);
     }
-
-    private void validateMembership(Long projectId, Long userId) {
-        if (!memberRepository.existsByProjectIdAndUserId(projectId, userId)) {
-            throw new AccessDeniedException("You are not a member of this project");
-        }
-    }
-
-    private void validateAdminAccess(Long projectId, Long userId) {
-        ProjectMember member = memberRepository.findByProjectIdAndUserId(projectId, userId)
-                .orElseThrow(() -> new AccessDeniedException("You are not a member of this project"));
-
-        if (member.getRole() != ProjectRole.OWNER && member.getRole() != ProjectRole.ADMIN) {
-            throw new AccessDeniedException("You don't have admin access to this project");
-        }
-    }
 }
@@ -0,0 +1,99 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.event.ProjectStatsChangedEvent;
+import com.cirquetask.model.dto.DashboardDto;
+import com.cirquetask.repository.ProjectMemberRepository;
+import com.cirquetask.repository.ProjectRepository;
+import com.cirquetask.service.ProjectStatsCacheService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Caffeine-backed statistics cache. Entries expire after a short TTL as a safety net, but are normally
+ * dropped by {@link ProjectStatsChangedEvent}s once the mutating transaction has committed.
+ * A project change evicts the project's entries and the user dashboards of all its members.
+ * Hit/miss/eviction counts are published as {@code cache.*} meters tagged with the cache name.
+ */
+@Service
+public class ProjectStatsCacheServiceImpl implements ProjectStatsCacheService {
+
+    private final ProjectRepository projectRepository;
+    private final ProjectMemberRepository memberRepository;
+
+    private final Cache<Long, DashboardDto> userDashboards;
+    private final Cache<Long, DashboardDto> projectDashboards;
+    private final Cache<Long, Long> projectTaskCounts;
+
+    public ProjectStatsCacheServiceImpl(ProjectRepository projectRepository,
+                                        ProjectMemberRepository memberRepository,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${app.cache.stats.max-size:10000}") long maxSize,
+                                        @Value("${app.cache.stats.ttl-seconds:60}") long ttlSeconds) {
+        this.projectRepository = projectRepository;
+        this.memberRepository = memberRepository;
+        this.userDashboards = build(maxSize, ttlSeconds);
+        this.projectDashboards = build(maxSize, ttlSeconds);
+        this.projectTaskCounts = build(maxSize, ttlSeconds);
+        CaffeineCacheMetrics.monitor(meterRegistry, userDashboards, "userDashboards");
+        CaffeineCacheMetrics.monitor(meterRegistry, projectDashboards, "projectDashboards");
+        CaffeineCacheMetrics.monitor(meterRegistry, projectTaskCounts, "projectTaskCounts");
+    }
+
+    @Override
+    public DashboardDto getUserDashboard(Long userId, Supplier<DashboardDto> loader) {
+        return userDashboards.get(userId, id -> loader.get());
+    }
+
+    @Override
+    public DashboardDto getProjectDashboard(Long projectId, Supplier<DashboardDto> loader) {
+        return projectDashboards.get(projectId, id -> loader.get());
+    }
+
+    @Override
+    public Map<Long, Long> getTaskCounts(Collection<Long> projectIds) {
+        return projectTaskCounts.getAll(projectIds, missing -> {
+            Map<Long, Long> counts = new HashMap<>();
+            missing.forEach(id -> counts.put(id, 0L));
+            projectRepository.countTasksByProjectIds(List.copyOf(missing))
+                    .forEach(row -> counts.put(row.getProjectId(), row.getTaskCount()));
+            return counts;
+        });
+    }
+
+    @Override
+    public void evictProject(Long projectId) {
+        projectDashboards.invalidate(projectId);
+        projectTaskCounts.invalidate(projectId);
+        userDashboards.invalidateAll(memberRepository.findUserIdsByProjectId(projectId));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProjectStatsChanged(ProjectStatsChangedEvent event) {
+        if (event.projectId() != null) {
+            evictProject(event.projectId());
+        }
+        if (event.userId() != null) {
+            userDashboards.invalidate(event.userId());
+        }
+    }
+
+    private static <K, V> Cache<K, V> build(long maxSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+}
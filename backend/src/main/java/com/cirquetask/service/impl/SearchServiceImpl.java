@@ -1,104 +1,235 @@
 package com.cirquetask.service.impl;
 
+import com.cirquetask.model.dto.SearchPage;
 import com.cirquetask.model.dto.SearchRequest;
 import com.cirquetask.model.dto.TaskDto;
+import com.cirquetask.model.dto.TaskSearchHitDto;
 import com.cirquetask.model.entity.Task;
+import com.cirquetask.model.enums.SearchPageMode;
 import com.cirquetask.model.mapper.TaskMapper;
-import com.cirquetask.repository.ProjectMemberRepository;
+import com.cirquetask.repository.TaskRepository;
 import com.cirquetask.service.SearchService;
 import jakarta.persistence.EntityManager;
-import jakarta.persistence.TypedQuery;
-import jakarta.persistence.criteria.*;
+import jakarta.persistence.Query;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Task search backed by the {@code tasks.search_vector} full-text column and its GIN index.
+ * Every query is restricted to the caller's member projects inside the database, text matches are
+ * prefix matches ranked with title above description, and highlights are only computed for the page returned.
+ */
 @Service
 @RequiredArgsConstructor
 public class SearchServiceImpl implements SearchService {
 
+    static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_QUERY_TERMS = 8;
+
+    // Control characters cannot come from user text, so they survive HTML escaping and are then turned into tags
+    private static final String MARK_START = "\u0002";
+    private static final String MARK_END = "\u0003";
+    private static final String TITLE_HEADLINE_OPTIONS =
+            "StartSel=" + MARK_START + ", StopSel=" + MARK_END + ", HighlightAll=true";
+    private static final String DESCRIPTION_HEADLINE_OPTIONS =
+            "StartSel=" + MARK_START + ", StopSel=" + MARK_END + ", MaxWords=35, MinWords=15, MaxFragments=2";
+
     private final EntityManager entityManager;
-    private final ProjectMemberRepository memberRepository;
+    private final TaskRepository taskRepository;
     private final TaskMapper taskMapper;
 
+    @Value("${app.search.count-threshold:1000}")
+    private long countThreshold = 1000;
+
     @Override
     @Transactional(readOnly = true)
-    public Page<TaskDto> searchTasks(SearchRequest request, Long userId, Pageable pageable) {
-        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Task> cq = cb.createQuery(Task.class);
-        Root<Task> task = cq.from(Task.class);
-
-        List<Predicate> predicates = buildPredicates(cb, task, request, userId);
+    public SearchPage<TaskSearchHitDto> searchTasks(SearchRequest request, Long userId, Pageable pageable, SearchPageMode mode) {
+        String tsQuery = toPrefixQuery(request.getQuery());
+        Map<String, Object> params = new HashMap<>();
+        String where = buildWhere(request, userId, tsQuery, params);
+        if (pageable.getPageSize() > MAX_PAGE_SIZE) {
+            pageable = PageRequest.of(pageable.getPageNumber(), MAX_PAGE_SIZE);
+        }
 
-        cq.where(predicates.toArray(new Predicate[0]));
-        cq.orderBy(cb.desc(task.get("updatedAt")));
+        String rank = tsQuery != null ? "ts_rank_cd(t.search_vector, to_tsquery('simple', :tsQuery))" : "NULL";
+        String order = tsQuery != null ? "rank DESC, t.updated_at DESC, t.id DESC" : "t.updated_at DESC, t.id DESC";
+        String highlights = tsQuery != null
+                ? "ts_headline('simple', t.title, to_tsquery('simple', :tsQuery), :titleOptions), " +
+                  "ts_headline('simple', coalesce(t.description, ''), to_tsquery('simple', :tsQuery), :descriptionOptions)"
+                : "NULL, NULL";
+
+        String sql = "SELECT s.id, s.rank, " + highlights + " FROM (" +
+                "SELECT t.id, t.updated_at, " + rank + " AS rank FROM tasks t WHERE " + where +
+                " ORDER BY " + order + " LIMIT :limit OFFSET :offset" +
+                ") s JOIN tasks t ON t.id = s.id ORDER BY s.rank DESC NULLS LAST, s.updated_at DESC, s.id DESC";
+
+        Query query = entityManager.createNativeQuery(sql);
+        params.forEach(query::setParameter);
+        if (tsQuery != null) {
+            query.setParameter("titleOptions", TITLE_HEADLINE_OPTIONS);
+            query.setParameter("descriptionOptions", DESCRIPTION_HEADLINE_OPTIONS);
+        }
+        // One extra row tells whether a next page exists without counting
+        query.setParameter("limit", pageable.getPageSize() + 1);
+        query.setParameter("offset", pageable.getOffset());
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        if (hasNext) {
+            rows = rows.subList(0, pageable.getPageSize());
+        }
 
-        TypedQuery<Task> query = entityManager.createQuery(cq);
-        query.setFirstResult((int) pageable.getOffset());
-        query.setMaxResults(pageable.getPageSize());
+        SearchPage.SearchPageBuilder<TaskSearchHitDto> page = SearchPage.<TaskSearchHitDto>builder()
+                .content(toHits(rows))
+                .page(pageable.getPageNumber())
+                .size(pageable.getPageSize())
+                .hasNext(hasNext)
+                .mode(mode);
 
-        List<Task> tasks = query.getResultList();
+        if (mode == SearchPageMode.SLICE) {
+            return page.build();
+        }
+        if (!hasNext && (!rows.isEmpty() || pageable.getOffset() == 0)) {
+            // The last page already tells the exact total
+            return page.totalElements(pageable.getOffset() + rows.size()).build();
+        }
+        if (mode == SearchPageMode.EXACT) {
+            Query countQuery = entityManager.createNativeQuery("SELECT COUNT(*) FROM tasks t WHERE " + where);
+            params.forEach(countQuery::setParameter);
+            return page.totalElements(((Number) countQuery.getSingleResult()).longValue()).build();
+        }
 
-        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
-        Root<Task> countRoot = countQuery.from(Task.class);
-        countQuery.select(cb.count(countRoot));
-        countQuery.where(buildPredicates(cb, countRoot, request, userId).toArray(new Predicate[0]));
-        Long total = entityManager.createQuery(countQuery).getSingleResult();
+        // Counting stops after the threshold, so a huge match set costs no more than threshold + 1 index hits
+        long cap = Math.max(countThreshold, pageable.getOffset() + rows.size() + 1);
+        Query countQuery = entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM (SELECT 1 FROM tasks t WHERE " + where + " LIMIT :countCap) c");
+        params.forEach(countQuery::setParameter);
+        countQuery.setParameter("countCap", cap + 1);
+        long counted = ((Number) countQuery.getSingleResult()).longValue();
+        return page.totalElements(Math.min(counted, cap)).totalCapped(counted > cap).build();
+    }
 
-        List<TaskDto> dtos = tasks.stream().map(taskMapper::toDto).toList();
-        return new PageImpl<>(dtos, pageable, total);
+    private List<TaskSearchHitDto> toHits(List<Object[]> rows) {
+        List<Long> ids = rows.stream().map(row -> ((Number) row[0]).longValue()).toList();
+        Map<Long, Task> tasks = taskRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<TaskSearchHitDto> hits = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Task task = tasks.get(((Number) row[0]).longValue());
+            if (task == null) {
+                continue;
+            }
+            TaskDto dto = taskMapper.toDto(task);
+            hits.add(TaskSearchHitDto.builder()
+                    .task(dto)
+                    .rank(row[1] != null ? ((Number) row[1]).doubleValue() : null)
+                    .titleHighlight(toHtml((String) row[2]))
+                    .descriptionHighlight(toHtml((String) row[3]))
+                    .build());
+        }
+        return hits;
     }
 
-    private List<Predicate> buildPredicates(CriteriaBuilder cb, Root<Task> task, SearchRequest request, Long userId) {
-        List<Predicate> predicates = new ArrayList<>();
+    private String buildWhere(SearchRequest request, Long userId, String tsQuery, Map<String, Object> params) {
+        List<String> clauses = new ArrayList<>();
+
+        clauses.add("t.project_id IN (SELECT pm.project_id FROM project_members pm JOIN projects p ON p.id = pm.project_id " +
+                "WHERE pm.user_id = :userId" + (Boolean.TRUE.equals(request.getIncludeArchived()) ? "" : " AND p.is_archived = false") + ")");
+        params.put("userId", userId);
 
-        if (request.getQuery() != null && !request.getQuery().isBlank()) {
-            String searchPattern = "%" + request.getQuery().toLowerCase() + "%";
-            predicates.add(cb.or(
-                    cb.like(cb.lower(task.get("title")), searchPattern),
-                    cb.like(cb.lower(task.get("description")), searchPattern),
-                    cb.like(cb.lower(task.get("taskKey")), searchPattern)
-            ));
+        if (tsQuery != null) {
+            clauses.add("t.search_vector @@ to_tsquery('simple', :tsQuery)");
+            params.put("tsQuery", tsQuery);
         }
 
         if (request.getProjectIds() != null && !request.getProjectIds().isEmpty()) {
-            predicates.add(task.get("project").get("id").in(request.getProjectIds()));
+            clauses.add("t.project_id IN (:projectIds)");
+            params.put("projectIds", request.getProjectIds());
         }
 
         if (request.getStatuses() != null && !request.getStatuses().isEmpty()) {
-            predicates.add(task.get("status").in(request.getStatuses()));
+            clauses.add("CAST(t.status AS VARCHAR) IN (:statuses)");
+            params.put("statuses", names(request.getStatuses()));
         }
 
         if (request.getPriorities() != null && !request.getPriorities().isEmpty()) {
-            predicates.add(task.get("priority").in(request.getPriorities()));
+            clauses.add("CAST(t.priority AS VARCHAR) IN (:priorities)");
+            params.put("priorities", names(request.getPriorities()));
         }
 
         if (request.getTypes() != null && !request.getTypes().isEmpty()) {
-            predicates.add(task.get("type").in(request.getTypes()));
+            clauses.add("CAST(t.type AS VARCHAR) IN (:types)");
+            params.put("types", names(request.getTypes()));
+        }
+
+        if (request.getAssigneeIds() != null && !request.getAssigneeIds().isEmpty()) {
+            clauses.add("EXISTS (SELECT 1 FROM task_assignments a WHERE a.task_id = t.id AND a.user_id IN (:assigneeIds))");
+            params.put("assigneeIds", request.getAssigneeIds());
+        }
+
+        if (request.getLabelIds() != null && !request.getLabelIds().isEmpty()) {
+            clauses.add("EXISTS (SELECT 1 FROM task_labels l WHERE l.task_id = t.id AND l.label_id IN (:labelIds))");
+            params.put("labelIds", request.getLabelIds());
         }
 
         if (request.getDueDateFrom() != null) {
-            predicates.add(cb.greaterThanOrEqualTo(task.get("dueDate"), request.getDueDateFrom()));
+            clauses.add("t.due_date >= :dueDateFrom");
+            params.put("dueDateFrom", request.getDueDateFrom());
         }
 
         if (request.getDueDateTo() != null) {
-            predicates.add(cb.lessThanOrEqualTo(task.get("dueDate"), request.getDueDateTo()));
+            clauses.add("t.due_date <= :dueDateTo");
+            params.put("dueDateTo", request.getDueDateTo());
         }
 
         if (request.getCreatedFrom() != null) {
-            predicates.add(cb.greaterThanOrEqualTo(task.get("createdAt"), request.getCreatedFrom().atStartOfDay()));
+            clauses.add("t.created_at >= :createdFrom");
+            params.put("createdFrom", request.getCreatedFrom().atStartOfDay());
         }
 
         if (request.getCreatedTo() != null) {
-            predicates.add(cb.lessThanOrEqualTo(task.get("createdAt"), request.getCreatedTo().plusDays(1).atStartOfDay()));
+            clauses.add("t.created_at < :createdTo");
+            params.put("createdTo", request.getCreatedTo().plusDays(1).atStartOfDay());
+        }
+
+        return String.join(" AND ", clauses);
+    }
+
+    /**
+     * Turns free text into a prefix-matching tsquery ({@code "fix log"} becomes {@code "fix:* & log:*"}),
+     * or null when the text has no searchable terms. Only letters and digits survive, so the result is always valid syntax.
+     */
+    static String toPrefixQuery(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        List<String> terms = Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .limit(MAX_QUERY_TERMS)
+                .map(term -> term + ":*")
+                .toList();
+        return terms.isEmpty() ? null : String.join(" & ", terms);
+    }
+
+    static String toHtml(String headline) {
+        if (headline == null || headline.isEmpty()) {
+            return null;
         }
+        return HtmlUtils.htmlEscape(headline).replace(MARK_START, "<mark>").replace(MARK_END, "</mark>");
+    }
 
-        return predicates;
+    private static List<String> names(Collection<? extends Enum<?>> values) {
+        return values.stream().map(Enum::name).toList();
     }
 }
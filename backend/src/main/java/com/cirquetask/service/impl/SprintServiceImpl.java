@@ -1,5 +1,6 @@
 package com.cirquetask.service.impl;
 
+import com.cirquetask.event.ProjectStatsChangedEvent;
 import com.cirquetask.exception.BadRequestException;
 import com.cirquetask.exception.ResourceNotFoundException;
 import com.cirquetask.model.dto.SprintDto;
@@ -7,21 +8,27 @@ import com.cirquetask.model.dto.SprintRequest;
 import com.cirquetask.model.entity.Project;
 import com.cirquetask.model.entity.Sprint;
 import com.cirquetask.model.entity.Task;
+import com.cirquetask.model.enums.DomainEventType;
 import com.cirquetask.model.enums.SprintStatus;
 import com.cirquetask.model.enums.TaskStatus;
 import com.cirquetask.model.mapper.SprintMapper;
 import com.cirquetask.repository.ProjectRepository;
 import com.cirquetask.repository.SprintRepository;
 import com.cirquetask.repository.TaskRepository;
+import com.cirquetask.security.SecurityUtils;
 import com.cirquetask.service.ActivityLogService;
+import com.cirquetask.service.OutboxService;
 import com.cirquetask.service.SprintService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -33,6 +40,8 @@ public class SprintServiceImpl implements SprintService {
     private final TaskRepository taskRepository;
     private final SprintMapper sprintMapper;
     private final ActivityLogService activityLogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
 
     @Override
     @Transactional
@@ -52,6 +61,7 @@ public class SprintServiceImpl implements SprintService {
 
         sprint = sprintRepository.save(sprint);
         log.info("Sprint created: {} for project: {}", sprint.getName(), projectId);
+        publish(DomainEventType.SPRINT_CREATED, sprint, null);
 
         return sprintMapper.toDto(sprint);
     }
@@ -97,6 +107,7 @@ public class SprintServiceImpl implements SprintService {
 
         sprint = sprintRepository.save(sprint);
         log.info("Sprint updated: {}", sprintId);
+        publish(DomainEventType.SPRINT_UPDATED, sprint, null);
 
         return sprintMapper.toDto(sprint);
     }
@@ -121,6 +132,7 @@ public class SprintServiceImpl implements SprintService {
 
         sprint = sprintRepository.save(sprint);
         log.info("Sprint started: {}", sprintId);
+        publish(DomainEventType.SPRINT_STARTED, sprint, null);
 
         return sprintMapper.toDto(sprint);
     }
@@ -140,6 +152,8 @@ public class SprintServiceImpl implements SprintService {
 
         sprint = sprintRepository.save(sprint);
         log.info("Sprint completed: {} with {} points", sprintId, sprint.getCompletedPoints());
+        eventPublisher.publishEvent(new ProjectStatsChangedEvent(sprint.getProject().getId()));
+        publish(DomainEventType.SPRINT_COMPLETED, sprint, null);
 
         return sprintMapper.toDto(sprint);
     }
@@ -159,8 +173,10 @@ public class SprintServiceImpl implements SprintService {
             taskRepository.save(task);
         }
 
+        publish(DomainEventType.SPRINT_DELETED, sprint, null);
         sprintRepository.delete(sprint);
         log.info("Sprint deleted: {}", sprintId);
+        eventPublisher.publishEvent(new ProjectStatsChangedEvent(sprint.getProject().getId()));
     }
 
     @Override
@@ -180,6 +196,8 @@ public class SprintServiceImpl implements SprintService {
         sprint = sprintRepository.save(sprint);
 
         log.info("Task {} added to sprint {}", taskId, sprintId);
+        eventPublisher.publishEvent(new ProjectStatsChangedEvent(sprint.getProject().getId()));
+        publish(DomainEventType.SPRINT_UPDATED, sprint, Map.of("addedTaskId", taskId));
         return sprintMapper.toDto(sprint);
     }
 
@@ -200,6 +218,8 @@ public class SprintServiceImpl implements SprintService {
         sprint = sprintRepository.save(sprint);
 
         log.info("Task {} removed from sprint {}", taskId, sprintId);
+        eventPublisher.publishEvent(new ProjectStatsChangedEvent(sprint.getProject().getId()));
+        publish(DomainEventType.SPRINT_UPDATED, sprint, Map.of("removedTaskId", taskId));
         return sprintMapper.toDto(sprint);
     }
 
@@ -227,6 +247,22 @@ public class SprintServiceImpl implements SprintService {
         sprint.setCompletedPoints(completedPoints);
     }
 
+    private void publish(DomainEventType type, Sprint sprint, Map<String, Object> extra) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("id", sprint.getId());
+        payload.put("name", sprint.getName());
+        payload.put("status", sprint.getStatus());
+        payload.put("startDate", sprint.getStartDate() != null ? sprint.getStartDate().toString() : null);
+        payload.put("endDate", sprint.getEndDate() != null ? sprint.getEndDate().toString() : null);
+        payload.put("totalPoints", sprint.getTotalPoints());
+        payload.put("completedPoints", sprint.getCompletedPoints());
+        if (extra != null) {
+            payload.putAll(extra);
+        }
+        outboxService.publish(type, sprint.getProject().getId(), sprint.getId(),
+                SecurityUtils.findCurrentUserId().orElse(null), payload);
+    }
+
     private void validateSprintDates(java.time.LocalDate startDate, java.time.LocalDate endDate) {
         if (startDate != null && endDate != null && endDate.isBefore(startDate)) {
             throw new BadRequestException("End date cannot be before start date");
@@ -0,0 +1,119 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.model.entity.Project;
+import com.cirquetask.repository.ProjectRepository;
+import com.cirquetask.service.TaskKeyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out task numbers from blocks reserved on the per-project counter row.
+ * A block is reserved with a single atomic upsert in the caller's transaction, so no second connection is
+ * taken. Until that transaction commits, the rest of the block serves only that transaction: if it rolls back,
+ * the counter rolls back too and none of the numbers was issued. After commit, the rest goes to the node's
+ * shared block for other callers. Numbers left in a block when the node stops are skipped, which only leaves
+ * gaps in the key sequence.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskKeyServiceImpl implements TaskKeyService {
+
+    private final ProjectRepository projectRepository;
+
+    private final Map<Long, KeyBlock> blocks = new ConcurrentHashMap<>();
+
+    @Value("${app.task-keys.block-size:20}")
+    private int blockSize = 20;
+
+    @Override
+    public String nextTaskKey(Project project) {
+        return project.getPrefix() + "-" + nextNumber(project.getId());
+    }
+
+    long nextNumber(Long projectId) {
+        Map<Long, KeyBlock> reservedInTransaction = reservedInTransaction();
+        if (reservedInTransaction != null) {
+            KeyBlock own = reservedInTransaction.get(projectId);
+            if (own != null && own.hasNext()) {
+                return own.next++;
+            }
+        }
+        KeyBlock shared = blocks.computeIfAbsent(projectId, id -> new KeyBlock());
+        synchronized (shared) {
+            if (shared.hasNext()) {
+                return shared.next++;
+            }
+        }
+
+        // Not under the lock: the upsert waits for the counter row while another transaction holds it
+        int size = Math.max(1, blockSize);
+        long last = projectRepository.reserveTaskNumbers(projectId, size);
+        KeyBlock reserved = new KeyBlock();
+        reserved.next = last - size + 1;
+        reserved.last = last;
+        long number = reserved.next++;
+        if (reservedInTransaction != null) {
+            reservedInTransaction.put(projectId, reserved);
+        } else {
+            share(projectId, reserved);
+        }
+        return number;
+    }
+
+    /**
+     * Blocks reserved by the current transaction, or null without one.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<Long, KeyBlock> reservedInTransaction() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<Long, KeyBlock> reserved = (Map<Long, KeyBlock>) TransactionSynchronizationManager.getResource(this);
+        if (reserved == null) {
+            Map<Long, KeyBlock> byProject = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, byProject);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    byProject.forEach(TaskKeyServiceImpl.this::share);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(TaskKeyServiceImpl.this);
+                }
+            });
+            reserved = byProject;
+        }
+        return reserved;
+    }
+
+    /**
+     * Offers the rest of a committed block to other callers; dropped if the shared block still has numbers.
+     */
+    private void share(Long projectId, KeyBlock rest) {
+        KeyBlock shared = blocks.computeIfAbsent(projectId, id -> new KeyBlock());
+        synchronized (shared) {
+            if (!shared.hasNext() && rest.hasNext()) {
+                shared.next = rest.next;
+                shared.last = rest.last;
+            }
+        }
+    }
+
+    private static final class KeyBlock {
+        private long next = 1;
+        private long last = 0;
+
+        private boolean hasNext() {
+            return next <= last;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.event.ColumnRebalanceRequestedEvent;
+import com.cirquetask.repository.TaskRepository;
+import com.cirquetask.service.TaskRankService;
+import com.cirquetask.util.SparseRank;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TaskRankServiceImpl implements TaskRankService {
+
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public long rankForIndex(Long columnId, Long taskId, int index) {
+        Long rank = findRank(columnId, taskId, index);
+        if (rank == null) {
+            // No free key between the neighbours: renumber inline, the gaps are full afterwards.
+            rebalanceColumn(columnId);
+            rank = findRank(columnId, taskId, index);
+        }
+        return rank;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long rankAtEnd(Long columnId) {
+        return SparseRank.after(taskRepository.findMaxPositionByColumnId(columnId));
+    }
+
+    @Override
+    @Transactional
+    public void rebalanceColumn(Long columnId) {
+        int updated = taskRepository.rebalanceColumnPositions(columnId, SparseRank.GAP);
+        log.info("Rebalanced column {}: {} task positions rewritten", columnId, updated);
+    }
+
+    @Async
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onRebalanceRequested(ColumnRebalanceRequestedEvent event) {
+        rebalanceColumn(event.columnId());
+    }
+
+    private Long findRank(Long columnId, Long taskId, int index) {
+        Long before;
+        Long after;
+        if (index <= 0) {
+            List<Long> neighbours = taskRepository.findNeighbourPositions(columnId, taskId, 0, 1);
+            before = null;
+            after = neighbours.isEmpty() ? null : neighbours.get(0);
+        } else {
+            List<Long> neighbours = taskRepository.findNeighbourPositions(columnId, taskId, index - 1, 2);
+            before = neighbours.isEmpty() ? null : neighbours.get(0);
+            after = neighbours.size() > 1 ? neighbours.get(1) : null;
+            if (before == null) {
+                // Index past the end of the column: append.
+                return rankAtEnd(columnId);
+            }
+        }
+
+        Long rank = SparseRank.between(before, after);
+        if (rank != null && SparseRank.isCrowded(before, after)) {
+            eventPublisher.publishEvent(new ColumnRebalanceRequestedEvent(columnId));
+        }
+        return rank;
+    }
+}
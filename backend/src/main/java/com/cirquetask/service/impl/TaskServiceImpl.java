@@ -1,26 +1,38 @@
 package com.cirquetask.service.impl;
 
-import com.cirquetask.exception.AccessDeniedException;
+import com.cirquetask.event.ProjectStatsChangedEvent;
 import com.cirquetask.exception.BadRequestException;
 import com.cirquetask.exception.ResourceNotFoundException;
+import com.cirquetask.model.dto.CursorPage;
 import com.cirquetask.model.dto.TaskDto;
 import com.cirquetask.model.dto.TaskMoveRequest;
 import com.cirquetask.model.dto.TaskRequest;
 import com.cirquetask.model.entity.*;
+import com.cirquetask.model.enums.DomainEventType;
 import com.cirquetask.model.enums.TaskStatus;
 import com.cirquetask.model.mapper.TaskMapper;
 import com.cirquetask.repository.*;
 import com.cirquetask.service.ActivityLogService;
-import com.cirquetask.service.NotificationService;
+import com.cirquetask.service.ColumnTaskCountService;
+import com.cirquetask.service.OutboxService;
+import com.cirquetask.service.ProjectAccessService;
+import com.cirquetask.service.TaskKeyService;
+import com.cirquetask.service.TaskRankService;
 import com.cirquetask.service.TaskService;
+import com.cirquetask.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 @Service
@@ -30,28 +42,29 @@ public class TaskServiceImpl implements TaskService {
 
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
-    private final ProjectMemberRepository memberRepository;
+    private final ProjectAccessService projectAccess;
     private final BoardColumnRepository columnRepository;
     private final UserRepository userRepository;
     private final LabelRepository labelRepository;
     private final TaskMapper taskMapper;
     private final ActivityLogService activityLogService;
-    private final NotificationService notificationService;
+    private final TaskRankService taskRankService;
+    private final TaskKeyService taskKeyService;
+    private final ColumnTaskCountService columnTaskCountService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
 
     @Override
     @Transactional
     public TaskDto createTask(Long projectId, TaskRequest request, Long userId) {
-        validateMembership(projectId, userId);
+        projectAccess.requireMember(projectId, userId);
 
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new ResourceNotFoundException("Project", "id", projectId));
         User reporter = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
-        // Generate task key
-        Integer maxNumber = taskRepository.findMaxTaskNumberByProjectId(projectId);
-        int nextNumber = (maxNumber != null ? maxNumber : 0) + 1;
-        String taskKey = project.getPrefix() + "-" + nextNumber;
+        String taskKey = taskKeyService.nextTaskKey(project);
 
         Task task = Task.builder()
                 .title(request.getTitle())
@@ -70,7 +83,7 @@ public class TaskServiceImpl implements TaskService {
             BoardColumn column = columnRepository.findById(request.getColumnId())
                     .orElseThrow(() -> new ResourceNotFoundException("BoardColumn", "id", request.getColumnId()));
             task.setColumn(column);
-            task.setPosition(column.getTasks().size());
+            task.setPosition(taskRankService.rankAtEnd(column.getId()));
         }
 
         // Set parent task
@@ -81,19 +94,13 @@ public class TaskServiceImpl implements TaskService {
         }
 
         task = taskRepository.save(task);
+        columnTaskCountService.transfer(null, task.getColumn(), 1, false);
 
         // Set assignees
         if (request.getAssigneeIds() != null && !request.getAssigneeIds().isEmpty()) {
             Set<User> assignees = new HashSet<>(userRepository.findAllById(request.getAssigneeIds()));
             task.setAssignees(assignees);
             task = taskRepository.save(task);
-
-            // Notify assignees
-            for (User assignee : assignees) {
-                if (!assignee.getId().equals(userId)) {
-                    notificationService.sendTaskAssigned(task, assignee, reporter);
-                }
-            }
         }
 
         // Set labels
@@ -103,6 +110,9 @@ public class TaskServiceImpl implements TaskService {
             task = taskRepository.save(task);
         }
 
+        eventPublisher.publishEvent(new ProjectStatsChangedEvent(projectId));
+        outboxService.publishTaskEvent(DomainEventType.TASK_CREATED, task, userId);
+
         activityLogService.log("CREATE", "TASK", task.getId(),
                 "Created task: " + taskKey, null, null, userId, projectId);
 
@@ -114,30 +124,30 @@ public class TaskServiceImpl implements TaskService {
     public TaskDto getTask(Long taskId, Long userId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
-        validateMembership(task.getProject().getId(), userId);
+        projectAccess.requireMember(task.getProject().getId(), userId);
         return taskMapper.toDto(task);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TaskDto> getProjectTasks(Long projectId, Long userId, com.cirquetask.model.enums.TaskStatus status, com.cirquetask.model.enums.TaskPriority priority, Long assigneeId) {
-        validateMembership(projectId, userId);
-        List<Task> tasks;
-        if (status == null && priority == null && assigneeId == null) {
-            tasks = taskRepository.findByProjectIdOrderByCreatedAtDesc(projectId);
-        } else {
-            String statusStr = status != null ? status.name() : null;
-            String priorityStr = priority != null ? priority.name() : null;
-            tasks = taskRepository.findByProjectIdWithFilters(projectId, statusStr, priorityStr, assigneeId);
-        }
-        return taskMapper.toDtoList(tasks);
+    public CursorPage<TaskDto> getProjectTasks(Long projectId, Long userId, com.cirquetask.model.enums.TaskStatus status, com.cirquetask.model.enums.TaskPriority priority, Long assigneeId, String cursor, Integer size) {
+        projectAccess.requireMember(projectId, userId);
+        PageCursor after = PageCursor.decode(cursor);
+        int limit = PageCursor.clampLimit(size);
+        String statusStr = status != null ? status.name() : null;
+        String priorityStr = priority != null ? priority.name() : null;
+        List<Task> tasks = taskRepository.findProjectTasksPage(projectId, statusStr, priorityStr, assigneeId,
+                after.timestamp(), after.id(), limit + 1);
+        return PageCursor.page(tasks, limit, Task::getCreatedAt, Task::getId, taskMapper::toDtoList);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TaskDto> getMyTasks(Long userId) {
-        List<Task> tasks = taskRepository.findActiveTasksByAssigneeId(userId);
-        return taskMapper.toDtoList(tasks);
+    public CursorPage<TaskDto> getMyTasks(Long userId, String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int limit = PageCursor.clampLimit(size);
+        List<Task> tasks = taskRepository.findActiveTasksByAssigneePage(userId, after.timestamp(), after.id(), limit + 1);
+        return PageCursor.page(tasks, limit, Task::getUpdatedAt, Task::getId, taskMapper::toDtoList);
     }
 
     @Override
@@ -145,9 +155,12 @@ public class TaskServiceImpl implements TaskService {
     public TaskDto updateTask(Long taskId, TaskRequest request, Long userId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
-        validateMembership(task.getProject().getId(), userId);
+        projectAccess.requireMember(task.getProject().getId(), userId);
 
         String oldTitle = task.getTitle();
+        TaskStatus oldStatus = task.getStatus();
+        com.cirquetask.model.enums.TaskPriority oldPriority = task.getPriority();
+        LocalDate oldDueDate = task.getDueDate();
         task.setTitle(request.getTitle());
         task.setDescription(request.getDescription());
         if (request.getPriority() != null) task.setPriority(request.getPriority());
@@ -158,6 +171,10 @@ public class TaskServiceImpl implements TaskService {
         if (request.getColumnId() != null) {
             BoardColumn column = columnRepository.findById(request.getColumnId())
                     .orElseThrow(() -> new ResourceNotFoundException("BoardColumn", "id", request.getColumnId()));
+            if (task.getColumn() == null || !task.getColumn().getId().equals(column.getId())) {
+                columnTaskCountService.transfer(task.getColumn() != null ? task.getColumn().getId() : null, column, 1, false);
+                task.setPosition(taskRankService.rankAtEnd(column.getId()));
+            }
             task.setColumn(column);
 
             if (column.getIsDoneColumn()) {
@@ -178,6 +195,17 @@ public class TaskServiceImpl implements TaskService {
 
         task = taskRepository.save(task);
 
+        eventPublisher.publishEvent(new ProjectStatsChangedEvent(task.getProject().getId()));
+        // Only changed fields get a previous* entry; workflow triggers key off them.
+        Map<String, Object> changes = new HashMap<>();
+        if (oldStatus != task.getStatus()) changes.put("previousStatus", oldStatus);
+        if (oldPriority != task.getPriority()) changes.put("previousPriority", oldPriority);
+        if (!Objects.equals(oldDueDate, task.getDueDate())) {
+            changes.put("previousDueDate", oldDueDate != null ? oldDueDate.toString() : null);
+        }
+        outboxService.publishTaskEvent(DomainEventType.TASK_UPDATED, task, userId, changes);
+        publishIfCompleted(task, oldStatus, userId);
+
         activityLogService.log("UPDATE", "TASK", task.getId(),
                 "Updated task: " + task.getTaskKey(), oldTitle, task.getTitle(), userId, task.getProject().getId());
 
@@ -189,18 +217,22 @@ public class TaskServiceImpl implements TaskService {
     public TaskDto moveTask(Long taskId, TaskMoveRequest moveRequest, Long userId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
-        validateMembership(task.getProject().getId(), userId);
+        projectAccess.requireMember(task.getProject().getId(), userId);
 
         BoardColumn targetColumn = columnRepository.findById(moveRequest.getColumnId())
                 .orElseThrow(() -> new ResourceNotFoundException("BoardColumn", "id", moveRequest.getColumnId()));
 
-        // WIP Limit check
-        validateWipLimit(targetColumn, task);
-
         String oldColumnName = task.getColumn() != null ? task.getColumn().getName() : "none";
+        Long oldColumnId = task.getColumn() != null ? task.getColumn().getId() : null;
+        TaskStatus oldStatus = task.getStatus();
+
+        // WIP limit check and counter update in one conditional UPDATE
+        columnTaskCountService.transfer(task.getColumn() != null ? task.getColumn().getId() : null, targetColumn, 1, true);
 
+        // Only the moved task is rewritten: its key is placed between its new neighbours
+        long position = taskRankService.rankForIndex(targetColumn.getId(), task.getId(), moveRequest.getPosition());
         task.setColumn(targetColumn);
-        task.setPosition(moveRequest.getPosition());
+        task.setPosition(position);
 
         // Update status based on column
         if (targetColumn.getIsDoneColumn()) {
@@ -215,16 +247,12 @@ public class TaskServiceImpl implements TaskService {
 
         task = taskRepository.save(task);
 
-        // Reorder other tasks in target column
-        List<Task> columnTasks = taskRepository.findByColumnIdOrderByPositionAsc(targetColumn.getId());
-        int pos = 0;
-        for (Task t : columnTasks) {
-            if (!t.getId().equals(task.getId())) {
-                if (pos == moveRequest.getPosition()) pos++;
-                t.setPosition(pos++);
-                taskRepository.save(t);
-            }
-        }
+        eventPublisher.publishEvent(new ProjectStatsChangedEvent(task.getProject().getId()));
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("previousColumnId", oldColumnId);
+        if (oldStatus != task.getStatus()) changes.put("previousStatus", oldStatus);
+        outboxService.publishTaskEvent(DomainEventType.TASK_MOVED, task, userId, changes);
+        publishIfCompleted(task, oldStatus, userId);
 
         activityLogService.log("MOVE", "TASK", task.getId(),
                 "Moved task " + task.getTaskKey() + " from " + oldColumnName + " to " + targetColumn.getName(),
@@ -238,12 +266,18 @@ public class TaskServiceImpl implements TaskService {
     public void deleteTask(Long taskId, Long userId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
-        validateMembership(task.getProject().getId(), userId);
+        projectAccess.requireMember(task.getProject().getId(), userId);
 
         activityLogService.log("DELETE", "TASK", task.getId(),
                 "Deleted task: " + task.getTaskKey(), null, null, userId, task.getProject().getId());
 
+        outboxService.publishTaskEvent(DomainEventType.TASK_DELETED, task, userId);
+
+        if (task.getColumn() != null) {
+            columnTaskCountService.transfer(task.getColumn().getId(), null, 1, false);
+        }
         taskRepository.delete(task);
+        eventPublisher.publishEvent(new ProjectStatsChangedEvent(task.getProject().getId()));
     }
 
     @Override
@@ -251,19 +285,15 @@ public class TaskServiceImpl implements TaskService {
     public TaskDto assignUser(Long taskId, Long assigneeId, Long userId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
-        validateMembership(task.getProject().getId(), userId);
+        projectAccess.requireMember(task.getProject().getId(), userId);
 
         User assignee = userRepository.findById(assigneeId)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", assigneeId));
-        User assigner = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
 
         task.getAssignees().add(assignee);
         task = taskRepository.save(task);
-
-        if (!assigneeId.equals(userId)) {
-            notificationService.sendTaskAssigned(task, assignee, assigner);
-        }
+        eventPublisher.publishEvent(new ProjectStatsChangedEvent(task.getProject().getId()));
+        outboxService.publishTaskEvent(DomainEventType.TASK_ASSIGNED, task, userId, Map.of("assigneeId", assigneeId));
 
         return taskMapper.toDto(task);
     }
@@ -273,10 +303,12 @@ public class TaskServiceImpl implements TaskService {
     public TaskDto unassignUser(Long taskId, Long assigneeId, Long userId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
-        validateMembership(task.getProject().getId(), userId);
+        projectAccess.requireMember(task.getProject().getId(), userId);
 
         task.getAssignees().removeIf(u -> u.getId().equals(assigneeId));
         task = taskRepository.save(task);
+        eventPublisher.publishEvent(new ProjectStatsChangedEvent(task.getProject().getId()));
+        outboxService.publishTaskEvent(DomainEventType.TASK_UPDATED, task, userId, Map.of("unassignedId", assigneeId));
         return taskMapper.toDto(task);
     }
 
@@ -285,7 +317,7 @@ public class TaskServiceImpl implements TaskService {
     public TaskDto addLabelToTask(Long taskId, Long labelId, Long userId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
-        validateMembership(task.getProject().getId(), userId);
+        projectAccess.requireMember(task.getProject().getId(), userId);
         Label label = labelRepository.findById(labelId)
                 .orElseThrow(() -> new ResourceNotFoundException("Label", "id", labelId));
         if (!label.getProject().getId().equals(task.getProject().getId())) {
@@ -293,6 +325,8 @@ public class TaskServiceImpl implements TaskService {
         }
         task.getLabels().add(label);
         task = taskRepository.save(task);
+        eventPublisher.publishEvent(new ProjectStatsChangedEvent(task.getProject().getId()));
+        outboxService.publishTaskEvent(DomainEventType.TASK_UPDATED, task, userId);
         return taskMapper.toDto(task);
     }
 
@@ -301,31 +335,17 @@ public class TaskServiceImpl implements TaskService {
     public TaskDto removeLabelFromTask(Long taskId, Long labelId, Long userId) {
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", "id", taskId));
-        validateMembership(task.getProject().getId(), userId);
+        projectAccess.requireMember(task.getProject().getId(), userId);
         task.getLabels().removeIf(l -> l.getId().equals(labelId));
         task = taskRepository.save(task);
+        eventPublisher.publishEvent(new ProjectStatsChangedEvent(task.getProject().getId()));
+        outboxService.publishTaskEvent(DomainEventType.TASK_UPDATED, task, userId);
         return taskMapper.toDto(task);
     }
 
-    private void validateMembership(Long projectId, Long userId) {
-        if (!memberRepository.existsByProjectIdAndUserId(projectId, userId)) {
-            throw new AccessDeniedException("You are not a member of this project");
-        }
-    }
-
-    private void validateWipLimit(BoardColumn column, Task taskBeingMoved) {
-        if (column.getWipLimit() == null || column.getWipLimit() <= 0) {
-            return;
-        }
-
-        long currentTaskCount = column.getTasks().stream()
-                .filter(t -> !t.getId().equals(taskBeingMoved.getId()))
-                .count();
-
-        if (currentTaskCount >= column.getWipLimit()) {
-            throw new BadRequestException(
-                    String.format("WIP limit exceeded for column '%s'. Maximum: %d, Current: %d",
-                            column.getName(), column.getWipLimit(), currentTaskCount));
+    private void publishIfCompleted(Task task, TaskStatus oldStatus, Long userId) {
+        if (task.getStatus() == TaskStatus.DONE && oldStatus != TaskStatus.DONE) {
+            outboxService.publishTaskEvent(DomainEventType.TASK_COMPLETED, task, userId);
         }
     }
 }
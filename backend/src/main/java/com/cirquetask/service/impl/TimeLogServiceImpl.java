@@ -7,10 +7,12 @@ import com.cirquetask.model.dto.TimeLogRequest;
 import com.cirquetask.model.entity.Task;
 import com.cirquetask.model.entity.TimeLog;
 import com.cirquetask.model.entity.User;
+import com.cirquetask.model.enums.DomainEventType;
 import com.cirquetask.model.mapper.TimeLogMapper;
 import com.cirquetask.repository.TaskRepository;
 import com.cirquetask.repository.TimeLogRepository;
 import com.cirquetask.repository.UserRepository;
+import com.cirquetask.service.OutboxService;
 import com.cirquetask.service.TimeLogService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +21,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -29,6 +32,7 @@ public class TimeLogServiceImpl implements TimeLogService {
     private final TaskRepository taskRepository;
     private final UserRepository userRepository;
     private final TimeLogMapper timeLogMapper;
+    private final OutboxService outboxService;
 
     @Override
     @Transactional
@@ -48,7 +52,7 @@ public class TimeLogServiceImpl implements TimeLogService {
 
         timeLog = timeLogRepository.save(timeLog);
 
-        updateTaskLoggedHours(task);
+        updateTaskLoggedHours(task, userId);
 
         log.info("Time logged: {} minutes for task {} by user {}", 
                 request.getDurationMinutes(), task.getTaskKey(), userId);
@@ -118,7 +122,7 @@ public class TimeLogServiceImpl implements TimeLogService {
 
         timeLog = timeLogRepository.save(timeLog);
 
-        updateTaskLoggedHours(timeLog.getTask());
+        updateTaskLoggedHours(timeLog.getTask(), userId);
 
         log.info("Time log updated: {}", timeLogId);
 
@@ -137,7 +141,7 @@ public class TimeLogServiceImpl implements TimeLogService {
         Task task = timeLog.getTask();
         timeLogRepository.delete(timeLog);
 
-        updateTaskLoggedHours(task);
+        updateTaskLoggedHours(task, userId);
 
         log.info("Time log deleted: {}", timeLogId);
     }
@@ -154,11 +158,13 @@ public class TimeLogServiceImpl implements TimeLogService {
         return timeLogRepository.getTotalMinutesByUserIdAndDateRange(userId, startDate, endDate);
     }
 
-    private void updateTaskLoggedHours(Task task) {
+    private void updateTaskLoggedHours(Task task, Long userId) {
         Integer totalMinutes = timeLogRepository.getTotalMinutesByTaskId(task.getId());
         double hours = totalMinutes / 60.0;
         task.setLoggedHours(Math.round(hours * 100.0) / 100.0);
-        taskRepository.save(task);
+        task = taskRepository.save(task);
+        outboxService.publishTaskEvent(DomainEventType.TASK_UPDATED, task, userId,
+                Map.of("loggedHours", task.getLoggedHours()));
     }
 
     private TimeLog findTimeLogById(Long timeLogId) {
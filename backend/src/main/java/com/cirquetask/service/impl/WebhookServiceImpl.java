@@ -1,70 +1,99 @@
 package com.cirquetask.service.impl;
 
-import com.cirquetask.model.entity.Task;
 import com.cirquetask.model.entity.Webhook;
+import com.cirquetask.model.entity.WebhookDelivery;
+import com.cirquetask.repository.WebhookDeliveryRepository;
 import com.cirquetask.repository.WebhookRepository;
 import com.cirquetask.service.WebhookService;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
-import java.util.Base64;
-import java.util.HashMap;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Map;
-
+import java.util.Objects;
+
+/**
+ * Records one pending {@link WebhookDelivery} per matching webhook; the HTTP calls, retries and circuit
+ * breaking are done by {@link com.cirquetask.scheduler.WebhookDispatcher}. Deliveries with an entity key are
+ * held for the webhook's coalescing window, during which newer events for the same entity overwrite the
+ * payload, so a burst of edits reaches the subscriber as one delivery with the latest state.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class WebhookServiceImpl implements WebhookService {
 
     private final WebhookRepository webhookRepository;
+    private final WebhookDeliveryRepository deliveryRepository;
     private final ObjectMapper objectMapper;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final int defaultCoalesceSeconds;
+
+    public WebhookServiceImpl(WebhookRepository webhookRepository,
+                              WebhookDeliveryRepository deliveryRepository,
+                              ObjectMapper objectMapper,
+                              @Value("${app.webhooks.coalesce-seconds:0}") int defaultCoalesceSeconds) {
+        this.webhookRepository = webhookRepository;
+        this.deliveryRepository = deliveryRepository;
+        this.objectMapper = objectMapper;
+        this.defaultCoalesceSeconds = defaultCoalesceSeconds;
+    }
 
     @Override
-    @Async
+    @Transactional
     public void triggerWebhooks(Long projectId, String event, Object payload) {
-        List<Webhook> webhooks = webhookRepository.findByProjectIdAndIsActiveTrue(projectId);
-
-        for (Webhook webhook : webhooks) {
-            if (isEventEnabled(webhook, event)) {
-                try {
-                    sendWebhook(webhook, event, payload);
-                } catch (Exception e) {
-                    log.error("Failed to send webhook {} for event {}: {}", webhook.getId(), event, e.getMessage());
-                }
-            }
-        }
+        triggerWebhooks(projectId, event, null, payload);
     }
 
     @Override
-    @Async
-    public void triggerTaskCreated(Task task) {
-        Map<String, Object> payload = buildTaskPayload(task);
-        triggerWebhooks(task.getProject().getId(), "task.created", payload);
-    }
+    @Transactional
+    public void triggerWebhooks(Long projectId, String event, String entityKey, Object payload) {
+        List<Webhook> webhooks = webhookRepository.findByProjectIdAndIsActiveTrue(projectId).stream()
+                .filter(webhook -> isEventEnabled(webhook, event))
+                .toList();
+        if (webhooks.isEmpty()) {
+            return;
+        }
 
-    @Override
-    @Async
-    public void triggerTaskUpdated(Task task) {
-        Map<String, Object> payload = buildTaskPayload(task);
-        triggerWebhooks(task.getProject().getId(), "task.updated", payload);
+        String jsonPayload = toJson(payload);
+        LocalDateTime now = LocalDateTime.now();
+        List<WebhookDelivery> deliveries = webhooks.stream()
+                .map(webhook -> newDelivery(webhook, event, entityKey, jsonPayload, now))
+                .filter(Objects::nonNull)
+                .toList();
+        deliveryRepository.saveAll(deliveries);
+        log.debug("Queued {} webhook deliveries for event {} in project {} ({} coalesced)", deliveries.size(), event,
+                projectId, webhooks.size() - deliveries.size());
     }
 
-    @Override
-    @Async
-    public void triggerTaskCompleted(Task task) {
-        Map<String, Object> payload = buildTaskPayload(task);
-        triggerWebhooks(task.getProject().getId(), "task.completed", payload);
+    /**
+     * A new delivery for the webhook, or null if the payload was merged into one that is still coalescing.
+     */
+    private WebhookDelivery newDelivery(Webhook webhook, String event, String entityKey, String payload,
+                                        LocalDateTime now) {
+        int window = webhook.getCoalesceSeconds() != null ? webhook.getCoalesceSeconds() : defaultCoalesceSeconds;
+        if (entityKey == null || window <= 0) {
+            return WebhookDelivery.builder()
+                    .webhookId(webhook.getId())
+                    .event(event)
+                    .payload(payload)
+                    .nextAttemptAt(now)
+                    .build();
+        }
+        if (deliveryRepository.coalesce(webhook.getId(), event, entityKey, payload) > 0) {
+            return null;
+        }
+        LocalDateTime due = now.plusSeconds(window);
+        return WebhookDelivery.builder()
+                .webhookId(webhook.getId())
+                .event(event)
+                .entityKey(entityKey)
+                .payload(payload)
+                .coalesceUntil(due)
+                .nextAttemptAt(due)
+                .build();
     }
 
     private boolean isEventEnabled(Webhook webhook, String event) {
@@ -74,40 +103,11 @@ public class WebhookServiceImpl implements WebhookService {
         return webhook.getEvents().contains(event) || webhook.getEvents().contains("*");
     }
 
-    private void sendWebhook(Webhook webhook, String event, Object payload) throws Exception {
-        String jsonPayload = objectMapper.writeValueAsString(payload);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("X-Webhook-Event", event);
-
-        if (webhook.getSecretToken() != null && !webhook.getSecretToken().isBlank()) {
-            String signature = computeSignature(jsonPayload, webhook.getSecretToken());
-            headers.set("X-Webhook-Signature", signature);
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize webhook payload", e);
         }
-
-        HttpEntity<String> entity = new HttpEntity<>(jsonPayload, headers);
-        restTemplate.postForEntity(webhook.getUrl(), entity, String.class);
-
-        log.info("Webhook sent to {} for event {}", webhook.getUrl(), event);
-    }
-
-    private String computeSignature(String payload, String secret) throws Exception {
-        Mac mac = Mac.getInstance("HmacSHA256");
-        SecretKeySpec keySpec = new SecretKeySpec(secret.getBytes(), "HmacSHA256");
-        mac.init(keySpec);
-        byte[] hash = mac.doFinal(payload.getBytes());
-        return "sha256=" + Base64.getEncoder().encodeToString(hash);
-    }
-
-    private Map<String, Object> buildTaskPayload(Task task) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("taskId", task.getId());
-        payload.put("taskKey", task.getTaskKey());
-        payload.put("title", task.getTitle());
-        payload.put("status", task.getStatus().name());
-        payload.put("priority", task.getPriority().name());
-        payload.put("projectId", task.getProject().getId());
-        return payload;
     }
 }
@@ -1,27 +1,55 @@
 package com.cirquetask.service.impl;
 
+import com.cirquetask.event.ProjectStatsChangedEvent;
+import com.cirquetask.event.WorkflowRulesChangedEvent;
 import com.cirquetask.exception.ResourceNotFoundException;
 import com.cirquetask.model.dto.WorkflowRuleDto;
 import com.cirquetask.model.dto.WorkflowRuleRequest;
 import com.cirquetask.model.entity.*;
+import com.cirquetask.model.enums.DomainEventType;
 import com.cirquetask.model.enums.TaskPriority;
 import com.cirquetask.model.enums.TaskStatus;
 import com.cirquetask.model.enums.WorkflowAction;
 import com.cirquetask.model.enums.WorkflowTrigger;
 import com.cirquetask.model.mapper.WorkflowRuleMapper;
 import com.cirquetask.repository.*;
+import com.cirquetask.service.ColumnTaskCountService;
 import com.cirquetask.service.NotificationService;
+import com.cirquetask.service.OutboxService;
+import com.cirquetask.service.TaskRankService;
 import com.cirquetask.service.WorkflowService;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Workflow rules and their execution. Each project's active rules are compiled once (trigger values
+ * normalized, action values parsed) and cached by project and trigger until a rule of the project changes
+ * ({@link WorkflowRulesChangedEvent}). Executing a trigger loads the users, labels and columns the matching
+ * rules need in one query per type, applies all actions to the task in memory and saves it once.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class WorkflowServiceImpl implements WorkflowService {
 
@@ -33,6 +61,49 @@ public class WorkflowServiceImpl implements WorkflowService {
     private final BoardColumnRepository columnRepository;
     private final WorkflowRuleMapper ruleMapper;
     private final NotificationService notificationService;
+    private final ColumnTaskCountService columnTaskCountService;
+    private final TaskRankService taskRankService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OutboxService outboxService;
+    private final Cache<Long, Map<WorkflowTrigger, List<CompiledRule>>> compiledRules;
+    private final int maxCascadeDepth;
+
+    public WorkflowServiceImpl(WorkflowRuleRepository ruleRepository,
+                               ProjectRepository projectRepository,
+                               TaskRepository taskRepository,
+                               UserRepository userRepository,
+                               LabelRepository labelRepository,
+                               BoardColumnRepository columnRepository,
+                               WorkflowRuleMapper ruleMapper,
+                               NotificationService notificationService,
+                               ColumnTaskCountService columnTaskCountService,
+                               TaskRankService taskRankService,
+                               ApplicationEventPublisher eventPublisher,
+                               OutboxService outboxService,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.cache.workflow-rules.max-size:10000}") long maxSize,
+                               @Value("${app.cache.workflow-rules.ttl-seconds:300}") long ttlSeconds,
+                               @Value("${app.workflows.max-cascade-depth:3}") int maxCascadeDepth) {
+        this.ruleRepository = ruleRepository;
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.labelRepository = labelRepository;
+        this.columnRepository = columnRepository;
+        this.ruleMapper = ruleMapper;
+        this.notificationService = notificationService;
+        this.columnTaskCountService = columnTaskCountService;
+        this.taskRankService = taskRankService;
+        this.eventPublisher = eventPublisher;
+        this.outboxService = outboxService;
+        this.maxCascadeDepth = maxCascadeDepth;
+        this.compiledRules = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, compiledRules, "workflowRules");
+    }
 
     @Override
     @Transactional
@@ -54,6 +125,7 @@ public class WorkflowServiceImpl implements WorkflowService {
 
         rule = ruleRepository.save(rule);
         log.info("Workflow rule created: {} for project {}", rule.getName(), projectId);
+        eventPublisher.publishEvent(new WorkflowRulesChangedEvent(projectId));
 
         return ruleMapper.toDto(rule);
     }
@@ -82,6 +154,7 @@ public class WorkflowServiceImpl implements WorkflowService {
 
         rule = ruleRepository.save(rule);
         log.info("Workflow rule updated: {}", ruleId);
+        eventPublisher.publishEvent(new WorkflowRulesChangedEvent(rule.getProject().getId()));
 
         return ruleMapper.toDto(rule);
     }
@@ -92,6 +165,7 @@ public class WorkflowServiceImpl implements WorkflowService {
         WorkflowRule rule = findRuleById(ruleId);
         ruleRepository.delete(rule);
         log.info("Workflow rule deleted: {}", ruleId);
+        eventPublisher.publishEvent(new WorkflowRulesChangedEvent(rule.getProject().getId()));
     }
 
     @Override
@@ -101,97 +175,231 @@ public class WorkflowServiceImpl implements WorkflowService {
         rule.setIsActive(!rule.getIsActive());
         rule = ruleRepository.save(rule);
         log.info("Workflow rule {} toggled to: {}", ruleId, rule.getIsActive());
+        eventPublisher.publishEvent(new WorkflowRulesChangedEvent(rule.getProject().getId()));
         return ruleMapper.toDto(rule);
     }
 
     @Override
-    @Async
-    @Transactional
-    public void executeWorkflows(Task task, WorkflowTrigger trigger, String triggerValue) {
-        List<WorkflowRule> rules = ruleRepository.findByProjectIdAndTriggerAndIsActiveTrue(
-                task.getProject().getId(), trigger);
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void executeWorkflows(Long taskId, WorkflowTrigger trigger, String triggerValue) {
+        Task task = taskRepository.findById(taskId).orElse(null);
+        if (task == null) {
+            return;
+        }
+        Map<WorkflowTrigger, List<CompiledRule>> projectRules = rulesFor(task.getProject().getId());
+        if (!projectRules.containsKey(trigger)) {
+            return;
+        }
 
-        for (WorkflowRule rule : rules) {
-            if (matchesTriggerValue(rule, triggerValue)) {
+        // Each round applies the rules matching the pending triggers and queues the triggers their changes
+        // cause. A rule fires at most once per call and cascades stop at maxCascadeDepth, so rules that
+        // trigger each other cannot loop.
+        TaskStatus oldStatus = task.getStatus();
+        TaskPriority oldPriority = task.getPriority();
+        Long oldColumnId = task.getColumn() != null ? task.getColumn().getId() : null;
+        Set<Long> firedRules = new HashSet<>();
+        List<CompiledRule> notifyRules = new ArrayList<>();
+        List<FiredTrigger> pending = List.of(new FiredTrigger(trigger, triggerValue));
+        boolean changed = false;
+        for (int depth = 0; !pending.isEmpty(); depth++) {
+            if (depth > maxCascadeDepth) {
+                log.warn("Workflow cascade for task {} stopped at depth {}; pending triggers {}", task.getTaskKey(),
+                        maxCascadeDepth, pending);
+                break;
+            }
+            List<CompiledRule> round = new ArrayList<>();
+            for (FiredTrigger pendingTrigger : pending) {
+                for (CompiledRule rule : projectRules.getOrDefault(pendingTrigger.trigger(), List.of())) {
+                    if (rule.matches(pendingTrigger.value()) && firedRules.add(rule.id())) {
+                        round.add(rule);
+                    }
+                }
+            }
+            Targets targets = loadTargets(round);
+            List<FiredTrigger> next = new ArrayList<>();
+            for (CompiledRule rule : round) {
                 try {
-                    executeAction(task, rule);
-                    log.info("Workflow rule {} executed for task {}", rule.getName(), task.getTaskKey());
+                    if (rule.action() == WorkflowAction.SEND_NOTIFICATION) {
+                        notifyRules.add(rule);
+                    } else {
+                        changed |= apply(task, rule, targets, next);
+                    }
+                    log.info("Workflow rule {} executed for task {}", rule.name(), task.getTaskKey());
                 } catch (Exception e) {
-                    log.error("Failed to execute workflow rule {} for task {}: {}", 
-                            rule.getName(), task.getTaskKey(), e.getMessage());
+                    log.error("Failed to execute workflow rule {} for task {}: {}",
+                            rule.name(), task.getTaskKey(), e.getMessage());
                 }
             }
+            pending = next;
         }
-    }
 
-    private boolean matchesTriggerValue(WorkflowRule rule, String triggerValue) {
-        if (rule.getTriggerValue() == null || rule.getTriggerValue().isBlank()) {
-            return true;
+        if (changed) {
+            task = taskRepository.save(task);
+            eventPublisher.publishEvent(new ProjectStatsChangedEvent(task.getProject().getId()));
+            publishChanged(task, oldStatus, oldPriority, oldColumnId);
         }
-        return rule.getTriggerValue().equalsIgnoreCase(triggerValue);
-    }
-
-    private void executeAction(Task task, WorkflowRule rule) {
-        WorkflowAction action = rule.getAction();
-        String actionValue = rule.getActionValue();
-
-        switch (action) {
-            case ASSIGN_USER -> assignUserToTask(task, actionValue);
-            case UNASSIGN_USER -> unassignUserFromTask(task, actionValue);
-            case CHANGE_STATUS -> changeTaskStatus(task, actionValue);
-            case CHANGE_PRIORITY -> changeTaskPriority(task, actionValue);
-            case ADD_LABEL -> addLabelToTask(task, actionValue);
-            case REMOVE_LABEL -> removeLabelFromTask(task, actionValue);
-            case SEND_NOTIFICATION -> sendNotification(task, rule);
-            case MOVE_TO_COLUMN -> moveTaskToColumn(task, actionValue);
+        if (!notifyRules.isEmpty()) {
+            List<Long> assigneeIds = task.getAssignees().stream().map(User::getId).toList();
+            for (CompiledRule rule : notifyRules) {
+                notificationService.sendTaskUpdated(task, assigneeIds, "Workflow: " + rule.name());
+            }
         }
-
-        taskRepository.save(task);
     }
 
-    private void assignUserToTask(Task task, String userId) {
-        User user = userRepository.findById(Long.parseLong(userId)).orElse(null);
-        if (user != null) {
-            task.getAssignees().add(user);
+    /**
+     * Tells the outbox consumers about the rules' changes. The cascade above has already run every rule they
+     * trigger, so the event is marked {@code workflow} and the workflow consumer does not run them again.
+     */
+    private void publishChanged(Task task, TaskStatus oldStatus, TaskPriority oldPriority, Long oldColumnId) {
+        Long columnId = task.getColumn() != null ? task.getColumn().getId() : null;
+        Map<String, Object> changes = new HashMap<>();
+        changes.put(WORKFLOW_MARKER, true);
+        if (oldStatus != task.getStatus()) changes.put("previousStatus", oldStatus);
+        if (oldPriority != task.getPriority()) changes.put("previousPriority", oldPriority);
+        if (!Objects.equals(oldColumnId, columnId)) changes.put("previousColumnId", oldColumnId);
+        DomainEventType type = changes.containsKey("previousColumnId") ? DomainEventType.TASK_MOVED
+                : DomainEventType.TASK_UPDATED;
+        outboxService.publishTaskEvent(type, task, null, changes);
+        if (task.getStatus() == TaskStatus.DONE && oldStatus != TaskStatus.DONE) {
+            outboxService.publishTaskEvent(DomainEventType.TASK_COMPLETED, task, null, Map.of(WORKFLOW_MARKER, true));
         }
     }
 
-    private void unassignUserFromTask(Task task, String userId) {
-        task.getAssignees().removeIf(u -> u.getId().equals(Long.parseLong(userId)));
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRulesChanged(WorkflowRulesChangedEvent event) {
+        compiledRules.invalidate(event.projectId());
     }
 
-    private void changeTaskStatus(Task task, String status) {
-        task.setStatus(TaskStatus.valueOf(status));
+    private Map<WorkflowTrigger, List<CompiledRule>> rulesFor(Long projectId) {
+        return compiledRules.get(projectId, id -> {
+            Map<WorkflowTrigger, List<CompiledRule>> byTrigger = new EnumMap<>(WorkflowTrigger.class);
+            ruleRepository.findByProjectIdAndIsActiveTrue(id).stream()
+                    .sorted(Comparator.comparing(WorkflowRule::getId))
+                    .map(CompiledRule::compile)
+                    .filter(Objects::nonNull)
+                    .forEach(rule -> byTrigger.computeIfAbsent(rule.trigger(), t -> new ArrayList<>()).add(rule));
+            return byTrigger;
+        });
     }
 
-    private void changeTaskPriority(Task task, String priority) {
-        task.setPriority(TaskPriority.valueOf(priority));
+    /**
+     * Loads the users, labels and columns a round of rules adds to the task with one query per type.
+     */
+    private Targets loadTargets(List<CompiledRule> rules) {
+        Set<Long> userIds = targetIds(rules, WorkflowAction.ASSIGN_USER);
+        Set<Long> labelIds = targetIds(rules, WorkflowAction.ADD_LABEL);
+        Set<Long> columnIds = targetIds(rules, WorkflowAction.MOVE_TO_COLUMN);
+        return new Targets(
+                userIds.isEmpty() ? Map.of() : byId(userRepository.findAllById(userIds), User::getId),
+                labelIds.isEmpty() ? Map.of() : byId(labelRepository.findAllById(labelIds), Label::getId),
+                columnIds.isEmpty() ? Map.of() : byId(columnRepository.findAllById(columnIds), BoardColumn::getId));
     }
 
-    private void addLabelToTask(Task task, String labelId) {
-        Label label = labelRepository.findById(Long.parseLong(labelId)).orElse(null);
-        if (label != null) {
-            task.getLabels().add(label);
-        }
+    private static Set<Long> targetIds(List<CompiledRule> rules, WorkflowAction action) {
+        return rules.stream()
+                .filter(rule -> rule.action() == action)
+                .map(CompiledRule::targetId)
+                .collect(Collectors.toSet());
     }
 
-    private void removeLabelFromTask(Task task, String labelId) {
-        task.getLabels().removeIf(l -> l.getId().equals(Long.parseLong(labelId)));
+    private static <T> Map<Long, T> byId(List<T> entities, Function<T, Long> id) {
+        return entities.stream().collect(Collectors.toMap(id, Function.identity()));
     }
 
-    private void sendNotification(Task task, WorkflowRule rule) {
-        for (User assignee : task.getAssignees()) {
-            notificationService.sendTaskUpdated(task, assignee, "Workflow: " + rule.getName());
+    /**
+     * Applies one rule to the task in memory and adds the triggers its change causes to {@code next}; returns
+     * whether the task changed.
+     */
+    private boolean apply(Task task, CompiledRule rule, Targets targets, List<FiredTrigger> next) {
+        switch (rule.action()) {
+            case ASSIGN_USER -> {
+                User user = targets.users().get(rule.targetId());
+                if (user != null && task.getAssignees().add(user)) {
+                    next.add(new FiredTrigger(WorkflowTrigger.TASK_ASSIGNED, String.valueOf(user.getId())));
+                    return true;
+                }
+            }
+            case UNASSIGN_USER -> {
+                return task.getAssignees().removeIf(u -> u.getId().equals(rule.targetId()));
+            }
+            case CHANGE_STATUS -> {
+                if (task.getStatus() != rule.status()) {
+                    task.setStatus(rule.status());
+                    next.add(new FiredTrigger(WorkflowTrigger.TASK_STATUS_CHANGED, rule.status().name()));
+                    return true;
+                }
+            }
+            case CHANGE_PRIORITY -> {
+                if (task.getPriority() != rule.priority()) {
+                    task.setPriority(rule.priority());
+                    next.add(new FiredTrigger(WorkflowTrigger.TASK_PRIORITY_CHANGED, rule.priority().name()));
+                    return true;
+                }
+            }
+            case ADD_LABEL -> {
+                Label label = targets.labels().get(rule.targetId());
+                return label != null && task.getLabels().add(label);
+            }
+            case REMOVE_LABEL -> {
+                return task.getLabels().removeIf(l -> l.getId().equals(rule.targetId()));
+            }
+            case MOVE_TO_COLUMN -> {
+                BoardColumn column = targets.columns().get(rule.targetId());
+                if (column != null && (task.getColumn() == null || !task.getColumn().getId().equals(column.getId()))) {
+                    columnTaskCountService.transfer(task.getColumn() != null ? task.getColumn().getId() : null, column, 1, false);
+                    task.setPosition(taskRankService.rankAtEnd(column.getId()));
+                    task.setColumn(column);
+                    next.add(new FiredTrigger(WorkflowTrigger.TASK_MOVED_TO_COLUMN, String.valueOf(column.getId())));
+                    return true;
+                }
+            }
+            case SEND_NOTIFICATION -> {
+            }
         }
+        return false;
     }
 
-    private void moveTaskToColumn(Task task, String columnId) {
-        BoardColumn column = columnRepository.findById(Long.parseLong(columnId)).orElse(null);
-        if (column != null) {
-            task.setColumn(column);
+    /**
+     * An active rule with its trigger value normalized and its action value parsed once, when the project's
+     * rules are loaded. Rules whose action value does not parse are skipped.
+     */
+    record CompiledRule(Long id, String name, WorkflowTrigger trigger, String triggerValue, WorkflowAction action,
+                        Long targetId, TaskStatus status, TaskPriority priority) {
+
+        static CompiledRule compile(WorkflowRule rule) {
+            String triggerValue = rule.getTriggerValue() == null || rule.getTriggerValue().isBlank()
+                    ? null : rule.getTriggerValue().trim();
+            String value = rule.getActionValue() != null ? rule.getActionValue().trim() : null;
+            try {
+                return switch (rule.getAction()) {
+                    case ASSIGN_USER, UNASSIGN_USER, ADD_LABEL, REMOVE_LABEL, MOVE_TO_COLUMN -> new CompiledRule(
+                            rule.getId(), rule.getName(), rule.getTrigger(), triggerValue, rule.getAction(),
+                            Long.parseLong(value), null, null);
+                    case CHANGE_STATUS -> new CompiledRule(rule.getId(), rule.getName(), rule.getTrigger(),
+                            triggerValue, rule.getAction(), null, TaskStatus.valueOf(value), null);
+                    case CHANGE_PRIORITY -> new CompiledRule(rule.getId(), rule.getName(), rule.getTrigger(),
+                            triggerValue, rule.getAction(), null, null, TaskPriority.valueOf(value));
+                    case SEND_NOTIFICATION -> new CompiledRule(rule.getId(), rule.getName(), rule.getTrigger(),
+                            triggerValue, rule.getAction(), null, null, null);
+                };
+            } catch (RuntimeException e) {
+                log.warn("Skipping workflow rule {} with invalid action value '{}' for {}", rule.getId(), value,
+                        rule.getAction());
+                return null;
+            }
+        }
+
+        boolean matches(String value) {
+            return triggerValue == null || triggerValue.equalsIgnoreCase(value);
         }
     }
 
+    private record FiredTrigger(WorkflowTrigger trigger, String value) {
+    }
+
+    private record Targets(Map<Long, User> users, Map<Long, Label> labels, Map<Long, BoardColumn> columns) {
+    }
+
     private WorkflowRule findRuleById(Long ruleId) {
         return ruleRepository.findById(ruleId)
                 .orElseThrow(() -> new ResourceNotFoundException("WorkflowRule", "id", ruleId));
@@ -0,0 +1,73 @@
+package com.cirquetask.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Format of API tokens: {@code ctk_<8 hex prefix>_<43 char secret>}. The prefix is stored in clear to find
+ * the token row; only the SHA-256 of the whole token is stored. Tokens carry 256 random bits, so a fast
+ * hash is sufficient and keeps verification cheap.
+ */
+public final class ApiTokenCodec {
+
+    public static final String PREFIX = "ctk_";
+
+    private static final int PREFIX_BYTES = 4;
+    private static final int SECRET_BYTES = 32;
+    private static final int LOOKUP_PREFIX_LENGTH = PREFIX_BYTES * 2;
+    private static final int TOKEN_LENGTH = PREFIX.length() + LOOKUP_PREFIX_LENGTH + 1 + 43;
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private ApiTokenCodec() {
+    }
+
+    public record GeneratedToken(String token, String prefix, String hash) {
+    }
+
+    public static GeneratedToken generate() {
+        byte[] prefixBytes = new byte[PREFIX_BYTES];
+        byte[] secretBytes = new byte[SECRET_BYTES];
+        RANDOM.nextBytes(prefixBytes);
+        RANDOM.nextBytes(secretBytes);
+        String prefix = HexFormat.of().formatHex(prefixBytes);
+        String token = PREFIX + prefix + "_" + Base64.getUrlEncoder().withoutPadding().encodeToString(secretBytes);
+        return new GeneratedToken(token, prefix, hash(token));
+    }
+
+    /**
+     * Whether the bearer value is meant to be an API token (as opposed to a JWT).
+     */
+    public static boolean isApiToken(String value) {
+        return value != null && value.startsWith(PREFIX);
+    }
+
+    public static boolean isWellFormed(String token) {
+        return isApiToken(token) && token.length() == TOKEN_LENGTH
+                && token.charAt(PREFIX.length() + LOOKUP_PREFIX_LENGTH) == '_';
+    }
+
+    public static String lookupPrefix(String token) {
+        return token.substring(PREFIX.length(), PREFIX.length() + LOOKUP_PREFIX_LENGTH);
+    }
+
+    public static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Constant-time comparison of two hex hashes.
+     */
+    public static boolean hashesMatch(String expected, String actual) {
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.US_ASCII), actual.getBytes(StandardCharsets.US_ASCII));
+    }
+}
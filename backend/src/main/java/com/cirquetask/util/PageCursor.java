@@ -0,0 +1,82 @@
+package com.cirquetask.util;
+
+import com.cirquetask.exception.BadRequestException;
+import com.cirquetask.model.dto.CursorPage;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Seek position for keyset pagination over {@code (timestamp, id)} in descending order.
+ * Clients only see the opaque token produced by {@link #encode()}; the next page is read with
+ * {@code WHERE (ts, id) < (cursor.ts, cursor.id) ORDER BY ts DESC, id DESC LIMIT n}, so a deep page
+ * costs the same index range scan as the first one.
+ */
+public record PageCursor(LocalDateTime timestamp, Long id) {
+
+    public static final int DEFAULT_LIMIT = 20;
+    public static final int MAX_LIMIT = 100;
+
+    /** Sorts after every stored row, so the first page can use the same seek predicate. */
+    public static final PageCursor FIRST = new PageCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Decodes a token received from a client; null or blank means the first page.
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            if (split < 0) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, split)), Long.parseLong(raw.substring(split + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Clamps a requested page size to {@code [1, MAX_LIMIT]}.
+     */
+    public static int clampLimit(Integer size) {
+        if (size == null || size < 1) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(size, MAX_LIMIT);
+    }
+
+    /**
+     * Builds a page from rows fetched with {@code limit + 1}; the extra row only signals that more data exists.
+     */
+    public static <E, D> CursorPage<D> page(List<E> rows, int limit,
+                                            Function<E, LocalDateTime> timestampOf, Function<E, Long> idOf,
+                                            Function<List<E>, List<D>> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> content = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            E last = content.get(content.size() - 1);
+            nextCursor = new PageCursor(timestampOf.apply(last), idOf.apply(last)).encode();
+        }
+        return CursorPage.<D>builder()
+                .items(mapper.apply(content))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
+    }
+}
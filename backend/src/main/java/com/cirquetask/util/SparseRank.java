@@ -0,0 +1,143 @@
+package com.cirquetask.util;
+
+import java.util.Arrays;
+
+/**
+ * Gap-based ordering keys for board columns and cards.
+ * Items are stored with large gaps between their positions so that moving one item
+ * only rewrites that item: its new key is the midpoint of its new neighbours.
+ * When a gap is exhausted the owning container is renumbered with {@link #GAP} spacing.
+ */
+public final class SparseRank {
+
+    /** Distance between two consecutive keys after a (re)numbering. */
+    public static final long GAP = 1L << 16;
+
+    /** Below this distance a container is considered crowded and scheduled for rebalancing. */
+    public static final long MIN_GAP = 1L << 4;
+
+    private SparseRank() {
+    }
+
+    /**
+     * Key of the item at the given index in a freshly numbered container.
+     */
+    public static long initial(int index) {
+        return (index + 1L) * GAP;
+    }
+
+    /**
+     * Key for an item appended after the given last key (null when the container is empty).
+     */
+    public static long after(Long last) {
+        return last == null ? GAP : last + GAP;
+    }
+
+    /**
+     * Key strictly between the two neighbours (either may be null for the container edges),
+     * or null when there is no free key left between them.
+     */
+    public static Long between(Long before, Long after) {
+        if (before == null && after == null) {
+            return GAP;
+        }
+        if (before == null) {
+            return after > 1 ? after / 2 : null;
+        }
+        if (after == null) {
+            return before + GAP;
+        }
+        long distance = after - before;
+        if (distance < 2) {
+            return null;
+        }
+        return before + distance / 2;
+    }
+
+    /**
+     * Whether a key placed between the given neighbours leaves too little room for further inserts.
+     */
+    public static boolean isCrowded(Long before, Long after) {
+        long lower = before != null ? before : 0L;
+        return after != null && after - lower < MIN_GAP * 2;
+    }
+
+    /**
+     * Computes keys for a container reordered by the caller. {@code current} holds the existing keys
+     * in the new order; the returned array keeps every key that is part of the longest already
+     * ascending run and only assigns new keys to the remaining items. Falls back to a full
+     * renumbering when there is not enough room.
+     */
+    public static long[] reorder(long[] current) {
+        int n = current.length;
+        boolean[] keep = longestIncreasingRun(current);
+        long[] result = new long[n];
+        int i = 0;
+        Long previous = null;
+        while (i < n) {
+            if (keep[i]) {
+                result[i] = current[i];
+                previous = current[i];
+                i++;
+                continue;
+            }
+            int end = i;
+            while (end < n && !keep[end]) {
+                end++;
+            }
+            Long next = end < n ? current[end] : null;
+            long lower = previous != null ? previous : 0L;
+            int count = end - i;
+            if (next != null && (next - lower) / (count + 1) < 1) {
+                return renumber(n);
+            }
+            long step = next != null ? (next - lower) / (count + 1) : GAP;
+            for (int k = 0; k < count; k++) {
+                result[i + k] = lower + step * (k + 1);
+            }
+            previous = result[end - 1];
+            i = end;
+        }
+        return result;
+    }
+
+    private static long[] renumber(int n) {
+        long[] result = new long[n];
+        for (int i = 0; i < n; i++) {
+            result[i] = initial(i);
+        }
+        return result;
+    }
+
+    private static boolean[] longestIncreasingRun(long[] values) {
+        int n = values.length;
+        int[] tails = new int[n];
+        int[] parent = new int[n];
+        Arrays.fill(parent, -1);
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            int lo = 0;
+            int hi = length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[tails[mid]] < values[i]) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            if (lo > 0) {
+                parent[i] = tails[lo - 1];
+            }
+            tails[lo] = i;
+            if (lo == length) {
+                length++;
+            }
+        }
+        boolean[] keep = new boolean[n];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = parent[i]) {
+            keep[i] = true;
+        }
+        return keep;
+    }
+}
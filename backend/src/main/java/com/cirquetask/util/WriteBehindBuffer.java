@@ -0,0 +1,165 @@
+package com.cirquetask.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Bounded in-memory buffer for rows that are written behind in batches. {@link #add} never touches the
+ * database: a full batch schedules a flush on the given executor, and the owner calls {@link #flush} on a
+ * timer and on shutdown. Each batch is written in its own transaction; if it fails, the rows are retried one
+ * by one so a single bad row does not lose the rest.
+ * <p>
+ * Metrics, prefixed with the buffer name: {@code .buffered} (gauge), {@code .dropped} tagged with
+ * {@code reason=overflow|error}, and {@code .lag}, the time the oldest row of each batch waited.
+ */
+@Slf4j
+public class WriteBehindBuffer<T> {
+
+    private final String name;
+    private final int batchSize;
+    private final Executor flushExecutor;
+    private final TransactionTemplate writeTransaction;
+    private final Consumer<List<T>> writer;
+    private final Consumer<List<T>> onWritten;
+
+    private final BlockingQueue<Pending<T>> buffer;
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Counter droppedOverflow;
+    private final Counter droppedFailed;
+    private final Timer lag;
+
+    /**
+     * @param writer    writes one batch; runs inside a new transaction
+     * @param onWritten called with the rows that were committed, outside the transaction
+     */
+    public WriteBehindBuffer(String name, int capacity, int batchSize, Executor flushExecutor,
+                             PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                             Consumer<List<T>> writer, Consumer<List<T>> onWritten) {
+        this.name = name;
+        this.batchSize = batchSize;
+        this.flushExecutor = flushExecutor;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.writer = writer;
+        this.onWritten = onWritten;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        Gauge.builder(name + ".buffered", buffer, BlockingQueue::size)
+                .description("Rows waiting to be written")
+                .register(meterRegistry);
+        this.droppedOverflow = droppedCounter(meterRegistry, "overflow");
+        this.droppedFailed = droppedCounter(meterRegistry, "error");
+        this.lag = Timer.builder(name + ".lag")
+                .description("Time the oldest row of a batch waited before it was written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Buffers the row; returns false (and counts it as dropped) when the buffer is full.
+     */
+    public boolean add(T row) {
+        if (!buffer.offer(new Pending<>(row, System.nanoTime()))) {
+            droppedOverflow.increment();
+            log.warn("{} buffer full, dropping row", name);
+            return false;
+        }
+        requestFlushIfBatchReady();
+        return true;
+    }
+
+    /**
+     * Buffers all rows, dropping those that do not fit.
+     */
+    public void addAll(List<T> rows) {
+        long now = System.nanoTime();
+        int dropped = 0;
+        for (T row : rows) {
+            if (!buffer.offer(new Pending<>(row, now))) {
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            droppedOverflow.increment(dropped);
+            log.warn("{} buffer full, dropping {} rows", name, dropped);
+        }
+        requestFlushIfBatchReady();
+    }
+
+    public int size() {
+        return buffer.size();
+    }
+
+    /**
+     * Writes everything buffered so far, in batches.
+     */
+    public synchronized void flush() {
+        List<Pending<T>> pending = new ArrayList<>(batchSize);
+        while (buffer.drainTo(pending, batchSize) > 0) {
+            List<T> batch = new ArrayList<>(pending.size());
+            pending.forEach(p -> batch.add(p.row()));
+            write(batch, pending.get(0).enqueuedAt());
+            pending.clear();
+        }
+    }
+
+    private void requestFlushIfBatchReady() {
+        if (buffer.size() >= batchSize && flushRequested.compareAndSet(false, true)) {
+            flushExecutor.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        }
+    }
+
+    private void write(List<T> batch, long oldestEnqueuedAt) {
+        List<T> written = batch;
+        try {
+            writeTransaction.executeWithoutResult(status -> writer.accept(batch));
+        } catch (Exception e) {
+            log.warn("{} batch of {} rows failed, retrying row by row: {}", name, batch.size(), e.getMessage());
+            written = writeIndividually(batch);
+        }
+        lag.record(System.nanoTime() - oldestEnqueuedAt, TimeUnit.NANOSECONDS);
+        if (!written.isEmpty()) {
+            onWritten.accept(written);
+        }
+    }
+
+    private List<T> writeIndividually(List<T> batch) {
+        List<T> written = new ArrayList<>(batch.size());
+        for (T row : batch) {
+            try {
+                writeTransaction.executeWithoutResult(status -> writer.accept(List.of(row)));
+                written.add(row);
+            } catch (Exception e) {
+                droppedFailed.increment();
+                log.error("{} failed to write {}: {}", name, row, e.getMessage());
+            }
+        }
+        return written;
+    }
+
+    private Counter droppedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder(name + ".dropped")
+                .description("Rows that were never written")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private record Pending<T>(T row, long enqueuedAt) {
+    }
+}
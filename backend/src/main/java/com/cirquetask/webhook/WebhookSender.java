@@ -0,0 +1,224 @@
+package com.cirquetask.webhook;
+
+import com.cirquetask.config.AsyncConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+/**
+ * Posts webhook payloads over a shared, pooled {@link HttpClient} without blocking the caller. Every request
+ * has a connect and a response timeout. Each webhook endpoint gets at most {@code app.webhooks.max-concurrency}
+ * requests in flight and a circuit breaker: after {@code failure-threshold} consecutive failures the endpoint
+ * is skipped for {@code open-seconds}, then a single probe decides whether it closes again. Skipped requests
+ * come back as {@link Outcome#THROTTLED} or {@link Outcome#CIRCUIT_OPEN} without touching the network.
+ */
+@Component
+@Slf4j
+public class WebhookSender {
+
+    public enum Outcome { DELIVERED, FAILED, THROTTLED, CIRCUIT_OPEN }
+
+    /**
+     * One HTTP request; a batch carries several delivery ids and a JSON array payload.
+     */
+    public record Request(List<Long> deliveryIds, Long webhookId, String url, String event, String payload,
+                          String secret) {
+    }
+
+    /**
+     * @param retryAfter for skipped requests, when the endpoint is worth trying again
+     */
+    public record Result(Outcome outcome, Integer statusCode, String error, Duration retryAfter) {
+
+        static Result delivered(int statusCode) {
+            return new Result(Outcome.DELIVERED, statusCode, null, null);
+        }
+
+        static Result failed(Integer statusCode, String error) {
+            return new Result(Outcome.FAILED, statusCode, error, null);
+        }
+    }
+
+    private static final Duration THROTTLE_RETRY = Duration.ofSeconds(1);
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final int maxConcurrency;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Map<Long, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+    private final Timer latency;
+
+    public WebhookSender(@Qualifier(AsyncConfig.WEBHOOK_EXECUTOR) Executor executor,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.webhooks.connect-timeout-ms:3000}") long connectTimeoutMs,
+                         @Value("${app.webhooks.request-timeout-ms:10000}") long requestTimeoutMs,
+                         @Value("${app.webhooks.max-concurrency:4}") int maxConcurrency,
+                         @Value("${app.webhooks.failure-threshold:5}") int failureThreshold,
+                         @Value("${app.webhooks.open-seconds:60}") long openSeconds) {
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(executor)
+                .build();
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.maxConcurrency = maxConcurrency;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = Duration.ofSeconds(openSeconds);
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("webhook.requests")
+                    .tag("outcome", outcome.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.latency = Timer.builder("webhook.latency")
+                .description("Time until a webhook endpoint responded or the request failed")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<Result> send(Request request) {
+        Endpoint endpoint = endpoints.computeIfAbsent(request.webhookId(), id -> new Endpoint(maxConcurrency));
+        Duration openFor = endpoint.tryPass(failureThreshold);
+        if (openFor != null) {
+            return CompletableFuture.completedFuture(record(new Result(Outcome.CIRCUIT_OPEN, null, null, openFor)));
+        }
+        if (!endpoint.permits.tryAcquire()) {
+            endpoint.cancelProbe();
+            return CompletableFuture.completedFuture(record(new Result(Outcome.THROTTLED, null, null, THROTTLE_RETRY)));
+        }
+        long start = System.nanoTime();
+        CompletableFuture<Result> response;
+        try {
+            response = httpClient.sendAsync(buildRequest(request), HttpResponse.BodyHandlers.discarding())
+                    .thenApply(r -> r.statusCode() / 100 == 2
+                            ? Result.delivered(r.statusCode())
+                            : Result.failed(r.statusCode(), "HTTP " + r.statusCode()))
+                    .exceptionally(e -> Result.failed(null, describe(e)));
+        } catch (RuntimeException e) {
+            response = CompletableFuture.completedFuture(Result.failed(null, describe(e)));
+        }
+        return response.thenApply(result -> {
+            endpoint.permits.release();
+            endpoint.onResult(result.outcome() == Outcome.DELIVERED, failureThreshold, openDuration);
+            latency.record(Duration.ofNanos(System.nanoTime() - start));
+            return record(result);
+        });
+    }
+
+    private HttpRequest buildRequest(Request request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(request.url()))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .header("X-Webhook-Event", request.event())
+                .header("X-Webhook-Delivery", request.deliveryIds().stream().map(String::valueOf)
+                        .collect(Collectors.joining(",")))
+                .POST(HttpRequest.BodyPublishers.ofString(request.payload()));
+        if (request.secret() != null && !request.secret().isBlank()) {
+            builder.header("X-Webhook-Signature", sign(request.payload(), request.secret()));
+        }
+        return builder.build();
+    }
+
+    static String sign(String payload, String secret) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] hash = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            return "sha256=" + Base64.getEncoder().encodeToString(hash);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    private Result record(Result result) {
+        outcomes.get(result.outcome()).increment();
+        return result;
+    }
+
+    private static String describe(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof HttpTimeoutException) {
+            return "Timed out: " + cause.getMessage();
+        }
+        return cause.getClass().getSimpleName() + (cause.getMessage() != null ? ": " + cause.getMessage() : "");
+    }
+
+    /**
+     * Per-webhook concurrency limit and circuit state.
+     */
+    private static final class Endpoint {
+
+        private final Semaphore permits;
+        private int consecutiveFailures;
+        private long openUntil;
+        private boolean probing;
+
+        Endpoint(int maxConcurrency) {
+            this.permits = new Semaphore(maxConcurrency);
+        }
+
+        /**
+         * Returns null if a request may go out, otherwise how long the circuit stays open. Once the open period
+         * has passed, exactly one request is let through as a probe.
+         */
+        synchronized Duration tryPass(int failureThreshold) {
+            if (consecutiveFailures < failureThreshold) {
+                return null;
+            }
+            long now = System.nanoTime();
+            if (now < openUntil) {
+                return Duration.ofNanos(openUntil - now);
+            }
+            if (probing) {
+                return THROTTLE_RETRY;
+            }
+            probing = true;
+            return null;
+        }
+
+        synchronized void cancelProbe() {
+            probing = false;
+        }
+
+        synchronized void onResult(boolean success, int failureThreshold, Duration openDuration) {
+            probing = false;
+            if (success) {
+                consecutiveFailures = 0;
+                return;
+            }
+            consecutiveFailures++;
+            if (consecutiveFailures >= failureThreshold) {
+                openUntil = System.nanoTime() + openDuration.toNanos();
+                if (consecutiveFailures == failureThreshold) {
+                    log.warn("Webhook endpoint failed {} times in a row, pausing deliveries for {}s",
+                            consecutiveFailures, openDuration.toSeconds());
+                }
+            }
+        }
+    }
+}
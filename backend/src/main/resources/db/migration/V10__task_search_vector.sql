@@ -0,0 +1,10 @@
+-- Full-text search document per task, maintained by PostgreSQL on every insert/update.
+-- Key and title carry weight A, description weight B, so title hits rank above description hits.
+-- The 'simple' configuration does no stemming, which keeps prefix matching predictable for any language.
+ALTER TABLE tasks ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('simple'::regconfig, coalesce(task_key, '')), 'A') ||
+    setweight(to_tsvector('simple'::regconfig, coalesce(title, '')), 'A') ||
+    setweight(to_tsvector('simple'::regconfig, coalesce(description, '')), 'B')
+) STORED;
+
+CREATE INDEX idx_tasks_search_vector ON tasks USING GIN (search_vector);
@@ -0,0 +1,3 @@
+-- Bumped whenever a user's credentials change; tokens carry the epoch they were issued under
+-- and are rejected once it no longer matches.
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_epoch INT NOT NULL DEFAULT 0;
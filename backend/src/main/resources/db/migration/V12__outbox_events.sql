@@ -0,0 +1,19 @@
+-- Transactional outbox: domain events are written in the same transaction as the change that caused them
+-- and delivered to consumers (workflows, webhooks, notifications, websocket, caches) after commit,
+-- in id order per project.
+CREATE TABLE outbox_events (
+    id BIGSERIAL PRIMARY KEY,
+    project_id BIGINT NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    actor_id BIGINT,
+    payload TEXT NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error TEXT,
+    next_attempt_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMP
+);
+
+CREATE INDEX idx_outbox_pending ON outbox_events(id) WHERE processed_at IS NULL;
+CREATE INDEX idx_outbox_processed ON outbox_events(processed_at) WHERE processed_at IS NOT NULL;
@@ -0,0 +1,10 @@
+-- Per-webhook coalescing window (NULL = application default, 0 = off) and opt-in batched JSON array payloads.
+ALTER TABLE webhooks ADD COLUMN coalesce_seconds INT;
+ALTER TABLE webhooks ADD COLUMN batch_size INT NOT NULL DEFAULT 1;
+
+ALTER TABLE webhook_deliveries ADD COLUMN entity_key VARCHAR(100);
+ALTER TABLE webhook_deliveries ADD COLUMN coalesce_until TIMESTAMP;
+ALTER TABLE webhook_deliveries ADD COLUMN coalesced_count INT NOT NULL DEFAULT 0;
+
+CREATE INDEX idx_webhook_deliveries_coalesce ON webhook_deliveries(webhook_id, entity_key, event)
+    WHERE status = 'PENDING' AND coalesce_until IS NOT NULL;
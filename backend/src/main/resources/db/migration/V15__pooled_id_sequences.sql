@@ -0,0 +1,28 @@
+-- Entities take ids from their BIGSERIAL sequences with Hibernate's pooled optimizer, so inserts can be
+-- JDBC-batched (IDENTITY needs a round trip per row). Each increment must match the entity's allocationSize.
+-- Column defaults still call nextval, so raw SQL inserts keep working and never collide with pooled ranges.
+-- activity_logs and audit_logs are only written by JDBC batch inserts and keep increment 1; outbox_events
+-- stays at 1 because its dispatcher relies on id order.
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
+ALTER SEQUENCE comments_id_seq INCREMENT BY 50;
+ALTER SEQUENCE attachments_id_seq INCREMENT BY 50;
+ALTER SEQUENCE notifications_id_seq INCREMENT BY 50;
+ALTER SEQUENCE custom_field_values_id_seq INCREMENT BY 50;
+ALTER SEQUENCE time_logs_id_seq INCREMENT BY 50;
+ALTER SEQUENCE task_dependencies_id_seq INCREMENT BY 50;
+ALTER SEQUENCE webhook_deliveries_id_seq INCREMENT BY 50;
+
+ALTER SEQUENCE users_id_seq INCREMENT BY 10;
+ALTER SEQUENCE projects_id_seq INCREMENT BY 10;
+ALTER SEQUENCE project_members_id_seq INCREMENT BY 10;
+ALTER SEQUENCE boards_id_seq INCREMENT BY 10;
+ALTER SEQUENCE board_columns_id_seq INCREMENT BY 10;
+ALTER SEQUENCE labels_id_seq INCREMENT BY 10;
+ALTER SEQUENCE sprints_id_seq INCREMENT BY 10;
+ALTER SEQUENCE password_reset_tokens_id_seq INCREMENT BY 10;
+ALTER SEQUENCE workflow_rules_id_seq INCREMENT BY 10;
+ALTER SEQUENCE custom_field_definitions_id_seq INCREMENT BY 10;
+ALTER SEQUENCE task_templates_id_seq INCREMENT BY 10;
+ALTER SEQUENCE recurring_tasks_id_seq INCREMENT BY 10;
+ALTER SEQUENCE webhooks_id_seq INCREMENT BY 10;
+ALTER SEQUENCE api_tokens_id_seq INCREMENT BY 10;
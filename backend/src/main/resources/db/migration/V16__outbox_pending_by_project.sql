@@ -0,0 +1,3 @@
+-- The dispatcher skips projects with a backing-off event when claiming a batch; this keeps that per-project
+-- lookup on the small set of pending rows.
+CREATE INDEX idx_outbox_pending_project ON outbox_events(project_id, next_attempt_at) WHERE processed_at IS NULL;
@@ -0,0 +1,6 @@
+-- The dispatcher claims a batch under its advisory lock, commits, and delivers outside that transaction.
+-- claimed_until keeps other rounds off a project while its events are in flight (and frees them if the
+-- instance dies); delivered_to counts the consumers that have handled an event so a retry only re-runs the
+-- consumer that failed and those after it.
+ALTER TABLE outbox_events ADD COLUMN claimed_until TIMESTAMP;
+ALTER TABLE outbox_events ADD COLUMN delivered_to INT NOT NULL DEFAULT 0;
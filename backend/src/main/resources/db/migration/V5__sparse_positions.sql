@@ -0,0 +1,14 @@
+-- Sparse ordering keys for cards and columns: a move rewrites only the moved row.
+-- Existing rows are renumbered with a gap of 65536 between neighbours.
+ALTER TABLE tasks ALTER COLUMN position TYPE BIGINT;
+ALTER TABLE board_columns ALTER COLUMN position TYPE BIGINT;
+
+UPDATE tasks t SET position = r.rn * 65536
+FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY column_id ORDER BY position, id) AS rn FROM tasks) r
+WHERE t.id = r.id;
+
+UPDATE board_columns c SET position = r.rn * 65536
+FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY board_id ORDER BY position, id) AS rn FROM board_columns) r
+WHERE c.id = r.id;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_column_position ON tasks(column_id, position, id);
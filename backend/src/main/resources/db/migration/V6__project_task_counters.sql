@@ -0,0 +1,14 @@
+-- Per-project task number counter; replaces the MAX(SUBSTRING(task_key)) scan on every task create.
+-- Application nodes reserve numbers in blocks with an atomic upsert ... RETURNING.
+CREATE TABLE IF NOT EXISTS project_task_counters (
+    project_id BIGINT PRIMARY KEY REFERENCES projects(id) ON DELETE CASCADE,
+    last_number BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO project_task_counters (project_id, last_number)
+SELECT p.id,
+       COALESCE(MAX(CAST(NULLIF(regexp_replace(SUBSTRING(t.task_key FROM LENGTH(p.prefix) + 2), '[^0-9]', '', 'g'), '') AS BIGINT)), 0)
+FROM projects p
+LEFT JOIN tasks t ON t.project_id = p.id
+GROUP BY p.id
+ON CONFLICT (project_id) DO NOTHING;
@@ -0,0 +1,6 @@
+-- Maintained per-column task count used for WIP-limit checks and board headers.
+ALTER TABLE board_columns ADD COLUMN IF NOT EXISTS task_count INT NOT NULL DEFAULT 0;
+
+UPDATE board_columns c SET task_count = sub.cnt
+FROM (SELECT column_id, COUNT(*) AS cnt FROM tasks WHERE column_id IS NOT NULL GROUP BY column_id) sub
+WHERE c.id = sub.column_id;
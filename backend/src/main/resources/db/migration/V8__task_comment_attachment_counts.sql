@@ -0,0 +1,12 @@
+-- Denormalized comment/attachment counters so task lists no longer load both collections per task.
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS comment_count INT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS attachment_count INT NOT NULL DEFAULT 0;
+
+-- One-off backfill
+UPDATE tasks t SET comment_count = sub.cnt
+FROM (SELECT task_id, COUNT(*) AS cnt FROM comments GROUP BY task_id) sub
+WHERE t.id = sub.task_id;
+
+UPDATE tasks t SET attachment_count = sub.cnt
+FROM (SELECT task_id, COUNT(*) AS cnt FROM attachments GROUP BY task_id) sub
+WHERE t.id = sub.task_id;
@@ -0,0 +1,22 @@
+-- Keyset pagination seeks on (timestamp, id); the sort columns must not be NULL for the
+-- row-value comparison to include every row.
+UPDATE tasks SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+UPDATE tasks SET updated_at = created_at WHERE updated_at IS NULL;
+UPDATE notifications SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+UPDATE activity_logs SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+
+ALTER TABLE tasks ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE tasks ALTER COLUMN updated_at SET NOT NULL;
+ALTER TABLE notifications ALTER COLUMN created_at SET NOT NULL;
+ALTER TABLE activity_logs ALTER COLUMN created_at SET NOT NULL;
+
+CREATE INDEX idx_tasks_project_created ON tasks(project_id, created_at DESC, id DESC);
+CREATE INDEX idx_tasks_updated ON tasks(updated_at DESC, id DESC);
+CREATE INDEX idx_notif_recipient_created ON notifications(recipient_id, created_at DESC, id DESC);
+CREATE INDEX idx_activity_project_created ON activity_logs(project_id, created_at DESC, id DESC);
+CREATE INDEX idx_activity_user_created ON activity_logs(user_id, created_at DESC, id DESC);
+
+-- Superseded by the composite indexes above
+DROP INDEX IF EXISTS idx_notif_recipient;
+DROP INDEX IF EXISTS idx_activity_project;
+DROP INDEX IF EXISTS idx_activity_user;
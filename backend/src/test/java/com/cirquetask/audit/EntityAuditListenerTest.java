@@ -0,0 +1,100 @@
+package com.cirquetask.audit;
+
+import com.cirquetask.model.entity.Label;
+import com.cirquetask.model.entity.Task;
+import com.cirquetask.repository.AuditLogRepositoryCustom.NewAuditLog;
+import com.cirquetask.service.AuditService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class EntityAuditListenerTest {
+
+    private AuditService auditService;
+    private ActionQueue actionQueue;
+    private EventSource session;
+    private EntityAuditListener listener;
+
+    @BeforeEach
+    void setUp() {
+        auditService = mock(AuditService.class);
+        actionQueue = mock(ActionQueue.class);
+        session = mock(EventSource.class);
+        when(session.getActionQueue()).thenReturn(actionQueue);
+        listener = new EntityAuditListener(mock(EntityManagerFactory.class), auditService);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void update_recordsOneRowPerChangedFieldAfterCommit() {
+        EntityPersister persister = persister(Task.class, "title", "updatedAt", "priority");
+        PostUpdateEvent event = new PostUpdateEvent(new Task(), 42L,
+                new Object[]{"New title", "t2", "HIGH"}, new Object[]{"Old title", "t1", "HIGH"},
+                new int[]{0, 1}, persister, session);
+
+        listener.onPostUpdate(event);
+        verifyNoInteractions(auditService);
+        afterCompletion(true);
+
+        ArgumentCaptor<List<NewAuditLog>> rows = ArgumentCaptor.forClass(List.class);
+        verify(auditService).record(rows.capture());
+        assertThat(rows.getValue()).singleElement().satisfies(row -> {
+            assertThat(row.entityType()).isEqualTo("Task");
+            assertThat(row.entityId()).isEqualTo(42L);
+            assertThat(row.fieldName()).isEqualTo("title");
+            assertThat(row.oldValue()).isEqualTo("Old title");
+            assertThat(row.newValue()).isEqualTo("New title");
+        });
+    }
+
+    @Test
+    void rolledBackUpdate_isNotRecorded() {
+        EntityPersister persister = persister(Task.class, "title");
+        listener.onPostUpdate(new PostUpdateEvent(new Task(), 42L, new Object[]{"b"}, new Object[]{"a"},
+                null, persister, session));
+
+        afterCompletion(false);
+
+        verifyNoInteractions(auditService);
+    }
+
+    @Test
+    void unauditedEntity_isIgnored() {
+        EntityPersister persister = persister(Label.class, "name");
+        listener.onPostUpdate(new PostUpdateEvent(new Label(), 1L, new Object[]{"b"}, new Object[]{"a"},
+                null, persister, session));
+
+        verifyNoInteractions(actionQueue);
+    }
+
+    private void afterCompletion(boolean success) {
+        ArgumentCaptor<AfterTransactionCompletionProcess> process =
+                ArgumentCaptor.forClass(AfterTransactionCompletionProcess.class);
+        verify(actionQueue).registerProcess(process.capture());
+        process.getValue().doAfterTransactionCompletion(success, session);
+    }
+
+    private static EntityPersister persister(Class<?> entityClass, String... properties) {
+        EntityPersister persister = mock(EntityPersister.class);
+        Type type = mock(Type.class);
+        Type[] types = new Type[properties.length];
+        Arrays.fill(types, type);
+        doReturn(entityClass).when(persister).getMappedClass();
+        when(persister.getPropertyNames()).thenReturn(properties);
+        when(persister.getPropertyTypes()).thenReturn(types);
+        return persister;
+    }
+}
@@ -0,0 +1,123 @@
+package com.cirquetask.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserting one bulk operation's worth of task rows, as Hibernate issues them for each id strategy.
+ * {@code identityPerRow} reproduces {@code GenerationType.IDENTITY}: one {@code INSERT ... RETURNING id} round
+ * trip per row, batching disabled. {@code pooledSequenceBatched} is the current mapping: one {@code nextval}
+ * per 50 ids (pooled optimizer) and JDBC batches of 50 that the driver rewrites into multi-row INSERTs.
+ * Rows go to temporary tables and every invocation is rolled back. The statements Hibernate actually issues for
+ * {@code saveAll} with these settings are checked by {@code BatchInsertTest}; this measures what they cost.
+ * <p>
+ * Needs a PostgreSQL database ({@code -Dbench.db.url}, {@code -Dbench.db.user}, {@code -Dbench.db.password};
+ * defaults match application.yml). Run with {@code mvn test-compile exec:exec -Dexec.executable=java
+ * -Dexec.classpathScope=test "-Dexec.args=-cp %classpath com.cirquetask.benchmark.BulkInsertBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int BATCH_SIZE = 50;
+
+    @Param({"50", "500"})
+    public int rows;
+
+    private Connection connection;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.db.url",
+                        "jdbc:postgresql://localhost:5432/cirquetask_db?reWriteBatchedInserts=true"),
+                System.getProperty("bench.db.user", "postgres"),
+                System.getProperty("bench.db.password", "postgres"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMP TABLE bench_identity_tasks (id BIGSERIAL PRIMARY KEY, "
+                    + "title VARCHAR(500) NOT NULL, project_id BIGINT NOT NULL, position BIGINT)");
+            statement.execute("CREATE TEMP SEQUENCE bench_tasks_id_seq INCREMENT BY " + BATCH_SIZE);
+            statement.execute("CREATE TEMP TABLE bench_sequence_tasks (id BIGINT PRIMARY KEY, "
+                    + "title VARCHAR(500) NOT NULL, project_id BIGINT NOT NULL, position BIGINT)");
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public long identityPerRow() throws SQLException {
+        long last = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_identity_tasks (title, project_id, position) VALUES (?, ?, ?) RETURNING id")) {
+            for (int i = 0; i < rows; i++) {
+                bind(insert, i);
+                try (ResultSet key = insert.executeQuery()) {
+                    key.next();
+                    last = key.getLong(1);
+                }
+            }
+        }
+        connection.rollback();
+        return last;
+    }
+
+    @Benchmark
+    public long pooledSequenceBatched() throws SQLException {
+        long nextId = 0;
+        long hi = -1;
+        try (PreparedStatement nextval = connection.prepareStatement("SELECT nextval('bench_tasks_id_seq')");
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO bench_sequence_tasks (id, title, project_id, position) VALUES (?, ?, ?, ?)")) {
+            for (int i = 0; i < rows; i++) {
+                if (nextId > hi) {
+                    try (ResultSet value = nextval.executeQuery()) {
+                        value.next();
+                        hi = value.getLong(1);
+                        // Like Hibernate's pooled optimizer: the sequence starts at 1, so the first value
+                        // covers only itself rather than the ids below it.
+                        nextId = Math.max(hi - BATCH_SIZE + 1, 1);
+                    }
+                }
+                insert.setLong(1, nextId++);
+                insert.setString(2, "Task " + i);
+                insert.setLong(3, 1L);
+                insert.setLong(4, i * 1024L);
+                insert.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+            }
+            insert.executeBatch();
+        }
+        connection.rollback();
+        return nextId;
+    }
+
+    private static void bind(PreparedStatement insert, int i) throws SQLException {
+        insert.setString(1, "Task " + i);
+        insert.setLong(2, 1L);
+        insert.setLong(3, i * 1024L);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BulkInsertBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,62 @@
+package com.cirquetask.benchmark;
+
+import com.cirquetask.security.JwtTokenProvider;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.crypto.SecretKey;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token handling cost of one authenticated request.
+ * {@code perRequestParsers} reproduces the former filter path (validate, then read the subject, each
+ * decoding the secret and building a parser); {@code cachedParser} is the current single verification.
+ * <p>
+ * Run with {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath com.cirquetask.benchmark.JwtAuthenticationBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET =
+            "Vm9ydGV4UHJvamVjdE1hbmFnZW1lbnRQbGF0Zm9ybVNlY3JldEtleUZvckpXVFRva2VuR2VuZXJhdGlvbjIwMjQ=";
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, 3_600_000L, 86_400_000L);
+        token = tokenProvider.generateAccessToken(42L, "bench@cirquetask.com", 0);
+    }
+
+    @Benchmark
+    public String perRequestParsers() {
+        Jwts.parser().verifyWith(legacyKey()).build().parseSignedClaims(token);
+        return Jwts.parser().verifyWith(legacyKey()).build().parseSignedClaims(token).getPayload().getSubject();
+    }
+
+    @Benchmark
+    public String cachedParser() {
+        return tokenProvider.parseAccessClaims(token).map(Claims::getSubject).orElseThrow();
+    }
+
+    private static SecretKey legacyKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtAuthenticationBenchmark.class.getSimpleName()).build()).run();
+    }
+}
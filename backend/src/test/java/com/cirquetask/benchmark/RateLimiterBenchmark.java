@@ -0,0 +1,96 @@
+package com.cirquetask.benchmark;
+
+import com.cirquetask.security.RateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rate-limit check under contention at 64 threads. {@code synchronizedWindow*} reproduces the former
+ * AuthRateLimitFilter (unbounded map of fixed windows with a synchronized tryAcquire); {@code tokenBucket*}
+ * is the current CAS-based bucket in a bounded store. "hotKey" has every thread hit one key (one user or
+ * token behind a busy integration), "spreadKeys" spreads calls over 10,000 keys.
+ * <p>
+ * Run with {@code mvn test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test
+ * "-Dexec.args=-cp %classpath com.cirquetask.benchmark.RateLimiterBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+public class RateLimiterBenchmark {
+
+    private static final int KEYS = 10_000;
+    private static final int LIMIT = Integer.MAX_VALUE / 2;
+
+    private RateLimiter rateLimiter;
+    private ConcurrentHashMap<String, Window> legacyStore;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        rateLimiter = new RateLimiter(new SimpleMeterRegistry(), 100_000, 300);
+        legacyStore = new ConcurrentHashMap<>();
+        keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = "user:" + i;
+        }
+    }
+
+    @Benchmark
+    public boolean synchronizedWindowHotKey() {
+        return legacyStore.computeIfAbsent("user:0", k -> new Window()).tryAcquire();
+    }
+
+    @Benchmark
+    public boolean tokenBucketHotKey() {
+        return rateLimiter.tryConsume("user:0", LIMIT).allowed();
+    }
+
+    @Benchmark
+    public boolean synchronizedWindowSpreadKeys() {
+        return legacyStore.computeIfAbsent(randomKey(), k -> new Window()).tryAcquire();
+    }
+
+    @Benchmark
+    public boolean tokenBucketSpreadKeys() {
+        return rateLimiter.tryConsume(randomKey(), LIMIT).allowed();
+    }
+
+    private String randomKey() {
+        return keys[ThreadLocalRandom.current().nextInt(KEYS)];
+    }
+
+    /** The former fixed-window counter. */
+    private static class Window {
+        private final AtomicInteger count = new AtomicInteger(0);
+        private volatile long windowStart = System.currentTimeMillis();
+
+        synchronized boolean tryAcquire() {
+            long now = System.currentTimeMillis();
+            if (now - windowStart >= 60_000) {
+                windowStart = now;
+                count.set(0);
+            }
+            if (count.get() >= LIMIT) {
+                return false;
+            }
+            count.incrementAndGet();
+            return true;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RateLimiterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,106 @@
+package com.cirquetask.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncConfigTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<ThreadPoolTaskExecutor> executors = new ArrayList<>();
+    private MeterRegistry meterRegistry;
+    private AsyncConfig asyncConfig;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment();
+        for (String workload : List.of("mail", "security-mail", "activity")) {
+            environment.setProperty("app.async." + workload + ".core-size", "1");
+            environment.setProperty("app.async." + workload + ".queue-capacity", "1");
+        }
+        environment.setProperty("app.async.await-termination-seconds", "0");
+        meterRegistry = new SimpleMeterRegistry();
+        asyncConfig = new AsyncConfig(environment, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executors.forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+
+    @Test
+    void saturatedMailExecutorDropsNotificationMail() {
+        ThreadPoolTaskExecutor mail = saturate(asyncConfig.mailExecutor());
+
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        mail.execute(() -> ranOn.set(Thread.currentThread()));
+
+        assertThat(ranOn.get()).isNull();
+        assertThat(rejected(AsyncConfig.MAIL_EXECUTOR)).isEqualTo(1.0);
+    }
+
+    @Test
+    void saturatedSecurityMailExecutorSendsOnTheCallingThread() {
+        ThreadPoolTaskExecutor securityMail = saturate(asyncConfig.securityMailExecutor());
+
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        securityMail.execute(() -> ranOn.set(Thread.currentThread()));
+
+        assertThat(ranOn.get()).isSameAs(Thread.currentThread());
+        assertThat(rejected(AsyncConfig.SECURITY_MAIL_EXECUTOR)).isEqualTo(1.0);
+    }
+
+    @Test
+    void saturatedActivityExecutorAppliesBackpressure() {
+        ThreadPoolTaskExecutor activity = saturate(asyncConfig.activityExecutor());
+
+        AtomicReference<Thread> ranOn = new AtomicReference<>();
+        activity.execute(() -> ranOn.set(Thread.currentThread()));
+
+        assertThat(ranOn.get()).isSameAs(Thread.currentThread());
+        assertThat(rejected(AsyncConfig.ACTIVITY_EXECUTOR)).isEqualTo(1.0);
+    }
+
+    /** Occupies the single worker and fills the one-slot queue. */
+    private ThreadPoolTaskExecutor saturate(ThreadPoolTaskExecutor executor) {
+        executor.initialize();
+        executors.add(executor);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        try {
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        executor.execute(this::awaitRelease);
+        return executor;
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private double rejected(String name) {
+        return meterRegistry.find("executor.rejected").tag("name", name).counter().count();
+    }
+}
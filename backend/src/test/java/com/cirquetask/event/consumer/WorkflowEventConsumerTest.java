@@ -0,0 +1,37 @@
+package com.cirquetask.event.consumer;
+
+import com.cirquetask.event.DomainEvent;
+import com.cirquetask.model.enums.DomainEventType;
+import com.cirquetask.model.enums.WorkflowTrigger;
+import com.cirquetask.service.WorkflowService;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+class WorkflowEventConsumerTest {
+
+    private final WorkflowService workflowService = mock(WorkflowService.class);
+    private final WorkflowEventConsumer consumer = new WorkflowEventConsumer(workflowService);
+
+    @Test
+    void runsStatusRulesForAStatusChange() {
+        consumer.onEvent(event(Map.of("status", "DONE", "previousStatus", "OPEN")));
+
+        verify(workflowService).executeWorkflows(5L, WorkflowTrigger.TASK_STATUS_CHANGED, "DONE");
+    }
+
+    @Test
+    void skipsChangesMadeByWorkflowRules() {
+        consumer.onEvent(event(Map.of("status", "DONE", "previousStatus", "OPEN",
+                WorkflowService.WORKFLOW_MARKER, true)));
+
+        verifyNoInteractions(workflowService);
+    }
+
+    private static DomainEvent event(Map<String, Object> payload) {
+        return new DomainEvent(1L, 1L, DomainEventType.TASK_UPDATED, 5L, null, payload, LocalDateTime.now());
+    }
+}
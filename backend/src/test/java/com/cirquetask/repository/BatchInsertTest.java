@@ -0,0 +1,104 @@
+package com.cirquetask.repository;
+
+import com.cirquetask.model.entity.Notification;
+import com.cirquetask.model.entity.User;
+import com.cirquetask.model.entity.WebhookDelivery;
+import com.cirquetask.model.enums.NotificationType;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs {@code saveAll} through Hibernate with the JPA properties from application.yml against a recording JDBC
+ * connection (there is no database in unit tests), and counts the statements it issues.
+ */
+class BatchInsertTest {
+
+    private RecordingJdbc jdbc;
+    private SessionFactory sessionFactory;
+
+    @AfterEach
+    void tearDown() {
+        if (jdbc != null) {
+            jdbc.close();
+        }
+    }
+
+    @Test
+    void saveAllSendsNotificationsInBatchesOfFifty() {
+        sessionFactory = sessionFactory(Map.of());
+
+        inTransaction(session -> {
+            User recipient = session.getReference(User.class, 7L);
+            List<Notification> notifications = new ArrayList<>();
+            for (int i = 0; i < 120; i++) {
+                notifications.add(Notification.builder().title("Task " + i).message("Assigned")
+                        .type(NotificationType.TASK_ASSIGNED).recipient(recipient).build());
+            }
+            new SimpleJpaRepository<>(Notification.class, session).saveAll(notifications);
+        });
+
+        Statistics statistics = sessionFactory.getStatistics();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(120);
+        assertThat(jdbc.batches).containsExactly(50, 50, 20);
+        // 1..51 from the first two calls, then 50 ids per call
+        assertThat(jdbc.statements).filteredOn(sql -> sql.contains("nextval")).hasSize(4);
+        // One insert statement, reused for every batch
+        assertThat(jdbc.statements).filteredOn(sql -> sql.strip().startsWith("insert")).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(5);
+    }
+
+    @Test
+    void interleavedEntitiesAreGroupedByTable() {
+        sessionFactory = sessionFactory(Map.of());
+
+        inTransaction(session -> saveInterleaved(session, 100));
+
+        assertThat(sessionFactory.getStatistics().getEntityInsertCount()).isEqualTo(200);
+        assertThat(jdbc.batches).containsExactlyInAnyOrder(50, 50, 50, 50);
+    }
+
+    @Test
+    void withoutOrderInsertsEveryTableSwitchEndsTheBatch() {
+        sessionFactory = sessionFactory(Map.of("hibernate.order_inserts", "false"));
+
+        inTransaction(session -> saveInterleaved(session, 100));
+
+        assertThat(jdbc.batches).hasSize(200).containsOnly(1);
+    }
+
+    private void saveInterleaved(Session session, int count) {
+        User recipient = session.getReference(User.class, 7L);
+        List<Object> entities = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            entities.add(Notification.builder().title("Task " + i).message("Updated")
+                    .type(NotificationType.TASK_UPDATED).recipient(recipient).build());
+            entities.add(WebhookDelivery.builder().webhookId(3L).event("task.updated").payload("{}").build());
+        }
+        entities.forEach(session::persist);
+    }
+
+    private SessionFactory sessionFactory(Map<String, String> overrides) {
+        assertThat(RecordingJdbc.jpaProperties()).containsEntry("hibernate.jdbc.batch_size", "50");
+        jdbc = new RecordingJdbc(overrides);
+        return jdbc.sessionFactory();
+    }
+
+    private void inTransaction(Consumer<Session> work) {
+        try (Session session = sessionFactory.openSession()) {
+            session.getTransaction().begin();
+            work.accept(session);
+            session.getTransaction().commit();
+        }
+    }
+}
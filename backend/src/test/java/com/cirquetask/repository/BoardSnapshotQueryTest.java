@@ -0,0 +1,84 @@
+package com.cirquetask.repository;
+
+import com.cirquetask.model.dto.BoardCardDto;
+import com.cirquetask.model.dto.BoardSnapshotDto;
+import com.cirquetask.model.dto.ColumnSnapshotDto;
+import com.cirquetask.model.enums.TaskPriority;
+import com.cirquetask.model.enums.TaskStatus;
+import com.cirquetask.model.enums.TaskType;
+import com.cirquetask.model.mapper.BoardMapperImpl;
+import com.cirquetask.service.ProjectAccessService;
+import com.cirquetask.service.impl.BoardServiceImpl;
+import org.hibernate.Session;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Opens a board through {@link BoardServiceImpl#getBoardSnapshot} with the real repositories and Hibernate,
+ * answering each query with a board of the given size, and counts the SQL statements. Membership checks are
+ * served from {@link ProjectAccessService}'s cache and are not part of the count.
+ */
+class BoardSnapshotQueryTest {
+
+    private static final long BOARD_ID = 10L;
+
+    @ParameterizedTest
+    @ValueSource(ints = {3, 500})
+    void opensABoardWithFiveQueriesWhateverItsSize(int cardCount) {
+        try (RecordingJdbc jdbc = new RecordingJdbc(Map.of()); Session session = jdbc.sessionFactory().openSession()) {
+            respondWithBoard(jdbc, cardCount);
+            JpaRepositoryFactory repositories = new JpaRepositoryFactory(session);
+            ProjectAccessService projectAccess = mock(ProjectAccessService.class);
+            BoardServiceImpl boardService = new BoardServiceImpl(repositories.getRepository(BoardRepository.class),
+                    repositories.getRepository(BoardColumnRepository.class), mock(ProjectRepository.class),
+                    projectAccess, repositories.getRepository(TaskRepository.class), new BoardMapperImpl());
+
+            BoardSnapshotDto snapshot = boardService.getBoardSnapshot(BOARD_ID, 5L);
+
+            assertThat(jdbc.queries()).hasSize(5);
+            assertThat(jdbc.statements).hasSize(5);
+            assertThat(jdbc.sessionFactory().getStatistics().getPrepareStatementCount()).isEqualTo(5);
+            verify(projectAccess).requireMember(1L, 5L);
+
+            assertThat(snapshot.getName()).isEqualTo("Main");
+            assertThat(snapshot.getColumns()).extracting(ColumnSnapshotDto::getName).containsExactly("To Do", "Done");
+            List<BoardCardDto> cards = snapshot.getColumns().stream().flatMap(c -> c.getTasks().stream()).toList();
+            assertThat(cards).hasSize(cardCount).allSatisfy(card -> {
+                assertThat(card.getAssignees()).extracting("firstName").containsExactly("Ada");
+                assertThat(card.getLabels()).extracting("name").containsExactly("bug");
+            });
+            assertThat(snapshot.getColumns().get(0).getTasks().get(0).getCommentCount()).isEqualTo(2);
+        }
+    }
+
+    private static void respondWithBoard(RecordingJdbc jdbc, int cardCount) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbc.respond("from boards", List.<Object[]>of(
+                new Object[]{BOARD_ID, now, null, true, "Main", 0, 1L, now}));
+        jdbc.respond("from board_columns", List.of(
+                new Object[]{100L, BOARD_ID, "#94a3b8", now, false, "To Do", 1024L, cardCount / 2, 0},
+                new Object[]{101L, BOARD_ID, "#22c55e", now, true, "Done", 2048L, cardCount - cardCount / 2, 0}));
+        List<Object[]> cards = new ArrayList<>();
+        List<Object[]> assignees = new ArrayList<>();
+        List<Object[]> labels = new ArrayList<>();
+        for (long id = 1; id <= cardCount; id++) {
+            cards.add(new Object[]{id, "P-" + id, "Task " + id, TaskType.TASK, TaskPriority.MEDIUM, TaskStatus.OPEN,
+                    3, id % 2 == 0 ? 101L : 100L, id * 1024, LocalDate.now(), 2, 0});
+            assignees.add(new Object[]{id, 7L, "Ada", "Lovelace", null});
+            labels.add(new Object[]{id, 3L, "bug", "#ff0000"});
+        }
+        jdbc.respond("t1_0.comment_count", cards);
+        jdbc.respond("task_assignments", assignees);
+        jdbc.respond("task_labels", labels);
+    }
+}
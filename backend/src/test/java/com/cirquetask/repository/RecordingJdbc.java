@@ -0,0 +1,209 @@
+package com.cirquetask.repository;
+
+import jakarta.persistence.Entity;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Hibernate with the JPA properties from application.yml and every mapped entity, over a JDBC connection that
+ * records each statement instead of reaching a database. Sequences start at 1 and step by 50 like the V15 ones;
+ * a query answers with the rows registered for a fragment of its SQL (read by column position), or none.
+ */
+final class RecordingJdbc implements AutoCloseable {
+
+    private static final String JPA_PROPERTIES = "spring.jpa.properties.";
+
+    final List<String> statements = new ArrayList<>();
+    final List<Integer> batches = new ArrayList<>();
+    private final Map<String, Long> sequences = new HashMap<>();
+    private final Map<String, List<Object[]>> responses = new LinkedHashMap<>();
+    private final SessionFactory sessionFactory;
+
+    RecordingJdbc(Map<String, String> overrides) {
+        Map<String, Object> settings = new HashMap<>(jpaProperties());
+        settings.putAll(overrides);
+        settings.put("hibernate.connection.provider_class", new RecordingConnectionProvider(connection()));
+        settings.put("hibernate.temp.use_jdbc_metadata_defaults", "false");
+        settings.put("hibernate.hbm2ddl.auto", "none");
+        settings.put("hibernate.generate_statistics", "true");
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder().applySettings(settings).build();
+        MetadataSources sources = new MetadataSources(registry);
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+        scanner.findCandidateComponents("com.cirquetask.model.entity")
+                .forEach(candidate -> sources.addAnnotatedClassName(candidate.getBeanClassName()));
+        sessionFactory = sources.buildMetadata().buildSessionFactory();
+    }
+
+    SessionFactory sessionFactory() {
+        return sessionFactory;
+    }
+
+    /**
+     * Answers queries whose SQL contains the fragment with these rows, in select-list order.
+     */
+    void respond(String sqlFragment, List<Object[]> rows) {
+        responses.put(sqlFragment, rows);
+    }
+
+    List<String> queries() {
+        return statements.stream().filter(sql -> sql.strip().startsWith("select")).toList();
+    }
+
+    @Override
+    public void close() {
+        sessionFactory.close();
+    }
+
+    static Map<String, String> jpaProperties() {
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yml"));
+        Properties properties = yaml.getObject();
+        Map<String, String> jpa = new HashMap<>();
+        properties.forEach((key, value) -> {
+            if (key.toString().startsWith(JPA_PROPERTIES)) {
+                jpa.put(key.toString().substring(JPA_PROPERTIES.length()), value.toString());
+            }
+        });
+        return jpa;
+    }
+
+    private Connection connection() {
+        Connection connection = mock(Connection.class);
+        try {
+            when(connection.prepareStatement(anyString())).thenAnswer(inv -> statement(inv.getArgument(0)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return connection;
+    }
+
+    private PreparedStatement statement(String sql) throws Exception {
+        statements.add(sql);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        int[] pending = new int[1];
+        doAnswer(inv -> pending[0]++).when(statement).addBatch();
+        when(statement.executeBatch()).thenAnswer(inv -> {
+            batches.add(pending[0]);
+            int[] counts = new int[pending[0]];
+            Arrays.fill(counts, 1);
+            pending[0] = 0;
+            return counts;
+        });
+        when(statement.executeUpdate()).thenReturn(1);
+        List<Object[]> rows = List.of();
+        if (sql.contains("nextval")) {
+            String sequence = sql.substring(sql.indexOf('\'') + 1, sql.lastIndexOf('\''));
+            rows = List.<Object[]>of(new Object[]{sequences.merge(sequence, 1L, (current, one) -> current + 50)});
+        } else {
+            for (Map.Entry<String, List<Object[]>> response : responses.entrySet()) {
+                if (sql.contains(response.getKey())) {
+                    rows = response.getValue();
+                    break;
+                }
+            }
+        }
+        ResultSet resultSet = resultSet(rows);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        return statement;
+    }
+
+    private static ResultSet resultSet(List<Object[]> rows) {
+        int[] cursor = {-1};
+        Object[] last = new Object[1];
+        return mock(ResultSet.class, inv -> {
+            String method = inv.getMethod().getName();
+            if (method.equals("next")) {
+                return ++cursor[0] < rows.size();
+            }
+            if (method.equals("wasNull")) {
+                return last[0] == null;
+            }
+            if (method.startsWith("get") && inv.getArguments().length > 0 && inv.getArgument(0) instanceof Integer column) {
+                last[0] = rows.get(cursor[0])[column - 1];
+                return convert(last[0], inv.getMethod().getReturnType(), inv.getArguments());
+            }
+            return RETURNS_DEFAULTS.answer(inv);
+        });
+    }
+
+    private static Object convert(Object value, Class<?> type, Object[] arguments) {
+        if (arguments.length > 1 && arguments[1] instanceof Class<?> requested) {
+            type = requested;
+        }
+        if (type == long.class) {
+            return value != null ? ((Number) value).longValue() : 0L;
+        }
+        if (type == int.class) {
+            return value != null ? ((Number) value).intValue() : 0;
+        }
+        if (type == boolean.class) {
+            return value != null && (Boolean) value;
+        }
+        if (value == null) {
+            return null;
+        }
+        if (type == String.class) {
+            return value instanceof Enum<?> constant ? constant.name() : value.toString();
+        }
+        if (type == Timestamp.class && value instanceof LocalDateTime time) {
+            return Timestamp.valueOf(time);
+        }
+        if (type == Date.class && value instanceof LocalDate date) {
+            return Date.valueOf(date);
+        }
+        return value;
+    }
+
+    private record RecordingConnectionProvider(Connection connection) implements ConnectionProvider {
+
+        @Override
+        public Connection getConnection() {
+            return connection;
+        }
+
+        @Override
+        public void closeConnection(Connection conn) {
+        }
+
+        @Override
+        public boolean supportsAggressiveRelease() {
+            return false;
+        }
+
+        @Override
+        public boolean isUnwrappableAs(Class<?> unwrapType) {
+            return false;
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> unwrapType) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
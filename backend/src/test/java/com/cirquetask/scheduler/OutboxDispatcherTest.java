@@ -0,0 +1,221 @@
+package com.cirquetask.scheduler;
+
+import com.cirquetask.event.DomainEvent;
+import com.cirquetask.event.DomainEventConsumer;
+import com.cirquetask.model.entity.OutboxEvent;
+import com.cirquetask.model.enums.DomainEventType;
+import com.cirquetask.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxDispatcherTest {
+
+    private OutboxEventRepository repository;
+    private final List<OutboxEvent> table = new ArrayList<>();
+    private List<Long> delivered;
+    private List<Long> failing;
+    private PlatformTransactionManager transactionManager;
+    private final List<String> calls = new ArrayList<>();
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(OutboxEventRepository.class);
+        when(repository.tryLockDispatcher(anyLong())).thenReturn(true);
+        // Mirrors the findPending query against an in-memory table
+        when(repository.findPending(any(LocalDateTime.class), anyInt())).thenAnswer(inv -> {
+            LocalDateTime now = inv.getArgument(0);
+            int limit = inv.getArgument(1);
+            return table.stream()
+                    .filter(e -> e.getProcessedAt() == null)
+                    .filter(e -> table.stream().noneMatch(b -> b.getProjectId().equals(e.getProjectId())
+                            && b.getProcessedAt() == null
+                            && (isAfter(b.getNextAttemptAt(), now) || isAfter(b.getClaimedUntil(), now))))
+                    .limit(limit)
+                    .toList();
+        });
+        delivered = new ArrayList<>();
+        failing = new ArrayList<>();
+        DomainEventConsumer consumer = event -> {
+            if (failing.contains(event.id())) {
+                throw new IllegalStateException("boom");
+            }
+            synchronized (delivered) {
+                delivered.add(event.id());
+                calls.add("deliver " + event.id());
+            }
+        };
+        transactionManager = mock(PlatformTransactionManager.class);
+        doAnswer(inv -> calls.add("commit")).when(transactionManager).commit(any());
+        dispatcher = dispatcher(List.of(consumer));
+    }
+
+    @Test
+    void deliversEachProjectInOrderAndMarksProcessed() {
+        List<OutboxEvent> events = List.of(event(1L, 10L), event(2L, 20L), event(3L, 10L), event(4L, 20L));
+
+        assertThat(dispatcher.dispatchRound()).isEqualTo(4);
+
+        assertThat(delivered).containsSubsequence(1L, 3L).containsSubsequence(2L, 4L).hasSize(4);
+        assertThat(events).allSatisfy(e -> assertThat(e.getProcessedAt()).isNotNull());
+    }
+
+    @Test
+    void failureHoldsBackLaterEventsOfTheSameProjectOnly() {
+        OutboxEvent first = event(1L, 10L);
+        OutboxEvent second = event(2L, 10L);
+        OutboxEvent other = event(3L, 20L);
+        failing.add(1L);
+
+        dispatcher.dispatchRound();
+
+        assertThat(delivered).containsExactly(3L);
+        assertThat(first.getProcessedAt()).isNull();
+        assertThat(first.getAttempts()).isEqualTo(1);
+        assertThat(first.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(first.getLastError()).isEqualTo("boom");
+        assertThat(second.getProcessedAt()).isNull();
+        assertThat(second.getAttempts()).isZero();
+    }
+
+    @Test
+    void projectWaitsWhileItsHeadEventIsBackingOff() {
+        OutboxEvent head = event(1L, 10L);
+        head.setNextAttemptAt(LocalDateTime.now().plusMinutes(1));
+        event(2L, 10L);
+
+        assertThat(dispatcher.dispatchRound()).isZero();
+        assertThat(delivered).isEmpty();
+    }
+
+    @Test
+    void givesUpAfterMaxAttempts() {
+        OutboxEvent event = event(1L, 10L);
+        event.setAttempts(2);
+        failing.add(1L);
+
+        dispatcher.dispatchRound();
+
+        assertThat(event.getAttempts()).isEqualTo(3);
+        assertThat(event.getProcessedAt()).isNotNull();
+    }
+
+    @Test
+    void skipsRoundWhenAnotherInstanceHoldsTheLock() {
+        when(repository.tryLockDispatcher(anyLong())).thenReturn(false);
+
+        assertThat(dispatcher.dispatchRound()).isZero();
+        verify(repository, never()).findPending(any(), anyInt());
+    }
+
+    @Test
+    void backlogBehindABackingOffEventDoesNotStarveOtherProjects() {
+        OutboxEvent head = event(1L, 10L);
+        head.setNextAttemptAt(LocalDateTime.now().plusMinutes(1));
+        for (long id = 2; id <= 150; id++) {
+            event(id, 10L);
+        }
+        event(151L, 20L);
+        event(152L, 20L);
+
+        assertThat(dispatcher.dispatchRound()).isEqualTo(2);
+
+        assertThat(delivered).containsExactly(151L, 152L);
+        assertThat(table).filteredOn(e -> e.getProjectId().equals(10L))
+                .allSatisfy(e -> assertThat(e.getProcessedAt()).isNull());
+    }
+
+    @Test
+    void claimIsCommittedBeforeDeliveryAndReleasedAfterwards() {
+        OutboxEvent event = event(1L, 10L);
+        List<LocalDateTime> claimedDuringDelivery = new ArrayList<>();
+        dispatcher = dispatcher(List.of(e -> {
+            calls.add("deliver " + e.id());
+            claimedDuringDelivery.add(event.getClaimedUntil());
+        }));
+
+        dispatcher.dispatchRound();
+
+        assertThat(calls).containsExactly("commit", "deliver 1");
+        assertThat(claimedDuringDelivery.get(0)).isAfter(LocalDateTime.now());
+        assertThat(event.getClaimedUntil()).isNull();
+        assertThat(event.getProcessedAt()).isNotNull();
+        verify(repository).save(event);
+    }
+
+    @Test
+    void projectWithClaimedEventsIsLeftToTheClaimingRound() {
+        event(1L, 10L).setClaimedUntil(LocalDateTime.now().plusMinutes(5));
+        event(2L, 10L);
+
+        assertThat(dispatcher.dispatchRound()).isZero();
+        assertThat(delivered).isEmpty();
+    }
+
+    @Test
+    void retryOnlyRunsTheConsumerThatFailedAndThoseAfterIt() {
+        OutboxEvent event = event(1L, 10L);
+        OutboxEvent next = event(2L, 10L);
+        List<String> runs = new ArrayList<>();
+        List<Boolean> webhookDown = new ArrayList<>(List.of(true));
+        DomainEventConsumer workflows = e -> runs.add("workflows " + e.id());
+        DomainEventConsumer webhooks = e -> {
+            if (webhookDown.get(0)) {
+                throw new IllegalStateException("endpoint down");
+            }
+            runs.add("webhooks " + e.id());
+        };
+        DomainEventConsumer notifications = e -> runs.add("notifications " + e.id());
+        dispatcher = dispatcher(List.of(workflows, webhooks, notifications));
+
+        dispatcher.dispatchRound();
+
+        assertThat(runs).containsExactly("workflows 1");
+        assertThat(event.getDeliveredTo()).isEqualTo(1);
+        assertThat(event.getProcessedAt()).isNull();
+        assertThat(next.getClaimedUntil()).isNull();
+
+        webhookDown.set(0, false);
+        event.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        runs.clear();
+        dispatcher.dispatchRound();
+
+        assertThat(runs).containsExactly("webhooks 1", "notifications 1",
+                "workflows 2", "webhooks 2", "notifications 2");
+        assertThat(event.getDeliveredTo()).isEqualTo(3);
+        assertThat(event.getProcessedAt()).isNotNull();
+    }
+
+    private OutboxDispatcher dispatcher(List<DomainEventConsumer> consumers) {
+        return new OutboxDispatcher(repository, consumers, new ObjectMapper(), Runnable::run, Runnable::run,
+                transactionManager, new SimpleMeterRegistry(), 100, 3, 7, 300);
+    }
+
+    private static boolean isAfter(LocalDateTime time, LocalDateTime now) {
+        return time != null && time.isAfter(now);
+    }
+
+    private OutboxEvent event(Long id, Long projectId) {
+        OutboxEvent event = OutboxEvent.builder()
+                .id(id)
+                .projectId(projectId)
+                .eventType(DomainEventType.TASK_UPDATED)
+                .aggregateId(id)
+                .payload("{\"id\":" + id + "}")
+                .createdAt(LocalDateTime.now())
+                .build();
+        table.add(event);
+        return event;
+    }
+}
@@ -0,0 +1,124 @@
+package com.cirquetask.scheduler;
+
+import com.cirquetask.model.entity.Webhook;
+import com.cirquetask.model.entity.WebhookDelivery;
+import com.cirquetask.model.enums.WebhookDeliveryStatus;
+import com.cirquetask.repository.WebhookDeliveryRepository;
+import com.cirquetask.repository.WebhookRepository;
+import com.cirquetask.webhook.WebhookSender;
+import com.cirquetask.webhook.WebhookSender.Outcome;
+import com.cirquetask.webhook.WebhookSender.Request;
+import com.cirquetask.webhook.WebhookSender.Result;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WebhookDispatcherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private WebhookDeliveryRepository deliveryRepository;
+    private WebhookRepository webhookRepository;
+    private WebhookSender sender;
+    private WebhookDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        deliveryRepository = mock(WebhookDeliveryRepository.class);
+        webhookRepository = mock(WebhookRepository.class);
+        sender = mock(WebhookSender.class);
+        when(sender.send(any())).thenReturn(CompletableFuture.completedFuture(
+                new Result(Outcome.DELIVERED, 200, null, null)));
+        dispatcher = new WebhookDispatcher(deliveryRepository, webhookRepository, sender, objectMapper,
+                mock(PlatformTransactionManager.class), 100, 200, 3, 10_000, 30);
+    }
+
+    @Test
+    void batchesDeliveriesForWebhooksThatOptIn() throws Exception {
+        Webhook batched = Webhook.builder().id(1L).url("http://a").isActive(true).batchSize(2).build();
+        Webhook single = Webhook.builder().id(2L).url("http://b").isActive(true).build();
+        List<WebhookDelivery> due = List.of(delivery(10L, 1L), delivery(11L, 1L), delivery(12L, 1L),
+                delivery(20L, 2L), delivery(21L, 2L));
+        when(deliveryRepository.lockDue(any(), eq(100))).thenReturn(due);
+        when(webhookRepository.findAllById(any())).thenReturn(List.of(batched, single));
+        when(deliveryRepository.findAllById(any())).thenReturn(List.of());
+
+        assertThat(dispatcher.dispatchDue()).isEqualTo(4);
+
+        ArgumentCaptor<Request> requests = ArgumentCaptor.forClass(Request.class);
+        verify(sender, times(4)).send(requests.capture());
+        assertThat(requests.getAllValues()).extracting(Request::deliveryIds)
+                .containsExactly(List.of(10L, 11L), List.of(12L), List.of(20L), List.of(21L));
+        Request batch = requests.getAllValues().get(0);
+        assertThat(batch.event()).isEqualTo("batch");
+        JsonNode events = objectMapper.readTree(batch.payload());
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).get("deliveryId").asLong()).isEqualTo(10L);
+        assertThat(events.get(0).get("payload").get("id").asLong()).isEqualTo(10L);
+        assertThat(requests.getAllValues().get(2).payload()).isEqualTo("{\"id\":20}");
+    }
+
+    @Test
+    void claimClosesTheCoalescingWindow() {
+        Webhook webhook = Webhook.builder().id(1L).url("http://a").isActive(true).build();
+        WebhookDelivery delivery = delivery(10L, 1L);
+        delivery.setEntityKey("task:10");
+        delivery.setCoalesceUntil(LocalDateTime.now().plusSeconds(1));
+        when(deliveryRepository.lockDue(any(), eq(100))).thenReturn(List.of(delivery));
+        when(webhookRepository.findAllById(any())).thenReturn(List.of(webhook));
+        when(deliveryRepository.findAllById(any())).thenReturn(List.of());
+
+        dispatcher.dispatchDue();
+
+        assertThat(delivery.getCoalesceUntil()).isNull();
+    }
+
+    @Test
+    void failedAttemptBacksOffThenGivesUp() {
+        WebhookDelivery delivery = delivery(10L, 1L);
+        LocalDateTime now = LocalDateTime.now();
+        Result failure = new Result(Outcome.FAILED, 503, "HTTP 503", null);
+
+        dispatcher.apply(delivery, failure, now);
+        assertThat(delivery.getStatus()).isEqualTo(WebhookDeliveryStatus.PENDING);
+        assertThat(delivery.getNextAttemptAt()).isAfter(now);
+
+        dispatcher.apply(delivery, failure, now);
+        dispatcher.apply(delivery, failure, now);
+        assertThat(delivery.getStatus()).isEqualTo(WebhookDeliveryStatus.FAILED);
+        assertThat(delivery.getAttempts()).isEqualTo(3);
+        assertThat(delivery.getResponseStatus()).isEqualTo(503);
+    }
+
+    @Test
+    void throttledDeliveryKeepsItsAttempts() {
+        WebhookDelivery delivery = delivery(10L, 1L);
+        LocalDateTime now = LocalDateTime.now();
+
+        dispatcher.apply(delivery, new Result(Outcome.CIRCUIT_OPEN, null, null, Duration.ofSeconds(30)), now);
+
+        assertThat(delivery.getAttempts()).isZero();
+        assertThat(delivery.getNextAttemptAt()).isEqualTo(now.plusSeconds(30));
+    }
+
+    private static WebhookDelivery delivery(Long id, Long webhookId) {
+        return WebhookDelivery.builder()
+                .id(id)
+                .webhookId(webhookId)
+                .event("task.updated")
+                .payload("{\"id\":" + id + "}")
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.cirquetask.security;
+
+import com.cirquetask.model.enums.ApiTokenScope;
+import com.cirquetask.model.enums.Plan;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ApiTokenAuthenticationFilterTest {
+
+    private static final String TOKEN = "ctk_abcdefgh_secret";
+
+    private ApiTokenVerifier apiTokenVerifier;
+    private ApiTokenUsageRecorder usageRecorder;
+    private UserStateCache userStateCache;
+    private ApiTokenAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        apiTokenVerifier = mock(ApiTokenVerifier.class);
+        usageRecorder = mock(ApiTokenUsageRecorder.class);
+        userStateCache = mock(UserStateCache.class);
+        filter = new ApiTokenAuthenticationFilter(apiTokenVerifier, usageRecorder, userStateCache);
+        when(userStateCache.get(7L)).thenReturn(Optional.of(new UserState(7L, "ci@cirquetask.com", true, Plan.PRO, 0, false)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokenWithMatchingScope_authenticatesAsItsOwner() throws Exception {
+        verified(ApiTokenScope.READ);
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = send("GET", "/api/projects", chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityUtils.getCurrentUser().getId()).isEqualTo(7L);
+        verify(usageRecorder).record(11L);
+    }
+
+    @Test
+    void readOnlyTokenCannotWrite() throws Exception {
+        verified(ApiTokenScope.READ);
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = send("POST", "/api/projects", chain);
+
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(response.getContentAsString()).contains("WRITE");
+        assertThat(chain.getRequest()).isNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verifyNoInteractions(usageRecorder);
+    }
+
+    @Test
+    void tokenCannotManageTokensEvenWithEveryScope() throws Exception {
+        verified(ApiTokenScope.READ, ApiTokenScope.WRITE);
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = send("GET", "/api/tokens", chain);
+
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void tokenOfDeactivatedOwnerIsNotAuthenticated() throws Exception {
+        verified(ApiTokenScope.READ);
+        when(userStateCache.get(7L)).thenReturn(Optional.of(new UserState(7L, "ci@cirquetask.com", false, Plan.PRO, 0, false)));
+
+        send("GET", "/api/projects", new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        verify(usageRecorder, never()).record(anyLong());
+    }
+
+    @Test
+    void unknownTokenIsNotAuthenticated() throws Exception {
+        when(apiTokenVerifier.verify(TOKEN)).thenReturn(Optional.empty());
+
+        MockFilterChain chain = new MockFilterChain();
+        send("GET", "/api/projects", chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private void verified(ApiTokenScope... scopes) {
+        when(apiTokenVerifier.verify(TOKEN)).thenReturn(Optional.of(
+                new VerifiedApiToken(11L, 7L, ApiTokenScope.toBits(List.of(scopes)), null)));
+    }
+
+    private MockHttpServletResponse send(String method, String uri, MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
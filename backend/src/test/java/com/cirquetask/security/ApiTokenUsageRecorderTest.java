@@ -0,0 +1,42 @@
+package com.cirquetask.security;
+
+import com.cirquetask.repository.ApiTokenRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collection;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ApiTokenUsageRecorderTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void coalescesRequestsIntoBatchedUpdates() {
+        ApiTokenRepository apiTokenRepository = mock(ApiTokenRepository.class);
+        ApiTokenUsageRecorder recorder = new ApiTokenUsageRecorder(apiTokenRepository);
+        for (int i = 0; i < 1_000; i++) {
+            recorder.record(1L + i % 3);
+        }
+
+        recorder.flush();
+        recorder.flush();
+
+        // One UPDATE per distinct minute (two if the loop straddled a minute boundary), none for the empty flush
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(apiTokenRepository, atMost(2)).updateLastUsedAt(ids.capture(), any());
+        assertThat(ids.getAllValues().stream().flatMap(Collection::stream).distinct())
+                .containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void flushWithoutUsageWritesNothing() {
+        ApiTokenRepository apiTokenRepository = mock(ApiTokenRepository.class);
+
+        new ApiTokenUsageRecorder(apiTokenRepository).flush();
+
+        verifyNoInteractions(apiTokenRepository);
+    }
+}
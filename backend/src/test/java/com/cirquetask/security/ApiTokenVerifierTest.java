@@ -0,0 +1,115 @@
+package com.cirquetask.security;
+
+import com.cirquetask.event.ApiTokenRevokedEvent;
+import com.cirquetask.model.entity.ApiToken;
+import com.cirquetask.model.entity.User;
+import com.cirquetask.model.enums.ApiTokenScope;
+import com.cirquetask.repository.ApiTokenRepository;
+import com.cirquetask.util.ApiTokenCodec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class ApiTokenVerifierTest {
+
+    private ApiTokenRepository apiTokenRepository;
+    private ApiTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        apiTokenRepository = mock(ApiTokenRepository.class);
+        verifier = new ApiTokenVerifier(apiTokenRepository, new SimpleMeterRegistry(), 100, 300);
+    }
+
+    @Test
+    void verify_resolvesOwnerAndScopesOfTheToken() {
+        ApiTokenCodec.GeneratedToken generated = ApiTokenCodec.generate();
+        when(apiTokenRepository.findByTokenPrefixAndIsActiveTrue(generated.prefix()))
+                .thenReturn(List.of(token(generated, "READ,WRITE", null)));
+
+        VerifiedApiToken verified = verifier.verify(generated.token()).orElseThrow();
+
+        assertThat(verified.tokenId()).isEqualTo(11L);
+        assertThat(verified.userId()).isEqualTo(7L);
+        assertThat(verified.allows(ApiTokenScope.READ)).isTrue();
+        assertThat(verified.allows(ApiTokenScope.WRITE)).isTrue();
+    }
+
+    @Test
+    void verify_rejectsForgedSecretEvenWhileTheRealTokenIsCached() {
+        ApiTokenCodec.GeneratedToken generated = ApiTokenCodec.generate();
+        when(apiTokenRepository.findByTokenPrefixAndIsActiveTrue(generated.prefix()))
+                .thenReturn(List.of(token(generated, "READ", null)));
+        String forged = generated.token().substring(0, generated.token().length() - 1)
+                + (generated.token().endsWith("A") ? "B" : "A");
+
+        assertThat(verifier.verify(generated.token())).isPresent();
+
+        assertThat(verifier.verify(forged)).isEmpty();
+        assertThat(verifier.verify(generated.token()).orElseThrow().allows(ApiTokenScope.WRITE)).isFalse();
+    }
+
+    @Test
+    void verify_rejectsWrongSecretMalformedAndExpiredTokens() {
+        ApiTokenCodec.GeneratedToken generated = ApiTokenCodec.generate();
+        ApiTokenCodec.GeneratedToken expired = ApiTokenCodec.generate();
+        when(apiTokenRepository.findByTokenPrefixAndIsActiveTrue(generated.prefix()))
+                .thenReturn(List.of(token(generated, "READ", null)));
+        when(apiTokenRepository.findByTokenPrefixAndIsActiveTrue(expired.prefix()))
+                .thenReturn(List.of(token(expired, "READ", LocalDateTime.now().minusMinutes(1))));
+        String forged = generated.token().substring(0, generated.token().length() - 1)
+                + (generated.token().endsWith("A") ? "B" : "A");
+
+        assertThat(verifier.verify(forged)).isEmpty();
+        assertThat(verifier.verify("ctk_short")).isEmpty();
+        assertThat(verifier.verify(expired.token())).isEmpty();
+        assertThat(verifier.verify(generated.token()).orElseThrow().allows(ApiTokenScope.WRITE)).isFalse();
+    }
+
+    @Test
+    void verify_picksTheMatchingTokenAmongThoseSharingAPrefix() {
+        ApiTokenCodec.GeneratedToken first = ApiTokenCodec.generate();
+        String second = first.token().substring(0, first.token().lastIndexOf('_') + 1)
+                + ApiTokenCodec.generate().token().substring(first.token().lastIndexOf('_') + 1);
+        ApiToken other = ApiToken.builder().id(12L).tokenHash(ApiTokenCodec.hash(second)).tokenPrefix(first.prefix())
+                .user(User.builder().id(8L).build()).scopes("READ,WRITE").build();
+        when(apiTokenRepository.findByTokenPrefixAndIsActiveTrue(first.prefix()))
+                .thenReturn(List.of(token(first, "READ", null), other));
+
+        assertThat(verifier.verify(first.token()).orElseThrow().userId()).isEqualTo(7L);
+        VerifiedApiToken verified = verifier.verify(second).orElseThrow();
+        assertThat(verified.tokenId()).isEqualTo(12L);
+        assertThat(verified.allows(ApiTokenScope.WRITE)).isTrue();
+    }
+
+    @Test
+    void revocation_evictsTheVerifiedEntry() {
+        ApiTokenCodec.GeneratedToken generated = ApiTokenCodec.generate();
+        when(apiTokenRepository.findByTokenPrefixAndIsActiveTrue(generated.prefix()))
+                .thenReturn(List.of(token(generated, "READ", null)))
+                .thenReturn(List.of());
+
+        assertThat(verifier.verify(generated.token())).isPresent();
+        verifier.onApiTokenRevoked(new ApiTokenRevokedEvent(generated.hash()));
+
+        assertThat(verifier.verify(generated.token())).isEmpty();
+    }
+
+    private static ApiToken token(ApiTokenCodec.GeneratedToken generated, String scopes, LocalDateTime expiresAt) {
+        return ApiToken.builder()
+                .id(11L)
+                .name("ci")
+                .tokenHash(generated.hash())
+                .tokenPrefix(generated.prefix())
+                .user(User.builder().id(7L).build())
+                .scopes(scopes)
+                .expiresAt(expiresAt)
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.cirquetask.security;
+
+import com.cirquetask.model.enums.Plan;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET =
+            "Vm9ydGV4UHJvamVjdE1hbmFnZW1lbnRQbGF0Zm9ybVNlY3JldEtleUZvckpXVFRva2VuR2VuZXJhdGlvbjIwMjQ=";
+
+    private JwtTokenProvider tokenProvider;
+    private UserStateCache userStateCache;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, 60_000L, 120_000L);
+        userStateCache = mock(UserStateCache.class);
+        filter = new JwtAuthenticationFilter(tokenProvider, userStateCache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validToken_buildsPrincipalFromClaimsAndCachedState() throws Exception {
+        when(userStateCache.get(7L)).thenReturn(Optional.of(new UserState(7L, "ada@cirquetask.com", true, Plan.PRO, 2, false)));
+
+        authenticate(tokenProvider.generateAccessToken(7L, "ada@cirquetask.com", 2));
+
+        CustomUserDetails principal = SecurityUtils.getCurrentUser();
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("ada@cirquetask.com");
+        assertThat(principal.getPlan()).isEqualTo(Plan.PRO);
+        verify(userStateCache, times(1)).get(7L);
+    }
+
+    @Test
+    void tokenFromBeforePasswordChange_isRejected() throws Exception {
+        when(userStateCache.get(7L)).thenReturn(Optional.of(new UserState(7L, "ada@cirquetask.com", true, Plan.FREE, 3, false)));
+
+        authenticate(tokenProvider.generateAccessToken(7L, "ada@cirquetask.com", 2));
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    @Test
+    void deactivatedUser_isRejected() throws Exception {
+        when(userStateCache.get(7L)).thenReturn(Optional.of(new UserState(7L, "ada@cirquetask.com", false, Plan.FREE, 0, false)));
+
+        authenticate(tokenProvider.generateAccessToken(7L, "ada@cirquetask.com", 0));
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private void authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+}
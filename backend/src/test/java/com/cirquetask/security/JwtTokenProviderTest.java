@@ -0,0 +1,51 @@
+package com.cirquetask.security;
+
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET =
+            "Vm9ydGV4UHJvamVjdE1hbmFnZW1lbnRQbGF0Zm9ybVNlY3JldEtleUZvckpXVFRva2VuR2VuZXJhdGlvbjIwMjQ=";
+
+    private JwtTokenProvider tokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        tokenProvider = new JwtTokenProvider(SECRET, 60_000L, 120_000L);
+    }
+
+    @Test
+    void parseAccessClaims_returnsSubjectAndUserIdFromOneVerification() {
+        String token = tokenProvider.generateAccessToken(7L, "ada@cirquetask.com", 0);
+
+        Claims claims = tokenProvider.parseAccessClaims(token).orElseThrow();
+
+        assertThat(claims.getSubject()).isEqualTo("ada@cirquetask.com");
+        assertThat(tokenProvider.getUserId(claims)).isEqualTo(7L);
+    }
+
+    @Test
+    void parseClaims_rejectsTamperedAndExpiredTokens() {
+        String token = tokenProvider.generateAccessToken(7L, "ada@cirquetask.com", 0);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        JwtTokenProvider expired = new JwtTokenProvider(SECRET, -1_000L, -1_000L);
+
+        assertThat(tokenProvider.parseClaims(tampered)).isEmpty();
+        assertThat(tokenProvider.parseClaims(expired.generateAccessToken(7L, "ada@cirquetask.com", 0))).isEmpty();
+        assertThat(tokenProvider.parseClaims("")).isEmpty();
+    }
+
+    @Test
+    void accessAndRefreshTokensAreNotInterchangeable() {
+        String access = tokenProvider.generateAccessToken(7L, "ada@cirquetask.com", 0);
+        String refresh = tokenProvider.generateRefreshToken(7L, "ada@cirquetask.com", 0);
+
+        assertThat(tokenProvider.parseAccessClaims(refresh)).isEmpty();
+        assertThat(tokenProvider.parseRefreshClaims(access)).isEmpty();
+        assertThat(tokenProvider.parseRefreshClaims(refresh)).isPresent();
+    }
+}
@@ -0,0 +1,71 @@
+package com.cirquetask.security;
+
+import com.cirquetask.service.PlanLimitService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitFilter(new RateLimiter(new SimpleMeterRegistry(), 1_000, 300),
+                mock(PlanLimitService.class), 5, List.of(RateLimitFilter.DEFAULT_TRUSTED_PROXIES.split(",")));
+    }
+
+    @Test
+    void forwardedForFromAnUntrustedClientIsIgnored() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(post("/api/auth/login", "203.0.113.7", "198.51.100." + i).getStatus()).isEqualTo(200);
+        }
+
+        MockHttpServletResponse rotated = post("/api/auth/login", "203.0.113.7", "198.51.100.99");
+
+        assertThat(rotated.getStatus()).isEqualTo(429);
+        assertThat(rotated.getHeader("Retry-After")).isNotNull();
+    }
+
+    @Test
+    void behindTrustedProxiesTheClientIsTheFirstUntrustedHopFromTheRight() {
+        assertThat(filter.clientKey(request("/", "10.0.0.5", "198.51.100.1, 203.0.113.7"))).isEqualTo("203.0.113.7");
+        assertThat(filter.clientKey(request("/", "10.0.0.5", "203.0.113.7, 192.168.1.2"))).isEqualTo("203.0.113.7");
+        assertThat(filter.clientKey(request("/", "10.0.0.5", "not-an-ip, 203.0.113.7"))).isEqualTo("203.0.113.7");
+        assertThat(filter.clientKey(request("/", "10.0.0.5", "evil.example.com"))).isEqualTo("10.0.0.5");
+        assertThat(filter.clientKey(request("/", "203.0.113.7", "10.0.0.1"))).isEqualTo("203.0.113.7");
+    }
+
+    @Test
+    void forgotPasswordIsLimitedPerClient() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            post("/api/auth/forgot-password", "203.0.113.8", null);
+        }
+
+        assertThat(post("/api/auth/forgot-password", "203.0.113.8", null).getStatus()).isEqualTo(429);
+        assertThat(post("/api/auth/forgot-password", "203.0.113.9", null).getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse post(String uri, String remoteAddr, String forwardedFor) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(uri, remoteAddr, forwardedFor), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String uri, String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", uri);
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
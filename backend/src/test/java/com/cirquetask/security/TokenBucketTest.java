@@ -0,0 +1,74 @@
+package com.cirquetask.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    void allowsBurstUpToCapacityThenRejectsWithRetryAfter() {
+        TokenBucket bucket = new TokenBucket(60, MINUTE, 0);
+
+        for (int i = 0; i < 60; i++) {
+            RateLimitResult result = bucket.tryConsume(0);
+            assertThat(result.allowed()).isTrue();
+            assertThat(result.remaining()).isEqualTo(59 - i);
+        }
+        RateLimitResult rejected = bucket.tryConsume(0);
+
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.remaining()).isZero();
+        assertThat(rejected.retryAfterSeconds()).isEqualTo(1);
+        assertThat(rejected.resetSeconds()).isEqualTo(60);
+    }
+
+    @Test
+    void refillsEvenlyOverThePeriod() {
+        TokenBucket bucket = new TokenBucket(60, MINUTE, 0);
+        for (int i = 0; i < 60; i++) {
+            bucket.tryConsume(0);
+        }
+
+        long tenSeconds = TimeUnit.SECONDS.toNanos(10);
+        int allowed = 0;
+        while (bucket.tryConsume(tenSeconds).allowed()) {
+            allowed++;
+        }
+
+        assertThat(allowed).isEqualTo(10);
+    }
+
+    @Test
+    void concurrentCallersNeverExceedCapacity() throws InterruptedException {
+        RateLimiter rateLimiter = new RateLimiter(new SimpleMeterRegistry(), 1_000, 300);
+        AtomicInteger allowed = new AtomicInteger();
+        int threads = 64;
+        CountDownLatch done = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 100; i++) {
+                    if (rateLimiter.tryConsume("user:1", 500).allowed()) {
+                        allowed.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        // 6,400 attempts against a 500/min bucket; a few extra permits may refill while the test runs
+        assertThat(allowed.get()).isBetween(500, 520);
+    }
+}
@@ -0,0 +1,54 @@
+package com.cirquetask.security;
+
+import com.cirquetask.model.enums.Plan;
+import com.cirquetask.repository.UserRepository;
+import com.cirquetask.repository.UserRepository.UserStateView;
+import com.cirquetask.service.PlanLimitService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UserStateCacheTest {
+
+    private UserRepository userRepository;
+    private UserStateCache userStateCache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        PlanLimitService planLimitService = mock(PlanLimitService.class);
+        when(planLimitService.getEffectivePlan(any(), any())).thenReturn(Plan.FREE);
+        userStateCache = new UserStateCache(userRepository, planLimitService, new SimpleMeterRegistry(), 100, 60,
+                List.of(" Ops@CirqueTask.com ", ""));
+    }
+
+    @Test
+    void onlyConfiguredAdminEmailsGetTheAdminRole() {
+        stubUser(1L, "ops@cirquetask.com");
+        stubUser(2L, "ada@cirquetask.com");
+
+        assertThat(authorities(1L)).containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+        assertThat(authorities(2L)).containsExactly("ROLE_USER");
+    }
+
+    private List<String> authorities(Long userId) {
+        UserState state = userStateCache.get(userId).orElseThrow();
+        return new CustomUserDetails(state).getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+
+    private void stubUser(Long id, String email) {
+        UserStateView view = mock(UserStateView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getEmail()).thenReturn(email);
+        when(view.getActive()).thenReturn(true);
+        when(userRepository.findStateById(id)).thenReturn(Optional.of(view));
+    }
+}
@@ -0,0 +1,118 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.event.ProjectStatsChangedEvent;
+import com.cirquetask.model.mapper.ActivityLogMapper;
+import com.cirquetask.repository.ActivityLogRepository;
+import com.cirquetask.repository.ActivityLogRepositoryCustom.NewActivityLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ActivityLogServiceImplTest {
+
+    private ActivityLogRepository activityLogRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private SimpleMeterRegistry meterRegistry;
+    private ActivityLogServiceImpl activityLogService;
+
+    @BeforeEach
+    void setUp() {
+        activityLogRepository = mock(ActivityLogRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        meterRegistry = new SimpleMeterRegistry();
+        activityLogService = new ActivityLogServiceImpl(activityLogRepository, mock(ActivityLogMapper.class),
+                eventPublisher, Runnable::run, mock(PlatformTransactionManager.class), meterRegistry, 5, 3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void fullBatch_isWrittenInOneInsertWithoutLoadingEntities() {
+        activityLogService.log("CREATE", "TASK", 1L, "a", null, null, 7L, 100L);
+        activityLogService.log("UPDATE", "TASK", 1L, "b", null, null, 7L, 100L);
+        verifyNoInteractions(activityLogRepository);
+
+        activityLogService.log("MOVE", "TASK", 2L, "c", null, null, 7L, 200L);
+
+        ArgumentCaptor<List<NewActivityLog>> rows = ArgumentCaptor.forClass(List.class);
+        verify(activityLogRepository, times(1)).insertAll(rows.capture());
+        assertThat(rows.getValue()).extracting(NewActivityLog::action).containsExactly("CREATE", "UPDATE", "MOVE");
+        verify(eventPublisher).publishEvent(new ProjectStatsChangedEvent(100L));
+        verify(eventPublisher).publishEvent(new ProjectStatsChangedEvent(200L));
+    }
+
+    @Test
+    void overflow_isDroppedAndCounted() {
+        ActivityLogServiceImpl slowFlush = new ActivityLogServiceImpl(activityLogRepository, mock(ActivityLogMapper.class),
+                eventPublisher, task -> { }, mock(PlatformTransactionManager.class), meterRegistry, 2, 10);
+
+        for (int i = 0; i < 5; i++) {
+            slowFlush.log("CREATE", "TASK", (long) i, null, null, null, 7L, null);
+        }
+
+        assertThat(meterRegistry.counter("activity.log.dropped", "reason", "overflow").count()).isEqualTo(3);
+        slowFlush.flush();
+        verify(activityLogRepository, times(1)).insertAll(argThat(rows -> rows.size() == 2));
+    }
+
+    @Test
+    void failedBatch_fallsBackToRowByRow() {
+        doThrow(new RuntimeException("fk violation")).when(activityLogRepository).insertAll(argThat(rows -> rows.size() > 1));
+        doThrow(new RuntimeException("fk violation")).when(activityLogRepository)
+                .insertAll(argThat(rows -> rows.size() == 1 && rows.get(0).userId() == 99L));
+
+        activityLogService.log("CREATE", "TASK", 1L, null, null, null, 7L, null);
+        activityLogService.log("CREATE", "TASK", 2L, null, null, null, 99L, null);
+        activityLogService.flush();
+
+        verify(activityLogRepository, times(3)).insertAll(anyList());
+        assertThat(meterRegistry.counter("activity.log.dropped", "reason", "error").count()).isEqualTo(1);
+    }
+
+    @Test
+    void rowsLoggedInATransactionAreBufferedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            for (int i = 0; i < 4; i++) {
+                activityLogService.log("CREATE", "PROJECT", 100L, null, null, null, 7L, 100L);
+            }
+            verifyNoInteractions(activityLogRepository);
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            assertThat(synchronizations).hasSize(1);
+            synchronizations.get(0).afterCommit();
+            synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(activityLogRepository, times(1)).insertAll(argThat(rows -> rows.size() == 3));
+        activityLogService.flush();
+        verify(activityLogRepository, times(1)).insertAll(argThat(rows -> rows.size() == 1));
+    }
+
+    @Test
+    void rowsOfARolledBackTransactionAreDiscarded() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            activityLogService.log("CREATE", "PROJECT", 100L, null, null, null, 7L, 100L);
+            TransactionSynchronizationManager.getSynchronizations().get(0)
+                    .afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        activityLogService.flush();
+        verifyNoInteractions(activityLogRepository);
+    }
+}
@@ -0,0 +1,47 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.model.dto.ApiTokenDto;
+import com.cirquetask.model.dto.ApiTokenRequest;
+import com.cirquetask.model.entity.ApiToken;
+import com.cirquetask.model.entity.User;
+import com.cirquetask.repository.ApiTokenRepository;
+import com.cirquetask.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ApiTokenServiceImplTest {
+
+    @Test
+    void createToken_regeneratesWhenTheLookupPrefixIsTaken() {
+        ApiTokenRepository apiTokenRepository = mock(ApiTokenRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        ApiTokenServiceImpl apiTokenService = new ApiTokenServiceImpl(apiTokenRepository, userRepository,
+                mock(ApplicationEventPublisher.class));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(User.builder().id(7L).build()));
+        List<String> checked = new ArrayList<>();
+        when(apiTokenRepository.existsByTokenPrefixAndIsActiveTrue(anyString())).thenAnswer(inv -> {
+            checked.add(inv.getArgument(0));
+            return checked.size() == 1;
+        });
+        when(apiTokenRepository.save(any(ApiToken.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        ApiTokenRequest request = new ApiTokenRequest();
+        request.setName("ci");
+        ApiTokenDto created = apiTokenService.createToken(request, 7L);
+
+        ArgumentCaptor<ApiToken> saved = ArgumentCaptor.forClass(ApiToken.class);
+        verify(apiTokenRepository).save(saved.capture());
+        assertThat(checked).hasSize(2).doesNotHaveDuplicates();
+        assertThat(saved.getValue().getTokenPrefix()).isEqualTo(checked.get(1));
+        assertThat(created.getToken()).startsWith("ctk_" + checked.get(1) + "_");
+    }
+}
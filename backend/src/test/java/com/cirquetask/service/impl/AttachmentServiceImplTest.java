@@ -0,0 +1,80 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.exception.BadRequestException;
+import com.cirquetask.model.entity.Attachment;
+import com.cirquetask.model.entity.Project;
+import com.cirquetask.model.entity.Task;
+import com.cirquetask.model.entity.User;
+import com.cirquetask.model.mapper.AttachmentMapper;
+import com.cirquetask.repository.AttachmentRepository;
+import com.cirquetask.repository.TaskRepository;
+import com.cirquetask.repository.UserRepository;
+import com.cirquetask.service.ProjectAccessService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AttachmentServiceImplTest {
+
+    @TempDir
+    Path uploadDir;
+
+    private AttachmentRepository attachmentRepository;
+    private TaskRepository taskRepository;
+    private AttachmentServiceImpl attachmentService;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        attachmentRepository = mock(AttachmentRepository.class);
+        taskRepository = mock(TaskRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        attachmentService = new AttachmentServiceImpl(attachmentRepository, taskRepository, userRepository,
+                mock(ProjectAccessService.class), mock(AttachmentMapper.class));
+        ReflectionTestUtils.setField(attachmentService, "uploadDir", uploadDir.toString());
+
+        task = Task.builder().id(5L).project(Project.builder().id(1L).build()).build();
+        when(taskRepository.findById(5L)).thenReturn(Optional.of(task));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(User.builder().id(7L).build()));
+        when(attachmentRepository.save(any(Attachment.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void upload_incrementsTheTaskAttachmentCount() {
+        attachmentService.upload(5L, new MockMultipartFile("file", "spec.txt", "text/plain", "hello".getBytes()), 7L);
+
+        verify(taskRepository).adjustAttachmentCount(5L, 1);
+        assertThat(uploadDir.toFile().list()).hasSize(1);
+    }
+
+    @Test
+    void upload_ofAnEmptyFileLeavesTheCountAlone() {
+        MockMultipartFile empty = new MockMultipartFile("file", "empty.txt", "text/plain", new byte[0]);
+
+        assertThatThrownBy(() -> attachmentService.upload(5L, empty, 7L)).isInstanceOf(BadRequestException.class);
+
+        verify(taskRepository, never()).adjustAttachmentCount(anyLong(), anyInt());
+    }
+
+    @Test
+    void delete_decrementsTheTaskAttachmentCount() {
+        Attachment attachment = Attachment.builder().id(3L).task(task)
+                .filePath(uploadDir.resolve("missing.txt").toString()).build();
+        when(attachmentRepository.findById(3L)).thenReturn(Optional.of(attachment));
+
+        attachmentService.delete(3L, 7L);
+
+        verify(attachmentRepository).delete(attachment);
+        verify(taskRepository).adjustAttachmentCount(5L, -1);
+    }
+}
@@ -0,0 +1,106 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.model.dto.BulkUpdateRequest;
+import com.cirquetask.model.entity.BoardColumn;
+import com.cirquetask.model.entity.Project;
+import com.cirquetask.model.entity.Task;
+import com.cirquetask.model.enums.DomainEventType;
+import com.cirquetask.model.enums.TaskStatus;
+import com.cirquetask.model.mapper.TaskMapper;
+import com.cirquetask.repository.*;
+import com.cirquetask.service.ColumnTaskCountService;
+import com.cirquetask.service.OutboxService;
+import com.cirquetask.service.TaskRankService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BulkOperationServiceImplTest {
+
+    private TaskRepository taskRepository;
+    private BoardColumnRepository columnRepository;
+    private OutboxService outboxService;
+    private BulkOperationServiceImpl bulkOperationService;
+
+    private final Project project = Project.builder().id(1L).build();
+    private final BoardColumn todo = BoardColumn.builder().id(5L).name("To Do").build();
+    private final BoardColumn done = BoardColumn.builder().id(6L).name("Done").build();
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        columnRepository = mock(BoardColumnRepository.class);
+        outboxService = mock(OutboxService.class);
+        bulkOperationService = new BulkOperationServiceImpl(taskRepository, mock(UserRepository.class),
+                mock(LabelRepository.class), mock(SprintRepository.class), columnRepository, mock(TaskMapper.class),
+                mock(TaskRankService.class), mock(ColumnTaskCountService.class),
+                mock(ApplicationEventPublisher.class), outboxService);
+        when(taskRepository.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkUpdateTasks_publishesAnUpdatePerTaskWithWhatChanged() {
+        Task open = task(1L, TaskStatus.OPEN);
+        Task alreadyDone = task(2L, TaskStatus.DONE);
+        when(taskRepository.findAllById(any())).thenReturn(List.of(open, alreadyDone));
+        BulkUpdateRequest request = new BulkUpdateRequest();
+        request.setTaskIds(Set.of(1L, 2L));
+        request.setStatus(TaskStatus.DONE);
+
+        bulkOperationService.bulkUpdateTasks(request, 9L);
+
+        ArgumentCaptor<Map<String, Object>> changes = ArgumentCaptor.forClass(Map.class);
+        verify(outboxService).publishTaskEvent(eq(DomainEventType.TASK_UPDATED), eq(open), eq(9L), changes.capture());
+        assertThat(changes.getValue()).containsEntry("previousStatus", TaskStatus.OPEN);
+        verify(outboxService).publishTaskEvent(DomainEventType.TASK_UPDATED, alreadyDone, 9L, Map.of());
+        verify(outboxService).publishTaskEvent(DomainEventType.TASK_COMPLETED, open, 9L);
+        verify(outboxService, never()).publishTaskEvent(DomainEventType.TASK_COMPLETED, alreadyDone, 9L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bulkMoveToColumn_publishesAMovePerTaskWithItsPreviousColumn() {
+        Task first = task(1L, TaskStatus.OPEN);
+        Task second = task(2L, TaskStatus.OPEN);
+        second.setColumn(null);
+        when(taskRepository.findAllById(any())).thenReturn(List.of(first, second));
+        when(columnRepository.findById(6L)).thenReturn(Optional.of(done));
+
+        bulkOperationService.bulkMoveToColumn(Set.of(1L, 2L), 6L, 9L);
+
+        ArgumentCaptor<Map<String, Object>> changes = ArgumentCaptor.forClass(Map.class);
+        verify(outboxService, times(2)).publishTaskEvent(eq(DomainEventType.TASK_MOVED), any(Task.class), eq(9L),
+                changes.capture());
+        assertThat(changes.getAllValues()).extracting(c -> c.get("previousColumnId")).containsExactly(5L, null);
+    }
+
+    @Test
+    void bulkDeleteTasks_publishesADeletePerTaskBeforeTheRowsGo() {
+        Task first = task(1L, TaskStatus.OPEN);
+        Task second = task(2L, TaskStatus.OPEN);
+        when(taskRepository.findAllById(any())).thenReturn(List.of(first, second));
+
+        bulkOperationService.bulkDeleteTasks(Set.of(1L, 2L), 9L);
+
+        InOrder inOrder = inOrder(outboxService, taskRepository);
+        inOrder.verify(outboxService).publishTaskEvent(DomainEventType.TASK_DELETED, first, 9L);
+        inOrder.verify(outboxService).publishTaskEvent(DomainEventType.TASK_DELETED, second, 9L);
+        inOrder.verify(taskRepository).deleteAll(List.of(first, second));
+    }
+
+    private Task task(Long id, TaskStatus status) {
+        return Task.builder().id(id).taskKey("P-" + id).project(project).column(todo).status(status).build();
+    }
+}
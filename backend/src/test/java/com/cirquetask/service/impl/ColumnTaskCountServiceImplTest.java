@@ -0,0 +1,131 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.exception.BadRequestException;
+import com.cirquetask.model.entity.BoardColumn;
+import com.cirquetask.repository.BoardColumnRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ColumnTaskCountServiceImplTest {
+
+    private BoardColumnRepository columnRepository;
+    private ColumnTaskCountServiceImpl countService;
+    private final Map<Long, Integer> counts = new HashMap<>();
+    private final Map<Long, Integer> wipLimits = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        columnRepository = mock(BoardColumnRepository.class);
+        countService = new ColumnTaskCountServiceImpl(columnRepository);
+
+        // Mirrors the two UPDATE statements against an in-memory table
+        when(columnRepository.adjustTaskCount(anyLong(), anyInt())).thenAnswer(inv -> {
+            counts.merge(inv.getArgument(0), inv.<Integer>getArgument(1), Integer::sum);
+            return 1;
+        });
+        when(columnRepository.incrementTaskCountWithinWipLimit(anyLong(), anyInt())).thenAnswer(inv -> {
+            Long id = inv.getArgument(0);
+            int delta = inv.getArgument(1);
+            int limit = wipLimits.getOrDefault(id, 0);
+            if (limit > 0 && counts.get(id) + delta > limit) {
+                return 0;
+            }
+            counts.merge(id, delta, Integer::sum);
+            return 1;
+        });
+        when(columnRepository.findTaskCountById(anyLong())).thenAnswer(inv -> counts.get(inv.<Long>getArgument(0)));
+    }
+
+    @Test
+    void movesTaskBetweenColumnsWithinTheWipLimit() {
+        BoardColumn todo = column(1L, 3, 0);
+        BoardColumn doing = column(2L, 1, 2);
+
+        countService.transfer(todo.getId(), doing, 1, true);
+
+        assertThat(counts).containsEntry(1L, 2).containsEntry(2L, 2);
+    }
+
+    @Test
+    void refusesTaskThatWouldExceedTheWipLimit() {
+        column(1L, 3, 0);
+        BoardColumn doing = column(2L, 2, 2);
+
+        assertThatThrownBy(() -> countService.transfer(1L, doing, 1, true))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("WIP limit exceeded for column 'Column 2'. Maximum: 2, Current: 2");
+        assertThat(counts.get(2L)).isEqualTo(2);
+    }
+
+    @Test
+    void bulkMoveIsCheckedAgainstTheWholeCount() {
+        BoardColumn doing = column(2L, 1, 3);
+
+        assertThatThrownBy(() -> countService.transfer(null, doing, 3, true))
+                .isInstanceOf(BadRequestException.class);
+        countService.transfer(null, doing, 2, true);
+
+        assertThat(counts.get(2L)).isEqualTo(3);
+    }
+
+    @Test
+    void ignoresTheWipLimitWhenNotEnforced() {
+        BoardColumn doing = column(2L, 2, 2);
+
+        countService.transfer(null, doing, 1, false);
+
+        assertThat(counts.get(2L)).isEqualTo(3);
+        verify(columnRepository, never()).incrementTaskCountWithinWipLimit(anyLong(), anyInt());
+    }
+
+    @Test
+    void createAndDeleteTouchOnlyOneColumn() {
+        BoardColumn todo = column(1L, 0, 0);
+
+        countService.transfer(null, todo, 2, true);
+        countService.transfer(1L, null, 1, true);
+
+        assertThat(counts.get(1L)).isEqualTo(1);
+        verify(columnRepository).incrementTaskCountWithinWipLimit(1L, 2);
+        verify(columnRepository).adjustTaskCount(1L, -1);
+    }
+
+    @Test
+    void updatesCounterRowsInIdOrder() {
+        BoardColumn low = column(1L, 1, 0);
+        BoardColumn high = column(2L, 1, 0);
+
+        countService.transfer(2L, low, 1, true);
+        countService.transfer(1L, high, 1, true);
+
+        InOrder inOrder = inOrder(columnRepository);
+        inOrder.verify(columnRepository).incrementTaskCountWithinWipLimit(1L, 1);
+        inOrder.verify(columnRepository).adjustTaskCount(2L, -1);
+        inOrder.verify(columnRepository).adjustTaskCount(1L, -1);
+        inOrder.verify(columnRepository).incrementTaskCountWithinWipLimit(2L, 1);
+    }
+
+    @Test
+    void moveWithinTheSameColumnIsANoOp() {
+        BoardColumn todo = column(1L, 2, 2);
+
+        countService.transfer(1L, todo, 1, true);
+
+        verifyNoInteractions(columnRepository);
+    }
+
+    private BoardColumn column(Long id, int taskCount, int wipLimit) {
+        counts.put(id, taskCount);
+        wipLimits.put(id, wipLimit);
+        return BoardColumn.builder().id(id).name("Column " + id).taskCount(taskCount).wipLimit(wipLimit).build();
+    }
+}
@@ -0,0 +1,96 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.exception.AccessDeniedException;
+import com.cirquetask.model.dto.CommentRequest;
+import com.cirquetask.model.entity.Comment;
+import com.cirquetask.model.entity.Project;
+import com.cirquetask.model.entity.Task;
+import com.cirquetask.model.entity.User;
+import com.cirquetask.model.mapper.CommentMapper;
+import com.cirquetask.repository.CommentRepository;
+import com.cirquetask.repository.TaskRepository;
+import com.cirquetask.repository.UserRepository;
+import com.cirquetask.service.OutboxService;
+import com.cirquetask.service.ProjectAccessService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CommentServiceImplTest {
+
+    private CommentRepository commentRepository;
+    private TaskRepository taskRepository;
+    private ProjectAccessService projectAccess;
+    private CommentServiceImpl commentService;
+    private User author;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        commentRepository = mock(CommentRepository.class);
+        taskRepository = mock(TaskRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        projectAccess = mock(ProjectAccessService.class);
+        commentService = new CommentServiceImpl(commentRepository, taskRepository, userRepository, projectAccess,
+                mock(CommentMapper.class), mock(OutboxService.class));
+
+        author = User.builder().id(7L).build();
+        task = Task.builder().id(5L).taskKey("P-5").project(Project.builder().id(1L).build()).build();
+        when(taskRepository.findById(5L)).thenReturn(Optional.of(task));
+        when(userRepository.findById(7L)).thenReturn(Optional.of(author));
+        when(commentRepository.save(any(Comment.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void addComment_incrementsTheTaskCommentCount() {
+        CommentRequest request = new CommentRequest();
+        request.setContent("Looks good");
+
+        commentService.addComment(5L, request, 7L);
+
+        verify(taskRepository).adjustCommentCount(5L, 1);
+        verify(taskRepository, never()).refreshCommentCount(anyLong());
+    }
+
+    @Test
+    void addComment_leavesTheCountAloneWhenAccessIsDenied() {
+        when(projectAccess.requireMember(1L, 7L)).thenThrow(new AccessDeniedException("nope"));
+        CommentRequest request = new CommentRequest();
+        request.setContent("Looks good");
+
+        assertThatThrownBy(() -> commentService.addComment(5L, request, 7L))
+                .isInstanceOf(AccessDeniedException.class);
+
+        verify(taskRepository, never()).adjustCommentCount(anyLong(), anyInt());
+    }
+
+    @Test
+    void deleteComment_recountsAfterTheDeleteSoCascadedRepliesAreIncluded() {
+        Comment comment = Comment.builder().id(3L).content("x").task(task).author(author).build();
+        when(commentRepository.findById(3L)).thenReturn(Optional.of(comment));
+
+        commentService.deleteComment(3L, 7L);
+
+        InOrder inOrder = inOrder(commentRepository, taskRepository);
+        inOrder.verify(commentRepository).delete(comment);
+        inOrder.verify(taskRepository).refreshCommentCount(5L);
+        verify(taskRepository, never()).adjustCommentCount(anyLong(), anyInt());
+    }
+
+    @Test
+    void deleteComment_byAnotherUserDoesNotTouchTheCount() {
+        Comment comment = Comment.builder().id(3L).content("x").task(task).author(author).build();
+        when(commentRepository.findById(3L)).thenReturn(Optional.of(comment));
+
+        assertThatThrownBy(() -> commentService.deleteComment(3L, 8L)).isInstanceOf(AccessDeniedException.class);
+
+        verify(commentRepository, never()).delete(any());
+        verify(taskRepository, never()).refreshCommentCount(anyLong());
+    }
+}
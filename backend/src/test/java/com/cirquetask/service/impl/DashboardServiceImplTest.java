@@ -0,0 +1,83 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.model.dto.DashboardDto;
+import com.cirquetask.model.enums.TaskPriority;
+import com.cirquetask.model.enums.TaskStatus;
+import com.cirquetask.model.mapper.ActivityLogMapper;
+import com.cirquetask.model.mapper.TaskMapper;
+import com.cirquetask.repository.*;
+import com.cirquetask.service.ProjectAccessService;
+import com.cirquetask.service.ProjectStatsCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DashboardServiceImplTest {
+
+    private ProjectRepository projectRepository;
+    private TaskRepository taskRepository;
+    private ActivityLogRepository activityLogRepository;
+    private DashboardServiceImpl dashboardService;
+
+    @BeforeEach
+    void setUp() {
+        projectRepository = mock(ProjectRepository.class);
+        taskRepository = mock(TaskRepository.class);
+        activityLogRepository = mock(ActivityLogRepository.class);
+        ProjectStatsCacheService statsCache = new ProjectStatsCacheServiceImpl(projectRepository,
+                mock(ProjectMemberRepository.class), new SimpleMeterRegistry(), 100, 60);
+        dashboardService = new DashboardServiceImpl(projectRepository, taskRepository, activityLogRepository,
+                mock(ProjectAccessService.class), mock(TaskMapper.class), mock(ActivityLogMapper.class), statsCache);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 40, 400})
+    void getUserDashboard_usesOneAggregateQueryRegardlessOfMembershipCount(int projectCount) {
+        List<Long> projectIds = LongStream.rangeClosed(1, projectCount).boxed().toList();
+        List<TaskRepository.TaskStatsView> rows = new ArrayList<>();
+        for (Long projectId : projectIds) {
+            rows.add(stats(projectId, TaskStatus.DONE, TaskPriority.LOW, 3, 0));
+            rows.add(stats(projectId, TaskStatus.IN_PROGRESS, TaskPriority.HIGH, 2, 1));
+        }
+        when(projectRepository.findMemberProjectIds(5L)).thenReturn(projectIds);
+        when(taskRepository.aggregateTaskStats(projectIds)).thenReturn(rows);
+
+        DashboardDto dashboard = dashboardService.getUserDashboard(5L);
+
+        assertThat(dashboard.getTotalProjects()).isEqualTo(projectCount);
+        assertThat(dashboard.getTotalTasks()).isEqualTo(5L * projectCount);
+        assertThat(dashboard.getCompletedTasks()).isEqualTo(3L * projectCount);
+        assertThat(dashboard.getInProgressTasks()).isEqualTo(2L * projectCount);
+        assertThat(dashboard.getOverdueTasks()).isEqualTo(projectCount);
+        assertThat(dashboard.getTasksByPriority().get(TaskPriority.HIGH.name())).isEqualTo(2L * projectCount);
+        assertThat(dashboard.getTasksByStatus()).containsKeys(
+                Arrays.stream(TaskStatus.values()).map(Enum::name).toArray(String[]::new));
+
+        verify(projectRepository, times(1)).findMemberProjectIds(5L);
+        verify(taskRepository, times(1)).aggregateTaskStats(projectIds);
+        verify(taskRepository, times(1)).findActiveTasksByAssigneePage(eq(5L), any(), any(), anyInt());
+        verify(activityLogRepository, times(1)).findByUserIdPage(eq(5L), any(), any(), anyInt());
+        verifyNoMoreInteractions(projectRepository, taskRepository, activityLogRepository);
+    }
+
+    private static TaskRepository.TaskStatsView stats(Long projectId, TaskStatus status, TaskPriority priority,
+                                                      long count, long overdue) {
+        TaskRepository.TaskStatsView view = mock(TaskRepository.TaskStatsView.class);
+        when(view.getProjectId()).thenReturn(projectId);
+        when(view.getStatus()).thenReturn(status);
+        when(view.getPriority()).thenReturn(priority);
+        when(view.getTaskCount()).thenReturn(count);
+        when(view.getOverdueCount()).thenReturn(overdue);
+        return view;
+    }
+}
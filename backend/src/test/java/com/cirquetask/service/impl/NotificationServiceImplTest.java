@@ -0,0 +1,130 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.model.dto.NotificationDto;
+import com.cirquetask.model.entity.Notification;
+import com.cirquetask.model.entity.Project;
+import com.cirquetask.model.entity.Task;
+import com.cirquetask.model.entity.User;
+import com.cirquetask.model.enums.NotificationType;
+import com.cirquetask.model.mapper.NotificationMapper;
+import com.cirquetask.repository.NotificationRepository;
+import com.cirquetask.repository.UserRepository;
+import com.cirquetask.service.NotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationServiceImplTest {
+
+    private NotificationRepository notificationRepository;
+    private NotificationMapper notificationMapper;
+    private SimpMessagingTemplate messagingTemplate;
+    private NotificationServiceImpl notificationService;
+    private Task task;
+    private User commenter;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        notificationMapper = mock(NotificationMapper.class);
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        notificationService = new NotificationServiceImpl(notificationRepository, userRepository, notificationMapper,
+                messagingTemplate);
+
+        when(userRepository.getReferenceById(anyLong()))
+                .thenAnswer(inv -> User.builder().id(inv.getArgument(0)).build());
+        AtomicLong ids = new AtomicLong(100);
+        when(notificationRepository.saveAll(anyList())).thenAnswer(inv -> {
+            List<Notification> rows = inv.getArgument(0);
+            rows.forEach(row -> row.setId(ids.getAndIncrement()));
+            return rows;
+        });
+        when(notificationMapper.toDto(any(Notification.class))).thenAnswer(inv -> {
+            Notification row = inv.getArgument(0);
+            return NotificationDto.builder().id(row.getId()).title(row.getTitle()).type(row.getType()).build();
+        });
+
+        commenter = User.builder().id(1L).firstName("Ada").lastName("Lovelace").build();
+        task = Task.builder().id(5L).taskKey("P-5").title("Ship it").project(Project.builder().id(1L).build())
+                .reporter(User.builder().id(2L).build()).build();
+        task.getAssignees().add(commenter);
+        for (long id = 2; id < 52; id++) {
+            task.getAssignees().add(User.builder().id(id).build());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void commentOnTaskWithFiftyAssigneesIsOneBatchAndOneMapping() {
+        notificationService.sendCommentAdded(task, commenter);
+
+        ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository, times(1)).saveAll(saved.capture());
+        verify(notificationRepository, never()).save(any());
+        // Reporter is also an assignee and the commenter is skipped: 50 distinct recipients
+        assertThat(saved.getValue()).hasSize(50)
+                .allSatisfy(row -> assertThat(row.getType()).isEqualTo(NotificationType.COMMENT_ADDED))
+                .extracting(row -> row.getRecipient().getId()).doesNotHaveDuplicates().doesNotContain(1L);
+        verify(notificationMapper, times(1)).toDto(any(Notification.class));
+
+        ArgumentCaptor<NotificationDto> pushed = ArgumentCaptor.forClass(NotificationDto.class);
+        verify(messagingTemplate, times(50)).convertAndSend(anyString(), pushed.capture());
+        assertThat(pushed.getAllValues()).extracting(NotificationDto::getId).doesNotHaveDuplicates();
+        verify(messagingTemplate).convertAndSend(eq("/topic/notifications/51"), any(NotificationDto.class));
+    }
+
+    @Test
+    void pushesOnlyAfterTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        notificationService.sendMentions(task, List.of(1L, 7L, 8L), commenter, "hi @you");
+
+        verify(notificationRepository).saveAll(anyList());
+        verifyNoInteractions(messagingTemplate);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertThat(synchronizations).hasSize(1);
+        synchronizations.get(0).afterCommit();
+        verify(messagingTemplate).convertAndSend(eq("/topic/notifications/7"), any(NotificationDto.class));
+        verify(messagingTemplate).convertAndSend(eq("/topic/notifications/8"), any(NotificationDto.class));
+        verifyNoMoreInteractions(messagingTemplate);
+    }
+
+    @Test
+    void writesNothingWhenTheSenderIsTheOnlyRecipient() {
+        assertThat(notificationService.fanOut(new NotificationService.Draft("t", "m", NotificationType.MENTION,
+                commenter, null, null), List.of(1L))).isZero();
+
+        verifyNoInteractions(notificationRepository, notificationMapper, messagingTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void selfAssignmentIsStillNotified() {
+        notificationService.sendTaskAssigned(task, commenter, commenter);
+
+        ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(row -> row.getRecipient().getId()).containsExactly(1L);
+        verify(messagingTemplate).convertAndSend(eq("/topic/notifications/1"), any(NotificationDto.class));
+    }
+}
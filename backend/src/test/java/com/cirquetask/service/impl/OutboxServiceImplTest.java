@@ -0,0 +1,151 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.model.entity.OutboxEvent;
+import com.cirquetask.model.enums.DomainEventType;
+import com.cirquetask.repository.OutboxEventRepository;
+import com.cirquetask.repository.ProjectRepository;
+import com.cirquetask.scheduler.OutboxDispatcher;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxServiceImplTest {
+
+    private ProjectRepository projectRepository;
+    private OutboxDispatcher dispatcher;
+    private OutboxServiceImpl outboxService;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Semaphore> counterRows = new ConcurrentHashMap<>();
+    private final List<Long> committed = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @BeforeEach
+    void setUp() {
+        projectRepository = mock(ProjectRepository.class);
+        // Mirrors the row lock: taken by the first writer, released when its transaction ends
+        doAnswer(inv -> {
+            Semaphore row = counterRows.computeIfAbsent(inv.getArgument(0), id -> new Semaphore(1));
+            row.acquire();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    row.release();
+                }
+            });
+            return null;
+        }).when(projectRepository).lockTaskCounter(anyLong());
+        // Mirrors nextval plus commit visibility: an id is drawn on insert, the row shows up on commit
+        OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+        when(outboxEventRepository.save(any(OutboxEvent.class))).thenAnswer(inv -> {
+            OutboxEvent event = inv.getArgument(0);
+            event.setId(sequence.incrementAndGet());
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    committed.add(event.getId());
+                }
+            });
+            return event;
+        });
+        dispatcher = mock(OutboxDispatcher.class);
+        outboxService = new OutboxServiceImpl(outboxEventRepository, projectRepository, new ObjectMapper(), dispatcher);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void aSecondWriterForTheProjectCommitsAfterTheFirst() throws Exception {
+        CountDownLatch firstWritten = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        Future<?> first = executor.submit(() -> inTransaction(() -> {
+            publish(1L);
+            firstWritten.countDown();
+            await(commitFirst);
+        }));
+        firstWritten.await();
+
+        Future<?> second = executor.submit(() -> inTransaction(() -> publish(1L)));
+
+        // Blocked on the counter row before drawing an id
+        assertThatThrownBy(() -> second.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        assertThat(sequence.get()).isEqualTo(1);
+        commitFirst.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertThat(committed).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void writersForOtherProjectsDoNotWait() throws Exception {
+        CountDownLatch firstWritten = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        Future<?> first = executor.submit(() -> inTransaction(() -> {
+            publish(1L);
+            firstWritten.countDown();
+            await(commitFirst);
+        }));
+        firstWritten.await();
+
+        executor.submit(() -> inTransaction(() -> publish(2L))).get(5, TimeUnit.SECONDS);
+
+        commitFirst.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertThat(committed).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void locksEachProjectOncePerTransactionAndWakesTheDispatcherOnce() {
+        inTransaction(() -> {
+            publish(1L);
+            publish(1L);
+            publish(2L);
+        });
+
+        verify(projectRepository, times(1)).lockTaskCounter(1L);
+        verify(projectRepository, times(1)).lockTaskCounter(2L);
+        verify(dispatcher, times(1)).wakeUp();
+        assertThat(committed).containsExactly(1L, 2L, 3L);
+    }
+
+    private void publish(Long projectId) {
+        outboxService.publish(DomainEventType.TASK_UPDATED, projectId, 10L, 7L, Map.of());
+    }
+
+    private void inTransaction(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            List<TransactionSynchronization> synchronizations =
+                    new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.event.UserStateChangedEvent;
+import com.cirquetask.exception.PlanLimitExceededException;
+import com.cirquetask.exception.ResourceNotFoundException;
+import com.cirquetask.model.entity.Project;
+import com.cirquetask.model.entity.User;
+import com.cirquetask.model.enums.Feature;
+import com.cirquetask.model.enums.Plan;
+import com.cirquetask.repository.CustomFieldDefinitionRepository;
+import com.cirquetask.repository.ProjectMemberRepository;
+import com.cirquetask.repository.ProjectRepository;
+import com.cirquetask.repository.TaskRepository;
+import com.cirquetask.repository.TimeLogRepository;
+import com.cirquetask.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class PlanLimitServiceImplTest {
+
+    private ProjectRepository projectRepository;
+    private ProjectMemberRepository projectMemberRepository;
+    private TaskRepository taskRepository;
+    private TimeLogRepository timeLogRepository;
+    private PlanLimitServiceImpl planLimitService;
+
+    @BeforeEach
+    void setUp() {
+        projectRepository = mock(ProjectRepository.class);
+        projectMemberRepository = mock(ProjectMemberRepository.class);
+        taskRepository = mock(TaskRepository.class);
+        timeLogRepository = mock(TimeLogRepository.class);
+        planLimitService = new PlanLimitServiceImpl(projectRepository, projectMemberRepository,
+                taskRepository, timeLogRepository, mock(UserRepository.class),
+                mock(CustomFieldDefinitionRepository.class), new SimpleMeterRegistry(), 100, 600);
+    }
+
+    @Test
+    void projectFeaturesFollowTheOwnersEffectivePlan() {
+        stubOwnerPlan(1L, Plan.FREE, null);
+        stubOwnerPlan(2L, Plan.PRO, "active");
+        stubOwnerPlan(3L, Plan.PRO, "past_due");
+        stubOwnerPlan(4L, Plan.BUSINESS, "active");
+
+        assertThatThrownBy(() -> planLimitService.requireProjectFeature(1L, Feature.GANTT))
+                .isInstanceOf(PlanLimitExceededException.class);
+        assertThatCode(() -> planLimitService.requireProjectFeature(2L, Feature.GANTT)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> planLimitService.requireProjectFeature(2L, Feature.API_ACCESS))
+                .isInstanceOf(PlanLimitExceededException.class);
+        assertThatThrownBy(() -> planLimitService.requireProjectFeature(3L, Feature.GANTT))
+                .isInstanceOf(PlanLimitExceededException.class);
+        assertThatCode(() -> planLimitService.requireProjectFeature(4L, Feature.API_ACCESS)).doesNotThrowAnyException();
+    }
+
+    @Test
+    void childEntityGatesUseTheirOwnProjectEvenWhenIdsCollide() {
+        stubOwnerPlan(1L, Plan.PRO, "active");
+        stubOwnerPlan(2L, Plan.FREE, null);
+        when(taskRepository.findProjectIdById(10L)).thenReturn(Optional.of(1L));
+        when(timeLogRepository.findProjectIdById(10L)).thenReturn(Optional.of(2L));
+
+        assertThatCode(() -> planLimitService.requireTaskProjectFeature(10L, Feature.TIME_LOG))
+                .doesNotThrowAnyException();
+        assertThatThrownBy(() -> planLimitService.requireTimeLogProjectFeature(10L, Feature.TIME_LOG))
+                .isInstanceOf(PlanLimitExceededException.class);
+        assertThatCode(() -> planLimitService.requireTaskProjectFeature(10L, Feature.TIME_LOG))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void ownerSubscriptionChange_appliesToTheirProjectsImmediately() {
+        ProjectRepository.OwnerPlanView pro = ownerPlan(5L, Plan.PRO, "active");
+        ProjectRepository.OwnerPlanView canceled = ownerPlan(5L, Plan.PRO, "canceled");
+        when(projectRepository.findOwnerPlan(1L)).thenReturn(Optional.of(pro)).thenReturn(Optional.of(canceled));
+
+        assertThatCode(() -> planLimitService.requireProjectFeature(1L, Feature.GANTT)).doesNotThrowAnyException();
+        planLimitService.onUserStateChanged(new UserStateChangedEvent(5L));
+
+        assertThatThrownBy(() -> planLimitService.requireProjectFeature(1L, Feature.GANTT))
+                .isInstanceOf(PlanLimitExceededException.class);
+    }
+
+    @Test
+    void projectAndMemberCountsAreCappedByPlan() {
+        User free = User.builder().id(5L).plan(Plan.FREE).build();
+        User pro = User.builder().id(6L).plan(Plan.PRO).subscriptionStatus("active").build();
+        when(projectRepository.countByOwnerIdAndIsArchivedFalse(5L)).thenReturn(2L);
+        when(projectRepository.countByOwnerIdAndIsArchivedFalse(6L)).thenReturn(2L);
+        when(projectMemberRepository.countByProjectId(1L)).thenReturn(5L);
+        when(projectMemberRepository.countByProjectId(2L)).thenReturn(5L);
+
+        assertThatThrownBy(() -> planLimitService.requireCanCreateProject(free))
+                .isInstanceOf(PlanLimitExceededException.class);
+        assertThatCode(() -> planLimitService.requireCanCreateProject(pro)).doesNotThrowAnyException();
+        assertThatThrownBy(() -> planLimitService.requireCanAddMember(Project.builder().id(1L).owner(free).build()))
+                .isInstanceOf(PlanLimitExceededException.class);
+        assertThatCode(() -> planLimitService.requireCanAddMember(Project.builder().id(2L).owner(pro).build()))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void missingTask_isNotFoundAndNotCached() {
+        when(taskRepository.findProjectIdById(10L)).thenReturn(Optional.empty()).thenReturn(Optional.of(1L));
+        stubOwnerPlan(1L, Plan.PRO, "active");
+
+        assertThatThrownBy(() -> planLimitService.requireTaskProjectFeature(10L, Feature.TIME_LOG))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatCode(() -> planLimitService.requireTaskProjectFeature(10L, Feature.TIME_LOG))
+                .doesNotThrowAnyException();
+    }
+
+    private void stubOwnerPlan(Long projectId, Plan plan, String status) {
+        ProjectRepository.OwnerPlanView view = ownerPlan(100L + projectId, plan, status);
+        when(projectRepository.findOwnerPlan(projectId)).thenReturn(Optional.of(view));
+    }
+
+    private static ProjectRepository.OwnerPlanView ownerPlan(Long ownerId, Plan plan, String status) {
+        return new OwnerPlan(ownerId, plan, status);
+    }
+
+    private record OwnerPlan(Long ownerId, Plan plan, String status) implements ProjectRepository.OwnerPlanView {
+
+        @Override
+        public Long getOwnerId() {
+            return ownerId;
+        }
+
+        @Override
+        public Plan getPlan() {
+            return plan;
+        }
+
+        @Override
+        public String getSubscriptionStatus() {
+            return status;
+        }
+    }
+}
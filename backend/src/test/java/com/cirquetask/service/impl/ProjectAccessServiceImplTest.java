@@ -0,0 +1,102 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.event.ProjectMembershipChangedEvent;
+import com.cirquetask.exception.AccessDeniedException;
+import com.cirquetask.model.enums.ProjectRole;
+import com.cirquetask.repository.ProjectMemberRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class ProjectAccessServiceImplTest {
+
+    private ProjectMemberRepository memberRepository;
+    private ProjectAccessServiceImpl projectAccess;
+
+    @BeforeEach
+    void setUp() {
+        memberRepository = mock(ProjectMemberRepository.class);
+        projectAccess = new ProjectAccessServiceImpl(memberRepository, new SimpleMeterRegistry(), 100, 300);
+    }
+
+    @Test
+    void adminAccessFollowsTheRoleInEachProject() {
+        when(memberRepository.findMembershipsByUserId(5L)).thenReturn(List.of(
+                membership(1L, ProjectRole.OWNER), membership(2L, ProjectRole.ADMIN),
+                membership(3L, ProjectRole.MEMBER), membership(4L, ProjectRole.VIEWER)));
+
+        assertThat(projectAccess.requireAdmin(1L, 5L)).isEqualTo(ProjectRole.OWNER);
+        assertThat(projectAccess.requireAdmin(2L, 5L)).isEqualTo(ProjectRole.ADMIN);
+        assertThatThrownBy(() -> projectAccess.requireAdmin(3L, 5L)).isInstanceOf(AccessDeniedException.class);
+        assertThatThrownBy(() -> projectAccess.requireAdmin(4L, 5L)).isInstanceOf(AccessDeniedException.class);
+        assertThat(projectAccess.requireMember(4L, 5L)).isEqualTo(ProjectRole.VIEWER);
+    }
+
+    @Test
+    void nonMemberIsDeniedOnProjectsOutsideTheirMemberships() {
+        when(memberRepository.findMembershipsByUserId(5L)).thenReturn(List.of(membership(2L, ProjectRole.MEMBER)));
+
+        assertThat(projectAccess.isMember(2L, 5L)).isTrue();
+        assertThat(projectAccess.isMember(1L, 5L)).isFalse();
+        assertThat(projectAccess.findRole(1L, 5L)).isEmpty();
+        assertThatThrownBy(() -> projectAccess.requireMember(1L, 5L)).isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void cachedMembershipsOfOneUserNeverGrantAnother() {
+        when(memberRepository.findMembershipsByUserId(5L)).thenReturn(List.of(membership(1L, ProjectRole.OWNER)));
+        when(memberRepository.findMembershipsByUserId(6L)).thenReturn(List.of());
+
+        assertThat(projectAccess.requireAdmin(1L, 5L)).isEqualTo(ProjectRole.OWNER);
+
+        assertThatThrownBy(() -> projectAccess.requireMember(1L, 6L)).isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void removedMemberLosesAccessOnceTheChangeIsPublished() {
+        when(memberRepository.findMembershipsByUserId(5L))
+                .thenReturn(List.of(membership(1L, ProjectRole.ADMIN)))
+                .thenReturn(List.of());
+
+        assertThat(projectAccess.requireAdmin(1L, 5L)).isEqualTo(ProjectRole.ADMIN);
+        projectAccess.onMembershipChanged(new ProjectMembershipChangedEvent(1L, 5L));
+
+        assertThatThrownBy(() -> projectAccess.requireMember(1L, 5L)).isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    void demotedAdminLosesAdminAccessOnceTheChangeIsPublished() {
+        when(memberRepository.findMembershipsByUserId(5L))
+                .thenReturn(List.of(membership(1L, ProjectRole.ADMIN)))
+                .thenReturn(List.of(membership(1L, ProjectRole.MEMBER)));
+
+        projectAccess.requireAdmin(1L, 5L);
+        projectAccess.onMembershipChanged(new ProjectMembershipChangedEvent(1L, 5L));
+
+        assertThatThrownBy(() -> projectAccess.requireAdmin(1L, 5L)).isInstanceOf(AccessDeniedException.class);
+        assertThat(projectAccess.requireMember(1L, 5L)).isEqualTo(ProjectRole.MEMBER);
+    }
+
+    private static ProjectMemberRepository.MembershipView membership(Long projectId, ProjectRole role) {
+        return new Membership(projectId, role);
+    }
+
+    private record Membership(Long projectId, ProjectRole role) implements ProjectMemberRepository.MembershipView {
+
+        @Override
+        public Long getProjectId() {
+            return projectId;
+        }
+
+        @Override
+        public ProjectRole getRole() {
+            return role;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.event.ProjectStatsChangedEvent;
+import com.cirquetask.model.dto.DashboardDto;
+import com.cirquetask.repository.ProjectMemberRepository;
+import com.cirquetask.repository.ProjectRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class ProjectStatsCacheServiceImplTest {
+
+    private ProjectRepository projectRepository;
+    private ProjectMemberRepository memberRepository;
+    private MeterRegistry meterRegistry;
+    private ProjectStatsCacheServiceImpl statsCache;
+
+    @BeforeEach
+    void setUp() {
+        projectRepository = mock(ProjectRepository.class);
+        memberRepository = mock(ProjectMemberRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        statsCache = new ProjectStatsCacheServiceImpl(projectRepository, memberRepository, meterRegistry, 100, 60);
+    }
+
+    @Test
+    void userDashboard_isServedFromCacheUntilAProjectOfTheUserChanges() {
+        AtomicInteger loads = new AtomicInteger();
+        when(memberRepository.findUserIdsByProjectId(1L)).thenReturn(List.of(5L, 6L));
+
+        statsCache.getUserDashboard(5L, () -> dashboard(loads.incrementAndGet()));
+        DashboardDto cached = statsCache.getUserDashboard(5L, () -> dashboard(loads.incrementAndGet()));
+        assertThat(cached.getTotalTasks()).isEqualTo(1L);
+
+        statsCache.onProjectStatsChanged(new ProjectStatsChangedEvent(1L));
+        DashboardDto reloaded = statsCache.getUserDashboard(5L, () -> dashboard(loads.incrementAndGet()));
+
+        assertThat(reloaded.getTotalTasks()).isEqualTo(2L);
+        assertThat(loads).hasValue(2);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "userDashboards").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "userDashboards").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void removedMember_losesCachedDashboardEvenThoughNoLongerMember() {
+        when(memberRepository.findUserIdsByProjectId(1L)).thenReturn(List.of(5L));
+        statsCache.getUserDashboard(9L, () -> dashboard(1));
+
+        statsCache.onProjectStatsChanged(new ProjectStatsChangedEvent(1L, 9L));
+
+        assertThat(statsCache.getUserDashboard(9L, () -> dashboard(2)).getTotalTasks()).isEqualTo(2L);
+    }
+
+    @Test
+    void taskCounts_loadAllMissesWithOneGroupedQuery() {
+        ProjectRepository.ProjectTaskCountView row = mock(ProjectRepository.ProjectTaskCountView.class);
+        when(row.getProjectId()).thenReturn(1L);
+        when(row.getTaskCount()).thenReturn(12L);
+        when(projectRepository.countTasksByProjectIds(anyCollection())).thenReturn(List.of(row));
+
+        Map<Long, Long> first = statsCache.getTaskCounts(List.of(1L, 2L, 3L));
+        Map<Long, Long> second = statsCache.getTaskCounts(List.of(1L, 2L, 3L));
+
+        assertThat(first).containsEntry(1L, 12L).containsEntry(2L, 0L).containsEntry(3L, 0L);
+        assertThat(second).isEqualTo(first);
+        verify(projectRepository, times(1)).countTasksByProjectIds(anyCollection());
+    }
+
+    private static DashboardDto dashboard(long totalTasks) {
+        return DashboardDto.builder().totalTasks(totalTasks).build();
+    }
+}
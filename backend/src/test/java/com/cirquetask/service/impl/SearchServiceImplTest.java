@@ -0,0 +1,119 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.model.dto.SearchPage;
+import com.cirquetask.model.dto.SearchRequest;
+import com.cirquetask.model.dto.TaskSearchHitDto;
+import com.cirquetask.model.entity.Task;
+import com.cirquetask.model.enums.SearchPageMode;
+import com.cirquetask.model.mapper.TaskMapper;
+import com.cirquetask.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SearchServiceImplTest {
+
+    private EntityManager entityManager;
+    private Query pageQuery;
+    private Query countQuery;
+    private SearchServiceImpl searchService;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        pageQuery = mock(Query.class);
+        countQuery = mock(Query.class);
+        when(entityManager.createNativeQuery(startsWith("SELECT s.id"))).thenReturn(pageQuery);
+        when(entityManager.createNativeQuery(startsWith("SELECT COUNT"))).thenReturn(countQuery);
+
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        when(taskRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            List<Task> tasks = new ArrayList<>();
+            for (Object id : (Iterable<?>) invocation.getArgument(0)) {
+                tasks.add(Task.builder().id((Long) id).build());
+            }
+            return tasks;
+        });
+        searchService = new SearchServiceImpl(entityManager, taskRepository, mock(TaskMapper.class));
+    }
+
+    @Test
+    void sliceMode_fetchesOneExtraRowAndNeverCounts() {
+        when(pageQuery.getResultList()).thenReturn(rows(21));
+
+        SearchPage<TaskSearchHitDto> page = searchService.searchTasks(
+                SearchRequest.builder().query("login").build(), 5L, PageRequest.of(0, 20), SearchPageMode.SLICE);
+
+        assertThat(page.getContent()).hasSize(20);
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getTotalElements()).isNull();
+        verify(pageQuery).setParameter("limit", 21);
+        verify(entityManager, never()).createNativeQuery(startsWith("SELECT COUNT"));
+    }
+
+    @Test
+    void estimatedMode_capsTheCountAtTheThreshold() {
+        when(pageQuery.getResultList()).thenReturn(rows(21));
+        when(countQuery.getSingleResult()).thenReturn(1001L);
+
+        SearchPage<TaskSearchHitDto> page = searchService.searchTasks(
+                new SearchRequest(), 5L, PageRequest.of(0, 20), SearchPageMode.ESTIMATED);
+
+        assertThat(page.getTotalElements()).isEqualTo(1000L);
+        assertThat(page.isTotalCapped()).isTrue();
+        verify(entityManager).createNativeQuery(contains("LIMIT :countCap"));
+        verify(countQuery).setParameter("countCap", 1001L);
+    }
+
+    @Test
+    void lastPage_reportsExactTotalWithoutCounting() {
+        when(pageQuery.getResultList()).thenReturn(rows(7));
+
+        SearchPage<TaskSearchHitDto> page = searchService.searchTasks(
+                new SearchRequest(), 5L, PageRequest.of(2, 20), SearchPageMode.EXACT);
+
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getTotalElements()).isEqualTo(47L);
+        verify(entityManager, never()).createNativeQuery(startsWith("SELECT COUNT"));
+    }
+
+    @Test
+    void toPrefixQuery_turnsFreeTextIntoPrefixTerms() {
+        assertThat(SearchServiceImpl.toPrefixQuery("Fix login")).isEqualTo("fix:* & login:*");
+        assertThat(SearchServiceImpl.toPrefixQuery("WEB-42")).isEqualTo("web:* & 42:*");
+        assertThat(SearchServiceImpl.toPrefixQuery("çalışma ağacı")).isEqualTo("çalışma:* & ağacı:*");
+    }
+
+    @Test
+    void toPrefixQuery_dropsTsqueryOperatorsAndEmptyInput() {
+        assertThat(SearchServiceImpl.toPrefixQuery("a & (b | !c):*")).isEqualTo("a:* & b:* & c:*");
+        assertThat(SearchServiceImpl.toPrefixQuery("  &|! ")).isNull();
+        assertThat(SearchServiceImpl.toPrefixQuery(null)).isNull();
+    }
+
+    @Test
+    void toHtml_escapesContentButKeepsMatchMarkers() {
+        String headline = "<script>\u0002login\u0003</script>";
+
+        assertThat(SearchServiceImpl.toHtml(headline))
+                .isEqualTo("&lt;script&gt;<mark>login</mark>&lt;/script&gt;");
+        assertThat(SearchServiceImpl.toHtml("")).isNull();
+    }
+
+    private static List<Object[]> rows(int count) {
+        List<Object[]> rows = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            rows.add(new Object[]{id, 0.5f, "title", "description"});
+        }
+        return rows;
+    }
+}
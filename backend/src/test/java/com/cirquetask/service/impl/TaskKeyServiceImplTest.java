@@ -0,0 +1,140 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.model.entity.Project;
+import com.cirquetask.repository.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers how blocks are handed out across threads, nodes and transactions. The counter row is emulated (an
+ * increment undone on rollback); the upsert itself is not run, as there is no database in unit tests.
+ */
+class TaskKeyServiceImplTest {
+
+    private final AtomicLong counterRow = new AtomicLong();
+    private final AtomicInteger roundTrips = new AtomicInteger();
+    private final ProjectRepository projectRepository = mock(ProjectRepository.class);
+    private final Project project = Project.builder().id(1L).prefix("WEB").build();
+
+    TaskKeyServiceImplTest() {
+        // Mirrors the upsert in the caller's transaction: the increment is undone if that transaction rolls back
+        when(projectRepository.reserveTaskNumbers(eq(1L), anyInt())).thenAnswer(inv -> {
+            roundTrips.incrementAndGet();
+            int count = inv.getArgument(1);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        counterRow.addAndGet(-count);
+                    }
+                }
+            });
+            return counterRow.addAndGet(count);
+        });
+    }
+
+    @Test
+    void nextTaskKey_issuesUniqueKeysAcrossThreadsAndNodes() throws Exception {
+        // Two application nodes sharing the same counter
+        TaskKeyServiceImpl nodeA = new TaskKeyServiceImpl(projectRepository);
+        TaskKeyServiceImpl nodeB = new TaskKeyServiceImpl(projectRepository);
+
+        int tasks = 10_000;
+        int threads = 32;
+        Set<String> keys = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < tasks; i++) {
+            TaskKeyServiceImpl node = i % 2 == 0 ? nodeA : nodeB;
+            pool.submit(() -> {
+                start.await();
+                if (!keys.add(inTransaction(() -> node.nextTaskKey(project), true))) {
+                    duplicates.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(duplicates.get()).isZero();
+        assertThat(keys).hasSize(tasks).allMatch(k -> k.startsWith("WEB-"));
+        // Most creates are served from a committed block without reaching the counter
+        assertThat(roundTrips.get()).isLessThan(tasks / 4);
+    }
+
+    @Test
+    void nextTaskKey_neverReissuesNumbersOfARolledBackTransaction() {
+        TaskKeyServiceImpl node = new TaskKeyServiceImpl(projectRepository);
+
+        List<String> rolledBack = inTransaction(
+                () -> List.of(node.nextTaskKey(project), node.nextTaskKey(project)), false);
+        List<String> committed = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            committed.add(inTransaction(() -> node.nextTaskKey(project), true));
+        }
+
+        // The counter was rolled back, so the numbers come from a fresh block and reuse is harmless
+        assertThat(rolledBack).containsExactly("WEB-1", "WEB-2");
+        assertThat(committed).containsExactly("WEB-1", "WEB-2", "WEB-3");
+        assertThat(roundTrips.get()).isEqualTo(2);
+        assertThat(counterRow.get()).isEqualTo(20);
+    }
+
+    @Test
+    void nextTaskKey_reservesOneBlockForManyCreatesInATransaction() {
+        TaskKeyServiceImpl node = new TaskKeyServiceImpl(projectRepository);
+
+        List<String> keys = inTransaction(() -> {
+            List<String> created = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                created.add(node.nextTaskKey(project));
+            }
+            return created;
+        }, true);
+        String next = inTransaction(() -> node.nextTaskKey(project), true);
+
+        assertThat(keys).containsExactly("WEB-1", "WEB-2", "WEB-3", "WEB-4", "WEB-5");
+        assertThat(next).isEqualTo("WEB-6");
+        assertThat(roundTrips.get()).isEqualTo(1);
+    }
+
+    private static <T> T inTransaction(Supplier<T> work, boolean commit) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            T result = work.get();
+            List<TransactionSynchronization> synchronizations =
+                    new ArrayList<>(TransactionSynchronizationManager.getSynchronizations());
+            if (commit) {
+                synchronizations.forEach(TransactionSynchronization::afterCommit);
+            }
+            int status = commit ? TransactionSynchronization.STATUS_COMMITTED
+                    : TransactionSynchronization.STATUS_ROLLED_BACK;
+            synchronizations.forEach(s -> s.afterCompletion(status));
+            return result;
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+}
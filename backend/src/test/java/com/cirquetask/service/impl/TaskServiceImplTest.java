@@ -0,0 +1,73 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.model.dto.TaskMoveRequest;
+import com.cirquetask.model.entity.BoardColumn;
+import com.cirquetask.model.entity.Project;
+import com.cirquetask.model.entity.Task;
+import com.cirquetask.model.mapper.TaskMapper;
+import com.cirquetask.repository.*;
+import com.cirquetask.service.ActivityLogService;
+import com.cirquetask.service.ColumnTaskCountService;
+import com.cirquetask.service.OutboxService;
+import com.cirquetask.service.ProjectAccessService;
+import com.cirquetask.service.TaskKeyService;
+import com.cirquetask.util.SparseRank;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TaskServiceImplTest {
+
+    private TaskRepository taskRepository;
+    private BoardColumnRepository columnRepository;
+    private TaskServiceImpl taskService;
+
+    @BeforeEach
+    void setUp() {
+        taskRepository = mock(TaskRepository.class);
+        columnRepository = mock(BoardColumnRepository.class);
+        TaskRankServiceImpl rankService = new TaskRankServiceImpl(taskRepository, mock(ApplicationEventPublisher.class));
+        taskService = new TaskServiceImpl(taskRepository, mock(ProjectRepository.class), mock(ProjectAccessService.class),
+                columnRepository, mock(UserRepository.class), mock(LabelRepository.class), mock(TaskMapper.class),
+                mock(ActivityLogService.class), rankService,
+                mock(TaskKeyService.class), mock(ColumnTaskCountService.class), mock(ApplicationEventPublisher.class),
+                mock(OutboxService.class));
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 2_000, 50_000})
+    void moveTask_writesOnlyTheMovedRowRegardlessOfColumnSize(int columnSize) {
+        Project project = Project.builder().id(1L).build();
+        BoardColumn column = BoardColumn.builder().id(7L).name("To Do").build();
+        Task task = Task.builder().id(99L).taskKey("P-99").project(project).column(column).build();
+        List<Long> ranks = LongStream.range(0, columnSize).map(i -> SparseRank.initial((int) i)).boxed().toList();
+
+        when(taskRepository.findById(99L)).thenReturn(Optional.of(task));
+        when(columnRepository.findById(7L)).thenReturn(Optional.of(column));
+        when(taskRepository.findNeighbourPositions(eq(7L), eq(99L), anyInt(), anyInt())).thenAnswer(inv -> {
+            int offset = inv.getArgument(2);
+            int limit = inv.getArgument(3);
+            return ranks.subList(Math.min(offset, ranks.size()), Math.min(offset + limit, ranks.size()));
+        });
+
+        int target = columnSize / 2;
+        taskService.moveTask(99L, new TaskMoveRequest(7L, target), 1L);
+
+        assertThat(task.getPosition()).isGreaterThan(ranks.get(target - 1)).isLessThan(ranks.get(target));
+        verify(taskRepository, times(1)).findNeighbourPositions(anyLong(), anyLong(), anyInt(), anyInt());
+        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(taskRepository, never()).saveAll(any());
+        verify(taskRepository, never()).findByColumnIdOrderByPositionAsc(anyLong());
+        verify(taskRepository, never()).rebalanceColumnPositions(anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,151 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.model.entity.Webhook;
+import com.cirquetask.model.entity.WebhookDelivery;
+import com.cirquetask.repository.WebhookDeliveryRepository;
+import com.cirquetask.repository.WebhookRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WebhookServiceImplTest {
+
+    private WebhookRepository webhookRepository;
+    private WebhookDeliveryRepository deliveryRepository;
+    private WebhookServiceImpl webhookService;
+    private final List<WebhookDelivery> table = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        webhookRepository = mock(WebhookRepository.class);
+        deliveryRepository = mock(WebhookDeliveryRepository.class);
+        webhookService = new WebhookServiceImpl(webhookRepository, deliveryRepository, new ObjectMapper(), 2);
+
+        when(deliveryRepository.saveAll(anyList())).thenAnswer(inv -> {
+            table.addAll(inv.<List<WebhookDelivery>>getArgument(0));
+            return inv.getArgument(0);
+        });
+        // Mirrors the coalesce UPDATE against an in-memory table
+        when(deliveryRepository.coalesce(anyLong(), anyString(), anyString(), anyString())).thenAnswer(inv -> {
+            Optional<WebhookDelivery> open = table.stream()
+                    .filter(d -> d.getWebhookId().equals(inv.getArgument(0)) && d.getEvent().equals(inv.getArgument(1))
+                            && inv.getArgument(2).equals(d.getEntityKey()))
+                    .filter(d -> d.getCoalesceUntil() != null && d.getCoalesceUntil().isAfter(LocalDateTime.now()))
+                    .findFirst();
+            open.ifPresent(d -> {
+                d.setPayload(inv.getArgument(3));
+                d.setCoalescedCount(d.getCoalescedCount() + 1);
+            });
+            return open.isPresent() ? 1 : 0;
+        });
+    }
+
+    @Test
+    void mergesEventsForTheSameEntityWhileTheWindowIsOpen() {
+        webhooks(webhook(1L, null));
+
+        webhookService.triggerWebhooks(5L, "task.updated", "task:10", Map.of("title", "first"));
+        webhookService.triggerWebhooks(5L, "task.updated", "task:10", Map.of("title", "second"));
+
+        assertThat(table).hasSize(1);
+        WebhookDelivery delivery = table.get(0);
+        assertThat(delivery.getPayload()).isEqualTo("{\"title\":\"second\"}");
+        assertThat(delivery.getCoalescedCount()).isEqualTo(1);
+        assertThat(delivery.getNextAttemptAt()).isEqualTo(delivery.getCoalesceUntil());
+        assertThat(delivery.getCoalesceUntil()).isAfter(LocalDateTime.now().plusSeconds(1));
+    }
+
+    @Test
+    void startsANewDeliveryOnceTheWindowHasClosed() {
+        webhooks(webhook(1L, null));
+
+        webhookService.triggerWebhooks(5L, "task.updated", "task:10", Map.of("title", "first"));
+        table.get(0).setCoalesceUntil(null);
+        webhookService.triggerWebhooks(5L, "task.updated", "task:10", Map.of("title", "second"));
+
+        assertThat(table).extracting(WebhookDelivery::getPayload)
+                .containsExactly("{\"title\":\"first\"}", "{\"title\":\"second\"}");
+    }
+
+    @Test
+    void keepsOtherEntitiesAndEventsApart() {
+        webhooks(webhook(1L, null));
+
+        webhookService.triggerWebhooks(5L, "task.updated", "task:10", Map.of("id", 10));
+        webhookService.triggerWebhooks(5L, "task.updated", "task:11", Map.of("id", 11));
+        webhookService.triggerWebhooks(5L, "task.completed", "task:10", Map.of("id", 10));
+
+        assertThat(table).hasSize(3);
+    }
+
+    @Test
+    void zeroCoalesceSecondsDisablesCoalescing() {
+        webhooks(webhook(1L, 0));
+        LocalDateTime before = LocalDateTime.now();
+
+        webhookService.triggerWebhooks(5L, "task.updated", "task:10", Map.of("title", "first"));
+        webhookService.triggerWebhooks(5L, "task.updated", "task:10", Map.of("title", "second"));
+
+        assertThat(table).hasSize(2).allSatisfy(delivery -> {
+            assertThat(delivery.getCoalesceUntil()).isNull();
+            assertThat(delivery.getNextAttemptAt()).isBetween(before, LocalDateTime.now());
+        });
+        verify(deliveryRepository, never()).coalesce(anyLong(), anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void eventsWithoutAnEntityKeyAreSentImmediately() {
+        webhooks(webhook(1L, null));
+
+        webhookService.triggerWebhooks(5L, "task.updated", Map.of("title", "first"));
+        webhookService.triggerWebhooks(5L, "task.updated", Map.of("title", "second"));
+
+        assertThat(table).hasSize(2).allSatisfy(delivery -> {
+            assertThat(delivery.getEntityKey()).isNull();
+            assertThat(delivery.getCoalesceUntil()).isNull();
+        });
+        verify(deliveryRepository, never()).coalesce(anyLong(), anyString(), any(), anyString());
+    }
+
+    @Test
+    void webhookWindowOverridesTheDefault() {
+        webhooks(webhook(1L, 30));
+
+        webhookService.triggerWebhooks(5L, "task.updated", "task:10", Map.of("title", "first"));
+
+        assertThat(table.get(0).getCoalesceUntil()).isAfter(LocalDateTime.now().plusSeconds(20));
+    }
+
+    @Test
+    void withTheDefaultConfigurationWebhooksWithoutAWindowAreNotDelayed() {
+        webhookService = new WebhookServiceImpl(webhookRepository, deliveryRepository, new ObjectMapper(), 0);
+        webhooks(webhook(1L, null));
+        LocalDateTime before = LocalDateTime.now();
+
+        webhookService.triggerWebhooks(5L, "task.updated", "task:10", Map.of("title", "first"));
+
+        assertThat(table).singleElement().satisfies(delivery -> {
+            assertThat(delivery.getCoalesceUntil()).isNull();
+            assertThat(delivery.getNextAttemptAt()).isBetween(before, LocalDateTime.now());
+        });
+    }
+
+    private void webhooks(Webhook... webhooks) {
+        when(webhookRepository.findByProjectIdAndIsActiveTrue(5L)).thenReturn(List.of(webhooks));
+    }
+
+    private static Webhook webhook(Long id, Integer coalesceSeconds) {
+        return Webhook.builder().id(id).url("http://hook").isActive(true).coalesceSeconds(coalesceSeconds).build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.cirquetask.service.impl;
+
+import com.cirquetask.event.ProjectStatsChangedEvent;
+import com.cirquetask.event.WorkflowRulesChangedEvent;
+import com.cirquetask.model.entity.Project;
+import com.cirquetask.model.entity.Task;
+import com.cirquetask.model.entity.User;
+import com.cirquetask.model.entity.WorkflowRule;
+import com.cirquetask.model.enums.DomainEventType;
+import com.cirquetask.model.enums.TaskPriority;
+import com.cirquetask.model.enums.TaskStatus;
+import com.cirquetask.model.enums.WorkflowAction;
+import com.cirquetask.model.enums.WorkflowTrigger;
+import com.cirquetask.model.mapper.WorkflowRuleMapper;
+import com.cirquetask.repository.*;
+import com.cirquetask.service.ColumnTaskCountService;
+import com.cirquetask.service.NotificationService;
+import com.cirquetask.service.OutboxService;
+import com.cirquetask.service.TaskRankService;
+import com.cirquetask.service.WorkflowService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WorkflowServiceImplTest {
+
+    private WorkflowRuleRepository ruleRepository;
+    private TaskRepository taskRepository;
+    private UserRepository userRepository;
+    private ApplicationEventPublisher eventPublisher;
+    private OutboxService outboxService;
+    private WorkflowServiceImpl workflowService;
+    private Task task;
+
+    @BeforeEach
+    void setUp() {
+        ruleRepository = mock(WorkflowRuleRepository.class);
+        taskRepository = mock(TaskRepository.class);
+        userRepository = mock(UserRepository.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        outboxService = mock(OutboxService.class);
+        workflowService = new WorkflowServiceImpl(ruleRepository, mock(ProjectRepository.class), taskRepository,
+                userRepository, mock(LabelRepository.class), mock(BoardColumnRepository.class),
+                mock(WorkflowRuleMapper.class), mock(NotificationService.class), mock(ColumnTaskCountService.class),
+                mock(TaskRankService.class), eventPublisher, outboxService, new SimpleMeterRegistry(),
+                100, 300, 3);
+        task = Task.builder().id(5L).taskKey("P-5").project(Project.builder().id(1L).build())
+                .status(TaskStatus.OPEN).priority(TaskPriority.MEDIUM).build();
+        when(taskRepository.findById(5L)).thenReturn(Optional.of(task));
+        when(taskRepository.save(any(Task.class))).thenAnswer(inv -> inv.getArgument(0));
+    }
+
+    @Test
+    void compilesRulesOncePerProjectUntilTheyChange() {
+        when(ruleRepository.findByProjectIdAndIsActiveTrue(1L)).thenReturn(List.of(
+                rule(1L, WorkflowTrigger.TASK_CREATED, null, WorkflowAction.CHANGE_PRIORITY, "HIGH")));
+
+        workflowService.executeWorkflows(5L, WorkflowTrigger.TASK_CREATED, null);
+        workflowService.executeWorkflows(5L, WorkflowTrigger.TASK_CREATED, null);
+        verify(ruleRepository, times(1)).findByProjectIdAndIsActiveTrue(1L);
+
+        workflowService.onRulesChanged(new WorkflowRulesChangedEvent(1L));
+        workflowService.executeWorkflows(5L, WorkflowTrigger.TASK_CREATED, null);
+        verify(ruleRepository, times(2)).findByProjectIdAndIsActiveTrue(1L);
+    }
+
+    @Test
+    void appliesMatchingRulesWithOneLookupPerTargetTypeAndOneSave() {
+        User alice = User.builder().id(10L).build();
+        User bob = User.builder().id(11L).build();
+        when(ruleRepository.findByProjectIdAndIsActiveTrue(1L)).thenReturn(List.of(
+                rule(1L, WorkflowTrigger.TASK_CREATED, null, WorkflowAction.ASSIGN_USER, "10"),
+                rule(2L, WorkflowTrigger.TASK_CREATED, null, WorkflowAction.ASSIGN_USER, " 11 "),
+                rule(3L, WorkflowTrigger.TASK_CREATED, null, WorkflowAction.ASSIGN_USER, "not-a-number"),
+                rule(4L, WorkflowTrigger.TASK_CREATED, "nothing", WorkflowAction.CHANGE_STATUS, "DONE")));
+        when(userRepository.findAllById(any())).thenReturn(List.of(alice, bob));
+
+        workflowService.executeWorkflows(5L, WorkflowTrigger.TASK_CREATED, null);
+
+        assertThat(task.getAssignees()).containsExactlyInAnyOrder(alice, bob);
+        assertThat(task.getStatus()).isEqualTo(TaskStatus.OPEN);
+        verify(userRepository, times(1)).findAllById(any());
+        verify(userRepository, never()).findById(anyLong());
+        verify(taskRepository, times(1)).save(task);
+    }
+
+    @Test
+    void rulesThatTriggerEachOtherFireOncePerExecution() {
+        when(ruleRepository.findByProjectIdAndIsActiveTrue(1L)).thenReturn(List.of(
+                rule(1L, WorkflowTrigger.TASK_STATUS_CHANGED, null, WorkflowAction.CHANGE_PRIORITY, "HIGH"),
+                rule(2L, WorkflowTrigger.TASK_PRIORITY_CHANGED, "high", WorkflowAction.CHANGE_STATUS, "IN_REVIEW"),
+                rule(3L, WorkflowTrigger.TASK_STATUS_CHANGED, "IN_REVIEW", WorkflowAction.CHANGE_PRIORITY, "LOW")));
+        task.setStatus(TaskStatus.IN_PROGRESS);
+
+        workflowService.executeWorkflows(5L, WorkflowTrigger.TASK_STATUS_CHANGED, "IN_PROGRESS");
+
+        // 1 -> HIGH, 2 -> IN_REVIEW, 3 -> LOW; 1 and 2 do not fire again
+        assertThat(task.getStatus()).isEqualTo(TaskStatus.IN_REVIEW);
+        assertThat(task.getPriority()).isEqualTo(TaskPriority.LOW);
+        verify(taskRepository, times(1)).save(task);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void publishesTheRulesChangesMarkedSoTheyDoNotTriggerRulesAgain() {
+        when(ruleRepository.findByProjectIdAndIsActiveTrue(1L)).thenReturn(List.of(
+                rule(1L, WorkflowTrigger.TASK_CREATED, null, WorkflowAction.CHANGE_STATUS, "DONE")));
+
+        workflowService.executeWorkflows(5L, WorkflowTrigger.TASK_CREATED, null);
+
+        ArgumentCaptor<Map<String, Object>> changes = ArgumentCaptor.forClass(Map.class);
+        verify(outboxService).publishTaskEvent(eq(DomainEventType.TASK_UPDATED), eq(task), isNull(), changes.capture());
+        assertThat(changes.getValue())
+                .containsEntry(WorkflowService.WORKFLOW_MARKER, true)
+                .containsEntry("previousStatus", TaskStatus.OPEN);
+        verify(outboxService).publishTaskEvent(DomainEventType.TASK_COMPLETED, task, null,
+                Map.of(WorkflowService.WORKFLOW_MARKER, true));
+        verify(eventPublisher).publishEvent(new ProjectStatsChangedEvent(1L));
+    }
+
+    @Test
+    void publishesNothingWhenNoRuleChangesTheTask() {
+        when(ruleRepository.findByProjectIdAndIsActiveTrue(1L)).thenReturn(List.of(
+                rule(1L, WorkflowTrigger.TASK_CREATED, null, WorkflowAction.CHANGE_PRIORITY, "MEDIUM")));
+
+        workflowService.executeWorkflows(5L, WorkflowTrigger.TASK_CREATED, null);
+
+        verify(taskRepository, never()).save(any(Task.class));
+        verifyNoInteractions(outboxService);
+        verify(eventPublisher, never()).publishEvent(any(ProjectStatsChangedEvent.class));
+    }
+
+    private static WorkflowRule rule(Long id, WorkflowTrigger trigger, String triggerValue, WorkflowAction action,
+                                     String actionValue) {
+        return WorkflowRule.builder().id(id).name("rule " + id).trigger(trigger).triggerValue(triggerValue)
+                .action(action).actionValue(actionValue).build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.cirquetask.util;
+
+import com.cirquetask.exception.BadRequestException;
+import com.cirquetask.model.dto.CursorPage;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void encodedCursorDecodesToTheSamePosition() {
+        PageCursor cursor = new PageCursor(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000), 42L);
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(PageCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void missingCursorMeansFirstPage() {
+        assertThat(PageCursor.decode(null)).isEqualTo(PageCursor.FIRST);
+        assertThat(PageCursor.decode("  ")).isEqualTo(PageCursor.FIRST);
+    }
+
+    @Test
+    void malformedOrTamperedCursorIsRejected() {
+        assertThatThrownBy(() -> PageCursor.decode("not*base64!")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> PageCursor.decode(token("2024-03-01T12:30:15"))).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> PageCursor.decode(token("2024-03-01T12:30:15|abc"))).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> PageCursor.decode(token("yesterday|42"))).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> PageCursor.decode(token("2024-03-01T12:30:15|42; DROP TABLE tasks")))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void pageSizeIsClamped() {
+        assertThat(PageCursor.clampLimit(null)).isEqualTo(PageCursor.DEFAULT_LIMIT);
+        assertThat(PageCursor.clampLimit(0)).isEqualTo(PageCursor.DEFAULT_LIMIT);
+        assertThat(PageCursor.clampLimit(5)).isEqualTo(5);
+        assertThat(PageCursor.clampLimit(10_000)).isEqualTo(PageCursor.MAX_LIMIT);
+    }
+
+    @Test
+    void pageUsesTheExtraRowOnlyToSignalMoreData() {
+        LocalDateTime now = LocalDateTime.of(2024, 3, 1, 12, 0);
+        List<Long> ids = List.of(9L, 8L, 7L);
+
+        CursorPage<Long> first = PageCursor.page(ids, 2, id -> now, id -> id, rows -> rows);
+        CursorPage<Long> last = PageCursor.page(ids, 3, id -> now, id -> id, rows -> rows);
+
+        assertThat(first.getItems()).containsExactly(9L, 8L);
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(PageCursor.decode(first.getNextCursor())).isEqualTo(new PageCursor(now, 8L));
+        assertThat(last.getItems()).containsExactly(9L, 8L, 7L);
+        assertThat(last.isHasMore()).isFalse();
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    private static String token(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,56 @@
+package com.cirquetask.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SparseRankTest {
+
+    @Test
+    void between_returnsMidpointOfNeighbours() {
+        assertThat(SparseRank.between(SparseRank.GAP, 2 * SparseRank.GAP)).isEqualTo(SparseRank.GAP + SparseRank.GAP / 2);
+        assertThat(SparseRank.between(null, SparseRank.GAP)).isEqualTo(SparseRank.GAP / 2);
+        assertThat(SparseRank.between(SparseRank.GAP, null)).isEqualTo(2 * SparseRank.GAP);
+        assertThat(SparseRank.between(null, null)).isEqualTo(SparseRank.GAP);
+    }
+
+    @Test
+    void between_returnsNullWhenGapIsExhausted() {
+        assertThat(SparseRank.between(10L, 11L)).isNull();
+        assertThat(SparseRank.between(null, 1L)).isNull();
+    }
+
+    @Test
+    void repeatedInsertsAtSamePoint_becomeCrowdedBeforeGapIsExhausted() {
+        long before = SparseRank.GAP;
+        long after = 2 * SparseRank.GAP;
+        int inserts = 0;
+        while (!SparseRank.isCrowded(before, after)) {
+            after = SparseRank.between(before, after);
+            inserts++;
+        }
+        assertThat(inserts).isGreaterThan(5);
+        assertThat(SparseRank.between(before, after)).isNotNull();
+    }
+
+    @Test
+    void reorder_onlyRewritesMovedItems() {
+        long[] current = {SparseRank.initial(3), SparseRank.initial(0), SparseRank.initial(1), SparseRank.initial(2)};
+
+        long[] reordered = SparseRank.reorder(current);
+
+        assertThat(reordered[1]).isEqualTo(current[1]);
+        assertThat(reordered[2]).isEqualTo(current[2]);
+        assertThat(reordered[3]).isEqualTo(current[3]);
+        assertThat(reordered[0]).isLessThan(reordered[1]);
+    }
+
+    @Test
+    void reorder_renumbersWhenThereIsNoRoom() {
+        long[] current = {2L, 1L, 3L};
+
+        long[] reordered = SparseRank.reorder(current);
+
+        assertThat(reordered).containsExactly(SparseRank.initial(0), SparseRank.initial(1), SparseRank.initial(2));
+    }
+}
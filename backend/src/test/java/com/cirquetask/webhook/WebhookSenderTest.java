@@ -0,0 +1,135 @@
+package com.cirquetask.webhook;
+
+import com.cirquetask.webhook.WebhookSender.Outcome;
+import com.cirquetask.webhook.WebhookSender.Request;
+import com.cirquetask.webhook.WebhookSender.Result;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WebhookSenderTest {
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private WebhookSender sender;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final Map<String, String> lastHeaders = new ConcurrentHashMap<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ok", exchange -> respond(exchange, 204));
+        server.createContext("/error", exchange -> respond(exchange, 500));
+        server.createContext("/slow", exchange -> {
+            await();
+            respond(exchange, 200);
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        executor = Executors.newCachedThreadPool();
+        sender = new WebhookSender(executor, new SimpleMeterRegistry(), 1000, 300, 1, 3, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void deliversSignedPayload() {
+        Result result = sender.send(request(1L, "/ok", "secret")).join();
+
+        assertThat(result.outcome()).isEqualTo(Outcome.DELIVERED);
+        assertThat(result.statusCode()).isEqualTo(204);
+        assertThat(lastHeaders).containsEntry("X-webhook-event", "task.created")
+                .containsEntry("X-webhook-delivery", "42")
+                .containsEntry("X-webhook-signature", WebhookSender.sign("{\"id\":1}", "secret"));
+    }
+
+    @Test
+    void hungEndpointTimesOut() {
+        Result result = sender.send(request(1L, "/slow", null)).join();
+
+        assertThat(result.outcome()).isEqualTo(Outcome.FAILED);
+        assertThat(result.error()).startsWith("Timed out");
+    }
+
+    @Test
+    void limitsConcurrentRequestsPerEndpoint() throws Exception {
+        sender = new WebhookSender(executor, new SimpleMeterRegistry(), 1000, 5000, 1, 3, 60);
+        CompletableFuture<Result> first = sender.send(request(1L, "/slow", null));
+
+        Result second = sender.send(request(1L, "/ok", null)).join();
+        Result otherEndpoint = sender.send(request(2L, "/ok", null)).join();
+        release.countDown();
+
+        assertThat(second.outcome()).isEqualTo(Outcome.THROTTLED);
+        assertThat(otherEndpoint.outcome()).isEqualTo(Outcome.DELIVERED);
+        assertThat(first.get(5, TimeUnit.SECONDS).outcome()).isEqualTo(Outcome.DELIVERED);
+    }
+
+    @Test
+    void opensCircuitAfterConsecutiveFailures() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(sender.send(request(1L, "/error", null)).join().outcome()).isEqualTo(Outcome.FAILED);
+        }
+
+        Result skipped = sender.send(request(1L, "/error", null)).join();
+
+        assertThat(skipped.outcome()).isEqualTo(Outcome.CIRCUIT_OPEN);
+        assertThat(skipped.retryAfter()).isPositive();
+        assertThat(hits).hasValue(3);
+        assertThat(sender.send(request(2L, "/ok", null)).join().outcome()).isEqualTo(Outcome.DELIVERED);
+    }
+
+    @Test
+    void unreachableEndpointFails() {
+        Request request = new Request(List.of(42L), 3L, "http://127.0.0.1:1/hook", "task.created", "{}", null);
+
+        Result result = sender.send(request).join();
+
+        assertThat(result.outcome()).isEqualTo(Outcome.FAILED);
+        assertThat(result.error()).isNotBlank();
+    }
+
+    private Request request(Long webhookId, String path, String secret) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + path;
+        return new Request(List.of(42L), webhookId, url, "task.created", "{\"id\":1}", secret);
+    }
+
+    private void respond(HttpExchange exchange, int status) throws IOException {
+        hits.incrementAndGet();
+        exchange.getRequestHeaders().forEach((name, values) -> lastHeaders.put(name, values.get(0)));
+        exchange.getRequestBody().readAllBytes();
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+
+    private void await() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
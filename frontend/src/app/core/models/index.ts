@@ -26,6 +26,12 @@ export interface ApiResponse<T> {
   timestamp: string;
 }
 
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor?: string;
+  hasMore: boolean;
+}
+
 // User
 export interface User {
   id: number;
@@ -99,6 +105,45 @@ export interface Column {
   tasks: Task[];
 }
 
+// Board snapshot: the lean read model the Kanban view is loaded from
+export interface BoardSnapshot {
+  id: number;
+  name: string;
+  description?: string;
+  projectId: number;
+  isDefault: boolean;
+  columns: ColumnSnapshot[];
+}
+
+export interface ColumnSnapshot {
+  id: number;
+  name: string;
+  color: string;
+  position: number;
+  wipLimit: number;
+  isDoneColumn: boolean;
+  taskCount: number;
+  isWipLimitExceeded: boolean;
+  tasks: BoardCard[];
+}
+
+export interface BoardCard {
+  id: number;
+  taskKey: string;
+  title: string;
+  type: TaskType;
+  priority: TaskPriority;
+  status: TaskStatus;
+  storyPoints?: number;
+  columnId: number;
+  position: number;
+  dueDate?: string;
+  commentCount: number;
+  attachmentCount: number;
+  assignees: Pick<User, 'id' | 'firstName' | 'lastName' | 'avatarUrl'>[];
+  labels: Label[];
+}
+
 // Task
 export interface Task {
   id: number;
@@ -2,7 +2,7 @@ import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { environment } from '../../../environments/environment';
-import { ApiResponse, Board } from '../models';
+import { ApiResponse, Board, BoardSnapshot } from '../models';
 
 @Injectable({ providedIn: 'root' })
 export class BoardService {
@@ -14,8 +14,9 @@ export class BoardService {
     return this.http.get<ApiResponse<Board[]>>(`${this.apiUrl}/projects/${projectId}/boards`);
   }
 
-  getBoard(boardId: number): Observable<ApiResponse<Board>> {
-    return this.http.get<ApiResponse<Board>>(`${this.apiUrl}/boards/${boardId}`);
+  /** Columns with lean cards, loaded in a fixed number of queries; open a card with TaskService.getTask. */
+  getBoard(boardId: number): Observable<ApiResponse<BoardSnapshot>> {
+    return this.http.get<ApiResponse<BoardSnapshot>>(`${this.apiUrl}/boards/${boardId}/snapshot`);
   }
 
   createBoard(projectId: number, name: string, description?: string): Observable<ApiResponse<Board>> {
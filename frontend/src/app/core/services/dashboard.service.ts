@@ -2,7 +2,7 @@ import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { environment } from '../../../environments/environment';
-import { ApiResponse, Dashboard, ActivityLog } from '../models';
+import { ApiResponse, CursorPage, Dashboard, ActivityLog } from '../models';
 
 @Injectable({ providedIn: 'root' })
 export class DashboardService {
@@ -18,11 +18,13 @@ export class DashboardService {
     return this.http.get<ApiResponse<Dashboard>>(`${this.apiUrl}/projects/${projectId}`);
   }
 
-  getProjectActivities(projectId: number): Observable<ApiResponse<ActivityLog[]>> {
-    return this.http.get<ApiResponse<ActivityLog[]>>(`${this.apiUrl}/projects/${projectId}/activities`);
+  getProjectActivities(projectId: number, cursor?: string): Observable<ApiResponse<CursorPage<ActivityLog>>> {
+    const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : '';
+    return this.http.get<ApiResponse<CursorPage<ActivityLog>>>(`${this.apiUrl}/projects/${projectId}/activities${query}`);
   }
 
-  getUserActivities(): Observable<ApiResponse<ActivityLog[]>> {
-    return this.http.get<ApiResponse<ActivityLog[]>>(`${this.apiUrl}/activities`);
+  getUserActivities(cursor?: string): Observable<ApiResponse<CursorPage<ActivityLog>>> {
+    const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : '';
+    return this.http.get<ApiResponse<CursorPage<ActivityLog>>>(`${this.apiUrl}/activities${query}`);
   }
 }
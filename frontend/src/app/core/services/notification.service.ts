@@ -2,7 +2,7 @@ import { Injectable, signal } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable, tap } from 'rxjs';
 import { environment } from '../../../environments/environment';
-import { ApiResponse, Notification } from '../models';
+import { ApiResponse, CursorPage, Notification } from '../models';
 
 @Injectable({ providedIn: 'root' })
 export class NotificationService {
@@ -12,8 +12,9 @@ export class NotificationService {
 
   constructor(private http: HttpClient) {}
 
-  getNotifications(page = 0, size = 20): Observable<ApiResponse<Notification[]>> {
-    return this.http.get<ApiResponse<Notification[]>>(`${this.apiUrl}?page=${page}&size=${size}`);
+  getNotifications(cursor?: string, size = 20): Observable<ApiResponse<CursorPage<Notification>>> {
+    const query = cursor ? `&cursor=${encodeURIComponent(cursor)}` : '';
+    return this.http.get<ApiResponse<CursorPage<Notification>>>(`${this.apiUrl}?size=${size}${query}`);
   }
 
   getUnreadCount(): Observable<ApiResponse<{ count: number }>> {
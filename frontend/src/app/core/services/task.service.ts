@@ -2,7 +2,7 @@ import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { environment } from '../../../environments/environment';
-import { ApiResponse, Task, TaskRequest, TaskMoveRequest, Comment, CommentRequest } from '../models';
+import { ApiResponse, CursorPage, Task, TaskRequest, TaskMoveRequest, Comment, CommentRequest } from '../models';
 
 @Injectable({ providedIn: 'root' })
 export class TaskService {
@@ -18,21 +18,24 @@ export class TaskService {
     return this.http.get<ApiResponse<Task>>(`${this.apiUrl}/tasks/${taskId}`);
   }
 
-  getProjectTasks(projectId: number, params?: { status?: string; priority?: string; assigneeId?: number }): Observable<ApiResponse<Task[]>> {
+  getProjectTasks(projectId: number, params?: { status?: string; priority?: string; assigneeId?: number; cursor?: string; size?: number }): Observable<ApiResponse<CursorPage<Task>>> {
     let url = `${this.apiUrl}/projects/${projectId}/tasks`;
     if (params) {
       const q = new URLSearchParams();
       if (params.status) q.set('status', params.status);
       if (params.priority) q.set('priority', params.priority);
       if (params.assigneeId != null) q.set('assigneeId', String(params.assigneeId));
+      if (params.cursor) q.set('cursor', params.cursor);
+      if (params.size != null) q.set('size', String(params.size));
       const query = q.toString();
       if (query) url += '?' + query;
     }
-    return this.http.get<ApiResponse<Task[]>>(url);
+    return this.http.get<ApiResponse<CursorPage<Task>>>(url);
   }
 
-  getMyTasks(): Observable<ApiResponse<Task[]>> {
-    return this.http.get<ApiResponse<Task[]>>(`${this.apiUrl}/tasks/my`);
+  getMyTasks(cursor?: string): Observable<ApiResponse<CursorPage<Task>>> {
+    const query = cursor ? `?cursor=${encodeURIComponent(cursor)}` : '';
+    return this.http.get<ApiResponse<CursorPage<Task>>>(`${this.apiUrl}/tasks/my${query}`);
   }
 
   updateTask(taskId: number, request: TaskRequest): Observable<ApiResponse<Task>> {
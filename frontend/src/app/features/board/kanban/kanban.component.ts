@@ -12,7 +12,7 @@ import { MatSnackBar } from '@angular/material/snack-bar';
 import { TranslateModule, TranslateService } from '@ngx-translate/core';
 import { BoardService } from '../../../core/services/board.service';
 import { TaskService } from '../../../core/services/task.service';
-import { Board, Column, Task } from '../../../core/models';
+import { BoardCard, BoardSnapshot, ColumnSnapshot } from '../../../core/models';
 import { TaskDetailComponent } from '../task-detail/task-detail.component';
 
 @Component({
@@ -230,7 +230,7 @@ import { TaskDetailComponent } from '../task-detail/task-detail.component';
   `]
 })
 export class KanbanComponent implements OnInit {
-  board = signal<Board | null>(null);
+  board = signal<BoardSnapshot | null>(null);
   projectId!: number;
   boardId!: number;
 
@@ -259,7 +259,7 @@ export class KanbanComponent implements OnInit {
     return (this.board()?.columns || []).map(c => 'column-' + c.id);
   }
 
-  onTaskDrop(event: CdkDragDrop<Task[]>, targetColumn: Column): void {
+  onTaskDrop(event: CdkDragDrop<BoardCard[]>, targetColumn: ColumnSnapshot): void {
     if (event.previousContainer === event.container) {
       moveItemInArray(event.container.data, event.previousIndex, event.currentIndex);
     } else {
@@ -281,7 +281,7 @@ export class KanbanComponent implements OnInit {
     dialogRef.afterClosed().subscribe(result => { if (result) this.loadBoard(); });
   }
 
-  openTaskDetail(task: Task): void {
+  openTaskDetail(task: BoardCard): void {
     const dialogRef = this.dialog.open(TaskDetailComponent, {
       width: '700px',
       data: { task, projectId: this.projectId, mode: 'edit' }
@@ -15,7 +15,7 @@ import { TranslateModule, TranslateService } from '@ngx-translate/core';
 import { TaskService } from '../../../core/services/task.service';
 import { AttachmentService } from '../../../core/services/attachment.service';
 import { LabelService } from '../../../core/services/label.service';
-import { Task, Comment, Attachment, Label, TaskRequest } from '../../../core/models';
+import { Task, BoardCard, Comment, Attachment, Label, TaskRequest } from '../../../core/models';
 import { applyServerValidationErrors } from '../../../core/utils/form.util';
 import { MatSnackBar } from '@angular/material/snack-bar';
 import { MatSnackBarModule } from '@angular/material/snack-bar';
@@ -182,7 +182,7 @@ import { MatSnackBarModule } from '@angular/material/snack-bar';
           }
           <span class="footer-spacer"></span>
           <button mat-button type="button" (click)="dialogRef.close()">{{ 'common.cancel' | translate }}</button>
-          <button mat-flat-button color="primary" type="submit" [disabled]="taskForm.invalid">
+          <button mat-flat-button color="primary" type="submit" [disabled]="taskForm.invalid || loadingTask()">
             {{ data.mode === 'create' ? ('common.create' | translate) : ('common.save' | translate) }}
           </button>
         </div>
@@ -278,10 +278,11 @@ export class TaskDetailComponent implements OnInit {
   projectLabels = signal<Label[]>([]);
   taskLabels = signal<Label[]>([]);
   taskSubtasks = signal<Task[]>([]);
+  loadingTask = signal(false);
 
   constructor(
     public dialogRef: MatDialogRef<TaskDetailComponent>,
-    @Inject(MAT_DIALOG_DATA) public data: { task?: Task; projectId: number; columnId?: number; mode: 'create' | 'edit'; parentTaskId?: number },
+    @Inject(MAT_DIALOG_DATA) public data: { task?: Task | BoardCard; projectId: number; columnId?: number; mode: 'create' | 'edit'; parentTaskId?: number },
     private fb: FormBuilder,
     private taskService: TaskService,
     private attachmentService: AttachmentService,
@@ -292,7 +293,7 @@ export class TaskDetailComponent implements OnInit {
   ) {
     this.taskForm = this.fb.group({
       title: [data.task?.title || '', Validators.required],
-      description: [data.task?.description || ''],
+      description: [''],
       type: [data.task?.type || 'TASK'],
       priority: [data.task?.priority || 'MEDIUM'],
       storyPoints: [data.task?.storyPoints || 0],
@@ -303,13 +304,38 @@ export class TaskDetailComponent implements OnInit {
   ngOnInit(): void {
     if (this.data.mode === 'edit' && this.data.task) {
       this.taskLabels.set(this.data.task.labels ?? []);
-      this.taskSubtasks.set(this.data.task.subtasks ?? []);
+      this.loadTask();
       this.loadComments();
       this.loadAttachments();
       this.loadProjectLabels();
     }
   }
 
+  /** Board cards are lean, so the description and subtasks come from the full task. */
+  loadTask(): void {
+    if (!this.data.task) return;
+    this.loadingTask.set(true);
+    this.taskService.getTask(this.data.task.id).subscribe({
+      next: (res) => {
+        if (res.success) {
+          const task = res.data;
+          this.taskForm.patchValue({
+            title: task.title,
+            description: task.description || '',
+            type: task.type,
+            priority: task.priority,
+            storyPoints: task.storyPoints || 0,
+            dueDate: task.dueDate ? new Date(task.dueDate) : null
+          });
+          this.taskLabels.set(task.labels ?? []);
+          this.taskSubtasks.set(task.subtasks ?? []);
+        }
+        this.loadingTask.set(false);
+      },
+      error: () => this.loadingTask.set(false)
+    });
+  }
+
   loadSubtasks(): void {
     if (!this.data.task) return;
     this.taskService.getTask(this.data.task.id).subscribe({
@@ -134,7 +134,7 @@ export class NotificationsComponent implements OnInit {
 
   loadNotifications(): void {
     this.notificationService.getNotifications().subscribe({
-      next: (res) => { if (res.success) this.notifications.set(res.data); this.loading.set(false); },
+      next: (res) => { if (res.success) this.notifications.set(res.data.items); this.loading.set(false); },
       error: () => this.loading.set(false)
     });
   }
@@ -92,6 +92,13 @@ import { Project, Board, Task, Member } from '../../../core/models';
                     </div>
                   }
                 </div>
+                @if (tasksCursor()) {
+                  <div class="load-more">
+                    <button mat-stroked-button (click)="loadMoreTasks()" [disabled]="loadingTasks()">
+                      {{ 'projectDetail.loadMoreTasks' | translate }}
+                    </button>
+                  </div>
+                }
               }
             </div>
           </mat-tab>
@@ -201,6 +208,7 @@ import { Project, Board, Task, Member } from '../../../core/models';
     .priority-dot { width: 7px; min-width: 7px; height: 7px; border-radius: 50%; background: currentColor; flex-shrink: 0; }
     .task-key { font-size: 0.6875rem; color: var(--text-muted); font-weight: 600; font-family: monospace; flex-shrink: 0; }
     .task-title { flex: 1; min-width: 0; font-size: 0.8125rem; overflow: hidden; text-overflow: ellipsis; white-space: nowrap; }
+    .load-more { display: flex; justify-content: center; padding: var(--space-4); }
 
     .member-row {
       display: flex; align-items: center; gap: var(--space-4);
@@ -251,6 +259,8 @@ export class ProjectDetailComponent implements OnInit {
   project = signal<Project | null>(null);
   boards = signal<Board[]>([]);
   tasks = signal<Task[]>([]);
+  tasksCursor = signal<string | null>(null);
+  loadingTasks = signal(false);
   members = signal<Member[]>([]);
   loading = signal(true);
 
@@ -272,14 +282,26 @@ export class ProjectDetailComponent implements OnInit {
     this.boardService.getProjectBoards(id).subscribe({
       next: (res) => { if (res.success) this.boards.set(res.data); }
     });
-    this.taskService.getProjectTasks(id).subscribe({
-      next: (res) => { if (res.success) this.tasks.set(res.data); }
-    });
+    this.loadMoreTasks();
     this.projectService.getMembers(id).subscribe({
       next: (res) => { if (res.success) this.members.set(res.data); }
     });
   }
 
+  loadMoreTasks(): void {
+    this.loadingTasks.set(true);
+    this.taskService.getProjectTasks(this.projectId(), { cursor: this.tasksCursor() ?? undefined }).subscribe({
+      next: (res) => {
+        if (res.success) {
+          this.tasks.update(tasks => [...tasks, ...res.data.items]);
+          this.tasksCursor.set(res.data.hasMore ? res.data.nextCursor ?? null : null);
+        }
+        this.loadingTasks.set(false);
+      },
+      error: () => this.loadingTasks.set(false)
+    });
+  }
+
   getInitials(member: Member): string {
     return `${member.firstName?.[0] || ''}${member.lastName?.[0] || ''}`.toUpperCase() || '?';
   }